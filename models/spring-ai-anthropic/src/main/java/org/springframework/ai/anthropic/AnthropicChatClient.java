@@ -315,12 +315,13 @@ public class AnthropicChatClient extends
 	}
 
 	private List<AnthropicApi.Tool> getFunctionTools(Set<String> functionNames) {
-		return this.resolveFunctionCallbacks(functionNames).stream().map(functionCallback -> {
-			var description = functionCallback.getDescription();
-			var name = functionCallback.getName();
-			String inputSchema = functionCallback.getInputTypeSchema();
-			return new AnthropicApi.Tool(name, description, ModelOptionsUtils.jsonToMap(inputSchema));
-		}).toList();
+		return this.resolveFunctionTools(functionNames,
+				functionCallbacks -> functionCallbacks.stream().map(functionCallback -> {
+					var description = functionCallback.getDescription();
+					var name = functionCallback.getName();
+					String inputSchema = functionCallback.getInputTypeSchema();
+					return new AnthropicApi.Tool(name, description, ModelOptionsUtils.jsonToMap(inputSchema));
+				}).toList());
 	}
 
 	private static class ChatCompletionBuilder {
@@ -400,22 +401,16 @@ public class AnthropicChatClient extends
 			.filter(c -> c.type() == MediaContent.Type.TOOL_USE)
 			.toList();
 
-		List<MediaContent> toolResults = new ArrayList<>();
-
-		for (MediaContent toolToUse : toolToUseList) {
-
-			var functionCallId = toolToUse.id();
-			var functionName = toolToUse.name();
-			var functionArguments = toolToUse.input();
+		// The tool uses are independent and run concurrently.
+		List<String> functionResponses = this.callFunctions(toolToUseList.stream()
+			.map(toolToUse -> new FunctionInvocation(toolToUse.name(),
+					ModelOptionsUtils.toJsonString(toolToUse.input())))
+			.toList());
 
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
-
-			String functionResponse = this.functionCallbackRegister.get(functionName)
-				.call(ModelOptionsUtils.toJsonString(functionArguments));
+		List<MediaContent> toolResults = new ArrayList<>();
 
-			toolResults.add(new MediaContent(Type.TOOL_RESULT, functionCallId, functionResponse));
+		for (int i = 0; i < toolToUseList.size(); i++) {
+			toolResults.add(new MediaContent(Type.TOOL_RESULT, toolToUseList.get(i).id(), functionResponses.get(i)));
 		}
 
 		// Add the function response to the conversation.
@@ -260,15 +260,16 @@ public class AzureOpenAiChatClient
 	}
 
 	private List<ChatCompletionsFunctionToolDefinition> getFunctionTools(Set<String> functionNames) {
-		return this.resolveFunctionCallbacks(functionNames).stream().map(functionCallback -> {
-
-			FunctionDefinition functionDefinition = new FunctionDefinition(functionCallback.getName());
-			functionDefinition.setDescription(functionCallback.getDescription());
-			BinaryData parameters = BinaryData
-				.fromObject(ModelOptionsUtils.jsonToMap(functionCallback.getInputTypeSchema()));
-			functionDefinition.setParameters(parameters);
-			return new ChatCompletionsFunctionToolDefinition(functionDefinition);
-		}).toList();
+		return this.resolveFunctionTools(functionNames,
+				functionCallbacks -> functionCallbacks.stream().map(functionCallback -> {
+
+					FunctionDefinition functionDefinition = new FunctionDefinition(functionCallback.getName());
+					functionDefinition.setDescription(functionCallback.getDescription());
+					BinaryData parameters = BinaryData
+						.fromObject(ModelOptionsUtils.jsonToMap(functionCallback.getInputTypeSchema()));
+					functionDefinition.setParameters(parameters);
+					return new ChatCompletionsFunctionToolDefinition(functionDefinition);
+				}).toList());
 	}
 
 	private ChatRequestMessage fromSpringAiMessage(Message message) {
@@ -518,20 +519,16 @@ public class AzureOpenAiChatClient
 			ChatRequestMessage responseMessage, List<ChatRequestMessage> conversationHistory) {
 
 		// Every tool-call item requires a separate function call and a response (TOOL)
-		// message.
-		for (ChatCompletionsToolCall toolCall : ((ChatRequestAssistantMessage) responseMessage).getToolCalls()) {
-
-			var functionName = ((ChatCompletionsFunctionToolCall) toolCall).getFunction().getName();
-			String functionArguments = ((ChatCompletionsFunctionToolCall) toolCall).getFunction().getArguments();
-
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
-
-			String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
+		// message. The calls are independent and run concurrently.
+		List<ChatCompletionsToolCall> toolCalls = ((ChatRequestAssistantMessage) responseMessage).getToolCalls();
+		List<String> functionResponses = this.callFunctions(toolCalls.stream()
+			.map(toolCall -> ((ChatCompletionsFunctionToolCall) toolCall).getFunction())
+			.map(function -> new FunctionInvocation(function.getName(), function.getArguments()))
+			.toList());
 
+		for (int i = 0; i < toolCalls.size(); i++) {
 			// Add the function response to the conversation.
-			conversationHistory.add(new ChatRequestToolMessage(functionResponse, toolCall.getId()));
+			conversationHistory.add(new ChatRequestToolMessage(functionResponses.get(i), toolCalls.get(i).getId()));
 		}
 
 		// Recursively call chatCompletionWithTools until the model doesn't call a
@@ -76,6 +76,11 @@ public class AzureOpenAiEmbeddingClient extends AbstractEmbeddingClient {
 		return response.getResults().stream().map(embedding -> embedding.getOutput()).flatMap(List::stream).toList();
 	}
 
+	@Override
+	public String getEmbeddingContent(Document document) {
+		return document.getFormattedContent(this.metadataMode);
+	}
+
 	@Override
 	public EmbeddingResponse call(EmbeddingRequest embeddingRequest) {
 		logger.debug("Retrieving embeddings");
@@ -114,13 +119,21 @@ public class AzureOpenAiEmbeddingClient extends AbstractEmbeddingClient {
 		for (EmbeddingItem nativeDatum : nativeData) {
 			List<Float> nativeDatumEmbedding = nativeDatum.getEmbedding();
 			int nativeIndex = nativeDatum.getPromptIndex();
-			Embedding embedding = new Embedding(nativeDatumEmbedding.stream().map(f -> f.doubleValue()).toList(),
-					nativeIndex);
+			Embedding embedding = new Embedding(toFloatArray(nativeDatumEmbedding), nativeIndex);
 			data.add(embedding);
 		}
 		return data;
 	}
 
+	private static float[] toFloatArray(List<Float> nativeEmbedding) {
+		float[] embedding = new float[nativeEmbedding.size()];
+		int i = 0;
+		for (Float value : nativeEmbedding) {
+			embedding[i++] = value;
+		}
+		return embedding;
+	}
+
 	private EmbeddingResponseMetadata generateMetadata(EmbeddingsUsage embeddingsUsage) {
 		EmbeddingResponseMetadata metadata = new EmbeddingResponseMetadata();
 		// metadata.put("model", model);
@@ -96,6 +96,11 @@ public class BedrockCohereEmbeddingClient extends AbstractEmbeddingClient {
 		return embed(document.getContent());
 	}
 
+	@Override
+	public String getEmbeddingContent(Document document) {
+		return document.getContent();
+	}
+
 	@Override
 	public EmbeddingResponse call(EmbeddingRequest request) {
 		Assert.notEmpty(request.getInstructions(), "At least one text is required!");
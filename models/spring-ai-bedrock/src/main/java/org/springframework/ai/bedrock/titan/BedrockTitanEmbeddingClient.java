@@ -15,19 +15,19 @@
  */
 package org.springframework.ai.bedrock.titan;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkServiceException;
 
 import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi;
 import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi.TitanEmbeddingRequest;
-import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi.TitanEmbeddingResponse;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.AbstractEmbeddingClient;
 import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingDispatcher;
 import org.springframework.ai.embedding.EmbeddingOptions;
 import org.springframework.ai.embedding.EmbeddingRequest;
 import org.springframework.ai.embedding.EmbeddingResponse;
@@ -61,8 +61,25 @@ public class BedrockTitanEmbeddingClient extends AbstractEmbeddingClient {
 	 */
 	private InputType inputType = InputType.TEXT;
 
+	/**
+	 * Dispatches the requests of the texts to embed, Titan embeds one input per request.
+	 */
+	private final EmbeddingDispatcher dispatcher;
+
 	public BedrockTitanEmbeddingClient(TitanEmbeddingBedrockApi titanEmbeddingBedrockApi) {
+		this(titanEmbeddingBedrockApi, EmbeddingDispatcher.SEQUENTIAL);
+	}
+
+	/**
+	 * @param titanEmbeddingBedrockApi the Titan Embedding API client.
+	 * @param dispatcher the dispatcher of the requests when embedding several inputs, use
+	 * a concurrent dispatcher to embed them in parallel.
+	 */
+	public BedrockTitanEmbeddingClient(TitanEmbeddingBedrockApi titanEmbeddingBedrockApi,
+			EmbeddingDispatcher dispatcher) {
+		Assert.notNull(dispatcher, "EmbeddingDispatcher must not be null");
 		this.embeddingApi = titanEmbeddingBedrockApi;
+		this.dispatcher = dispatcher;
 	}
 
 	/**
@@ -79,20 +96,23 @@ public class BedrockTitanEmbeddingClient extends AbstractEmbeddingClient {
 		return embed(document.getContent());
 	}
 
+	@Override
+	public String getEmbeddingContent(Document document) {
+		return document.getContent();
+	}
+
 	@Override
 	public EmbeddingResponse call(EmbeddingRequest request) {
 		Assert.notEmpty(request.getInstructions(), "At least one text is required!");
-		if (request.getInstructions().size() != 1) {
+		if (request.getInstructions().size() != 1 && this.dispatcher.getConcurrency() == 1) {
 			logger.warn(
 					"Titan Embedding does not support batch embedding. Will make multiple API calls to embed(Document)");
 		}
 
-		List<List<Double>> embeddingList = new ArrayList<>();
-		for (String inputContent : request.getInstructions()) {
+		List<List<Double>> embeddingList = this.dispatcher.dispatch(request.getInstructions(), inputContent -> {
 			var apiRequest = createTitanEmbeddingRequest(inputContent, request.getOptions());
-			TitanEmbeddingResponse response = this.embeddingApi.embedding(apiRequest);
-			embeddingList.add(response.embedding());
-		}
+			return this.embeddingApi.embedding(apiRequest).embedding();
+		}, BedrockTitanEmbeddingClient::isTransientFailure);
 		var indexCounter = new AtomicInteger(0);
 		List<Embedding> embeddings = embeddingList.stream()
 			.map(e -> new Embedding(e, indexCounter.getAndIncrement()))
@@ -100,6 +120,16 @@ public class BedrockTitanEmbeddingClient extends AbstractEmbeddingClient {
 		return new EmbeddingResponse(embeddings);
 	}
 
+	/**
+	 * Throttling, server errors and I/O failures are retried.
+	 */
+	private static boolean isTransientFailure(Throwable failure) {
+		if (failure instanceof SdkServiceException serviceException) {
+			return serviceException.isThrottlingException() || serviceException.statusCode() >= 500;
+		}
+		return EmbeddingDispatcher.isIoFailure(failure);
+	}
+
 	private TitanEmbeddingRequest createTitanEmbeddingRequest(String inputContent, EmbeddingOptions requestOptions) {
 		InputType inputType = this.inputType;
 
@@ -290,11 +290,12 @@ public class MiniMaxChatClient extends
 	}
 
 	private List<MiniMaxApi.FunctionTool> getFunctionTools(Set<String> functionNames) {
-		return this.resolveFunctionCallbacks(functionNames).stream().map(functionCallback -> {
-			var function = new MiniMaxApi.FunctionTool.Function(functionCallback.getDescription(),
-					functionCallback.getName(), functionCallback.getInputTypeSchema());
-			return new MiniMaxApi.FunctionTool(function);
-		}).toList();
+		return this.resolveFunctionTools(functionNames,
+				functionCallbacks -> functionCallbacks.stream().map(functionCallback -> {
+					var function = new MiniMaxApi.FunctionTool.Function(functionCallback.getDescription(),
+							functionCallback.getName(), functionCallback.getInputTypeSchema());
+					return new MiniMaxApi.FunctionTool(function);
+				}).toList());
 	}
 
 	@Override
@@ -303,21 +304,18 @@ public class MiniMaxChatClient extends
 			List<MiniMaxApi.ChatCompletionMessage> conversationHistory) {
 
 		// Every tool-call item requires a separate function call and a response (TOOL)
-		// message.
-		for (MiniMaxApi.ChatCompletionMessage.ToolCall toolCall : responseMessage.toolCalls()) {
-
-			var functionName = toolCall.function().name();
-			String functionArguments = toolCall.function().arguments();
-
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
+		// message. The calls are independent and run concurrently.
+		List<MiniMaxApi.ChatCompletionMessage.ToolCall> toolCalls = responseMessage.toolCalls();
+		List<String> functionResponses = this.callFunctions(toolCalls.stream()
+			.map(toolCall -> new FunctionInvocation(toolCall.function().name(), toolCall.function().arguments()))
+			.toList());
 
-			String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
+		for (int i = 0; i < toolCalls.size(); i++) {
+			MiniMaxApi.ChatCompletionMessage.ToolCall toolCall = toolCalls.get(i);
 
 			// Add the function response to the conversation.
-			conversationHistory.add(new MiniMaxApi.ChatCompletionMessage(functionResponse,
-					MiniMaxApi.ChatCompletionMessage.Role.TOOL, functionName, toolCall.id(), null));
+			conversationHistory.add(new MiniMaxApi.ChatCompletionMessage(functionResponses.get(i),
+					MiniMaxApi.ChatCompletionMessage.Role.TOOL, toolCall.function().name(), toolCall.id(), null));
 		}
 
 		// Recursively call chatCompletionWithTools until the model doesn't call a
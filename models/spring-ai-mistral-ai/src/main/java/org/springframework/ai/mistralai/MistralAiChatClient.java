@@ -232,11 +232,12 @@ public class MistralAiChatClient extends
 	}
 
 	private List<MistralAiApi.FunctionTool> getFunctionTools(Set<String> functionNames) {
-		return this.resolveFunctionCallbacks(functionNames).stream().map(functionCallback -> {
-			var function = new MistralAiApi.FunctionTool.Function(functionCallback.getDescription(),
-					functionCallback.getName(), functionCallback.getInputTypeSchema());
-			return new MistralAiApi.FunctionTool(function);
-		}).toList();
+		return this.resolveFunctionTools(functionNames,
+				functionCallbacks -> functionCallbacks.stream().map(functionCallback -> {
+					var function = new MistralAiApi.FunctionTool.Function(functionCallback.getDescription(),
+							functionCallback.getName(), functionCallback.getInputTypeSchema());
+					return new MistralAiApi.FunctionTool(function);
+				}).toList());
 	}
 
 	//
@@ -247,22 +248,18 @@ public class MistralAiChatClient extends
 			ChatCompletionMessage responseMessage, List<ChatCompletionMessage> conversationHistory) {
 
 		// Every tool-call item requires a separate function call and a response (TOOL)
-		// message.
-		for (ToolCall toolCall : responseMessage.toolCalls()) {
+		// message. The calls are independent and run concurrently.
+		List<ToolCall> toolCalls = responseMessage.toolCalls();
+		List<String> functionResponses = this.callFunctions(toolCalls.stream()
+			.map(toolCall -> new FunctionInvocation(toolCall.function().name(), toolCall.function().arguments()))
+			.toList());
 
-			String id = toolCall.id();
-			String functionName = toolCall.function().name();
-			String functionArguments = toolCall.function().arguments();
-
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
-
-			String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
+		for (int i = 0; i < toolCalls.size(); i++) {
+			ToolCall toolCall = toolCalls.get(i);
 
 			// Add the function response to the conversation.
-			conversationHistory.add(new ChatCompletionMessage(functionResponse, ChatCompletionMessage.Role.TOOL,
-					functionName, null, id));
+			conversationHistory.add(new ChatCompletionMessage(functionResponses.get(i),
+					ChatCompletionMessage.Role.TOOL, toolCall.function().name(), null, toolCall.id()));
 		}
 
 		// Recursively call chatCompletionWithTools until the model doesn't call a
@@ -118,6 +118,11 @@ public class MistralAiEmbeddingClient extends AbstractEmbeddingClient {
 		return this.embed(document.getFormattedContent(this.metadataMode));
 	}
 
+	@Override
+	public String getEmbeddingContent(Document document) {
+		return document.getFormattedContent(this.metadataMode);
+	}
+
 	private EmbeddingResponseMetadata generateResponseMetadata(String model, MistralAiApi.Usage usage) {
 		var metadata = new EmbeddingResponseMetadata();
 		metadata.put("model", model);
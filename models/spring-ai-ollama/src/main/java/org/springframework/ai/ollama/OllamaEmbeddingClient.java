@@ -15,7 +15,6 @@
  */
 package org.springframework.ai.ollama;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -26,12 +25,14 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.AbstractEmbeddingClient;
 import org.springframework.ai.embedding.Embedding;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingDispatcher;
 import org.springframework.ai.embedding.EmbeddingOptions;
 import org.springframework.ai.embedding.EmbeddingResponse;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.ollama.api.OllamaApi;
 import org.springframework.ai.ollama.api.OllamaApi.EmbeddingRequest;
 import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.ai.retry.TransientAiException;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -62,13 +63,39 @@ public class OllamaEmbeddingClient extends AbstractEmbeddingClient {
 	 */
 	private OllamaOptions defaultOptions = OllamaOptions.create().withModel(OllamaOptions.DEFAULT_MODEL);
 
+	/**
+	 * Dispatches the requests of the texts to embed, Ollama embeds one text per request.
+	 */
+	private final EmbeddingDispatcher dispatcher;
+
 	public OllamaEmbeddingClient(OllamaApi ollamaApi) {
 		this.ollamaApi = ollamaApi;
+		this.dispatcher = EmbeddingDispatcher.SEQUENTIAL;
 	}
 
 	public OllamaEmbeddingClient(OllamaApi ollamaApi, OllamaOptions defaultOptions) {
+		this(ollamaApi, defaultOptions, EmbeddingDispatcher.SEQUENTIAL);
+	}
+
+	/**
+	 * @param ollamaApi the Ollama API client.
+	 * @param defaultOptions the default options used for all the embedding requests.
+	 * @param dispatcher the dispatcher of the requests when embedding several texts, use
+	 * a concurrent dispatcher to embed them in parallel.
+	 */
+	public OllamaEmbeddingClient(OllamaApi ollamaApi, OllamaOptions defaultOptions, EmbeddingDispatcher dispatcher) {
+		Assert.notNull(dispatcher, "EmbeddingDispatcher must not be null");
 		this.ollamaApi = ollamaApi;
 		this.defaultOptions = defaultOptions;
+		this.dispatcher = dispatcher;
+	}
+
+	/**
+	 * Rate limiting and server errors, reported by the {@link OllamaApi} with a
+	 * {@link TransientAiException}, and I/O failures are retried.
+	 */
+	private static boolean isTransientFailure(Throwable failure) {
+		return failure instanceof TransientAiException || EmbeddingDispatcher.isIoFailure(failure);
 	}
 
 	/**
@@ -94,23 +121,23 @@ public class OllamaEmbeddingClient extends AbstractEmbeddingClient {
 		return embed(document.getContent());
 	}
 
+	@Override
+	public String getEmbeddingContent(Document document) {
+		return document.getContent();
+	}
+
 	@Override
 	public EmbeddingResponse call(org.springframework.ai.embedding.EmbeddingRequest request) {
 		Assert.notEmpty(request.getInstructions(), "At least one text is required!");
-		if (request.getInstructions().size() != 1) {
+		if (request.getInstructions().size() != 1 && this.dispatcher.getConcurrency() == 1) {
 			logger.warn(
 					"Ollama Embedding does not support batch embedding. Will make multiple API calls to embed(Document)");
 		}
 
-		List<List<Double>> embeddingList = new ArrayList<>();
-		for (String inputContent : request.getInstructions()) {
-
+		List<List<Double>> embeddingList = this.dispatcher.dispatch(request.getInstructions(), inputContent -> {
 			var ollamaEmbeddingRequest = ollamaEmbeddingRequest(inputContent, request.getOptions());
-
-			OllamaApi.EmbeddingResponse response = this.ollamaApi.embeddings(ollamaEmbeddingRequest);
-
-			embeddingList.add(response.embedding());
-		}
+			return this.ollamaApi.embeddings(ollamaEmbeddingRequest).embedding();
+		}, OllamaEmbeddingClient::isTransientFailure);
 		var indexCounter = new AtomicInteger(0);
 
 		List<Embedding> embeddings = embeddingList.stream()
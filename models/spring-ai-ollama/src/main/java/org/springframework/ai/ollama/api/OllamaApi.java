@@ -31,6 +31,8 @@ import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
@@ -75,7 +77,11 @@ public class OllamaApi {
 				String statusText = response.getStatusText();
 				String message = StreamUtils.copyToString(response.getBody(), java.nio.charset.StandardCharsets.UTF_8);
 				logger.warn(String.format("[%s] %s - %s", statusCode, statusText, message));
-				throw new RuntimeException(String.format("[%s] %s - %s", statusCode, statusText, message));
+				// Rate limiting and server errors are transient, the request may be retried
+				if (statusCode == 429 || response.getStatusCode().is5xxServerError()) {
+					throw new TransientAiException(String.format("[%s] %s - %s", statusCode, statusText, message));
+				}
+				throw new NonTransientAiException(String.format("[%s] %s - %s", statusCode, statusText, message));
 			}
 		}
 
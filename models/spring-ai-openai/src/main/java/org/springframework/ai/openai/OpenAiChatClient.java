@@ -317,11 +317,12 @@ public class OpenAiChatClient extends
 	}
 
 	private List<OpenAiApi.FunctionTool> getFunctionTools(Set<String> functionNames) {
-		return this.resolveFunctionCallbacks(functionNames).stream().map(functionCallback -> {
-			var function = new OpenAiApi.FunctionTool.Function(functionCallback.getDescription(),
-					functionCallback.getName(), functionCallback.getInputTypeSchema());
-			return new OpenAiApi.FunctionTool(function);
-		}).toList();
+		return this.resolveFunctionTools(functionNames,
+				functionCallbacks -> functionCallbacks.stream().map(functionCallback -> {
+					var function = new OpenAiApi.FunctionTool.Function(functionCallback.getDescription(),
+							functionCallback.getName(), functionCallback.getInputTypeSchema());
+					return new OpenAiApi.FunctionTool(function);
+				}).toList());
 	}
 
 	@Override
@@ -329,21 +330,18 @@ public class OpenAiChatClient extends
 			ChatCompletionMessage responseMessage, List<ChatCompletionMessage> conversationHistory) {
 
 		// Every tool-call item requires a separate function call and a response (TOOL)
-		// message.
-		for (ToolCall toolCall : responseMessage.toolCalls()) {
-
-			var functionName = toolCall.function().name();
-			String functionArguments = toolCall.function().arguments();
-
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
+		// message. The calls are independent and run concurrently.
+		List<ToolCall> toolCalls = responseMessage.toolCalls();
+		List<String> functionResponses = this.callFunctions(toolCalls.stream()
+			.map(toolCall -> new FunctionInvocation(toolCall.function().name(), toolCall.function().arguments()))
+			.toList());
 
-			String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
+		for (int i = 0; i < toolCalls.size(); i++) {
+			ToolCall toolCall = toolCalls.get(i);
 
 			// Add the function response to the conversation.
-			conversationHistory
-				.add(new ChatCompletionMessage(functionResponse, Role.TOOL, functionName, toolCall.id(), null));
+			conversationHistory.add(new ChatCompletionMessage(functionResponses.get(i), Role.TOOL,
+					toolCall.function().name(), toolCall.id(), null));
 		}
 
 		// Recursively call chatCompletionWithTools until the model doesn't call a
@@ -860,7 +860,7 @@ public class OpenAiApi {
 	@JsonInclude(Include.NON_NULL)
 	public record Embedding(
 			@JsonProperty("index") Integer index,
-			@JsonProperty("embedding") List<Double> embedding,
+			@JsonProperty("embedding") float[] embedding,
 			@JsonProperty("object") String object) {
 
 		/**
@@ -869,7 +869,7 @@ public class OpenAiApi {
 		 * @param index The index of the embedding in the list of embeddings.
 		 * @param embedding The embedding vector, which is a list of floats. The length of vector depends on the model.
 		 */
-		public Embedding(Integer index, List<Double> embedding) {
+		public Embedding(Integer index, float[] embedding) {
 			this(index, embedding, "embedding");
 		}
 	}
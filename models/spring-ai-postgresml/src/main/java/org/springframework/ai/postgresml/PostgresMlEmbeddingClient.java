@@ -167,6 +167,11 @@ public class PostgresMlEmbeddingClient extends AbstractEmbeddingClient implement
 		return this.embed(document.getFormattedContent(this.defaultOptions.getMetadataMode()));
 	}
 
+	@Override
+	public String getEmbeddingContent(Document document) {
+		return document.getFormattedContent(this.defaultOptions.getMetadataMode());
+	}
+
 	@SuppressWarnings("null")
 	@Override
 	public EmbeddingResponse call(EmbeddingRequest request) {
@@ -15,23 +15,25 @@
  */
 package org.springframework.ai.transformers;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import ai.djl.huggingface.tokenizers.Encoding;
 import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
 import ai.djl.modality.nlp.preprocess.Tokenizer;
-import ai.djl.ndarray.NDArray;
-import ai.djl.ndarray.NDManager;
-import ai.djl.ndarray.types.DataType;
-import ai.djl.ndarray.types.Shape;
 import ai.onnxruntime.OnnxTensor;
-import ai.onnxruntime.OnnxValue;
 import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
@@ -69,7 +71,7 @@ public class TransformersEmbeddingClient extends AbstractEmbeddingClient impleme
 
 	public final static String DEFAULT_MODEL_OUTPUT_NAME = "last_hidden_state";
 
-	private final static int EMBEDDING_AXIS = 1;
+	public final static int DEFAULT_MAX_BATCH_SIZE = 32;
 
 	private Resource tokenizerResource = toResource(DEFAULT_ONNX_TOKENIZER_URI);
 
@@ -89,9 +91,33 @@ public class TransformersEmbeddingClient extends AbstractEmbeddingClient impleme
 	private OrtEnvironment environment;
 
 	/**
-	 * Runtime session that wraps the ONNX generative and enables inference calls.
+	 * Runtime sessions that wrap the ONNX generative and enable inference calls. A
+	 * session can run several inferences concurrently, more sessions may help when the
+	 * intra-op threads of a single session cannot keep the CPU busy.
 	 */
-	private OrtSession session;
+	private List<OrtSession> sessions;
+
+	/**
+	 * Idle inference contexts, each bound to a session and holding reusable input
+	 * buffers. A context is created when all the existing ones are in use, so concurrent
+	 * callers never wait for each other.
+	 */
+	private final Queue<InferenceContext> inferenceContexts = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger inferenceContextCount = new AtomicInteger();
+
+	private int sessionPoolSize = 1;
+
+	/**
+	 * Maximum number of texts run through the model at once. The texts of a request are
+	 * sorted by token count and split into batches of at most this size, each padded to
+	 * its longest text only.
+	 */
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+	private int intraOpNumThreads = 0;
+
+	private int interOpNumThreads = 0;
 
 	/**
 	 * Specifies what parts of the {@link Document}'s content and metadata will be used
@@ -171,6 +197,39 @@ public class TransformersEmbeddingClient extends AbstractEmbeddingClient impleme
 		this.modelOutputName = modelOutputName;
 	}
 
+	/**
+	 * @param maxBatchSize the maximum number of texts run through the model at once.
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		Assert.isTrue(maxBatchSize > 0, "Max batch size must be positive");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * @param sessionPoolSize the number of ONNX runtime sessions sharing the inferences.
+	 * Each session holds its own copy of the model.
+	 */
+	public void setSessionPoolSize(int sessionPoolSize) {
+		Assert.isTrue(sessionPoolSize > 0, "Session pool size must be positive");
+		this.sessionPoolSize = sessionPoolSize;
+	}
+
+	/**
+	 * @param intraOpNumThreads the number of threads used to parallelize the execution
+	 * within nodes, 0 to use the ONNX runtime default.
+	 */
+	public void setIntraOpNumThreads(int intraOpNumThreads) {
+		this.intraOpNumThreads = intraOpNumThreads;
+	}
+
+	/**
+	 * @param interOpNumThreads the number of threads used to parallelize the execution
+	 * of the graph across nodes, 0 to use the ONNX runtime default.
+	 */
+	public void setInterOpNumThreads(int interOpNumThreads) {
+		this.interOpNumThreads = interOpNumThreads;
+	}
+
 	@Override
 	public void afterPropertiesSet() throws Exception {
 
@@ -190,11 +249,21 @@ public class TransformersEmbeddingClient extends AbstractEmbeddingClient impleme
 			sessionOptions.addCUDA(this.gpuDeviceId); // Run on a GPU or with another
 														// provider
 		}
-		this.session = this.environment.createSession(getCachedResource(this.modelResource).getContentAsByteArray(),
-				sessionOptions);
+		if (this.intraOpNumThreads > 0) {
+			sessionOptions.setIntraOpNumThreads(this.intraOpNumThreads);
+		}
+		if (this.interOpNumThreads > 0) {
+			sessionOptions.setInterOpNumThreads(this.interOpNumThreads);
+		}
+		byte[] model = getCachedResource(this.modelResource).getContentAsByteArray();
+		List<OrtSession> sessions = new ArrayList<>(this.sessionPoolSize);
+		for (int i = 0; i < this.sessionPoolSize; i++) {
+			sessions.add(this.environment.createSession(model, sessionOptions));
+		}
+		this.sessions = sessions;
 
-		this.onnxModelInputs = this.session.getInputNames();
-		Set<String> onnxModelOutputs = this.session.getOutputNames();
+		this.onnxModelInputs = this.sessions.get(0).getInputNames();
+		Set<String> onnxModelOutputs = this.sessions.get(0).getOutputNames();
 
 		logger.info("Model input names: " + this.onnxModelInputs.stream().collect(Collectors.joining(", ")));
 		logger.info("Model output names: " + onnxModelOutputs.stream().collect(Collectors.joining(", ")));
@@ -217,6 +286,11 @@ public class TransformersEmbeddingClient extends AbstractEmbeddingClient impleme
 		return this.embed(document.getFormattedContent(this.metadataMode));
 	}
 
+	@Override
+	public String getEmbeddingContent(Document document) {
+		return document.getFormattedContent(this.metadataMode);
+	}
+
 	@Override
 	public EmbeddingResponse embedForResponse(List<String> texts) {
 		List<Embedding> data = new ArrayList<>();
@@ -239,63 +313,148 @@ public class TransformersEmbeddingClient extends AbstractEmbeddingClient impleme
 	@Override
 	public EmbeddingResponse call(EmbeddingRequest request) {
 
-		List<List<Double>> resultEmbeddings = new ArrayList<>();
+		List<String> texts = request.getInstructions();
+		float[][] resultEmbeddings = new float[texts.size()][];
 
+		Encoding[] encodings = this.tokenizer.batchEncode(texts);
+		int[] lengths = new int[encodings.length];
+		for (int i = 0; i < encodings.length; i++) {
+			lengths[i] = tokenCount(encodings[i]);
+		}
+		// Batch texts of similar lengths together, to minimize the padding
+		int[] order = IntStream.range(0, encodings.length)
+			.boxed()
+			.sorted(Comparator.comparingInt(i -> lengths[i]))
+			.mapToInt(Integer::intValue)
+			.toArray();
+
+		InferenceContext context = acquireInferenceContext();
 		try {
-
-			Encoding[] encodings = this.tokenizer.batchEncode(request.getInstructions());
-
-			long[][] input_ids0 = new long[encodings.length][];
-			long[][] attention_mask0 = new long[encodings.length][];
-			long[][] token_type_ids0 = new long[encodings.length][];
-
-			for (int i = 0; i < encodings.length; i++) {
-				input_ids0[i] = encodings[i].getIds();
-				attention_mask0[i] = encodings[i].getAttentionMask();
-				token_type_ids0[i] = encodings[i].getTypeIds();
+			for (int start = 0; start < order.length; start += this.maxBatchSize) {
+				int end = Math.min(start + this.maxBatchSize, order.length);
+				embedBatch(context, encodings, lengths, order, start, end, resultEmbeddings);
 			}
+		}
+		catch (OrtException ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			this.inferenceContexts.offer(context);
+		}
 
-			OnnxTensor inputIds = OnnxTensor.createTensor(this.environment, input_ids0);
-			OnnxTensor attentionMask = OnnxTensor.createTensor(this.environment, attention_mask0);
-			OnnxTensor tokenTypeIds = OnnxTensor.createTensor(this.environment, token_type_ids0);
+		List<Embedding> embeddings = new ArrayList<>(resultEmbeddings.length);
+		for (int i = 0; i < resultEmbeddings.length; i++) {
+			embeddings.add(new Embedding(resultEmbeddings[i], i));
+		}
+		return new EmbeddingResponse(embeddings);
+	}
+
+	private void embedBatch(InferenceContext context, Encoding[] encodings, int[] lengths, int[] order, int start,
+			int end, float[][] resultEmbeddings) throws OrtException {
+
+		int batchSize = end - start;
+		// The texts are sorted by length, the last one is the longest of the batch
+		int sequenceLength = lengths[order[end - 1]];
+		int size = batchSize * sequenceLength;
+
+		LongBuffer inputIds = context.inputIds(size);
+		LongBuffer attentionMask = context.attentionMask(size);
+		LongBuffer tokenTypeIds = context.tokenTypeIds(size);
+		for (int i = start; i < end; i++) {
+			Encoding encoding = encodings[order[i]];
+			putPadded(inputIds, encoding.getIds(), lengths[order[i]], sequenceLength);
+			putPadded(attentionMask, encoding.getAttentionMask(), lengths[order[i]], sequenceLength);
+			putPadded(tokenTypeIds, encoding.getTypeIds(), lengths[order[i]], sequenceLength);
+		}
+		inputIds.flip();
+		attentionMask.flip();
+		tokenTypeIds.flip();
 
-			Map<String, OnnxTensor> modelInputs = Map.of("input_ids", inputIds, "attention_mask", attentionMask,
-					"token_type_ids", tokenTypeIds);
+		long[] shape = { batchSize, sequenceLength };
+		// Tensors created from direct buffers reference them, rather than copying them
+		try (OnnxTensor inputIdsTensor = OnnxTensor.createTensor(this.environment, inputIds, shape);
+				OnnxTensor attentionMaskTensor = OnnxTensor.createTensor(this.environment, attentionMask, shape);
+				OnnxTensor tokenTypeIdsTensor = OnnxTensor.createTensor(this.environment, tokenTypeIds, shape)) {
 
-			modelInputs = removeUnknownModelInputs(modelInputs);
+			Map<String, OnnxTensor> modelInputs = removeUnknownModelInputs(Map.of("input_ids", inputIdsTensor,
+					"attention_mask", attentionMaskTensor, "token_type_ids", tokenTypeIdsTensor));
 
 			// The Run result object is AutoCloseable to prevent references from leaking
 			// out. Once the Result object is
 			// closed, all it’s child OnnxValues are closed too.
-			try (OrtSession.Result results = this.session.run(modelInputs)) {
+			try (OrtSession.Result results = context.session.run(modelInputs)) {
 
-				// OnnxValue lastHiddenState = results.get(0);
-				OnnxValue lastHiddenState = results.get(this.modelOutputName).get();
+				OnnxTensor lastHiddenState = (OnnxTensor) results.get(this.modelOutputName).get();
 
 				// 0 - batch_size (1..x)
-				// 1 - sequence_length (128)
+				// 1 - sequence_length
 				// 2 - embedding dimensions (384)
-				float[][][] tokenEmbeddings = (float[][][]) lastHiddenState.getValue();
-
-				try (NDManager manager = NDManager.newBaseManager()) {
-					NDArray ndTokenEmbeddings = create(tokenEmbeddings, manager);
-					NDArray ndAttentionMask = manager.create(attention_mask0);
-
-					NDArray embedding = meanPooling(ndTokenEmbeddings, ndAttentionMask);
+				int dimensions = (int) lastHiddenState.getInfo().getShape()[2];
+				FloatBuffer tokenEmbeddings = lastHiddenState.getFloatBuffer();
 
-					for (int i = 0; i < embedding.size(0); i++) {
-						resultEmbeddings.add(toDoubleList(embedding.get(i).toFloatArray()));
-					}
+				for (int i = 0; i < batchSize; i++) {
+					resultEmbeddings[order[start + i]] = meanPooling(tokenEmbeddings, attentionMask, i,
+							sequenceLength, dimensions);
 				}
 			}
 		}
-		catch (OrtException ex) {
-			throw new RuntimeException(ex);
+	}
+
+	/**
+	 * Average of the token embeddings of a text, weighted by the attention mask, read in
+	 * place from the flat {@code [batch, sequence, dimensions]} model output.
+	 */
+	private static float[] meanPooling(FloatBuffer tokenEmbeddings, LongBuffer attentionMask, int row,
+			int sequenceLength, int dimensions) {
+
+		float[] embedding = new float[dimensions];
+		float maskSum = 0;
+		for (int token = 0; token < sequenceLength; token++) {
+			float mask = attentionMask.get(row * sequenceLength + token);
+			if (mask == 0) {
+				continue;
+			}
+			maskSum += mask;
+			int offset = (row * sequenceLength + token) * dimensions;
+			for (int d = 0; d < dimensions; d++) {
+				embedding[d] += tokenEmbeddings.get(offset + d) * mask;
+			}
+		}
+		// Clamp the attention mask sum to avoid division by zero
+		maskSum = Math.max(maskSum, 1e-9f);
+		for (int d = 0; d < dimensions; d++) {
+			embedding[d] /= maskSum;
 		}
+		return embedding;
+	}
 
-		var indexCounter = new AtomicInteger(0);
-		return new EmbeddingResponse(
-				resultEmbeddings.stream().map(e -> new Embedding(e, indexCounter.incrementAndGet())).toList());
+	/**
+	 * @return the number of tokens of the encoding, without the trailing padding the
+	 * tokenizer may have added.
+	 */
+	private static int tokenCount(Encoding encoding) {
+		long[] attentionMask = encoding.getAttentionMask();
+		int length = attentionMask.length;
+		while (length > 1 && attentionMask[length - 1] == 0) {
+			length--;
+		}
+		return length;
+	}
+
+	private static void putPadded(LongBuffer buffer, long[] values, int length, int paddedLength) {
+		buffer.put(values, 0, length);
+		for (int i = length; i < paddedLength; i++) {
+			buffer.put(0L);
+		}
+	}
+
+	private InferenceContext acquireInferenceContext() {
+		InferenceContext context = this.inferenceContexts.poll();
+		if (context == null) {
+			int index = this.inferenceContextCount.getAndIncrement();
+			context = new InferenceContext(this.sessions.get(index % this.sessions.size()));
+		}
+		return context;
 	}
 
 	private Map<String, OnnxTensor> removeUnknownModelInputs(Map<String, OnnxTensor> modelInputs) {
@@ -307,48 +466,52 @@ public class TransformersEmbeddingClient extends AbstractEmbeddingClient impleme
 
 	}
 
-	// Build a NDArray from 3D float array.
-	private NDArray create(float[][][] data3d, NDManager manager) {
-
-		FloatBuffer buffer = FloatBuffer.allocate(data3d.length * data3d[0].length * data3d[0][0].length);
+	/**
+	 * Session and direct input buffers of an inference, reused across calls. The buffers
+	 * grow to the largest batch seen.
+	 */
+	private static final class InferenceContext {
 
-		for (float[][] data2d : data3d) {
-			for (float[] data1d : data2d) {
-				buffer.put(data1d);
-			}
-		}
-		buffer.rewind();
+		private final OrtSession session;
 
-		return manager.create(buffer, new Shape(data3d.length, data3d[0].length, data3d[0][0].length));
-	}
+		private LongBuffer inputIds = allocate(0);
 
-	private NDArray meanPooling(NDArray tokenEmbeddings, NDArray attentionMask) {
+		private LongBuffer attentionMask = allocate(0);
 
-		NDArray attentionMaskExpanded = attentionMask.expandDims(-1)
-			.broadcast(tokenEmbeddings.getShape())
-			.toType(DataType.FLOAT32, false);
+		private LongBuffer tokenTypeIds = allocate(0);
 
-		// Multiply token embeddings with expanded attention mask
-		NDArray weightedEmbeddings = tokenEmbeddings.mul(attentionMaskExpanded);
+		InferenceContext(OrtSession session) {
+			this.session = session;
+		}
 
-		// Sum along the appropriate axis
-		NDArray sumEmbeddings = weightedEmbeddings.sum(new int[] { EMBEDDING_AXIS });
+		LongBuffer inputIds(int size) {
+			this.inputIds = reset(this.inputIds, size);
+			return this.inputIds;
+		}
 
-		// Clamp the attention mask sum to avoid division by zero
-		NDArray sumMask = attentionMaskExpanded.sum(new int[] { EMBEDDING_AXIS }).clip(1e-9f, Float.MAX_VALUE);
+		LongBuffer attentionMask(int size) {
+			this.attentionMask = reset(this.attentionMask, size);
+			return this.attentionMask;
+		}
 
-		// Divide sum embeddings by sum mask
-		return sumEmbeddings.div(sumMask);
-	}
+		LongBuffer tokenTypeIds(int size) {
+			this.tokenTypeIds = reset(this.tokenTypeIds, size);
+			return this.tokenTypeIds;
+		}
 
-	private List<Double> toDoubleList(float[] floats) {
-		List<Double> result = new ArrayList<>();
-		if (floats != null && floats.length > 0) {
-			for (int i = 0; i < floats.length; i++) {
-				result.add((double) floats[i]);
+		private static LongBuffer reset(LongBuffer buffer, int size) {
+			if (buffer.capacity() < size) {
+				return allocate(size);
 			}
+			buffer.clear();
+			return buffer;
 		}
-		return result;
+
+		private static LongBuffer allocate(int size) {
+			// The ONNX runtime reads direct buffers in the native byte order
+			return ByteBuffer.allocateDirect(size * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+		}
+
 	}
 
 	private static Resource toResource(String uri) {
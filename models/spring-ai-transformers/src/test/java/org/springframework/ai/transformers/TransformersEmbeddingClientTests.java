@@ -24,6 +24,7 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 /**
  * @author Christian Tzolov
@@ -87,6 +88,27 @@ public class TransformersEmbeddingClientTests {
 		assertThat(DF.format(embed.getResults().get(1).getOutput().get(383))).isEqualTo(DF.format(0.05501303821802139));
 	}
 
+	@Test
+	void embedInBatchesOfSimilarLengths() throws Exception {
+		TransformersEmbeddingClient embeddingClient = new TransformersEmbeddingClient();
+		embeddingClient.setMaxBatchSize(2);
+		embeddingClient.afterPropertiesSet();
+		List<String> texts = List.of("World is big", "Hello world",
+				"The quick brown fox jumps over the lazy dog, then runs into the forest", "Spring",
+				"Embeddings of texts of different lengths");
+
+		List<List<Double>> embed = embeddingClient.embed(texts);
+
+		assertThat(embed).hasSize(texts.size());
+		for (int i = 0; i < texts.size(); i++) {
+			List<Double> single = embeddingClient.embed(texts.get(i));
+			for (int j = 0; j < single.size(); j++) {
+				assertThat(embed.get(i).get(j)).isCloseTo(single.get(j), within(1e-5));
+			}
+		}
+		assertThat(DF.format(embed.get(1).get(0))).isEqualTo(DF.format(-0.19744634628295898));
+	}
+
 	@Test
 	void dimensions() throws Exception {
 
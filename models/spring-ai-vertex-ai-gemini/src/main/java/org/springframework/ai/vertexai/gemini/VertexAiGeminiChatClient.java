@@ -353,19 +353,20 @@ public class VertexAiGeminiChatClient
 	}
 
 	private List<Tool> getFunctionTools(Set<String> functionNames) {
+		return this.resolveFunctionTools(functionNames, functionCallbacks -> {
 
-		final var tool = Tool.newBuilder();
+			final var tool = Tool.newBuilder();
 
-		final List<FunctionDeclaration> functionDeclarations = this.resolveFunctionCallbacks(functionNames)
-			.stream()
-			.map(functionCallback -> FunctionDeclaration.newBuilder()
-				.setName(functionCallback.getName())
-				.setDescription(functionCallback.getDescription())
-				.setParameters(jsonToSchema(functionCallback.getInputTypeSchema()))
-				.build())
-			.toList();
-		tool.addAllFunctionDeclarations(functionDeclarations);
-		return List.of(tool.build());
+			final List<FunctionDeclaration> functionDeclarations = functionCallbacks.stream()
+				.map(functionCallback -> FunctionDeclaration.newBuilder()
+					.setName(functionCallback.getName())
+					.setDescription(functionCallback.getDescription())
+					.setParameters(jsonToSchema(functionCallback.getInputTypeSchema()))
+					.build())
+				.toList();
+			tool.addAllFunctionDeclarations(functionDeclarations);
+			return List.of(tool.build());
+		});
 	}
 
 	private static String structToJson(Struct struct) {
@@ -415,11 +416,8 @@ public class VertexAiGeminiChatClient
 		var functionName = functionCall.getName();
 		String functionArguments = structToJson(functionCall.getArgs());
 
-		if (!this.functionCallbackRegister.containsKey(functionName)) {
-			throw new IllegalStateException("No function callback found for function name: " + functionName);
-		}
-
-		String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
+		String functionResponse = this.callFunctions(List.of(new FunctionInvocation(functionName, functionArguments)))
+			.get(0);
 
 		Content contentFnResp = Content.newBuilder()
 			.addParts(Part.newBuilder()
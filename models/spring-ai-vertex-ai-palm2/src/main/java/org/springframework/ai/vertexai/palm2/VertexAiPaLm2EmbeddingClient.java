@@ -41,6 +41,11 @@ public class VertexAiPaLm2EmbeddingClient extends AbstractEmbeddingClient {
 		return embed(document.getContent());
 	}
 
+	@Override
+	public String getEmbeddingContent(Document document) {
+		return document.getContent();
+	}
+
 	@Override
 	public EmbeddingResponse call(EmbeddingRequest request) {
 		List<VertexAiPaLm2Api.Embedding> vertexEmbeddings = this.vertexAiApi.batchEmbedText(request.getInstructions());
@@ -16,35 +16,332 @@
 
 package org.springframework.ai.chat.memory;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.util.Assert;
 
 /**
+ * {@link ChatMemory} keeping the conversations in memory. By default neither the
+ * conversations nor their messages are limited. With the {@link #builder() builder},
+ * each conversation can be bounded by a number of messages and, with a
+ * {@link TokenCountEstimator}, by a number of tokens: the oldest messages are dropped
+ * first. Conversations idle for longer than the configured time to idle are evicted, as
+ * are the least recently used conversations when there are more than the maximum number
+ * of conversations.
+ * <p>
+ * Appends to different conversations do not contend with each other, and
+ * {@link #get(String, int)} only copies the requested messages.
+ *
  * @author Christian Tzolov
  */
 public class InMemoryChatMemory implements ChatMemory {
 
-	Map<String, List<Message>> conversationHistory = new ConcurrentHashMap<>();
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Map<String, Conversation> conversations = new ConcurrentHashMap<>();
+
+	private final int maxMessages;
+
+	private final TokenCountEstimator tokenCountEstimator;
+
+	private final long maxTokens;
+
+	private final int maxConversations;
+
+	private final long timeToIdleMillis;
+
+	private final Clock clock;
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final AtomicLong nextExpirationMillis = new AtomicLong();
+
+	/**
+	 * Create a chat memory keeping all the messages of all the conversations.
+	 */
+	public InMemoryChatMemory() {
+		this(builder());
+	}
+
+	private InMemoryChatMemory(Builder builder) {
+		this.maxMessages = builder.maxMessages;
+		this.tokenCountEstimator = builder.tokenCountEstimator;
+		this.maxTokens = builder.maxTokens;
+		this.maxConversations = builder.maxConversations;
+		this.timeToIdleMillis = (builder.timeToIdle != null) ? builder.timeToIdle.toMillis() : 0;
+		this.clock = builder.clock;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
 
 	@Override
 	public void add(String conversationId, List<Message> messages) {
-		this.conversationHistory.putIfAbsent(conversationId, new ArrayList<>());
-		this.conversationHistory.get(conversationId).addAll(messages);
+		Assert.notNull(conversationId, "Conversation id must not be null");
+		Assert.notNull(messages, "Messages must not be null");
+		// Estimated outside of the conversation lock
+		int[] tokens = new int[messages.size()];
+		if (this.tokenCountEstimator != null) {
+			for (int i = 0; i < tokens.length; i++) {
+				tokens[i] = this.tokenCountEstimator.estimate(messages.get(i));
+			}
+		}
+		long now = this.clock.millis();
+		boolean[] created = new boolean[1];
+		// Appending in compute() makes it atomic with the eviction of the conversation
+		this.conversations.compute(conversationId, (id, conversation) -> {
+			if (conversation == null || isExpired(conversation, now)) {
+				conversation = new Conversation(Math.min(INITIAL_CAPACITY, this.maxMessages));
+				created[0] = true;
+			}
+			conversation.append(messages, tokens, this.maxMessages, this.maxTokens);
+			conversation.lastAccessMillis = now;
+			return conversation;
+		});
+		if (created[0]) {
+			evictExpired(now, false);
+			if (this.conversations.size() > this.maxConversations) {
+				evictLeastRecentlyUsed();
+			}
+		}
 	}
 
 	@Override
 	public List<Message> get(String conversationId, int lastN) {
-		List<Message> all = this.conversationHistory.get(conversationId);
-		return all != null ? all.stream().skip(Math.max(0, all.size() - lastN)).toList() : List.of();
+		Conversation conversation = this.conversations.get(conversationId);
+		if (conversation == null) {
+			return List.of();
+		}
+		long now = this.clock.millis();
+		if (isExpired(conversation, now)) {
+			this.conversations.remove(conversationId, conversation);
+			return List.of();
+		}
+		conversation.lastAccessMillis = now;
+		return conversation.last(lastN);
 	}
 
 	@Override
 	public void clear(String conversationId) {
-		this.conversationHistory.remove(conversationId);
+		this.conversations.remove(conversationId);
+	}
+
+	/**
+	 * Evict the conversations idle for longer than the time to idle. Expired conversations
+	 * are also evicted when they are accessed and, at most every half time to idle, when a
+	 * conversation is created; applications with many short conversations may call this
+	 * method periodically to reclaim memory sooner.
+	 */
+	public void evictExpired() {
+		evictExpired(this.clock.millis(), true);
+	}
+
+	/**
+	 * @return the number of conversations held in memory.
+	 */
+	public int getConversationCount() {
+		return this.conversations.size();
+	}
+
+	private boolean isExpired(Conversation conversation, long now) {
+		return this.timeToIdleMillis > 0 && now - conversation.lastAccessMillis > this.timeToIdleMillis;
+	}
+
+	private void evictExpired(long now, boolean force) {
+		if (this.timeToIdleMillis <= 0) {
+			return;
+		}
+		long next = this.nextExpirationMillis.get();
+		if (!force && (now < next || !this.nextExpirationMillis.compareAndSet(next, now + this.timeToIdleMillis / 2))) {
+			return;
+		}
+		this.conversations.entrySet().removeIf(entry -> isExpired(entry.getValue(), now));
+	}
+
+	private void evictLeastRecentlyUsed() {
+		if (!this.evictionLock.tryLock()) {
+			// Another thread is already evicting
+			return;
+		}
+		try {
+			int excess = this.conversations.size() - this.maxConversations;
+			if (excess <= 0) {
+				return;
+			}
+			// Evict a tenth of the conversations at once, to amortize the cost of sorting
+			int toEvict = Math.max(excess, this.maxConversations / 10);
+			List<Map.Entry<String, Conversation>> entries = new ArrayList<>(this.conversations.entrySet());
+			entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccessMillis));
+			for (int i = 0; i < toEvict && i < entries.size(); i++) {
+				this.conversations.remove(entries.get(i).getKey(), entries.get(i).getValue());
+			}
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Ring buffer of the messages of a conversation, with their token counts.
+	 */
+	private static final class Conversation {
+
+		private Message[] messages;
+
+		private int[] tokens;
+
+		private int head;
+
+		private int size;
+
+		private long tokenCount;
+
+		private volatile long lastAccessMillis;
+
+		Conversation(int initialCapacity) {
+			this.messages = new Message[initialCapacity];
+			this.tokens = new int[initialCapacity];
+		}
+
+		synchronized void append(List<Message> added, int[] addedTokens, int maxMessages, long maxTokens) {
+			for (int i = 0; i < added.size(); i++) {
+				if (this.size == this.messages.length) {
+					if (this.size < maxMessages) {
+						grow(maxMessages);
+					}
+					else {
+						removeOldest();
+					}
+				}
+				int tail = (this.head + this.size) % this.messages.length;
+				this.messages[tail] = added.get(i);
+				this.tokens[tail] = addedTokens[i];
+				this.tokenCount += addedTokens[i];
+				this.size++;
+			}
+			// The last message is kept even if it exceeds the token limit on its own
+			while (this.tokenCount > maxTokens && this.size > 1) {
+				removeOldest();
+			}
+		}
+
+		synchronized List<Message> last(int n) {
+			int count = Math.min(Math.max(n, 0), this.size);
+			Message[] result = new Message[count];
+			int start = this.head + this.size - count;
+			for (int i = 0; i < count; i++) {
+				result[i] = this.messages[(start + i) % this.messages.length];
+			}
+			return Collections.unmodifiableList(Arrays.asList(result));
+		}
+
+		private void grow(int maxMessages) {
+			int capacity = (int) Math.min((long) this.messages.length * 2, maxMessages);
+			Message[] grownMessages = new Message[capacity];
+			int[] grownTokens = new int[capacity];
+			for (int i = 0; i < this.size; i++) {
+				int index = (this.head + i) % this.messages.length;
+				grownMessages[i] = this.messages[index];
+				grownTokens[i] = this.tokens[index];
+			}
+			this.messages = grownMessages;
+			this.tokens = grownTokens;
+			this.head = 0;
+		}
+
+		private void removeOldest() {
+			this.tokenCount -= this.tokens[this.head];
+			this.messages[this.head] = null;
+			this.head = (this.head + 1) % this.messages.length;
+			this.size--;
+		}
+
+	}
+
+	public static final class Builder {
+
+		private int maxMessages = Integer.MAX_VALUE;
+
+		private TokenCountEstimator tokenCountEstimator;
+
+		private long maxTokens = Long.MAX_VALUE;
+
+		private int maxConversations = Integer.MAX_VALUE;
+
+		private Duration timeToIdle;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder() {
+		}
+
+		/**
+		 * @param maxMessages the maximum number of messages kept for each conversation.
+		 */
+		public Builder withMaxMessages(int maxMessages) {
+			Assert.isTrue(maxMessages > 0, "Max messages must be positive");
+			this.maxMessages = maxMessages;
+			return this;
+		}
+
+		/**
+		 * @param tokenCountEstimator the estimator used to count the tokens of the
+		 * messages.
+		 * @param maxTokens the maximum number of tokens kept for each conversation. The
+		 * last message is always kept.
+		 */
+		public Builder withMaxTokens(TokenCountEstimator tokenCountEstimator, long maxTokens) {
+			Assert.notNull(tokenCountEstimator, "TokenCountEstimator must not be null");
+			Assert.isTrue(maxTokens > 0, "Max tokens must be positive");
+			this.tokenCountEstimator = tokenCountEstimator;
+			this.maxTokens = maxTokens;
+			return this;
+		}
+
+		/**
+		 * @param maxConversations the maximum number of conversations, the least recently
+		 * used ones are evicted first.
+		 */
+		public Builder withMaxConversations(int maxConversations) {
+			Assert.isTrue(maxConversations > 0, "Max conversations must be positive");
+			this.maxConversations = maxConversations;
+			return this;
+		}
+
+		/**
+		 * @param timeToIdle the time after which a conversation that was neither read nor
+		 * written is evicted.
+		 */
+		public Builder withTimeToIdle(Duration timeToIdle) {
+			Assert.isTrue(timeToIdle != null && !timeToIdle.isNegative() && !timeToIdle.isZero(),
+					"Time to idle must be positive");
+			this.timeToIdle = timeToIdle;
+			return this;
+		}
+
+		public Builder withClock(Clock clock) {
+			Assert.notNull(clock, "Clock must not be null");
+			this.clock = clock;
+			return this;
+		}
+
+		public InMemoryChatMemory build() {
+			return new InMemoryChatMemory(this);
+		}
+
 	}
 
-}
\ No newline at end of file
+}
@@ -29,7 +29,9 @@ import org.springframework.ai.tokenizer.TokenCountEstimator;
  * Returns a new list of content (e.g list of messages of list of documents) that is a
  * subset of the input list of contents and complies with the max token size constraint.
  *
- * The token estimator is used to estimate the token count of the datum.
+ * The token estimator is used to estimate the token count of the datum. The token counts
+ * are estimated once, in a batch, and the contents to keep are selected in a single pass
+ * from the newest one backwards.
  *
  * @author Christian Tzolov
  */
@@ -56,66 +58,54 @@ public class LastMaxTokenSizeContentTransformer extends AbstractPromptTransforme
 		this.filterTags = filterTags;
 	}
 
-	protected List<Content> doGetDatumToModify(ChatServiceContext chatServiceContext) {
-		return chatServiceContext.getContents()
-			.stream()
-			.filter(content -> this.filterTags.stream().allMatch(tag -> content.getMetadata().containsKey(tag)))
-			.toList();
-	}
-
-	protected List<Content> doGetDatumNotToModify(ChatServiceContext chatServiceContext) {
-		return chatServiceContext.getContents()
-			.stream()
-			.filter(content -> !this.filterTags.stream().allMatch(tag -> content.getMetadata().containsKey(tag)))
-			.toList();
-	}
-
-	protected int doEstimateTokenCount(Content datum) {
-		return this.tokenCountEstimator.estimate(datum);
+	/**
+	 * @return whether the content has all the filter tags, and is then subject to the
+	 * max token size.
+	 */
+	protected boolean doIsDatumToModify(Content content) {
+		for (String tag : this.filterTags) {
+			if (!content.getMetadata().containsKey(tag)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
-	protected int doEstimateTokenCount(List<Content> datum) {
-		return datum.stream().mapToInt(this::doEstimateTokenCount).sum();
+	protected int[] doEstimateTokenCounts(List<Content> datum) {
+		return this.tokenCountEstimator.estimateEachContent(datum);
 	}
 
 	@Override
 	public ChatServiceContext transform(ChatServiceContext chatServiceContext) {
 
-		List<Content> datum = this.doGetDatumToModify(chatServiceContext);
-
-		int totalSize = this.doEstimateTokenCount(datum);
-
-		if (totalSize <= this.maxTokenSize) {
-			return chatServiceContext;
+		List<Content> contents = chatServiceContext.getContents();
+		List<Content> datum = new ArrayList<>(contents.size());
+		List<Content> datumNotToModify = new ArrayList<>();
+		for (Content content : contents) {
+			if (doIsDatumToModify(content)) {
+				datum.add(content);
+			}
+			else {
+				datumNotToModify.add(content);
+			}
 		}
 
-		List<Content> purgedContent = this.purgeExcess(datum, totalSize);
-
-		var updatedContent = new ArrayList<>(doGetDatumNotToModify(chatServiceContext));
-		updatedContent.addAll(purgedContent);
-
-		return ChatServiceContext.from(chatServiceContext).withContents(updatedContent).build();
-	}
-
-	protected List<Content> purgeExcess(List<Content> datum, int totalSize) {
-
-		int index = 0;
-		List<Content> newList = new ArrayList<>();
-
-		while (index < datum.size() && totalSize > this.maxTokenSize) {
-			Content oldDatum = datum.get(index++);
-			int oldMessageTokenSize = this.doEstimateTokenCount(oldDatum);
-			totalSize = totalSize - oldMessageTokenSize;
+		// Keep the newest contents that fit, walking back from the last one
+		int[] tokenCounts = this.doEstimateTokenCounts(datum);
+		int firstKept = datum.size();
+		long totalSize = 0;
+		while (firstKept > 0 && totalSize + tokenCounts[firstKept - 1] <= this.maxTokenSize) {
+			totalSize += tokenCounts[--firstKept];
 		}
 
-		if (index >= datum.size()) {
-			return List.of();
+		if (firstKept == 0) {
+			return chatServiceContext;
 		}
 
-		// add the rest of the messages.
-		newList.addAll(datum.subList(index, datum.size()));
+		var updatedContent = new ArrayList<>(datumNotToModify);
+		updatedContent.addAll(datum.subList(firstKept, datum.size()));
 
-		return newList;
+		return ChatServiceContext.from(chatServiceContext).withContents(updatedContent).build();
 	}
 
 }
\ No newline at end of file
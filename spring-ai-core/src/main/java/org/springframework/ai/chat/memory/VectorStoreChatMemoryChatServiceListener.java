@@ -27,24 +27,39 @@ import org.springframework.ai.chat.messages.MessageType;
 import org.springframework.ai.chat.prompt.transformer.TransformerContentType;
 import org.springframework.ai.chat.prompt.transformer.ChatServiceContext;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentWriter;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.writer.WriteBehindDocumentWriter;
 import org.springframework.util.CollectionUtils;
 
 /**
+ * {@link ChatServiceListener} storing the user and assistant messages as documents in a
+ * {@link VectorStore}, for the {@link VectorStoreChatMemoryRetriever} to retrieve them.
+ * <p>
+ * Writing to the vector store embeds the messages, which adds an embedding request and a
+ * write to each chat turn. Wrapping the vector store in a
+ * {@link WriteBehindDocumentWriter} moves them off the request path, and batches the
+ * messages of all the conversations.
+ *
  * @author Christian Tzolov
  */
 public class VectorStoreChatMemoryChatServiceListener implements ChatServiceListener {
 
-	private final VectorStore vectorStore;
+	private final DocumentWriter documentWriter;
 
 	private final Map<String, Object> additionalMetadata;
 
-	public VectorStoreChatMemoryChatServiceListener(VectorStore vectorStore) {
-		this(vectorStore, new HashMap<>());
+	/**
+	 * @param documentWriter the writer of the message documents, a {@link VectorStore}
+	 * or a {@link WriteBehindDocumentWriter} writing to one.
+	 */
+	public VectorStoreChatMemoryChatServiceListener(DocumentWriter documentWriter) {
+		this(documentWriter, new HashMap<>());
 	}
 
-	public VectorStoreChatMemoryChatServiceListener(VectorStore vectorStore, Map<String, Object> additionalMetadata) {
-		this.vectorStore = vectorStore;
+	public VectorStoreChatMemoryChatServiceListener(DocumentWriter documentWriter,
+			Map<String, Object> additionalMetadata) {
+		this.documentWriter = documentWriter;
 		this.additionalMetadata = additionalMetadata;
 	}
 
@@ -55,7 +70,7 @@ public class VectorStoreChatMemoryChatServiceListener implements ChatServiceList
 			List<Document> docs = toDocuments(chatServiceContext.getPrompt().getInstructions(),
 					chatServiceContext.getConversationId());
 
-			this.vectorStore.add(docs);
+			this.documentWriter.write(docs);
 		}
 	}
 
@@ -71,7 +86,7 @@ public class VectorStoreChatMemoryChatServiceListener implements ChatServiceList
 			List<Document> docs = toDocuments(assistantMessages,
 					chatServiceResponse.getPromptContext().getConversationId());
 
-			this.vectorStore.add(docs);
+			this.documentWriter.write(docs);
 		}
 	}
 
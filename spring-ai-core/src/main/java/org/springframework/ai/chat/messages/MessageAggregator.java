@@ -16,15 +16,17 @@
 
 package org.springframework.ai.chat.messages;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.ai.chat.ChatResponse;
 import org.springframework.ai.chat.Generation;
@@ -32,6 +34,12 @@ import org.springframework.ai.chat.Generation;
 /**
  * Helper that for streaming chat responses, aggregate the chat response messages into a
  * single AssistantMessage. Job is performed in parallel to the chat response processing.
+ * <p>
+ * Each subscription to the aggregated {@link Flux} has its own aggregation state, so an
+ * aggregator and the fluxes it returns can be shared by concurrent subscribers. The
+ * content buffers are pre-sized from the running average length of the previous
+ * aggregations, and the metadata maps of the chunks are merged only once the stream
+ * completes.
  *
  * @author Christian Tzolov
  * @since 1.0.0
@@ -40,35 +48,108 @@ public class MessageAggregator {
 
 	private static final Logger logger = LoggerFactory.getLogger(MessageAggregator.class);
 
+	private static final int DEFAULT_CAPACITY = 256;
+
+	private static final int MAX_INITIAL_CAPACITY = 64 * 1024;
+
+	private final AtomicLong aggregatedCount = new AtomicLong();
+
+	private final AtomicLong aggregatedLength = new AtomicLong();
+
+	/**
+	 * Aggregate the chat responses, passing the aggregated response to the callback when
+	 * the stream completes.
+	 * @param fluxChatResponse the streamed chat responses.
+	 * @param onAggregationComplete called with the aggregated response on completion.
+	 * @return the streamed chat responses.
+	 */
 	public Flux<ChatResponse> aggregate(Flux<ChatResponse> fluxChatResponse,
 			Consumer<ChatResponse> onAggregationComplete) {
 
-		AtomicReference<StringBuilder> stringBufferRef = new AtomicReference<>(new StringBuilder());
-		AtomicReference<Map<String, Object>> mapRef = new AtomicReference<>();
+		return Flux.defer(() -> {
+			Aggregation aggregation = new Aggregation(initialCapacity());
+			return fluxChatResponse.doOnNext(aggregation::add)
+				.doOnComplete(() -> onAggregationComplete.accept(complete(aggregation)))
+				.doOnError(e -> logger.error("Aggregation Error", e));
+		});
+	}
+
+	/**
+	 * Aggregate the chat responses, emitting the aggregated response as the last element
+	 * of the stream.
+	 * @param fluxChatResponse the streamed chat responses.
+	 * @return the streamed chat responses followed by the aggregated response.
+	 */
+	public Flux<ChatResponse> aggregateAndEmit(Flux<ChatResponse> fluxChatResponse) {
 
-		return fluxChatResponse.doOnSubscribe(subscription -> {
-			// logger.info("Aggregation Subscribe:" + subscription);
-			stringBufferRef.set(new StringBuilder());
-			mapRef.set(new HashMap<>());
-		}).doOnNext(chatResponse -> {
-			// logger.info("Aggregation Next:" + chatResponse);
+		return Flux.defer(() -> {
+			Aggregation aggregation = new Aggregation(initialCapacity());
+			return fluxChatResponse.doOnNext(aggregation::add)
+				.concatWith(Mono.fromSupplier(() -> complete(aggregation)))
+				.doOnError(e -> logger.error("Aggregation Error", e));
+		});
+	}
+
+	private int initialCapacity() {
+		long count = this.aggregatedCount.get();
+		if (count == 0) {
+			return DEFAULT_CAPACITY;
+		}
+		// Room for the average length plus a quarter, to avoid growing most buffers
+		long averageLength = this.aggregatedLength.get() / count;
+		return (int) Math.min(Math.max(averageLength + averageLength / 4, 16), MAX_INITIAL_CAPACITY);
+	}
+
+	private ChatResponse complete(Aggregation aggregation) {
+		this.aggregatedCount.incrementAndGet();
+		this.aggregatedLength.addAndGet(aggregation.content.length());
+		return aggregation.toChatResponse();
+	}
+
+	/**
+	 * Aggregation state of a single subscription.
+	 */
+	private static final class Aggregation {
+
+		private final StringBuilder content;
+
+		private final List<Map<String, Object>> metadata = new ArrayList<>();
+
+		Aggregation(int initialCapacity) {
+			this.content = new StringBuilder(initialCapacity);
+		}
+
+		void add(ChatResponse chatResponse) {
 			if (chatResponse.getResult() != null) {
 				if (chatResponse.getResult().getOutput().getContent() != null) {
-					stringBufferRef.get().append(chatResponse.getResult().getOutput().getContent());
+					this.content.append(chatResponse.getResult().getOutput().getContent());
 				}
-				if (chatResponse.getResult().getOutput().getMetadata() != null) {
-					mapRef.get().putAll(chatResponse.getResult().getOutput().getMetadata());
+				Map<String, Object> chunkMetadata = chatResponse.getResult().getOutput().getMetadata();
+				// Kept by reference, and merged on completion
+				if (chunkMetadata != null && !chunkMetadata.isEmpty()
+						&& (this.metadata.isEmpty() || this.metadata.get(this.metadata.size() - 1) != chunkMetadata)) {
+					this.metadata.add(chunkMetadata);
 				}
 			}
-		}).doOnComplete(() -> {
-			// logger.debug("Aggregation Complete");
-			onAggregationComplete
-				.accept(new ChatResponse(List.of(new Generation(stringBufferRef.get().toString(), mapRef.get()))));
-			stringBufferRef.set(new StringBuilder());
-			mapRef.set(new HashMap<>());
-		}).doOnError(e -> {
-			logger.error("Aggregation Error", e);
-		});
+		}
+
+		ChatResponse toChatResponse() {
+			Map<String, Object> mergedMetadata;
+			if (this.metadata.isEmpty()) {
+				mergedMetadata = Map.of();
+			}
+			else if (this.metadata.size() == 1) {
+				mergedMetadata = this.metadata.get(0);
+			}
+			else {
+				mergedMetadata = new HashMap<>();
+				for (Map<String, Object> chunkMetadata : this.metadata) {
+					mergedMetadata.putAll(chunkMetadata);
+				}
+			}
+			return new ChatResponse(List.of(new Generation(this.content.toString(), mergedMetadata)));
+		}
+
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.prompt;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.antlr.runtime.Token;
+import org.antlr.runtime.TokenStream;
+import org.stringtemplate.v4.ST;
+import org.stringtemplate.v4.STGroup;
+import org.stringtemplate.v4.compiler.CompiledST;
+import org.stringtemplate.v4.compiler.FormalArgument;
+import org.stringtemplate.v4.compiler.STLexer;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable, thread-safe form of a {@link PromptTemplate}. The template is parsed once
+ * and its input variables are computed once; each render creates a fresh StringTemplate
+ * instance from the compiled template, so a compiled template can be shared by
+ * concurrent callers.
+ * <p>
+ * {@link #of(String)} returns the compiled templates from a bounded, least recently
+ * used cache keyed by the template text.
+ */
+public final class CompiledPromptTemplate {
+
+	public static final int CACHE_SIZE = 256;
+
+	private static final Map<String, CompiledPromptTemplate> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CompiledPromptTemplate> eldest) {
+			return size() > CACHE_SIZE;
+		}
+
+	};
+
+	private final String template;
+
+	private final STGroup group;
+
+	private final CompiledST compiledTemplate;
+
+	private final Set<String> inputVariables;
+
+	private CompiledPromptTemplate(String template) {
+		Assert.notNull(template, "Template must not be null");
+		ST st;
+		// If the template string is not valid, an exception will be thrown
+		try {
+			st = new ST(template, '{', '}');
+		}
+		catch (Exception ex) {
+			throw new IllegalArgumentException("The template string is not valid.", ex);
+		}
+		this.template = template;
+		this.group = st.groupThatCreatedThisInstance;
+		this.compiledTemplate = st.impl;
+		this.inputVariables = Collections.unmodifiableSet(inputVariables(st.impl.tokens));
+		// Declare the variables up front: adding an undeclared attribute to a
+		// StringTemplate instance declares it on the shared compiled template
+		for (String name : this.inputVariables) {
+			if (this.compiledTemplate.formalArguments == null
+					|| !this.compiledTemplate.formalArguments.containsKey(name)) {
+				this.compiledTemplate.addArg(new FormalArgument(name));
+			}
+		}
+	}
+
+	/**
+	 * Parse the template.
+	 * @param template the template text.
+	 * @return the compiled template.
+	 * @throws IllegalArgumentException if the template is not valid.
+	 */
+	public static CompiledPromptTemplate compile(String template) {
+		return new CompiledPromptTemplate(template);
+	}
+
+	/**
+	 * Return the compiled template from the cache, parsing and caching it if needed.
+	 * @param template the template text.
+	 * @return the compiled template.
+	 * @throws IllegalArgumentException if the template is not valid.
+	 */
+	public static CompiledPromptTemplate of(String template) {
+		Assert.notNull(template, "Template must not be null");
+		CompiledPromptTemplate compiled;
+		synchronized (CACHE) {
+			compiled = CACHE.get(template);
+		}
+		if (compiled == null) {
+			// Parsed outside of the lock, concurrent callers may parse the same template
+			compiled = compile(template);
+			synchronized (CACHE) {
+				CACHE.putIfAbsent(template, compiled);
+			}
+		}
+		return compiled;
+	}
+
+	public String getTemplate() {
+		return this.template;
+	}
+
+	/**
+	 * @return the names of the variables the template expects.
+	 */
+	public Set<String> getInputVariables() {
+		return this.inputVariables;
+	}
+
+	/**
+	 * Render the template. {@link Resource} values are replaced by their content.
+	 * @param model the values of all the template variables, and only them.
+	 * @return the rendered template.
+	 * @throws IllegalStateException if the model keys are not the template variables.
+	 */
+	public String render(Map<String, Object> model) {
+		validate(model.keySet());
+		return doRender(model);
+	}
+
+	/**
+	 * Check that the model provides all the variables of the template, and only them.
+	 * @param modelKeys the names of the model values.
+	 * @throws IllegalStateException if the model keys are not the template variables.
+	 */
+	public void validate(Set<String> modelKeys) {
+		// Check if model provides all keys required by the template
+		if (!modelKeys.containsAll(this.inputVariables)) {
+			Set<String> missing = new HashSet<>(this.inputVariables);
+			missing.removeAll(modelKeys);
+			throw new IllegalStateException(
+					"All template variables were not replaced. Missing variable names are " + missing);
+		}
+
+		// Check if the template references any keys not provided by the model
+		if (!this.inputVariables.containsAll(modelKeys)) {
+			Set<String> missing = new HashSet<>(modelKeys);
+			missing.removeAll(this.inputVariables);
+			throw new IllegalStateException(
+					"All model variables were not replaced. Missing variable names are " + missing);
+		}
+	}
+
+	String doRender(Map<String, Object> model) {
+		ST st = this.group.createStringTemplate(this.compiledTemplate);
+		for (Map.Entry<String, Object> entry : model.entrySet()) {
+			if (entry.getValue() instanceof Resource resource) {
+				st.add(entry.getKey(), renderResource(resource));
+			}
+			else {
+				st.add(entry.getKey(), entry.getValue());
+			}
+		}
+		return st.render();
+	}
+
+	private static String renderResource(Resource resource) {
+		try {
+			return resource.getContentAsString(Charset.defaultCharset());
+		}
+		catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static Set<String> inputVariables(TokenStream tokens) {
+		Set<String> inputVariables = new HashSet<>();
+		boolean isInsideList = false;
+
+		for (int i = 0; i < tokens.size(); i++) {
+			Token token = tokens.get(i);
+
+			if (token.getType() == STLexer.LDELIM && i + 1 < tokens.size()
+					&& tokens.get(i + 1).getType() == STLexer.ID) {
+				if (i + 2 < tokens.size() && tokens.get(i + 2).getType() == STLexer.COLON) {
+					inputVariables.add(tokens.get(i + 1).getText());
+					isInsideList = true;
+				}
+			}
+			else if (token.getType() == STLexer.RDELIM) {
+				isInsideList = false;
+			}
+			else if (!isInsideList && token.getType() == STLexer.ID) {
+				inputVariables.add(token.getText());
+			}
+		}
+
+		return inputVariables;
+	}
+
+}
@@ -22,15 +22,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 
-import org.antlr.runtime.Token;
-import org.antlr.runtime.TokenStream;
-import org.stringtemplate.v4.ST;
-import org.stringtemplate.v4.compiler.STLexer;
-
 import org.springframework.ai.chat.messages.Media;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
@@ -41,7 +35,7 @@ import org.springframework.util.StreamUtils;
 
 public class PromptTemplate implements PromptTemplateActions, PromptTemplateMessageActions {
 
-	private ST st;
+	private final CompiledPromptTemplate compiledTemplate;
 
 	private Map<String, Object> dynamicModel = new HashMap<>();
 
@@ -60,38 +54,20 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 		catch (IOException ex) {
 			throw new RuntimeException("Failed to read resource", ex);
 		}
-		try {
-			this.st = new ST(this.template, '{', '}');
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
-		}
+		this.compiledTemplate = CompiledPromptTemplate.of(this.template);
 	}
 
 	public PromptTemplate(String template) {
 		this.template = template;
 		// If the template string is not valid, an exception will be thrown
-		try {
-			this.st = new ST(this.template, '{', '}');
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
-		}
+		this.compiledTemplate = CompiledPromptTemplate.of(this.template);
 	}
 
 	public PromptTemplate(String template, Map<String, Object> model) {
 		this.template = template;
 		// If the template string is not valid, an exception will be thrown
-		try {
-			this.st = new ST(this.template, '{', '}');
-			for (Entry<String, Object> entry : model.entrySet()) {
-				add(entry.getKey(), entry.getValue());
-				dynamicModel.put(entry.getKey(), entry.getValue());
-			}
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
-		}
+		this.compiledTemplate = CompiledPromptTemplate.of(this.template);
+		this.dynamicModel.putAll(model);
 	}
 
 	public PromptTemplate(Resource resource, Map<String, Object> model) {
@@ -102,16 +78,8 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 			throw new RuntimeException("Failed to read resource", ex);
 		}
 		// If the template string is not valid, an exception will be thrown
-		try {
-			this.st = new ST(this.template, '{', '}');
-			for (Entry<String, Object> entry : model.entrySet()) {
-				add(entry.getKey(), entry.getValue());
-				dynamicModel.put(entry.getKey(), entry.getValue());
-			}
-		}
-		catch (Exception ex) {
-			throw new IllegalArgumentException("The template string is not valid.", ex);
-		}
+		this.compiledTemplate = CompiledPromptTemplate.of(this.template);
+		this.dynamicModel.putAll(model);
 	}
 
 	/**
@@ -139,7 +107,6 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	}
 
 	public void add(String name, Object value) {
-		this.st.add(name, value);
 		this.dynamicModel.put(name, value);
 	}
 
@@ -155,34 +122,15 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	@Override
 	public String render() {
 		validate(this.dynamicModel);
-		return st.render();
+		return this.compiledTemplate.doRender(this.dynamicModel);
 	}
 
 	@Override
 	public String render(Map<String, Object> model) {
 		validate(model);
-		for (Entry<String, Object> entry : model.entrySet()) {
-			if (st.getAttribute(entry.getKey()) != null) {
-				st.remove(entry.getKey());
-			}
-			if (entry.getValue() instanceof Resource) {
-				st.add(entry.getKey(), renderResource((Resource) entry.getValue()));
-			}
-			else {
-				st.add(entry.getKey(), entry.getValue());
-			}
-
-		}
-		return st.render();
-	}
-
-	private String renderResource(Resource resource) {
-		try {
-			return resource.getContentAsString(Charset.defaultCharset());
-		}
-		catch (IOException e) {
-			throw new RuntimeException(e);
-		}
+		Map<String, Object> renderModel = new HashMap<>(this.dynamicModel);
+		renderModel.putAll(model);
+		return this.compiledTemplate.doRender(renderModel);
 	}
 
 	@Override
@@ -211,29 +159,7 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	}
 
 	public Set<String> getInputVariables() {
-		TokenStream tokens = this.st.impl.tokens;
-		Set<String> inputVariables = new HashSet<>();
-		boolean isInsideList = false;
-
-		for (int i = 0; i < tokens.size(); i++) {
-			Token token = tokens.get(i);
-
-			if (token.getType() == STLexer.LDELIM && i + 1 < tokens.size()
-					&& tokens.get(i + 1).getType() == STLexer.ID) {
-				if (i + 2 < tokens.size() && tokens.get(i + 2).getType() == STLexer.COLON) {
-					inputVariables.add(tokens.get(i + 1).getText());
-					isInsideList = true;
-				}
-			}
-			else if (token.getType() == STLexer.RDELIM) {
-				isInsideList = false;
-			}
-			else if (!isInsideList && token.getType() == STLexer.ID) {
-				inputVariables.add(token.getText());
-			}
-		}
-
-		return inputVariables;
+		return new HashSet<>(this.compiledTemplate.getInputVariables());
 	}
 
 	private Set<String> getModelKeys(Map<String, Object> model) {
@@ -244,23 +170,7 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	}
 
 	protected void validate(Map<String, Object> model) {
-
-		Set<String> templateTokens = getInputVariables();
-		Set<String> modelKeys = getModelKeys(model);
-
-		// Check if model provides all keys required by the template
-		if (!modelKeys.containsAll(templateTokens)) {
-			templateTokens.removeAll(modelKeys);
-			throw new IllegalStateException(
-					"All template variables were not replaced. Missing variable names are " + templateTokens);
-		}
-
-		// Check if the template references any keys not provided by the model
-		if (!templateTokens.containsAll(modelKeys)) {
-			modelKeys.removeAll(templateTokens);
-			throw new IllegalStateException(
-					"All model variables were not replaced. Missing variable names are " + modelKeys);
-		}
+		this.compiledTemplate.validate(getModelKeys(model));
 	}
 
 }
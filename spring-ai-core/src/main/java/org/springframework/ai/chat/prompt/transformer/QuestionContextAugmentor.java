@@ -22,9 +22,10 @@ import java.util.stream.Collectors;
 
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.CompiledPromptTemplate;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.model.Content;
 
 /**
@@ -93,8 +94,7 @@ public class QuestionContextAugmentor extends AbstractPromptTransformer {
 	}
 
 	protected Prompt doCreatePrompt(Prompt originalPrompt, Map<String, Object> contextMap) {
-		PromptTemplate promptTemplate = new PromptTemplate(getUserText());
-		Message userMessageToAppend = promptTemplate.createMessage(contextMap);
+		Message userMessageToAppend = new UserMessage(CompiledPromptTemplate.of(getUserText()).render(contextMap));
 		List<Message> messageList = originalPrompt.getInstructions()
 			.stream()
 			.filter(m -> m.getMessageType() != MessageType.USER)
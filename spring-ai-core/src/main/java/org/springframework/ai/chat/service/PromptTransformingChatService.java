@@ -20,6 +20,7 @@ import org.springframework.ai.chat.ChatResponse;
 import org.springframework.ai.chat.prompt.transformer.ChatServiceContext;
 import org.springframework.ai.chat.prompt.transformer.PromptTransformer;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -28,6 +29,11 @@ import java.util.Objects;
  * A PromptTransformingChatService implements the ChatService interface and performs
  * transformation of the prompt using a series of PromptTransformers. It also provides a
  * builder class for easier construction of the PromptTransformingChatService instance.
+ * <p>
+ * The retrievers run concurrently, each on its own copy of the context, and what they
+ * retrieve is merged in the order they are declared, unless sequential retrieval is
+ * configured, which is required when more than one retriever revises the prompt. The
+ * document post processors and the augmentors then run one after another.
  *
  * @author Mark Pollack
  * @author Christian Tzolov
@@ -37,7 +43,7 @@ public class PromptTransformingChatService implements ChatService {
 
 	private ChatClient chatClient;
 
-	private List<PromptTransformer> retrievers;
+	private RetrievalStage retrievalStage;
 
 	private List<PromptTransformer> documentPostProcessors;
 
@@ -48,9 +54,22 @@ public class PromptTransformingChatService implements ChatService {
 	public PromptTransformingChatService(ChatClient chatClient, List<PromptTransformer> retrievers,
 			List<PromptTransformer> documentPostProcessors, List<PromptTransformer> augmentors,
 			List<ChatServiceListener> chatServiceListeners) {
+		this(chatClient, retrievers, documentPostProcessors, augmentors, chatServiceListeners, null, false);
+	}
+
+	/**
+	 * @param retrieverTimeout the maximum duration of each retriever, a retriever that
+	 * does not complete in time is skipped. {@code null} for no timeout.
+	 * @param sequentialRetrieval whether the retrievers run one after another, each one
+	 * transforming the context of the previous one, rather than concurrently. Required
+	 * when more than one retriever revises the prompt.
+	 */
+	public PromptTransformingChatService(ChatClient chatClient, List<PromptTransformer> retrievers,
+			List<PromptTransformer> documentPostProcessors, List<PromptTransformer> augmentors,
+			List<ChatServiceListener> chatServiceListeners, Duration retrieverTimeout, boolean sequentialRetrieval) {
 		Objects.requireNonNull(chatClient, "chatClient must not be null");
 		this.chatClient = chatClient;
-		this.retrievers = retrievers;
+		this.retrievalStage = new RetrievalStage(retrievers, retrieverTimeout, sequentialRetrieval);
 		this.documentPostProcessors = documentPostProcessors;
 		this.augmentors = augmentors;
 		this.chatServiceListeners = chatServiceListeners;
@@ -66,9 +85,7 @@ public class PromptTransformingChatService implements ChatService {
 		ChatServiceContext chatServiceContextOnStart = ChatServiceContext.from(chatServiceContext).build();
 
 		// Perform retrieval of documents and messages
-		for (PromptTransformer retriever : this.retrievers) {
-			chatServiceContext = retriever.transform(chatServiceContext);
-		}
+		chatServiceContext = this.retrievalStage.retrieve(chatServiceContext);
 
 		// Perform post processing of all retrieved documents and messages
 		for (PromptTransformer documentPostProcessor : this.documentPostProcessors) {
@@ -108,6 +125,10 @@ public class PromptTransformingChatService implements ChatService {
 
 		private List<ChatServiceListener> chatServiceListeners = new ArrayList<>();
 
+		private Duration retrieverTimeout;
+
+		private boolean sequentialRetrieval;
+
 		public Builder withChatClient(ChatClient chatClient) {
 			this.chatClient = chatClient;
 			return this;
@@ -133,9 +154,19 @@ public class PromptTransformingChatService implements ChatService {
 			return this;
 		}
 
+		public Builder withRetrieverTimeout(Duration retrieverTimeout) {
+			this.retrieverTimeout = retrieverTimeout;
+			return this;
+		}
+
+		public Builder withSequentialRetrieval(boolean sequentialRetrieval) {
+			this.sequentialRetrieval = sequentialRetrieval;
+			return this;
+		}
+
 		public PromptTransformingChatService build() {
 			return new PromptTransformingChatService(chatClient, retrievers, documentPostProcessors, augmentors,
-					chatServiceListeners);
+					chatServiceListeners, retrieverTimeout, sequentialRetrieval);
 		}
 
 	}
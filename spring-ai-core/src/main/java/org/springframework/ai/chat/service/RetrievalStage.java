@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.chat.prompt.transformer.ChatServiceContext;
+import org.springframework.ai.chat.prompt.transformer.PromptChange;
+import org.springframework.ai.chat.prompt.transformer.PromptTransformer;
+import org.springframework.ai.model.Content;
+
+/**
+ * Runs the retrievers of a chat service. The retrievers are independent of each other:
+ * each one transforms its own copy of the context, concurrently on a bounded elastic
+ * thread, and the contents, prompt changes and context entries they add are then merged
+ * into the context in the order the retrievers are declared. A retriever that does not
+ * complete within the timeout is skipped, its contents are not merged.
+ * <p>
+ * Prompt revisions can not be merged: a retrieval where more than one retriever revises
+ * the prompt fails. Retrievers revising the prompt are run sequentially instead, each one
+ * transforming the context of the previous one, so that the revisions are composed.
+ */
+final class RetrievalStage {
+
+	private static final Logger logger = LoggerFactory.getLogger(RetrievalStage.class);
+
+	private final List<PromptTransformer> retrievers;
+
+	private final Duration timeout;
+
+	private final boolean sequential;
+
+	/**
+	 * @param retrievers the retrievers to run.
+	 * @param timeout the maximum duration of each retriever, or {@code null} for no
+	 * timeout.
+	 * @param sequential whether the retrievers run one after another rather than
+	 * concurrently.
+	 */
+	RetrievalStage(List<PromptTransformer> retrievers, Duration timeout, boolean sequential) {
+		this.retrievers = (retrievers != null) ? retrievers : List.of();
+		this.timeout = timeout;
+		this.sequential = sequential;
+	}
+
+	/**
+	 * Run the retrievers, blocking the calling thread until they complete. Without
+	 * timeout, a single retriever or sequential retrievers run on the calling thread.
+	 */
+	ChatServiceContext retrieve(ChatServiceContext chatServiceContext) {
+		if (this.timeout == null && (this.sequential || this.retrievers.size() == 1)) {
+			for (PromptTransformer retriever : this.retrievers) {
+				chatServiceContext = retriever.transform(chatServiceContext);
+			}
+			return chatServiceContext;
+		}
+		return retrieveAsync(chatServiceContext).block();
+	}
+
+	/**
+	 * Run the retrievers without blocking the subscribing thread.
+	 */
+	Mono<ChatServiceContext> retrieveAsync(ChatServiceContext chatServiceContext) {
+		if (this.retrievers.isEmpty()) {
+			return Mono.just(chatServiceContext);
+		}
+		if (this.sequential) {
+			return retrieveSequentially(chatServiceContext);
+		}
+		return Flux.fromIterable(this.retrievers)
+			.flatMapSequential(retriever -> transform(retriever, chatServiceContext), this.retrievers.size())
+			.collectList()
+			.map(results -> merge(chatServiceContext, results));
+	}
+
+	private Mono<ChatServiceContext> retrieveSequentially(ChatServiceContext chatServiceContext) {
+		Mono<ChatServiceContext> result = Mono.just(chatServiceContext);
+		for (PromptTransformer retriever : this.retrievers) {
+			result = result.flatMap(context -> transform(retriever, context).defaultIfEmpty(context));
+		}
+		return result;
+	}
+
+	private Mono<ChatServiceContext> transform(PromptTransformer retriever, ChatServiceContext chatServiceContext) {
+		// Each retriever works on its own copy, the context is not safe for concurrent use
+		ChatServiceContext copy = ChatServiceContext.from(chatServiceContext).build();
+		Mono<ChatServiceContext> result = Mono.fromCallable(() -> retriever.transform(copy))
+			.subscribeOn(Schedulers.boundedElastic());
+		if (this.timeout == null) {
+			return result;
+		}
+		return result.timeout(this.timeout).onErrorResume(TimeoutException.class, ex -> {
+			logger.warn("Retriever {} did not complete within {}, its contents are skipped", retriever,
+					this.timeout);
+			return Mono.empty();
+		});
+	}
+
+	private static int promptChanges(ChatServiceContext chatServiceContext) {
+		return (chatServiceContext.getPromptChanges() != null) ? chatServiceContext.getPromptChanges().size() : 0;
+	}
+
+	private static ChatServiceContext merge(ChatServiceContext chatServiceContext, List<ChatServiceContext> results) {
+		Set<Content> initialContents = Collections.newSetFromMap(new IdentityHashMap<>());
+		if (chatServiceContext.getContents() != null) {
+			initialContents.addAll(chatServiceContext.getContents());
+		}
+		int initialPromptChanges = promptChanges(chatServiceContext);
+		if (results.stream().filter(result -> promptChanges(result) > initialPromptChanges).count() > 1) {
+			throw new IllegalStateException("More than one retriever revised the prompt, "
+					+ "the retrievers must run sequentially to compose the revisions");
+		}
+
+		ChatServiceContext merged = ChatServiceContext.from(chatServiceContext).build();
+		for (ChatServiceContext result : results) {
+			if (result.getContents() != null) {
+				for (Content content : result.getContents()) {
+					if (!initialContents.contains(content)) {
+						merged.addData(content);
+					}
+				}
+			}
+			List<PromptChange> promptChanges = result.getPromptChanges();
+			if (promptChanges != null) {
+				for (int i = initialPromptChanges; i < promptChanges.size(); i++) {
+					PromptChange promptChange = promptChanges.get(i);
+					merged.updatePrompt(promptChange.revised(), promptChange.transformerName(),
+							promptChange.description());
+				}
+			}
+			if (result.getContext() != null) {
+				merged.getContext().putAll(result.getContext());
+			}
+		}
+		return merged;
+	}
+
+}
@@ -2,6 +2,7 @@ package org.springframework.ai.chat.service;
 
 import org.springframework.ai.chat.prompt.transformer.ChatServiceContext;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.ai.chat.ChatResponse;
 
@@ -16,10 +17,22 @@ public class StreamingChatServiceResponse {
 
 	private final ChatServiceContext chatServiceContext;
 
+	private final Mono<ChatServiceContext> transformedChatServiceContext;
+
 	private final Flux<ChatResponse> chatResponse;
 
 	public StreamingChatServiceResponse(ChatServiceContext chatServiceContext, Flux<ChatResponse> chatResponse) {
+		this(chatServiceContext, Mono.just(chatServiceContext), chatResponse);
+	}
+
+	/**
+	 * @param transformedChatServiceContext the context of the prompt that is streamed,
+	 * transformed on subscription.
+	 */
+	public StreamingChatServiceResponse(ChatServiceContext chatServiceContext,
+			Mono<ChatServiceContext> transformedChatServiceContext, Flux<ChatResponse> chatResponse) {
 		this.chatServiceContext = chatServiceContext;
+		this.transformedChatServiceContext = transformedChatServiceContext;
 		this.chatResponse = chatResponse;
 	}
 
@@ -27,6 +40,15 @@ public class StreamingChatServiceResponse {
 		return chatServiceContext;
 	}
 
+	/**
+	 * @return the context of the prompt that is streamed, with the retrieved contents and
+	 * the revised prompt. Subscribing to it or to the chat response transforms the prompt
+	 * only once.
+	 */
+	public Mono<ChatServiceContext> getTransformedPromptContext() {
+		return transformedChatServiceContext;
+	}
+
 	public Flux<ChatResponse> getChatResponse() {
 		return chatResponse;
 	}
@@ -15,12 +15,15 @@
  */
 package org.springframework.ai.chat.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 import org.springframework.ai.chat.prompt.transformer.ChatServiceContext;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.chat.ChatResponse;
 import org.springframework.ai.chat.StreamingChatClient;
@@ -28,6 +31,12 @@ import org.springframework.ai.chat.messages.MessageAggregator;
 import org.springframework.ai.chat.prompt.transformer.PromptTransformer;
 
 /**
+ * Streaming counterpart of the {@link PromptTransformingChatService}. The prompt is
+ * transformed when the response is subscribed to: the retrievers run concurrently, or
+ * sequentially when configured so, and the document post processors and augmentors then
+ * run on a bounded elastic thread, so {@link #stream(ChatServiceContext)} never blocks
+ * the caller.
+ *
  * @author Mark Pollack
  * @author Christian Tzolov
  */
@@ -35,7 +44,7 @@ public class StreamingPromptTransformingChatService implements StreamingChatServ
 
 	private StreamingChatClient streamingChatClient;
 
-	private List<PromptTransformer> retrievers;
+	private RetrievalStage retrievalStage;
 
 	private List<PromptTransformer> documentPostProcessors;
 
@@ -43,12 +52,27 @@ public class StreamingPromptTransformingChatService implements StreamingChatServ
 
 	private List<ChatServiceListener> chatServiceListeners;
 
+	private final MessageAggregator messageAggregator = new MessageAggregator();
+
 	public StreamingPromptTransformingChatService(StreamingChatClient chatClient, List<PromptTransformer> retrievers,
 			List<PromptTransformer> documentPostProcessors, List<PromptTransformer> augmentors,
 			List<ChatServiceListener> chatServiceListeners) {
+		this(chatClient, retrievers, documentPostProcessors, augmentors, chatServiceListeners, null, false);
+	}
+
+	/**
+	 * @param retrieverTimeout the maximum duration of each retriever, a retriever that
+	 * does not complete in time is skipped. {@code null} for no timeout.
+	 * @param sequentialRetrieval whether the retrievers run one after another, each one
+	 * transforming the context of the previous one, rather than concurrently. Required
+	 * when more than one retriever revises the prompt.
+	 */
+	public StreamingPromptTransformingChatService(StreamingChatClient chatClient, List<PromptTransformer> retrievers,
+			List<PromptTransformer> documentPostProcessors, List<PromptTransformer> augmentors,
+			List<ChatServiceListener> chatServiceListeners, Duration retrieverTimeout, boolean sequentialRetrieval) {
 		Objects.requireNonNull(chatClient, "chatClient must not be null");
 		this.streamingChatClient = chatClient;
-		this.retrievers = retrievers;
+		this.retrievalStage = new RetrievalStage(retrievers, retrieverTimeout, sequentialRetrieval);
 		this.documentPostProcessors = documentPostProcessors;
 		this.augmentors = augmentors;
 		this.chatServiceListeners = chatServiceListeners;
@@ -58,15 +82,37 @@ public class StreamingPromptTransformingChatService implements StreamingChatServ
 		return new Builder().withChatClient(chatClient);
 	}
 
+	/**
+	 * Stream the response to the transformed prompt. The returned response holds the
+	 * context as given and, deferred, the transformed context with the retrieved contents
+	 * and the revised prompt, which is also passed to the listeners.
+	 */
 	@Override
 	public StreamingChatServiceResponse stream(ChatServiceContext chatServiceContext) {
 
 		ChatServiceContext chatServiceContextOnStart = ChatServiceContext.from(chatServiceContext).build();
 
-		// Perform retrieval of documents and messages
-		for (PromptTransformer retriever : this.retrievers) {
-			chatServiceContext = retriever.transform(chatServiceContext);
-		}
+		// Perform retrieval of documents and messages once, shared by the response and
+		// the transformed context
+		Mono<ChatServiceContext> transformedContext = this.retrievalStage.retrieveAsync(chatServiceContext)
+			.publishOn(Schedulers.boundedElastic())
+			.map(retrievedContext -> transform(retrievedContext, chatServiceContextOnStart))
+			.cache();
+
+		// Perform generation
+		Flux<ChatResponse> fluxChatResponse = transformedContext.flatMapMany(context -> this.messageAggregator
+			.aggregate(this.streamingChatClient.stream(context.getPrompt()), chatResponse -> {
+				// Invoke Listeners onComplete
+				for (ChatServiceListener listener : this.chatServiceListeners) {
+					listener.onComplete(new ChatServiceResponse(context, chatResponse));
+				}
+			}));
+
+		return new StreamingChatServiceResponse(chatServiceContext, transformedContext, fluxChatResponse);
+	}
+
+	private ChatServiceContext transform(ChatServiceContext chatServiceContext,
+			ChatServiceContext chatServiceContextOnStart) {
 
 		// Perform post processing of all retrieved documents and messages
 		for (PromptTransformer documentPostProcessor : this.documentPostProcessors) {
@@ -83,18 +129,7 @@ public class StreamingPromptTransformingChatService implements StreamingChatServ
 			listener.onStart(chatServiceContextOnStart);
 		}
 
-		// Perform generation
-		final var promptContext2 = chatServiceContext;
-
-		Flux<ChatResponse> fluxChatResponse = new MessageAggregator()
-			.aggregate(this.streamingChatClient.stream(chatServiceContext.getPrompt()), chatResponse -> {
-				for (ChatServiceListener listener : this.chatServiceListeners) {
-					listener.onComplete(new ChatServiceResponse(promptContext2, chatResponse));
-				}
-			});
-
-		// Invoke Listeners onComplete
-		return new StreamingChatServiceResponse(chatServiceContext, fluxChatResponse);
+		return chatServiceContext;
 	}
 
 	public static class Builder {
@@ -109,6 +144,10 @@ public class StreamingPromptTransformingChatService implements StreamingChatServ
 
 		private List<ChatServiceListener> chatServiceListeners = new ArrayList<>();
 
+		private Duration retrieverTimeout;
+
+		private boolean sequentialRetrieval;
+
 		public Builder withChatClient(StreamingChatClient chatClient) {
 			this.chatClient = chatClient;
 			return this;
@@ -134,9 +173,19 @@ public class StreamingPromptTransformingChatService implements StreamingChatServ
 			return this;
 		}
 
+		public Builder withRetrieverTimeout(Duration retrieverTimeout) {
+			this.retrieverTimeout = retrieverTimeout;
+			return this;
+		}
+
+		public Builder withSequentialRetrieval(boolean sequentialRetrieval) {
+			this.sequentialRetrieval = sequentialRetrieval;
+			return this;
+		}
+
 		public StreamingPromptTransformingChatService build() {
 			return new StreamingPromptTransformingChatService(chatClient, retrievers, documentPostProcessors,
-					augmentors, chatServiceListeners);
+					augmentors, chatServiceListeners, retrieverTimeout, sequentialRetrieval);
 		}
 
 	}
@@ -25,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.ai.chat.messages.Media;
 import org.springframework.ai.document.id.IdGenerator;
 import org.springframework.ai.document.id.RandomIdGenerator;
+import org.springframework.ai.embedding.EmbeddingVector;
 import org.springframework.ai.model.Content;
 import org.springframework.util.Assert;
 
@@ -56,10 +57,9 @@ public class Document implements Content {
 	private List<Media> media;
 
 	/**
-	 * Embedding of the document. Note: ephemeral field.
+	 * Embedding of the document, stored as a primitive vector. Note: ephemeral field.
 	 */
-	@JsonProperty(index = 100)
-	private List<Double> embedding = new ArrayList<>();
+	private EmbeddingVector embeddingVector = EmbeddingVector.EMPTY;
 
 	/**
 	 * Mutable, ephemeral, content to text formatter. Defaults to Document text.
@@ -134,7 +134,12 @@ public class Document implements Content {
 
 	public void setEmbedding(List<Double> embedding) {
 		Assert.notNull(embedding, "embedding must not be null");
-		this.embedding = embedding;
+		this.embeddingVector = EmbeddingVector.from(embedding);
+	}
+
+	public void setEmbeddingVector(EmbeddingVector embeddingVector) {
+		Assert.notNull(embeddingVector, "embeddingVector must not be null");
+		this.embeddingVector = embeddingVector;
 	}
 
 	/**
@@ -150,8 +155,20 @@ public class Document implements Content {
 		return this.metadata;
 	}
 
+	/**
+	 * @return read-only {@code List<Double>} view of the document embedding.
+	 */
+	@JsonProperty(value = "embedding", index = 100)
 	public List<Double> getEmbedding() {
-		return this.embedding;
+		return this.embeddingVector.asList();
+	}
+
+	/**
+	 * @return the document embedding as a primitive {@code float[]} backed vector.
+	 */
+	@JsonIgnore
+	public EmbeddingVector getEmbeddingVector() {
+		return this.embeddingVector;
 	}
 
 	public ContentFormatter getContentFormatter() {
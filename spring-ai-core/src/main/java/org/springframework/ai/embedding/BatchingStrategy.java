@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.util.List;
+
+import org.springframework.ai.document.Document;
+
+/**
+ * Contract for grouping {@link Document}s into batches that are embedded with a single
+ * {@link EmbeddingClient#call(EmbeddingRequest)}.
+ */
+public interface BatchingStrategy {
+
+	/**
+	 * Splits the documents into batches. Every input document must appear in exactly one
+	 * of the returned batches.
+	 * @param documents the documents to batch.
+	 * @return list of document batches.
+	 */
+	List<List<Document>> batch(List<Document> documents);
+
+}
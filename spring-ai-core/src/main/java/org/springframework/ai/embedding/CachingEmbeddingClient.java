@@ -0,0 +1,317 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EmbeddingClient} decorator caching the embeddings of the texts it was asked to
+ * embed. The cache key is the SHA-256 hash of the model name, the embedding options and
+ * the text. Cached embeddings are kept in a size-bounded, least recently used, in-memory
+ * cache and optionally in a directory on disk, that outlives the application. Only the
+ * texts missing from both are sent to the delegate client, in a single
+ * {@link #call(EmbeddingRequest)}.
+ */
+public class CachingEmbeddingClient extends AbstractEmbeddingClient {
+
+	private static final Logger logger = LoggerFactory.getLogger(CachingEmbeddingClient.class);
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+	private final EmbeddingClient delegate;
+
+	private final String modelName;
+
+	private final Path cacheDirectory;
+
+	private final Map<String, EmbeddingVector> memoryCache;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder diskHits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	public CachingEmbeddingClient(EmbeddingClient delegate, String modelName) {
+		this(delegate, modelName, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public CachingEmbeddingClient(EmbeddingClient delegate, String modelName, int maximumSize) {
+		this(delegate, modelName, maximumSize, null);
+	}
+
+	/**
+	 * @param delegate the client used to embed the texts missing from the cache.
+	 * @param modelName the name of the model used by the delegate, part of the cache key.
+	 * @param maximumSize the maximum number of embeddings kept in memory.
+	 * @param cacheDirectory the directory to persist the embeddings in, or {@code null}
+	 * to only cache them in memory.
+	 */
+	public CachingEmbeddingClient(EmbeddingClient delegate, String modelName, int maximumSize, Path cacheDirectory) {
+		Assert.notNull(delegate, "Delegate EmbeddingClient must not be null");
+		Assert.hasText(modelName, "Model name must not be empty");
+		Assert.isTrue(maximumSize > 0, "Maximum size must be positive");
+		this.delegate = delegate;
+		this.modelName = modelName;
+		this.cacheDirectory = cacheDirectory;
+		this.memoryCache = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, EmbeddingVector> eldest) {
+				return size() > maximumSize;
+			}
+
+		};
+		if (cacheDirectory != null) {
+			try {
+				Files.createDirectories(cacheDirectory);
+			}
+			catch (IOException ex) {
+				throw new IllegalArgumentException("Cannot create the embedding cache directory " + cacheDirectory, ex);
+			}
+		}
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		Assert.notNull(request, "EmbeddingRequest must not be null");
+		List<String> texts = request.getInstructions();
+		String optionsKey = optionsKey(request.getOptions());
+
+		EmbeddingVector[] vectors = new EmbeddingVector[texts.size()];
+		String[] keys = new String[texts.size()];
+		// The distinct texts to embed, and the indexes of the inputs waiting for them
+		Map<String, List<Integer>> pending = new LinkedHashMap<>();
+		for (int i = 0; i < texts.size(); i++) {
+			keys[i] = cacheKey(optionsKey, texts.get(i));
+			vectors[i] = lookup(keys[i]);
+			if (vectors[i] == null) {
+				pending.computeIfAbsent(texts.get(i), text -> new ArrayList<>()).add(i);
+			}
+		}
+
+		EmbeddingResponseMetadata metadata = new EmbeddingResponseMetadata();
+		if (!pending.isEmpty()) {
+			this.misses.add(pending.size());
+			List<String> missingTexts = new ArrayList<>(pending.keySet());
+			EmbeddingResponse response = this.delegate.call(new EmbeddingRequest(missingTexts, request.getOptions()));
+			List<Embedding> results = response.getResults();
+			Assert.state(results.size() == missingTexts.size(), () -> "Expected " + missingTexts.size()
+					+ " embeddings but received " + results.size());
+			for (int i = 0; i < results.size(); i++) {
+				Embedding embedding = results.get(i);
+				int index = (embedding.getIndex() != null) ? embedding.getIndex() : i;
+				List<Integer> inputIndexes = pending.get(missingTexts.get(index));
+				EmbeddingVector vector = embedding.getVector();
+				store(keys[inputIndexes.get(0)], vector);
+				for (int inputIndex : inputIndexes) {
+					vectors[inputIndex] = vector;
+				}
+			}
+			if (response.getMetadata() != null) {
+				metadata.putAll(response.getMetadata());
+			}
+		}
+
+		List<Embedding> embeddings = new ArrayList<>(vectors.length);
+		for (int i = 0; i < vectors.length; i++) {
+			embeddings.add(new Embedding(vectors[i], i));
+		}
+		return new EmbeddingResponse(embeddings, metadata);
+	}
+
+	@Override
+	public List<Double> embed(Document document) {
+		return embed(getEmbeddingContent(document));
+	}
+
+	/**
+	 * Formats the document like the delegate, for the cache to embed the same text.
+	 */
+	@Override
+	public String getEmbeddingContent(Document document) {
+		return this.delegate.getEmbeddingContent(document);
+	}
+
+	@Override
+	public int dimensions() {
+		return this.delegate.dimensions();
+	}
+
+	/**
+	 * @return the cache hit and miss counts since the client was created.
+	 */
+	public Statistics getStatistics() {
+		int size;
+		synchronized (this.memoryCache) {
+			size = this.memoryCache.size();
+		}
+		return new Statistics(this.hits.sum(), this.diskHits.sum(), this.misses.sum(), size);
+	}
+
+	/**
+	 * Removes all the embeddings from the in-memory cache. The embeddings persisted on
+	 * disk are kept.
+	 */
+	public void clear() {
+		synchronized (this.memoryCache) {
+			this.memoryCache.clear();
+		}
+	}
+
+	private EmbeddingVector lookup(String key) {
+		EmbeddingVector vector;
+		synchronized (this.memoryCache) {
+			vector = this.memoryCache.get(key);
+		}
+		if (vector != null) {
+			this.hits.increment();
+			return vector;
+		}
+		vector = readFromDisk(key);
+		if (vector != null) {
+			this.hits.increment();
+			this.diskHits.increment();
+			synchronized (this.memoryCache) {
+				this.memoryCache.put(key, vector);
+			}
+		}
+		return vector;
+	}
+
+	private void store(String key, EmbeddingVector vector) {
+		synchronized (this.memoryCache) {
+			this.memoryCache.put(key, vector);
+		}
+		writeToDisk(key, vector);
+	}
+
+	private EmbeddingVector readFromDisk(String key) {
+		if (this.cacheDirectory == null) {
+			return null;
+		}
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cacheFile(key))).order(ByteOrder.LITTLE_ENDIAN);
+			float[] values = new float[buffer.remaining() / Float.BYTES];
+			buffer.asFloatBuffer().get(values);
+			return EmbeddingVector.of(values);
+		}
+		catch (NoSuchFileException ex) {
+			return null;
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to read the cached embedding " + key, ex);
+			return null;
+		}
+	}
+
+	private void writeToDisk(String key, EmbeddingVector vector) {
+		if (this.cacheDirectory == null) {
+			return;
+		}
+		float[] values = vector.array();
+		ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.asFloatBuffer().put(values);
+		Path file = cacheFile(key);
+		try {
+			Files.createDirectories(file.getParent());
+			// Write to a temporary file first, readers never see a partially written file
+			Path tempFile = Files.createTempFile(file.getParent(), key, ".tmp");
+			Files.write(tempFile, buffer.array());
+			try {
+				Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to persist the embedding " + key, ex);
+		}
+	}
+
+	private Path cacheFile(String key) {
+		return this.cacheDirectory.resolve(key.substring(0, 2)).resolve(key);
+	}
+
+	private String optionsKey(EmbeddingOptions options) {
+		if (options == null) {
+			return "";
+		}
+		return options.getClass().getName() + ModelOptionsUtils.toJsonString(options);
+	}
+
+	private String cacheKey(String optionsKey, String text) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+		digest.update(this.modelName.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(optionsKey.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(text.getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Cache statistics.
+	 *
+	 * @param hits the number of texts served from the cache, in memory or on disk.
+	 * @param diskHits the number of texts served from the disk cache.
+	 * @param misses the number of texts sent to the delegate client.
+	 * @param size the number of embeddings in the in-memory cache.
+	 */
+	public record Statistics(long hits, long diskHits, long misses, int size) {
+
+		/**
+		 * @return the ratio of the texts served from the cache, 0 when nothing was
+		 * requested yet.
+		 */
+		public double hitRate() {
+			long requests = this.hits + this.misses;
+			return (requests == 0) ? 0 : (double) this.hits / requests;
+		}
+
+	}
+
+}
@@ -27,6 +27,8 @@ public class Embedding implements ModelResult<List<Double>> {
 
 	private List<Double> embedding;
 
+	private EmbeddingVector vector;
+
 	private Integer index;
 
 	private EmbeddingResultMetadata metadata;
@@ -41,6 +43,27 @@ public class Embedding implements ModelResult<List<Double>> {
 		this.index = index;
 	}
 
+	/**
+	 * Creates a new {@link Embedding} instance backed by a primitive vector. The
+	 * {@code List<Double>} output is a lazily created view over the same values.
+	 * @param embedding the embedding vector values.
+	 * @param index the embedding index in a list of embeddings.
+	 */
+	public Embedding(float[] embedding, Integer index) {
+		this(EmbeddingVector.of(embedding), index);
+	}
+
+	/**
+	 * Creates a new {@link Embedding} instance backed by a primitive vector.
+	 * @param vector the embedding vector.
+	 * @param index the embedding index in a list of embeddings.
+	 */
+	public Embedding(EmbeddingVector vector, Integer index) {
+		this.vector = vector;
+		this.embedding = vector.asList();
+		this.index = index;
+	}
+
 	/**
 	 * @return Get the embedding vector values.
 	 */
@@ -49,6 +72,18 @@ public class Embedding implements ModelResult<List<Double>> {
 		return embedding;
 	}
 
+	/**
+	 * @return Get the embedding values as a primitive vector. Converted from the
+	 * {@code List<Double>} output on first access when the embedding was not created
+	 * from a primitive vector.
+	 */
+	public EmbeddingVector getVector() {
+		if (this.vector == null) {
+			this.vector = EmbeddingVector.from(this.embedding);
+		}
+		return this.vector;
+	}
+
 	/**
 	 * @return Get the embedding index in a list of embeddings.
 	 */
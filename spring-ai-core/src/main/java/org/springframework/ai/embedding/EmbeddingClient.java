@@ -16,10 +16,14 @@
 package org.springframework.ai.embedding;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
 import org.springframework.ai.model.ModelClient;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * EmbeddingClient is a generic interface for embedding clients.
@@ -46,6 +50,18 @@ public interface EmbeddingClient extends ModelClient<EmbeddingRequest, Embedding
 	 */
 	List<Double> embed(Document document);
 
+	/**
+	 * Returns the text embedded for the given document: its content formatted with
+	 * {@link MetadataMode#EMBED}, unless the client is configured with another metadata
+	 * mode.
+	 * @param document the document to embed.
+	 * @return the text to embed.
+	 */
+	default String getEmbeddingContent(Document document) {
+		Assert.notNull(document, "Document must not be null");
+		return document.getFormattedContent(MetadataMode.EMBED);
+	}
+
 	/**
 	 * Embeds a batch of texts into vectors.
 	 * @param texts list of texts to embed.
@@ -60,6 +76,79 @@ public interface EmbeddingClient extends ModelClient<EmbeddingRequest, Embedding
 			.toList();
 	}
 
+	/**
+	 * Embeds the given text into a primitive {@code float[]} backed vector.
+	 * @param text the text to embed.
+	 * @return the embedded vector.
+	 */
+	default EmbeddingVector embedAsFloats(String text) {
+		Assert.notNull(text, "Text must not be null");
+		return EmbeddingVector.from(this.embed(text));
+	}
+
+	/**
+	 * Embeds the given document's content into a primitive {@code float[]} backed vector.
+	 * @param document the document to embed.
+	 * @return the embedded vector.
+	 */
+	default EmbeddingVector embedAsFloats(Document document) {
+		Assert.notNull(document, "Document must not be null");
+		return EmbeddingVector.from(this.embed(document));
+	}
+
+	/**
+	 * Embeds a batch of texts into primitive {@code float[]} backed vectors. Clients
+	 * that create their {@link Embedding}s from {@code float[]} are served without any
+	 * boxing.
+	 * @param texts list of texts to embed.
+	 * @return list of embedded vectors.
+	 */
+	default List<EmbeddingVector> embedAsFloats(List<String> texts) {
+		Assert.notNull(texts, "Texts must not be null");
+		return this.call(new EmbeddingRequest(texts, EmbeddingOptions.EMPTY))
+			.getResults()
+			.stream()
+			.map(Embedding::getVector)
+			.toList();
+	}
+
+	/**
+	 * Embeds the content of the given documents, grouping them into batches with the
+	 * provided {@link BatchingStrategy} and issuing one {@link #call(EmbeddingRequest)}
+	 * per batch. Documents are formatted with {@link #getEmbeddingContent(Document)} and
+	 * the results are mapped back to them by {@link Embedding#getIndex()}.
+	 * @param documents the documents to embed.
+	 * @param options the embedding options to use for every batch request.
+	 * @param batchingStrategy the strategy used to group the documents into batches.
+	 * @return the embedded vectors, in the same order as the input documents.
+	 */
+	default List<EmbeddingVector> embed(List<Document> documents, EmbeddingOptions options,
+			BatchingStrategy batchingStrategy) {
+		Assert.notNull(documents, "Documents must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
+
+		Map<Document, EmbeddingVector> embeddings = new IdentityHashMap<>(documents.size());
+		for (List<Document> batch : batchingStrategy.batch(documents)) {
+			List<String> texts = batch.stream().map(this::getEmbeddingContent).toList();
+			List<Embedding> results = this.call(new EmbeddingRequest(texts, options)).getResults();
+			Assert.state(results.size() == batch.size(), () -> "Expected " + batch.size()
+					+ " embeddings for the batch but received " + results.size());
+			for (int i = 0; i < results.size(); i++) {
+				Embedding embedding = results.get(i);
+				int index = (embedding.getIndex() != null) ? embedding.getIndex() : i;
+				embeddings.put(batch.get(index), embedding.getVector());
+			}
+		}
+
+		List<EmbeddingVector> vectors = new ArrayList<>(documents.size());
+		for (Document document : documents) {
+			EmbeddingVector vector = embeddings.get(document);
+			Assert.state(vector != null, () -> "No embedding returned for document " + document.getId());
+			vectors.add(vector);
+		}
+		return vectors;
+	}
+
 	/**
 	 * Embeds a batch of texts into vectors and returns the {@link EmbeddingResponse}.
 	 * @param texts list of texts to embed.
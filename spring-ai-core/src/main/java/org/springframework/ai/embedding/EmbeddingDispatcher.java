@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import org.springframework.util.Assert;
+
+/**
+ * Dispatches the single-input requests of the {@link EmbeddingClient}s whose API has no
+ * batch endpoint. Up to {@code concurrency} requests are in flight at once, each on a
+ * bounded elastic thread, and the results are returned in the order of the inputs. A
+ * request failing with a transient failure is retried, with an exponential backoff, up
+ * to {@code maxAttempts} times; the first request failing all its attempts, or failing
+ * with a non-transient failure, fails the whole dispatch. The caller tells which failures
+ * of its API are transient, such as rate limiting and server errors; by default only I/O
+ * failures are retried.
+ */
+public class EmbeddingDispatcher {
+
+	/**
+	 * Dispatches the requests one at a time on the calling thread, without retries.
+	 */
+	public static final EmbeddingDispatcher SEQUENTIAL = new EmbeddingDispatcher(1);
+
+	public static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(500);
+
+	private final int concurrency;
+
+	private final int maxAttempts;
+
+	private final Duration retryBackoff;
+
+	public EmbeddingDispatcher(int concurrency) {
+		this(concurrency, 1, DEFAULT_RETRY_BACKOFF);
+	}
+
+	/**
+	 * @param concurrency the maximum number of requests in flight.
+	 * @param maxAttempts the maximum number of attempts of each request, 1 to disable
+	 * retries.
+	 * @param retryBackoff the delay before the first retry, doubled on each retry.
+	 */
+	public EmbeddingDispatcher(int concurrency, int maxAttempts, Duration retryBackoff) {
+		Assert.isTrue(concurrency > 0, "Concurrency must be positive");
+		Assert.isTrue(maxAttempts > 0, "Max attempts must be positive");
+		Assert.notNull(retryBackoff, "Retry backoff must not be null");
+		this.concurrency = concurrency;
+		this.maxAttempts = maxAttempts;
+		this.retryBackoff = retryBackoff;
+	}
+
+	/**
+	 * Calls the API for each input.
+	 * @param inputs the inputs to embed.
+	 * @param call the blocking call embedding a single input.
+	 * @return the results of the calls, in the order of the inputs.
+	 */
+	public <T> List<T> dispatch(List<String> inputs, Function<String, T> call) {
+		return dispatch(inputs, call, EmbeddingDispatcher::isIoFailure);
+	}
+
+	/**
+	 * Calls the API for each input.
+	 * @param inputs the inputs to embed.
+	 * @param call the blocking call embedding a single input.
+	 * @param retryable whether a failure of the call is transient and the call may be
+	 * retried.
+	 * @return the results of the calls, in the order of the inputs.
+	 */
+	public <T> List<T> dispatch(List<String> inputs, Function<String, T> call, Predicate<Throwable> retryable) {
+		Assert.notNull(inputs, "Inputs must not be null");
+		Assert.notNull(call, "Call must not be null");
+		Assert.notNull(retryable, "Retryable must not be null");
+		if (this.concurrency == 1 && this.maxAttempts == 1) {
+			List<T> results = new ArrayList<>(inputs.size());
+			for (String input : inputs) {
+				results.add(call.apply(input));
+			}
+			return results;
+		}
+		return Flux.fromIterable(inputs)
+			.flatMapSequential(input -> attempt(input, call, retryable), this.concurrency)
+			.collectList()
+			.block();
+	}
+
+	public int getConcurrency() {
+		return this.concurrency;
+	}
+
+	public int getMaxAttempts() {
+		return this.maxAttempts;
+	}
+
+	public Duration getRetryBackoff() {
+		return this.retryBackoff;
+	}
+
+	/**
+	 * @return whether the failure is caused by an {@link IOException}, such as a refused
+	 * connection or a read timeout.
+	 */
+	public static boolean isIoFailure(Throwable failure) {
+		for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+			if (cause instanceof IOException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private <T> Mono<T> attempt(String input, Function<String, T> call, Predicate<Throwable> retryable) {
+		Mono<T> result = Mono.fromCallable(() -> call.apply(input)).subscribeOn(Schedulers.boundedElastic());
+		if (this.maxAttempts == 1) {
+			return result;
+		}
+		return result.retryWhen(Retry.backoff(this.maxAttempts - 1, this.retryBackoff)
+			.filter(retryable)
+			.onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.springframework.util.Assert;
+
+/**
+ * Primitive, {@code float[]} backed embedding vector. Uses 4 bytes per component
+ * compared to the boxed {@code List<Double>} representation, and can be handed to vector
+ * store drivers that expect {@code float[]} without re-copying.
+ * <p>
+ * The {@code List<Double>} representation is available through {@link #asList()} as a
+ * lazily created, read-only view over the same backing array.
+ */
+public final class EmbeddingVector {
+
+	/**
+	 * Empty, zero dimensions, vector.
+	 */
+	public static final EmbeddingVector EMPTY = new EmbeddingVector(new float[0]);
+
+	private final float[] values;
+
+	private List<Double> listView;
+
+	private EmbeddingVector(float[] values) {
+		this.values = values;
+	}
+
+	/**
+	 * Wraps the given array without copying it. The caller must not modify the array
+	 * afterwards.
+	 * @param values the vector components.
+	 * @return new vector backed by the given array.
+	 */
+	public static EmbeddingVector of(float[] values) {
+		Assert.notNull(values, "values must not be null");
+		return (values.length == 0) ? EMPTY : new EmbeddingVector(values);
+	}
+
+	/**
+	 * Creates a vector from a list of numbers. If the list is a view previously returned
+	 * by {@link #asList()} the backing vector is reused, otherwise the values are copied
+	 * into a new {@code float[]}.
+	 * @param values the vector components.
+	 * @return vector holding the given values.
+	 */
+	public static EmbeddingVector from(List<? extends Number> values) {
+		Assert.notNull(values, "values must not be null");
+		if (values instanceof DoubleListView view) {
+			return view.vector();
+		}
+		float[] array = new float[values.size()];
+		int i = 0;
+		for (Number value : values) {
+			array[i++] = value.floatValue();
+		}
+		return of(array);
+	}
+
+	/**
+	 * @return the number of components in this vector.
+	 */
+	public int dimensions() {
+		return this.values.length;
+	}
+
+	public boolean isEmpty() {
+		return this.values.length == 0;
+	}
+
+	/**
+	 * @param index the component index.
+	 * @return the component value at the given index.
+	 */
+	public float get(int index) {
+		return this.values[index];
+	}
+
+	/**
+	 * Returns the backing array without copying it. The returned array is shared with
+	 * this vector and must be treated as read-only.
+	 * @return the backing array.
+	 */
+	public float[] array() {
+		return this.values;
+	}
+
+	/**
+	 * @return a copy of the vector components.
+	 */
+	public float[] toFloatArray() {
+		return Arrays.copyOf(this.values, this.values.length);
+	}
+
+	/**
+	 * @return a copy of the vector components widened to {@code double}.
+	 */
+	public double[] toDoubleArray() {
+		double[] result = new double[this.values.length];
+		for (int i = 0; i < this.values.length; i++) {
+			result[i] = this.values[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a read-only {@code List<Double>} view of this vector. The view is created
+	 * on first access and boxes the components on read, no copy of the vector is made.
+	 * @return list view of the vector components.
+	 */
+	public List<Double> asList() {
+		List<Double> view = this.listView;
+		if (view == null) {
+			view = new DoubleListView(this);
+			this.listView = view;
+		}
+		return view;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (o == null || getClass() != o.getClass())
+			return false;
+		return Arrays.equals(this.values, ((EmbeddingVector) o).values);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.values);
+	}
+
+	@Override
+	public String toString() {
+		return "EmbeddingVector{dimensions=" + this.values.length + '}';
+	}
+
+	private static final class DoubleListView extends AbstractList<Double> implements RandomAccess {
+
+		private final EmbeddingVector vector;
+
+		DoubleListView(EmbeddingVector vector) {
+			this.vector = vector;
+		}
+
+		EmbeddingVector vector() {
+			return this.vector;
+		}
+
+		@Override
+		public Double get(int index) {
+			return (double) this.vector.values[index];
+		}
+
+		@Override
+		public int size() {
+			return this.vector.values.length;
+		}
+
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.util.Assert;
+
+/**
+ * {@link BatchingStrategy} that bounds every batch by a maximum number of documents and
+ * by a token budget for the whole request, estimated with a {@link TokenCountEstimator}.
+ * The token limit of a single input, as enforced by the embedding model, is separate
+ * from the token budget of a request: documents that exceed the input limit are placed
+ * in a single-document batch and left to the provider to handle, so that a rejection
+ * only affects that document. A reserve percentage of both limits is kept free to
+ * account for estimation inaccuracies.
+ */
+public class TokenCountBatchingStrategy implements BatchingStrategy {
+
+	private static final Logger logger = LoggerFactory.getLogger(TokenCountBatchingStrategy.class);
+
+	/**
+	 * Token limit of a single input of the OpenAI embedding models.
+	 */
+	public static final int DEFAULT_MAX_INPUT_TOKEN_COUNT = 8191;
+
+	/**
+	 * Token limit of all the inputs of a single OpenAI embedding request.
+	 */
+	public static final int DEFAULT_MAX_BATCH_TOKEN_COUNT = 300_000;
+
+	/**
+	 * Maximum number of inputs accepted by the OpenAI embedding endpoint.
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 2048;
+
+	public static final double DEFAULT_RESERVE_PERCENTAGE = 0.1;
+
+	private final TokenCountEstimator tokenCountEstimator;
+
+	private final int maxInputTokenCount;
+
+	private final int maxBatchTokenCount;
+
+	private final int maxBatchSize;
+
+	private final MetadataMode metadataMode;
+
+	public TokenCountBatchingStrategy() {
+		this(new JTokkitTokenCountEstimator(), DEFAULT_MAX_INPUT_TOKEN_COUNT, DEFAULT_MAX_BATCH_SIZE,
+				DEFAULT_RESERVE_PERCENTAGE);
+	}
+
+	public TokenCountBatchingStrategy(int maxInputTokenCount, int maxBatchSize) {
+		this(new JTokkitTokenCountEstimator(), maxInputTokenCount, maxBatchSize, DEFAULT_RESERVE_PERCENTAGE);
+	}
+
+	public TokenCountBatchingStrategy(TokenCountEstimator tokenCountEstimator, int maxInputTokenCount,
+			int maxBatchSize, double reservePercentage) {
+		this(tokenCountEstimator, maxInputTokenCount, maxBatchSize, reservePercentage, MetadataMode.EMBED);
+	}
+
+	/**
+	 * Bound the tokens of a batch by {@link #DEFAULT_MAX_BATCH_TOKEN_COUNT}.
+	 * @param tokenCountEstimator estimator used to count the tokens of each document.
+	 * @param maxInputTokenCount maximum number of tokens of a single document.
+	 * @param maxBatchSize maximum number of documents in a single batch.
+	 * @param reservePercentage fraction of the token limits kept free, between 0 and 1.
+	 * @param metadataMode mode used to format the document content for token counting.
+	 */
+	public TokenCountBatchingStrategy(TokenCountEstimator tokenCountEstimator, int maxInputTokenCount,
+			int maxBatchSize, double reservePercentage, MetadataMode metadataMode) {
+		this(tokenCountEstimator, maxInputTokenCount, DEFAULT_MAX_BATCH_TOKEN_COUNT, maxBatchSize, reservePercentage,
+				metadataMode);
+	}
+
+	/**
+	 * @param tokenCountEstimator estimator used to count the tokens of each document.
+	 * @param maxInputTokenCount maximum number of tokens of a single document.
+	 * @param maxBatchTokenCount maximum number of tokens of all the documents of a batch.
+	 * @param maxBatchSize maximum number of documents in a single batch.
+	 * @param reservePercentage fraction of the token limits kept free, between 0 and 1.
+	 * @param metadataMode mode used to format the document content for token counting.
+	 */
+	public TokenCountBatchingStrategy(TokenCountEstimator tokenCountEstimator, int maxInputTokenCount,
+			int maxBatchTokenCount, int maxBatchSize, double reservePercentage, MetadataMode metadataMode) {
+		Assert.notNull(tokenCountEstimator, "TokenCountEstimator must not be null");
+		Assert.isTrue(maxInputTokenCount > 0, "Max input token count must be greater than 0");
+		Assert.isTrue(maxBatchTokenCount > 0, "Max batch token count must be greater than 0");
+		Assert.isTrue(maxBatchSize > 0, "Max batch size must be greater than 0");
+		Assert.isTrue(reservePercentage >= 0 && reservePercentage < 1, "Reserve percentage must be in [0, 1)");
+		Assert.notNull(metadataMode, "MetadataMode must not be null");
+
+		this.tokenCountEstimator = tokenCountEstimator;
+		this.maxInputTokenCount = (int) Math.round(maxInputTokenCount * (1 - reservePercentage));
+		this.maxBatchTokenCount = (int) Math.round(maxBatchTokenCount * (1 - reservePercentage));
+		this.maxBatchSize = maxBatchSize;
+		this.metadataMode = metadataMode;
+	}
+
+	@Override
+	public List<List<Document>> batch(List<Document> documents) {
+		List<List<Document>> batches = new ArrayList<>();
+		List<Document> currentBatch = new ArrayList<>();
+		int currentTokenCount = 0;
+
+		List<String> texts = new ArrayList<>(documents.size());
+		for (Document document : documents) {
+			texts.add(document.getFormattedContent(this.metadataMode));
+		}
+		int[] tokenCounts = this.tokenCountEstimator.estimateEach(texts);
+
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
+			int tokenCount = tokenCounts[i];
+			boolean oversized = tokenCount > this.maxInputTokenCount;
+
+			if (oversized) {
+				logger.debug("Document {} with {} tokens exceeds the input token limit of {}", document.getId(),
+						tokenCount, this.maxInputTokenCount);
+			}
+
+			if (!currentBatch.isEmpty() && (oversized || currentBatch.size() >= this.maxBatchSize
+					|| currentTokenCount + tokenCount > this.maxBatchTokenCount)) {
+				batches.add(currentBatch);
+				currentBatch = new ArrayList<>();
+				currentTokenCount = 0;
+			}
+
+			currentBatch.add(document);
+			currentTokenCount += tokenCount;
+
+			if (oversized) {
+				batches.add(currentBatch);
+				currentBatch = new ArrayList<>();
+				currentTokenCount = 0;
+			}
+		}
+
+		if (!currentBatch.isEmpty()) {
+			batches.add(currentBatch);
+		}
+		return batches;
+	}
+
+}
@@ -4,10 +4,11 @@ import org.springframework.ai.chat.ChatClient;
 import org.springframework.ai.chat.ChatResponse;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.ChatOptionsBuilder;
+import org.springframework.ai.chat.prompt.CompiledPromptTemplate;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.model.Content;
 
 import java.util.Collections;
@@ -29,6 +30,9 @@ public class RelevancyEvaluator implements Evaluator {
 			    Answer: "
 			""";
 
+	private static final CompiledPromptTemplate EVALUATION_PROMPT_TEMPLATE = CompiledPromptTemplate
+		.compile(DEFAULT_EVALUATION_PROMPT_TEXT);
+
 	private final ChatOptions chatOptions;
 
 	private ChatClient chatClient;
@@ -48,9 +52,8 @@ public class RelevancyEvaluator implements Evaluator {
 		var response = doGetResponse(evaluationRequest);
 		var context = doGetSupportingData(evaluationRequest);
 
-		var promptTemplate = new PromptTemplate(DEFAULT_EVALUATION_PROMPT_TEXT);
-		Message message = promptTemplate
-			.createMessage(Map.of("query", query, "response", response, "context", context));
+		Message message = new UserMessage(
+				EVALUATION_PROMPT_TEMPLATE.render(Map.of("query", query, "response", response, "context", context)));
 
 		ChatResponse chatResponse = this.chatClient.call(new Prompt(message, this.chatOptions));
 
@@ -16,12 +16,18 @@
 package org.springframework.ai.model;
 
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -29,10 +35,14 @@ import java.util.stream.Collectors;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -50,6 +60,7 @@ import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Utility class for manipulating {@link ModelOptions} objects.
@@ -68,6 +79,20 @@ public final class ModelOptionsUtils {
 
 	private static ConcurrentHashMap<Class<?>, List<String>> REQUEST_FIELD_NAMES_PER_CLASS = new ConcurrentHashMap<Class<?>, List<String>>();
 
+	/**
+	 * The JSON property getters per class, empty when the class is not supported by the
+	 * reflective merge.
+	 */
+	private static ConcurrentHashMap<Class<?>, Optional<Map<String, PropertyGetter>>> PROPERTY_GETTERS_PER_CLASS = new ConcurrentHashMap<>();
+
+	/**
+	 * The instantiators from JSON properties per class, empty when the class is not
+	 * supported by the reflective merge.
+	 */
+	private static ConcurrentHashMap<Class<?>, Optional<Instantiator>> INSTANTIATORS_PER_CLASS = new ConcurrentHashMap<>();
+
+	private static ConcurrentHashMap<Class<?>, Set<String>> METHOD_NAMES_PER_INTERFACE = new ConcurrentHashMap<>();
+
 	private static AtomicReference<SchemaGenerator> SCHEMA_GENERATOR_CACHE = new AtomicReference<>();
 
 	private ModelOptionsUtils() {
@@ -149,6 +174,25 @@ public final class ModelOptionsUtils {
 			throw new IllegalArgumentException("No @JsonProperty fields found in the " + clazz.getName());
 		}
 
+		Optional<Instantiator> instantiator = INSTANTIATORS_PER_CLASS.computeIfAbsent(clazz,
+				ModelOptionsUtils::createInstantiator);
+		Optional<Map<String, PropertyGetter>> sourceGetters = propertyGetters(source);
+		Optional<Map<String, PropertyGetter>> targetGetters = propertyGetters(target);
+		if (instantiator.isPresent() && sourceGetters.isPresent() && targetGetters.isPresent()) {
+			// Copy the property values, without the JSON round trips
+			Map<String, TypedValue> values = new HashMap<>();
+			for (String name : requestFieldNames) {
+				TypedValue value = getPropertyValue(source, sourceGetters.get(), name);
+				if (value == null) {
+					value = getPropertyValue(target, targetGetters.get(), name);
+				}
+				if (value != null) {
+					values.put(name, value);
+				}
+			}
+			return clazz.cast(instantiator.get().newInstance(values));
+		}
+
 		Map<String, Object> sourceMap = ModelOptionsUtils.objectToMap(source);
 		Map<String, Object> targetMap = ModelOptionsUtils.objectToMap(target);
 
@@ -301,7 +345,8 @@ public final class ModelOptionsUtils {
 		BeanWrapper sourceBeanWrap = new BeanWrapperImpl(source);
 		BeanWrapper targetBeanWrap = new BeanWrapperImpl(target);
 
-		List<String> interfaceNames = Arrays.stream(sourceInterfaceClazz.getMethods()).map(m -> m.getName()).toList();
+		Set<String> interfaceNames = METHOD_NAMES_PER_INTERFACE.computeIfAbsent(sourceInterfaceClazz,
+				clazz -> Arrays.stream(clazz.getMethods()).map(m -> m.getName()).collect(Collectors.toSet()));
 
 		for (PropertyDescriptor descriptor : sourceBeanWrap.getPropertyDescriptors()) {
 
@@ -329,6 +374,153 @@ public final class ModelOptionsUtils {
 		return "get" + name.substring(0, 1).toUpperCase() + name.substring(1);
 	}
 
+	private static Optional<Map<String, PropertyGetter>> propertyGetters(Object object) {
+		if (object == null || object instanceof Map) {
+			return Optional.of(Map.of());
+		}
+		return PROPERTY_GETTERS_PER_CLASS.computeIfAbsent(object.getClass(), ModelOptionsUtils::createPropertyGetters);
+	}
+
+	private static TypedValue getPropertyValue(Object object, Map<String, PropertyGetter> getters, String name) {
+		if (object instanceof Map<?, ?> map) {
+			Object value = map.get(name);
+			return (value != null) ? new TypedValue(value, null) : null;
+		}
+		PropertyGetter getter = getters.get(name);
+		if (object == null || getter == null) {
+			return null;
+		}
+		Object value = getter.accessor().getValue(object);
+		return (value != null) ? new TypedValue(value, getter.type()) : null;
+	}
+
+	/**
+	 * Introspects the properties of the class the way the {@link #OBJECT_MAPPER}
+	 * serializes them. Classes with any getters or a custom JSON value are not supported.
+	 */
+	private static Optional<Map<String, PropertyGetter>> createPropertyGetters(Class<?> clazz) {
+		BeanDescription description = OBJECT_MAPPER.getSerializationConfig()
+			.introspect(OBJECT_MAPPER.constructType(clazz));
+		if (description.findAnyGetter() != null || description.findJsonValueAccessor() != null) {
+			return Optional.empty();
+		}
+		Map<String, PropertyGetter> getters = new HashMap<>();
+		for (BeanPropertyDefinition property : description.findProperties()) {
+			AnnotatedMember accessor = property.getAccessor();
+			if (accessor != null) {
+				accessor.fixAccess(true);
+				getters.put(property.getName(), new PropertyGetter(accessor, property.getPrimaryType()));
+			}
+		}
+		return Optional.of(getters);
+	}
+
+	/**
+	 * Records are created with their canonical constructor, beans with their default
+	 * constructor and then their setters or fields. Beans with any setters or properties
+	 * only settable through a constructor are not supported.
+	 */
+	private static Optional<Instantiator> createInstantiator(Class<?> clazz) {
+		if (clazz.isRecord()) {
+			RecordComponent[] components = clazz.getRecordComponents();
+			Class<?>[] parameterTypes = new Class<?>[components.length];
+			Map<String, Property> properties = new LinkedHashMap<>();
+			for (int i = 0; i < components.length; i++) {
+				parameterTypes[i] = components[i].getType();
+				Field field = ReflectionUtils.findField(clazz, components[i].getName());
+				JsonProperty jsonProperty = (field != null) ? field.getAnnotation(JsonProperty.class) : null;
+				String name = (jsonProperty != null && !jsonProperty.value().isEmpty()) ? jsonProperty.value()
+						: components[i].getName();
+				properties.put(name, new Property(OBJECT_MAPPER.constructType(components[i].getGenericType()), null));
+			}
+			try {
+				Constructor<?> constructor = clazz.getDeclaredConstructor(parameterTypes);
+				ReflectionUtils.makeAccessible(constructor);
+				return Optional.of(new Instantiator(constructor, properties));
+			}
+			catch (NoSuchMethodException ex) {
+				return Optional.empty();
+			}
+		}
+
+		BeanDescription description = OBJECT_MAPPER.getDeserializationConfig()
+			.introspect(OBJECT_MAPPER.constructType(clazz));
+		if (description.findDefaultConstructor() == null || description.findAnySetterAccessor() != null) {
+			return Optional.empty();
+		}
+		Map<String, Property> properties = new HashMap<>();
+		for (BeanPropertyDefinition property : description.findProperties()) {
+			AnnotatedMember mutator = property.hasSetter() ? property.getSetter() : property.getField();
+			if (mutator == null) {
+				if (property.hasConstructorParameter()) {
+					return Optional.empty();
+				}
+				continue;
+			}
+			mutator.fixAccess(true);
+			properties.put(property.getName(), new Property(property.getPrimaryType(), mutator));
+		}
+		Constructor<?> constructor = description.findDefaultConstructor().getAnnotated();
+		ReflectionUtils.makeAccessible(constructor);
+		return Optional.of(new Instantiator(constructor, properties));
+	}
+
+	/**
+	 * Converts the value to the target type, only when it is not already an instance of
+	 * the target type. Unlike a JSON round trip, the values are not copied.
+	 */
+	private static Object convertValue(TypedValue value, JavaType targetType) {
+		if (targetType.equals(value.type()) || (!targetType.hasGenericTypes()
+				&& !targetType.isPrimitive() && targetType.getRawClass().isInstance(value.value()))) {
+			return value.value();
+		}
+		return OBJECT_MAPPER.convertValue(value.value(), targetType);
+	}
+
+	private record PropertyGetter(AnnotatedMember accessor, JavaType type) {
+	}
+
+	private record TypedValue(Object value, JavaType type) {
+	}
+
+	/**
+	 * @param mutator the setter or field of a bean property, {@code null} for the
+	 * constructor parameters of records.
+	 */
+	private record Property(JavaType type, AnnotatedMember mutator) {
+	}
+
+	private record Instantiator(Constructor<?> constructor, Map<String, Property> properties) {
+
+		Object newInstance(Map<String, TypedValue> values) {
+			try {
+				if (this.constructor.getDeclaringClass().isRecord()) {
+					Object[] arguments = new Object[this.properties.size()];
+					int i = 0;
+					for (Map.Entry<String, Property> entry : this.properties.entrySet()) {
+						TypedValue value = values.get(entry.getKey());
+						Class<?> type = entry.getValue().type().getRawClass();
+						arguments[i++] = (value != null) ? convertValue(value, entry.getValue().type())
+								: (type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null);
+					}
+					return this.constructor.newInstance(arguments);
+				}
+				Object instance = this.constructor.newInstance();
+				for (Map.Entry<String, TypedValue> entry : values.entrySet()) {
+					Property property = this.properties.get(entry.getKey());
+					if (property != null) {
+						property.mutator().setValue(instance, convertValue(entry.getValue(), property.type()));
+					}
+				}
+				return instance;
+			}
+			catch (ReflectiveOperationException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+	}
+
 	/**
 	 * Generates JSON Schema (version 2020_12) for the given class.
 	 * @param clazz the class to generate JSON Schema for.
@@ -15,18 +15,44 @@
  */
 package org.springframework.ai.model.function;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
+ * Base class of the chat clients supporting function calling. When the model calls
+ * functions, the functions are called and their responses sent back to the model, until
+ * the model answers without calling functions or the maximum number of function call
+ * rounds is reached.
+ * <p>
+ * The functions the model calls in one response are independent of each other and are
+ * called concurrently, by default on a bounded elastic thread, each within the optional
+ * function call timeout. Their responses are returned in the order of the calls. When a
+ * function fails or does not complete in time, the calls still running are cancelled by
+ * interrupting their thread, so the functions should respond to interruption, as
+ * blocking I/O and waits do, to release their thread. The duration of the calls of each
+ * function is recorded in {@link #getFunctionCallStatistics()}.
+ *
  * @author Christian Tzolov
  * @author Grogdunn
  */
@@ -34,6 +60,13 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 
 	protected final static boolean IS_RUNTIME_CALL = true;
 
+	public static final int DEFAULT_MAX_FUNCTION_CALL_ROUNDS = 10;
+
+	private static final Logger logger = LoggerFactory.getLogger(AbstractFunctionCallSupport.class);
+
+	private static final Executor DEFAULT_FUNCTION_CALL_EXECUTOR = task -> Schedulers.boundedElastic()
+		.schedule(task);
+
 	/**
 	 * The function callback register is used to resolve the function callbacks by name.
 	 */
@@ -46,6 +79,20 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 	 */
 	protected final FunctionCallbackContext functionCallbackContext;
 
+	private final Map<String, FunctionCallStatistics> functionCallStatistics = new ConcurrentHashMap<>();
+
+	/**
+	 * The model specific tool definitions, by definitions of the functions they are
+	 * created from.
+	 */
+	private final Map<List<FunctionToolsKey>, Object> functionToolsCache = new ConcurrentReferenceHashMap<>();
+
+	private Executor functionCallExecutor = DEFAULT_FUNCTION_CALL_EXECUTOR;
+
+	private Duration functionCallTimeout;
+
+	private int maxFunctionCallRounds = DEFAULT_MAX_FUNCTION_CALL_ROUNDS;
+
 	protected AbstractFunctionCallSupport(FunctionCallbackContext functionCallbackContext) {
 		this.functionCallbackContext = functionCallbackContext;
 	}
@@ -54,6 +101,41 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 		return this.functionCallbackRegister;
 	}
 
+	/**
+	 * @param functionCallExecutor the executor calling the functions when the model calls
+	 * several functions at once.
+	 */
+	public void setFunctionCallExecutor(Executor functionCallExecutor) {
+		Assert.notNull(functionCallExecutor, "Function call executor must not be null");
+		this.functionCallExecutor = functionCallExecutor;
+	}
+
+	/**
+	 * @param functionCallTimeout the maximum duration of a function call, {@code null}
+	 * for no timeout. A call not completing in time is interrupted.
+	 */
+	public void setFunctionCallTimeout(Duration functionCallTimeout) {
+		Assert.isTrue(functionCallTimeout == null || functionCallTimeout.toMillis() > 0,
+				"Function call timeout must be positive");
+		this.functionCallTimeout = functionCallTimeout;
+	}
+
+	/**
+	 * @param maxFunctionCallRounds the maximum number of times the function responses
+	 * are sent back to the model for a single prompt.
+	 */
+	public void setMaxFunctionCallRounds(int maxFunctionCallRounds) {
+		Assert.isTrue(maxFunctionCallRounds > 0, "Max function call rounds must be positive");
+		this.maxFunctionCallRounds = maxFunctionCallRounds;
+	}
+
+	/**
+	 * @return the call statistics of each function, by function name.
+	 */
+	public Map<String, FunctionCallStatistics> getFunctionCallStatistics() {
+		return Collections.unmodifiableMap(this.functionCallStatistics);
+	}
+
 	protected Set<String> handleFunctionCallbackConfigurations(FunctionCallingOptions options, boolean isRuntimeCall) {
 
 		Set<String> functionToCall = new HashSet<>();
@@ -122,32 +204,131 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 		return retrievedFunctionCallbacks;
 	}
 
-	///
-	protected Resp callWithFunctionSupport(Req request) {
-		Resp response = this.doChatCompletion(request);
-		return this.handleFunctionCallOrReturn(request, response);
+	/**
+	 * Resolve the function callbacks by name and create the model specific tool
+	 * definitions from them. The tool definitions are created once per set of functions
+	 * and reused by the following requests, so they must not be modified.
+	 * @param functionNames Name of function callbacks to retrieve.
+	 * @param toolsFactory creates the tool definitions from the function callbacks.
+	 * @return the tool definitions, shared by the requests using the same functions.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> T resolveFunctionTools(Set<String> functionNames, Function<List<FunctionCallback>, T> toolsFactory) {
+
+		List<FunctionCallback> functionCallbacks = this.resolveFunctionCallbacks(functionNames);
+
+		List<FunctionToolsKey> key = new ArrayList<>(functionCallbacks.size());
+		for (FunctionCallback functionCallback : functionCallbacks) {
+			key.add(new FunctionToolsKey(functionCallback.getName(), functionCallback.getDescription(),
+					functionCallback.getInputTypeSchema()));
+		}
+
+		return (T) this.functionToolsCache.computeIfAbsent(key, k -> toolsFactory.apply(functionCallbacks));
 	}
 
-	protected Resp handleFunctionCallOrReturn(Req request, Resp response) {
+	/**
+	 * Call the functions, concurrently when there are several.
+	 * @param functionInvocations the function calls requested by the model.
+	 * @return the responses of the functions, in the order of the calls.
+	 */
+	protected List<String> callFunctions(List<FunctionInvocation> functionInvocations) {
+
+		List<FunctionCallback> functionCallbacks = new ArrayList<>(functionInvocations.size());
+		for (FunctionInvocation functionInvocation : functionInvocations) {
+			FunctionCallback functionCallback = this.functionCallbackRegister.get(functionInvocation.name());
+			if (functionCallback == null) {
+				throw new IllegalStateException(
+						"No function callback found for function name: " + functionInvocation.name());
+			}
+			functionCallbacks.add(functionCallback);
+		}
 
-		if (!this.isToolFunctionCall(response)) {
-			return response;
+		if (functionInvocations.size() == 1 && this.functionCallTimeout == null) {
+			return List.of(callFunction(functionCallbacks.get(0), functionInvocations.get(0)));
 		}
 
-		// The chat completion tool call requires the complete conversation
-		// history. Including the initial user message.
-		List<Msg> conversationHistory = new ArrayList<>();
+		long timeoutNanos = (this.functionCallTimeout != null) ? this.functionCallTimeout.toNanos() : 0;
+		long deadline = System.nanoTime() + timeoutNanos;
+		List<FutureTask<String>> tasks = new ArrayList<>(functionInvocations.size());
+		try {
+			for (int i = 0; i < functionInvocations.size(); i++) {
+				FunctionCallback functionCallback = functionCallbacks.get(i);
+				FunctionInvocation functionInvocation = functionInvocations.get(i);
+				FutureTask<String> task = new FutureTask<>(() -> callFunction(functionCallback, functionInvocation));
+				tasks.add(task);
+				this.functionCallExecutor.execute(task);
+			}
 
-		conversationHistory.addAll(this.doGetUserMessages(request));
+			List<String> functionResponses = new ArrayList<>(tasks.size());
+			for (int i = 0; i < tasks.size(); i++) {
+				functionResponses.add(awaitFunctionResponse(tasks.get(i), deadline, functionInvocations.get(i).name()));
+			}
+			return functionResponses;
+		}
+		finally {
+			// Interrupts the calls still running when a function failed or timed out
+			for (FutureTask<String> task : tasks) {
+				task.cancel(true);
+			}
+		}
+	}
 
-		Msg responseMessage = this.doGetToolResponseMessage(response);
+	private String awaitFunctionResponse(FutureTask<String> task, long deadline, String functionName) {
+		try {
+			return (this.functionCallTimeout != null) ? task.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+					: task.get();
+		}
+		catch (TimeoutException ex) {
+			throw new IllegalStateException(
+					"Function " + functionName + " did not complete within " + this.functionCallTimeout, ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Function " + functionName + " failed", ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for function " + functionName, ex);
+		}
+	}
 
-		// Add the assistant response to the message conversation history.
-		conversationHistory.add(responseMessage);
+	private String callFunction(FunctionCallback functionCallback, FunctionInvocation functionInvocation) {
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			String functionResponse = functionCallback.call(functionInvocation.arguments());
+			failed = false;
+			return functionResponse;
+		}
+		finally {
+			long nanos = System.nanoTime() - start;
+			this.functionCallStatistics.computeIfAbsent(functionInvocation.name(), name -> new FunctionCallStatistics())
+				.record(nanos, failed);
+			logger.debug("Function {} called in {} ms", functionInvocation.name(),
+					TimeUnit.NANOSECONDS.toMillis(nanos));
+		}
+	}
+
+	///
+	protected Resp callWithFunctionSupport(Req request) {
+		Resp response = this.doChatCompletion(request);
+		return this.handleFunctionCallOrReturn(request, response);
+	}
 
-		Req newRequest = this.doCreateToolResponseRequest(request, responseMessage, conversationHistory);
+	protected Resp handleFunctionCallOrReturn(Req request, Resp response) {
 
-		return this.callWithFunctionSupport(newRequest);
+		int round = 0;
+		while (this.isToolFunctionCall(response)) {
+			checkFunctionCallRound(++round);
+			request = createToolResponseRequest(request, response);
+			response = this.doChatCompletion(request);
+		}
+		return response;
 	}
 
 	protected Flux<Resp> callWithFunctionSupportStream(Req request) {
@@ -156,28 +337,45 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 	}
 
 	protected Flux<Resp> handleFunctionCallOrReturnStream(Req request, Flux<Resp> response) {
+		return handleFunctionCallOrReturnStream(request, response, 0);
+	}
+
+	private Flux<Resp> handleFunctionCallOrReturnStream(Req request, Flux<Resp> response, int round) {
 
 		return response.switchMap(resp -> {
 			if (!this.isToolFunctionCall(resp)) {
 				return Mono.just(resp);
 			}
 
-			// The chat completion tool call requires the complete conversation
-			// history. Including the initial user message.
-			List<Msg> conversationHistory = new ArrayList<>();
+			checkFunctionCallRound(round + 1);
+			Req newRequest = createToolResponseRequest(request, resp);
 
-			conversationHistory.addAll(this.doGetUserMessages(request));
+			return handleFunctionCallOrReturnStream(newRequest, this.doChatCompletionStream(newRequest), round + 1);
+		});
+
+	}
 
-			Msg responseMessage = this.doGetToolResponseMessage(resp);
+	private Req createToolResponseRequest(Req request, Resp response) {
 
-			// Add the assistant response to the message conversation history.
-			conversationHistory.add(responseMessage);
+		// The chat completion tool call requires the complete conversation
+		// history. Including the initial user message.
+		List<Msg> conversationHistory = new ArrayList<>();
 
-			Req newRequest = this.doCreateToolResponseRequest(request, responseMessage, conversationHistory);
+		conversationHistory.addAll(this.doGetUserMessages(request));
 
-			return this.callWithFunctionSupportStream(newRequest);
-		});
+		Msg responseMessage = this.doGetToolResponseMessage(response);
 
+		// Add the assistant response to the message conversation history.
+		conversationHistory.add(responseMessage);
+
+		return this.doCreateToolResponseRequest(request, responseMessage, conversationHistory);
+	}
+
+	private void checkFunctionCallRound(int round) {
+		if (round > this.maxFunctionCallRounds) {
+			throw new IllegalStateException(
+					"The model kept calling functions after " + this.maxFunctionCallRounds + " rounds");
+		}
 	}
 
 	abstract protected Req doCreateToolResponseRequest(Req previousRequest, Msg responseMessage,
@@ -193,4 +391,16 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 
 	abstract protected boolean isToolFunctionCall(Resp response);
 
+	/**
+	 * A function call requested by the model.
+	 *
+	 * @param name the name of the function.
+	 * @param arguments the JSON arguments of the call.
+	 */
+	protected record FunctionInvocation(String name, String arguments) {
+	}
+
+	private record FunctionToolsKey(String name, String description, String inputTypeSchema) {
+	}
+
 }
@@ -19,6 +19,7 @@ import java.util.function.Function;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import org.springframework.util.Assert;
 
@@ -47,7 +48,7 @@ abstract class AbstractFunctionCallback<I, O> implements Function<I, O>, Functio
 
 	private final String inputTypeSchema;
 
-	private final ObjectMapper objectMapper;
+	private final ObjectReader inputReader;
 
 	private final Function<O, String> responseConverter;
 
@@ -79,7 +80,8 @@ abstract class AbstractFunctionCallback<I, O> implements Function<I, O>, Functio
 		this.inputType = inputType;
 		this.inputTypeSchema = inputTypeSchema;
 		this.responseConverter = responseConverter;
-		this.objectMapper = objectMapper;
+		// Typed reader resolved once, rather than looking up the deserializer on each call
+		this.inputReader = objectMapper.readerFor(inputType);
 	}
 
 	@Override
@@ -101,15 +103,15 @@ abstract class AbstractFunctionCallback<I, O> implements Function<I, O>, Functio
 	public String call(String functionArguments) {
 
 		// Convert the tool calls JSON arguments into a Java function request object.
-		I request = fromJson(functionArguments, inputType);
+		I request = fromJson(functionArguments);
 
 		// extend conversation with function response.
-		return this.andThen(this.responseConverter).apply(request);
+		return this.responseConverter.apply(this.apply(request));
 	}
 
-	private <T> T fromJson(String json, Class<T> targetClass) {
+	private I fromJson(String json) {
 		try {
-			return this.objectMapper.readValue(json, targetClass);
+			return this.inputReader.readValue(json);
 		}
 		catch (JsonProcessingException e) {
 			throw new RuntimeException(e);
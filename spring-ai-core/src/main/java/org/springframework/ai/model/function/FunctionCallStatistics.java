@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, failure count and durations of the calls of a function by the model.
+ */
+public final class FunctionCallStatistics {
+
+	private final LongAdder callCount = new LongAdder();
+
+	private final LongAdder failureCount = new LongAdder();
+
+	private final LongAdder totalNanos = new LongAdder();
+
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	void record(long nanos, boolean failed) {
+		this.callCount.increment();
+		if (failed) {
+			this.failureCount.increment();
+		}
+		this.totalNanos.add(nanos);
+		this.maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	public long getCallCount() {
+		return this.callCount.sum();
+	}
+
+	/**
+	 * @return the number of calls that threw an exception.
+	 */
+	public long getFailureCount() {
+		return this.failureCount.sum();
+	}
+
+	public Duration getTotalDuration() {
+		return Duration.ofNanos(this.totalNanos.sum());
+	}
+
+	public Duration getMaxDuration() {
+		return Duration.ofNanos(this.maxNanos.get());
+	}
+
+	public Duration getAverageDuration() {
+		long count = this.callCount.sum();
+		return (count > 0) ? Duration.ofNanos(this.totalNanos.sum() / count) : Duration.ZERO;
+	}
+
+	@Override
+	public String toString() {
+		return "FunctionCallStatistics{" + "callCount=" + getCallCount() + ", failureCount=" + getFailureCount()
+				+ ", averageDuration=" + getAverageDuration() + ", maxDuration=" + getMaxDuration() + '}';
+	}
+
+}
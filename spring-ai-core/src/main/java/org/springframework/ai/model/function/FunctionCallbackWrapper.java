@@ -34,6 +34,15 @@ import org.springframework.util.Assert;
  */
 public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O> {
 
+	/**
+	 * Shared by the wrappers built without an explicit object mapper, so that they share
+	 * the mapper's deserializer cache.
+	 */
+	private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper()
+		.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+		.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+		.registerModule(new JavaTimeModule());
+
 	private final Function<I, O> function;
 
 	private FunctionCallbackWrapper(String name, String description, String inputTypeSchema, Class<I> inputType,
@@ -85,10 +94,7 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 
 		private String inputTypeSchema;
 
-		private ObjectMapper objectMapper = new ObjectMapper()
-			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
-			.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
-			.registerModule(new JavaTimeModule());
+		private ObjectMapper objectMapper = DEFAULT_OBJECT_MAPPER;
 
 		public Builder<I, O> withName(String name) {
 			Assert.hasText(name, "Name must not be empty");
@@ -16,27 +16,70 @@
 
 package org.springframework.ai.tokenizer;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.knuddels.jtokkit.Encodings;
 import com.knuddels.jtokkit.api.Encoding;
 import com.knuddels.jtokkit.api.EncodingType;
 
 import org.springframework.ai.chat.messages.Media;
 import org.springframework.ai.model.Content;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 /**
+ * {@link TokenCountEstimator} counting the tokens with a JTokkit {@link Encoding}.
+ * <p>
+ * Optionally, the token counts of the texts of at least {@link #CACHED_TEXT_MIN_LENGTH}
+ * characters are cached, by text, in a bounded least recently used cache: the same
+ * messages of a chat memory are counted again on every turn of a conversation, usually
+ * from new {@link Content} instances. The cache is disabled by default, texts that are
+ * counted once, such as the documents of an ingestion, would only churn it.
+ *
  * @author Christian Tzolov
  */
 public class JTokkitTokenCountEstimator implements TokenCountEstimator {
 
+	/**
+	 * The minimum length of the texts whose token count is cached, shorter texts are
+	 * cheaper to count than to look up.
+	 */
+	public static final int CACHED_TEXT_MIN_LENGTH = 64;
+
 	private final Encoding estimator;
 
+	private final Map<String, Integer> tokenCountCache;
+
 	public JTokkitTokenCountEstimator() {
-		this.estimator = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+		this(Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE));
 	}
 
 	public JTokkitTokenCountEstimator(Encoding tokenEncoding) {
+		this(tokenEncoding, 0);
+	}
+
+	/**
+	 * @param tokenEncoding the encoding counting the tokens.
+	 * @param maxCachedTexts the maximum number of texts whose token count is cached, the
+	 * least recently used ones are evicted first. {@code 0} disables the cache.
+	 */
+	public JTokkitTokenCountEstimator(Encoding tokenEncoding, int maxCachedTexts) {
+		Assert.isTrue(maxCachedTexts >= 0, "Max cached texts must not be negative");
 		this.estimator = tokenEncoding;
+		this.tokenCountCache = (maxCachedTexts > 0) ? lruCache(maxCachedTexts) : null;
+	}
+
+	private static Map<String, Integer> lruCache(int maxSize) {
+		return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+				return size() > maxSize;
+			}
+
+		});
 	}
 
 	@Override
@@ -44,7 +87,16 @@ public class JTokkitTokenCountEstimator implements TokenCountEstimator {
 		if (text == null) {
 			return 0;
 		}
-		return this.estimator.countTokens(text);
+		if (this.tokenCountCache == null || text.length() < CACHED_TEXT_MIN_LENGTH) {
+			return this.estimator.countTokens(text);
+		}
+		Integer tokenCount = this.tokenCountCache.get(text);
+		if (tokenCount == null) {
+			// Counted outside of the lock of the cache
+			tokenCount = this.estimator.countTokens(text);
+			this.tokenCountCache.put(text, tokenCount);
+		}
+		return tokenCount;
 	}
 
 	@Override
@@ -16,6 +16,8 @@
 
 package org.springframework.ai.tokenizer;
 
+import java.util.List;
+
 import org.springframework.ai.model.Content;
 
 /**
@@ -48,4 +50,32 @@ public interface TokenCountEstimator {
 	 */
 	int estimate(Iterable<Content> messages);
 
+	/**
+	 * Estimates the number of tokens in each of the given texts.
+	 * @param texts the texts to estimate the number of tokens for.
+	 * @return the estimated number of tokens of each text, in the order of the texts.
+	 */
+	default int[] estimateEach(List<String> texts) {
+		int[] tokenCounts = new int[texts.size()];
+		for (int i = 0; i < tokenCounts.length; i++) {
+			tokenCounts[i] = estimate(texts.get(i));
+		}
+		return tokenCounts;
+	}
+
+	/**
+	 * Estimates the number of tokens in each of the given contents.
+	 * @param contents the contents (Messages or Documents) to estimate the number of
+	 * tokens for.
+	 * @return the estimated number of tokens of each content, in the order of the
+	 * contents.
+	 */
+	default int[] estimateEachContent(List<? extends Content> contents) {
+		int[] tokenCounts = new int[contents.size()];
+		for (int i = 0; i < tokenCounts.length; i++) {
+			tokenCounts[i] = estimate(contents.get(i));
+		}
+		return tokenCounts;
+	}
+
 }
\ No newline at end of file
@@ -21,8 +21,8 @@ import java.util.Map;
 import org.springframework.ai.chat.ChatClient;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.DocumentTransformer;
+import org.springframework.ai.chat.prompt.CompiledPromptTemplate;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.util.Assert;
 
 /**
@@ -50,20 +50,23 @@ public class KeywordMetadataEnricher implements DocumentTransformer {
 	 */
 	private final int keywordCount;
 
+	private final CompiledPromptTemplate keywordsTemplate;
+
 	public KeywordMetadataEnricher(ChatClient chatClient, int keywordCount) {
 		Assert.notNull(chatClient, "ChatClient must not be null");
 		Assert.isTrue(keywordCount >= 1, "Document count must be >= 1");
 
 		this.chatClient = chatClient;
 		this.keywordCount = keywordCount;
+		this.keywordsTemplate = CompiledPromptTemplate.compile(String.format(KEYWORDS_TEMPLATE, keywordCount));
 	}
 
 	@Override
 	public List<Document> apply(List<Document> documents) {
 		for (Document document : documents) {
 
-			var template = new PromptTemplate(String.format(KEYWORDS_TEMPLATE, keywordCount));
-			Prompt prompt = template.create(Map.of(CONTEXT_STR_PLACEHOLDER, document.getContent()));
+			Prompt prompt = new Prompt(
+					this.keywordsTemplate.render(Map.of(CONTEXT_STR_PLACEHOLDER, document.getContent())));
 			String keywords = this.chatClient.call(prompt).getResult().getOutput().getContent();
 			document.getMetadata().putAll(Map.of(EXCERPT_KEYWORDS_METADATA_KEY, keywords));
 		}
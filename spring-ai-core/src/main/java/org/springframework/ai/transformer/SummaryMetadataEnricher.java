@@ -24,8 +24,8 @@ import org.springframework.ai.chat.ChatClient;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.DocumentTransformer;
 import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.chat.prompt.CompiledPromptTemplate;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
@@ -74,7 +74,7 @@ public class SummaryMetadataEnricher implements DocumentTransformer {
 	/**
 	 * Template for summary extraction.
 	 */
-	private final String summaryTemplate;
+	private final CompiledPromptTemplate summaryTemplate;
 
 	public SummaryMetadataEnricher(ChatClient chatClient, List<SummaryType> summaryTypes) {
 		this(chatClient, summaryTypes, DEFAULT_SUMMARY_EXTRACT_TEMPLATE, MetadataMode.ALL);
@@ -88,7 +88,7 @@ public class SummaryMetadataEnricher implements DocumentTransformer {
 		this.chatClient = chatClient;
 		this.summaryTypes = CollectionUtils.isEmpty(summaryTypes) ? List.of(SummaryType.CURRENT) : summaryTypes;
 		this.metadataMode = metadataMode;
-		this.summaryTemplate = summaryTemplate;
+		this.summaryTemplate = CompiledPromptTemplate.compile(summaryTemplate);
 	}
 
 	@Override
@@ -99,8 +99,7 @@ public class SummaryMetadataEnricher implements DocumentTransformer {
 
 			var documentContext = document.getFormattedContent(this.metadataMode);
 
-			Prompt prompt = new PromptTemplate(this.summaryTemplate)
-				.create(Map.of(CONTEXT_STR_PLACEHOLDER, documentContext));
+			Prompt prompt = new Prompt(this.summaryTemplate.render(Map.of(CONTEXT_STR_PLACEHOLDER, documentContext)));
 			documentSummaries.add(this.chatClient.call(prompt).getResult().getOutput().getContent());
 		}
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.transformer.splitter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Metadata map of a chunk, sharing the metadata snapshot of its parent document with the
+ * other chunks until it is modified. The first modification copies the snapshot, so
+ * changes are never visible to the other chunks.
+ */
+final class CopyOnWriteMetadata extends AbstractMap<String, Object> {
+
+	private Map<String, Object> metadata;
+
+	private boolean shared = true;
+
+	/**
+	 * @param snapshot the shared metadata, must not be modified once shared.
+	 */
+	CopyOnWriteMetadata(Map<String, Object> snapshot) {
+		this.metadata = snapshot;
+	}
+
+	@Override
+	public int size() {
+		return this.metadata.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.metadata.containsKey(key);
+	}
+
+	@Override
+	public Object get(Object key) {
+		return this.metadata.get(key);
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		return writableMetadata().put(key, value);
+	}
+
+	@Override
+	public Object remove(Object key) {
+		return this.metadata.containsKey(key) ? writableMetadata().remove(key) : null;
+	}
+
+	@Override
+	public void clear() {
+		this.metadata = new HashMap<>();
+		this.shared = false;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Entry<String, Object>> iterator() {
+				Map<String, Object> iterated = CopyOnWriteMetadata.this.metadata;
+				Iterator<Entry<String, Object>> iterator = iterated.entrySet().iterator();
+				return new Iterator<>() {
+
+					private Entry<String, Object> last;
+
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Entry<String, Object> next() {
+						this.last = iterator.next();
+						return new SimpleEntry<>(this.last) {
+
+							@Override
+							public Object setValue(Object value) {
+								super.setValue(value);
+								return put(getKey(), value);
+							}
+
+						};
+					}
+
+					@Override
+					public void remove() {
+						if (this.last == null) {
+							throw new IllegalStateException();
+						}
+						if (CopyOnWriteMetadata.this.metadata == iterated && !CopyOnWriteMetadata.this.shared) {
+							iterator.remove();
+						}
+						else {
+							CopyOnWriteMetadata.this.remove(this.last.getKey());
+						}
+						this.last = null;
+					}
+
+				};
+			}
+
+			@Override
+			public int size() {
+				return CopyOnWriteMetadata.this.metadata.size();
+			}
+
+		};
+	}
+
+	private Map<String, Object> writableMetadata() {
+		if (this.shared) {
+			this.metadata = new HashMap<>(this.metadata);
+			this.shared = false;
+		}
+		return this.metadata;
+	}
+
+}
@@ -26,7 +26,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public abstract class TextSplitter implements DocumentTransformer {
 
@@ -38,6 +40,11 @@ public abstract class TextSplitter implements DocumentTransformer {
 	 */
 	private boolean copyContentFormatter = true;
 
+	/**
+	 * If set, the documents are split concurrently on this executor.
+	 */
+	private Executor executor;
+
 	@Override
 	public List<Document> apply(List<Document> documents) {
 		return doSplitDocuments(documents);
@@ -59,6 +66,22 @@ public abstract class TextSplitter implements DocumentTransformer {
 		return this.copyContentFormatter;
 	}
 
+	/**
+	 * Splits the documents concurrently on the given executor, for instance a
+	 * {@link java.util.concurrent.ForkJoinPool} or a virtual thread per task executor. The
+	 * chunks are returned in the same order as when splitting sequentially. The
+	 * {@link #splitText(String)} implementation must be thread-safe.
+	 * @param executor the executor to split the documents on, or {@code null} to split
+	 * them sequentially on the calling thread (default).
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
 	private List<Document> doSplitDocuments(List<Document> documents) {
 		List<String> texts = new ArrayList<>();
 		List<Map<String, Object>> metadataList = new ArrayList<>();
@@ -77,31 +100,56 @@ public abstract class TextSplitter implements DocumentTransformer {
 			List<Map<String, Object>> metadataList) {
 
 		// Process the data in a column oriented way and recreate the Document
-		List<Document> documents = new ArrayList<>();
+		if (this.executor == null || texts.size() < 2) {
+			List<Document> documents = new ArrayList<>();
+			for (int i = 0; i < texts.size(); i++) {
+				documents.addAll(createDocuments(texts.get(i), formatters.get(i), metadataList.get(i)));
+			}
+			return documents;
+		}
 
+		List<CompletableFuture<List<Document>>> futures = new ArrayList<>(texts.size());
 		for (int i = 0; i < texts.size(); i++) {
-			String text = texts.get(i);
-			Map<String, Object> metadata = metadataList.get(i);
-			List<String> chunks = splitText(text);
-			if (chunks.size() > 1) {
-				logger.info("Splitting up document into " + chunks.size() + " chunks.");
+			int index = i;
+			futures.add(CompletableFuture.supplyAsync(
+					() -> createDocuments(texts.get(index), formatters.get(index), metadataList.get(index)),
+					this.executor));
+		}
+		List<Document> documents = new ArrayList<>();
+		for (CompletableFuture<List<Document>> future : futures) {
+			try {
+				documents.addAll(future.join());
 			}
-			for (String chunk : chunks) {
-				// only primitive values are in here -
-				Map<String, Object> metadataCopy = metadata.entrySet()
-					.stream()
-					.collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue()));
-				Document newDoc = new Document(chunk, metadataCopy);
-
-				if (this.copyContentFormatter) {
-					// Transfer the content-formatter of the parent to the chunked
-					// documents it was slit into.
-					newDoc.setContentFormatter(formatters.get(i));
+			catch (CompletionException ex) {
+				if (ex.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
 				}
+				throw ex;
+			}
+		}
+		return documents;
+	}
 
-				// TODO copy over other properties.
-				documents.add(newDoc);
+	private List<Document> createDocuments(String text, ContentFormatter formatter, Map<String, Object> metadata) {
+		List<String> chunks = splitText(text);
+		if (chunks.size() > 1) {
+			logger.info("Splitting up document into " + chunks.size() + " chunks.");
+		}
+		// only primitive values are in here - the chunks share one copy of the metadata
+		// and copy it on their first modification
+		Map<String, Object> metadataSnapshot = new HashMap<>(metadata);
+		List<Document> documents = new ArrayList<>(chunks.size());
+		for (String chunk : chunks) {
+			Document newDoc = new Document(chunk, new CopyOnWriteMetadata(metadataSnapshot));
+
+			if (this.copyContentFormatter) {
+				// Transfer the content-formatter of the parent to the chunked
+				// documents it was slit into.
+				newDoc.setContentFormatter(formatter);
 			}
+
+			// TODO copy over other properties.
+			documents.add(newDoc);
 		}
 		return documents;
 	}
@@ -15,6 +15,10 @@
  */
 package org.springframework.ai.transformer.splitter;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,15 +27,29 @@ import com.knuddels.jtokkit.api.Encoding;
 import com.knuddels.jtokkit.api.EncodingRegistry;
 import com.knuddels.jtokkit.api.EncodingType;
 import com.knuddels.jtokkit.api.IntArrayList;
+import reactor.core.publisher.Flux;
 
 import org.springframework.util.Assert;
 
 /**
+ * Splits texts into chunks of a target number of tokens, cut at the last sentence
+ * boundary of each chunk. Texts are encoded once and chunked on the primitive token
+ * array, and can also be split incrementally from a {@link Reader} or a {@link Flux} of
+ * text fragments.
+ *
  * @author Raphael Yu
  * @author Christian Tzolov
  */
 public class TokenTextSplitter extends TextSplitter {
 
+	private static final int READ_BUFFER_SIZE = 8192;
+
+	/**
+	 * Maximum length of the text held before it is encoded, in characters per token of
+	 * the chunk size.
+	 */
+	private static final int MAX_PENDING_CHARS_PER_TOKEN = 4;
+
 	private final EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
 
 	private final Encoding encoding = registry.getEncoding(EncodingType.CL100K_BASE);
@@ -71,66 +89,205 @@ public class TokenTextSplitter extends TextSplitter {
 		return doSplit(text, this.defaultChunkSize);
 	}
 
+	/**
+	 * Splits a text read incrementally from the given reader. The chunks are emitted as
+	 * soon as enough text was read to produce them, the whole text is never materialized.
+	 * The reader is not closed.
+	 * @param reader the text source.
+	 * @return the text chunks.
+	 */
+	public Flux<String> splitText(Reader reader) {
+		Assert.notNull(reader, "Reader must not be null");
+		return splitText(Flux.generate(() -> new char[READ_BUFFER_SIZE], (buffer, sink) -> {
+			try {
+				int read = reader.read(buffer);
+				if (read < 0) {
+					sink.complete();
+				}
+				else {
+					sink.next(new String(buffer, 0, read));
+				}
+			}
+			catch (IOException ex) {
+				sink.error(new UncheckedIOException(ex));
+			}
+			return buffer;
+		}));
+	}
+
+	/**
+	 * Splits a text arriving as a sequence of fragments. The chunks are emitted as soon
+	 * as enough text was received to produce them, the whole text is never materialized.
+	 * @param fragments the consecutive fragments of the text.
+	 * @return the text chunks.
+	 */
+	public Flux<String> splitText(Flux<String> fragments) {
+		Assert.notNull(fragments, "Fragments must not be null");
+		return Flux.defer(() -> {
+			Chunker chunker = new Chunker(this.defaultChunkSize);
+			return fragments.concatMapIterable(chunker::append)
+				.concatWith(Flux.defer(() -> Flux.fromIterable(chunker.complete())));
+		});
+	}
+
 	protected List<String> doSplit(String text, int chunkSize) {
 		if (text == null || text.trim().isEmpty()) {
 			return new ArrayList<>();
 		}
+		Chunker chunker = new Chunker(chunkSize);
+		chunker.encode(text);
+		return chunker.complete();
+	}
 
-		List<Integer> tokens = getEncodedTokens(text);
-		List<String> chunks = new ArrayList<>();
-		int num_chunks = 0;
-		while (!tokens.isEmpty() && num_chunks < this.maxNumChunks) {
-			List<Integer> chunk = tokens.subList(0, Math.min(chunkSize, tokens.size()));
-			String chunkText = decodeTokens(chunk);
-
-			// Skip the chunk if it is empty or whitespace
-			if (chunkText.trim().isEmpty()) {
-				tokens = tokens.subList(chunk.size(), tokens.size());
-				continue;
-			}
+	/**
+	 * Splits the tokens of a text into chunks. The text is encoded once, the chunks are
+	 * tracked as offsets in the token array.
+	 */
+	private final class Chunker {
+
+		private final int chunkSize;
+
+		private final int maxPendingChars;
+
+		// Received text that is not encoded yet, it may end in the middle of a word
+		private final StringBuilder pendingText = new StringBuilder();
+
+		private IntArrayList tokens = new IntArrayList();
 
-			// Find the last period or punctuation mark in the chunk
-			int lastPunctuation = Math.max(chunkText.lastIndexOf('.'), Math.max(chunkText.lastIndexOf('?'),
-					Math.max(chunkText.lastIndexOf('!'), chunkText.lastIndexOf('\n'))));
+		// Offset of the first token not part of a chunk yet
+		private int position;
+
+		private int numChunks;
+
+		private final IntArrayList window = new IntArrayList();
+
+		Chunker(int chunkSize) {
+			this.chunkSize = chunkSize;
+			this.maxPendingChars = Math.max(chunkSize, 1) * MAX_PENDING_CHARS_PER_TOKEN;
+		}
 
-			if (lastPunctuation != -1 && lastPunctuation > this.minChunkSizeChars) {
-				// Truncate the chunk text at the punctuation mark
-				chunkText = chunkText.substring(0, lastPunctuation + 1);
+		List<String> append(String text) {
+			this.pendingText.append(text);
+			// Only whole words are encoded, the tokens of a word can depend on its end
+			int end = this.pendingText.length();
+			while (end > 0 && !Character.isWhitespace(this.pendingText.charAt(end - 1))) {
+				end--;
 			}
+			// Keep the whitespace with the word following it
+			end--;
+			if (this.pendingText.length() - Math.max(end, 0) > this.maxPendingChars) {
+				// Text without whitespace, such as CJK or base64, is cut within a word to
+				// keep the pending text bounded, without splitting a surrogate pair
+				end = this.pendingText.length();
+				if (Character.isHighSurrogate(this.pendingText.charAt(end - 1))) {
+					end--;
+				}
+			}
+			if (end > 0) {
+				encode(this.pendingText.substring(0, end));
+				this.pendingText.delete(0, end);
+			}
+			return nextChunks(false);
+		}
 
-			String chunkTextToAppend = (this.keepSeparator) ? chunkText.trim()
-					: chunkText.replace(System.lineSeparator(), " ").trim();
-			if (chunkTextToAppend.length() > this.minChunkLengthToEmbed) {
-				chunks.add(chunkTextToAppend);
+		List<String> complete() {
+			if (!this.pendingText.isEmpty()) {
+				encode(this.pendingText.toString());
+				this.pendingText.setLength(0);
 			}
+			List<String> chunks = nextChunks(true);
 
-			// Remove the tokens corresponding to the chunk text from the remaining tokens
-			tokens = tokens.subList(getEncodedTokens(chunkText).size(), tokens.size());
+			// Handle the remaining tokens
+			if (this.position < this.tokens.size()) {
+				String remainingText = decode(this.position, this.tokens.size()).replace(System.lineSeparator(), " ")
+					.trim();
+				if (remainingText.length() > minChunkLengthToEmbed) {
+					chunks.add(remainingText);
+				}
+				this.position = this.tokens.size();
+			}
+			return chunks;
+		}
 
-			num_chunks++;
+		void encode(String text) {
+			IntArrayList encoded = encoding.encode(text);
+			if (this.position > 0) {
+				IntArrayList remaining = new IntArrayList(this.tokens.size() - this.position + encoded.size());
+				for (int i = this.position; i < this.tokens.size(); i++) {
+					remaining.add(this.tokens.get(i));
+				}
+				this.tokens = remaining;
+				this.position = 0;
+			}
+			for (int i = 0; i < encoded.size(); i++) {
+				this.tokens.add(encoded.get(i));
+			}
 		}
 
-		// Handle the remaining tokens
-		if (!tokens.isEmpty()) {
-			String remaining_text = decodeTokens(tokens).replace(System.lineSeparator(), " ").trim();
-			if (remaining_text.length() > this.minChunkLengthToEmbed) {
-				chunks.add(remaining_text);
+		/**
+		 * Produces the chunks of the encoded tokens. Unless the text is complete, only
+		 * full-sized chunks are produced, more tokens could still be added to the last one.
+		 */
+		private List<String> nextChunks(boolean complete) {
+			List<String> chunks = new ArrayList<>();
+			while (this.position < this.tokens.size() && this.numChunks < maxNumChunks
+					&& (complete || this.tokens.size() - this.position >= this.chunkSize)) {
+				int chunkEnd = Math.min(this.position + this.chunkSize, this.tokens.size());
+				String chunkText = decode(this.position, chunkEnd);
+
+				// Skip the chunk if it is empty or whitespace
+				if (chunkText.trim().isEmpty()) {
+					this.position = chunkEnd;
+					continue;
+				}
+
+				// Find the last period or punctuation mark in the chunk
+				int lastPunctuation = Math.max(chunkText.lastIndexOf('.'), Math.max(chunkText.lastIndexOf('?'),
+						Math.max(chunkText.lastIndexOf('!'), chunkText.lastIndexOf('\n'))));
+
+				if (lastPunctuation != -1 && lastPunctuation > minChunkSizeChars) {
+					// Truncate the chunk text at the punctuation mark
+					chunkText = chunkText.substring(0, lastPunctuation + 1);
+					chunkEnd = tokenOffset(this.position, chunkEnd,
+							chunkText.getBytes(StandardCharsets.UTF_8).length);
+				}
+
+				String chunkTextToAppend = (keepSeparator) ? chunkText.trim()
+						: chunkText.replace(System.lineSeparator(), " ").trim();
+				if (chunkTextToAppend.length() > minChunkLengthToEmbed) {
+					chunks.add(chunkTextToAppend);
+				}
+
+				// Move past the tokens corresponding to the chunk text
+				this.position = chunkEnd;
+				this.numChunks++;
 			}
+			return chunks;
 		}
 
-		return chunks;
-	}
+		/**
+		 * Returns the offset of the first token after the given number of decoded bytes.
+		 * A token spanning the boundary is considered part of the chunk.
+		 */
+		private int tokenOffset(int from, int to, int byteLength) {
+			int offset = from;
+			int decodedBytes = 0;
+			while (offset < to && decodedBytes < byteLength) {
+				this.window.clear();
+				this.window.add(this.tokens.get(offset++));
+				decodedBytes += encoding.decodeBytes(this.window).length;
+			}
+			return offset;
+		}
 
-	private List<Integer> getEncodedTokens(String text) {
-		Assert.notNull(text, "Text must not be null");
-		return this.encoding.encode(text).boxed();
-	}
+		private String decode(int from, int to) {
+			this.window.clear();
+			for (int i = from; i < to; i++) {
+				this.window.add(this.tokens.get(i));
+			}
+			return encoding.decode(this.window);
+		}
 
-	private String decodeTokens(List<Integer> tokens) {
-		Assert.notNull(tokens, "Tokens must not be null");
-		var tokensIntArray = new IntArrayList(tokens.size());
-		tokens.forEach(tokensIntArray::add);
-		return this.encoding.decode(tokensIntArray);
 	}
 
 }
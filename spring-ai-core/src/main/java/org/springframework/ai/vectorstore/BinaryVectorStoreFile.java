@@ -0,0 +1,325 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.util.Assert;
+
+/**
+ * Binary, append-only file format used by {@link SimpleVectorStore}. All numbers are
+ * little-endian.
+ *
+ * <pre>
+ * file     := header segment*
+ * header   := int magic, int version
+ * segment  := int magic, int documentCount, int deletionCount, int dimensions,
+ *             long documentsLength, long deletionsLength,
+ *             float[documentCount * dimensions] vectors,
+ *             documents, deletions
+ * document := int idLength, byte[] id, int payloadLength, byte[] payload
+ * deletion := int idLength, byte[] id
+ * </pre>
+ *
+ * The payload holds the JSON representation of the document without its embedding. The
+ * vectors of a segment are stored as one contiguous block, separate from the documents,
+ * and read through memory-mapped buffers. Segments are applied in order, a later
+ * document or deletion overrides the earlier records with the same id. A trailing
+ * segment that was not completely written is ignored, and truncated before appending.
+ */
+final class BinaryVectorStoreFile {
+
+	private static final Logger logger = LoggerFactory.getLogger(BinaryVectorStoreFile.class);
+
+	private static final int FILE_MAGIC = 0x56494153; // "SAIV"
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int FILE_HEADER_BYTES = 2 * Integer.BYTES;
+
+	private static final int SEGMENT_MAGIC = 0x4d474553; // "SEGM"
+
+	private static final int SEGMENT_HEADER_BYTES = 4 * Integer.BYTES + 2 * Long.BYTES;
+
+	/**
+	 * Upper bound of the documents written per segment, bounds the size of the buffers
+	 * used to write a segment and of the regions mapped to read it.
+	 */
+	static final int MAX_SEGMENT_DOCUMENTS = 4096;
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().addMixIn(Document.class,
+			DocumentPayloadMixIn.class);
+
+	private BinaryVectorStoreFile() {
+	}
+
+	/**
+	 * Content of a store file.
+	 *
+	 * @param documents the live documents, by id.
+	 * @param recordCount the number of document and deletion records in the file,
+	 * including the overridden ones.
+	 */
+	record Contents(Map<String, Document> documents, long recordCount) {
+	}
+
+	/**
+	 * Writes the documents into a new file replacing the existing one, if any. The file
+	 * is written next to the target and moved in place once complete.
+	 */
+	static void write(Path path, Collection<Document> documents) throws IOException {
+		Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(FILE_MAGIC).putInt(FORMAT_VERSION).flip();
+			writeFully(channel, header);
+			writeSegments(channel, documents, List.of());
+			channel.force(true);
+		}
+		try {
+			Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Appends the added or updated documents and the deleted ids to an existing file. An
+	 * incomplete trailing segment, left by an interrupted write, is truncated first.
+	 */
+	static void append(Path path, Collection<Document> documents, Collection<String> deletedIds)
+			throws IOException {
+		if (documents.isEmpty() && deletedIds.isEmpty()) {
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			long end = completeSegmentsEnd(channel);
+			if (end < channel.size()) {
+				logger.warn("Truncating incomplete segment at the end of vector store file: {}", path);
+				channel.truncate(end);
+			}
+			channel.position(end);
+			writeSegments(channel, documents, deletedIds);
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * Returns the offset of the end of the last completely written segment, reading only
+	 * the segment headers.
+	 */
+	private static long completeSegmentsEnd(FileChannel channel) throws IOException {
+		long size = channel.size();
+		long position = FILE_HEADER_BYTES;
+		ByteBuffer segment = ByteBuffer.allocate(SEGMENT_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		while (size - position >= SEGMENT_HEADER_BYTES) {
+			segment.clear();
+			while (segment.hasRemaining()) {
+				if (channel.read(segment, position + segment.position()) < 0) {
+					throw new IOException("Unexpected end of vector store file at offset " + position);
+				}
+			}
+			segment.flip();
+			if (segment.getInt() != SEGMENT_MAGIC) {
+				throw new IllegalStateException("Corrupted vector store file at offset " + position);
+			}
+			long documentCount = segment.getInt();
+			segment.getInt();
+			int dimensions = segment.getInt();
+			long segmentEnd = position + SEGMENT_HEADER_BYTES + documentCount * dimensions * Float.BYTES
+					+ segment.getLong() + segment.getLong();
+			if (segmentEnd > size) {
+				break;
+			}
+			position = segmentEnd;
+		}
+		return position;
+	}
+
+	static Contents read(Path path) throws IOException {
+		Map<String, Document> documents = new LinkedHashMap<>();
+		long recordCount = 0;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			ByteBuffer header = map(channel, 0, Math.min(size, FILE_HEADER_BYTES));
+			if (header.remaining() < FILE_HEADER_BYTES || header.getInt() != FILE_MAGIC) {
+				throw new IllegalStateException("Not a binary vector store file: " + path);
+			}
+			int version = header.getInt();
+			Assert.state(version == FORMAT_VERSION, () -> "Unsupported vector store file version: " + version);
+
+			long position = FILE_HEADER_BYTES;
+			while (position < size) {
+				if (size - position < SEGMENT_HEADER_BYTES) {
+					logger.warn("Ignoring incomplete segment at the end of vector store file: {}", path);
+					break;
+				}
+				ByteBuffer segment = map(channel, position, SEGMENT_HEADER_BYTES);
+				if (segment.getInt() != SEGMENT_MAGIC) {
+					throw new IllegalStateException("Corrupted vector store file " + path + " at offset " + position);
+				}
+				int documentCount = segment.getInt();
+				int deletionCount = segment.getInt();
+				int dimensions = segment.getInt();
+				long documentsLength = segment.getLong();
+				long deletionsLength = segment.getLong();
+				long vectorsLength = (long) documentCount * dimensions * Float.BYTES;
+				long vectorsPosition = position + SEGMENT_HEADER_BYTES;
+				long segmentEnd = vectorsPosition + vectorsLength + documentsLength + deletionsLength;
+				if (segmentEnd > size) {
+					logger.warn("Ignoring incomplete segment at the end of vector store file: {}", path);
+					break;
+				}
+
+				FloatBuffer vectors = map(channel, vectorsPosition, vectorsLength).asFloatBuffer();
+				ByteBuffer documentsRegion = map(channel, vectorsPosition + vectorsLength, documentsLength);
+				for (int i = 0; i < documentCount; i++) {
+					String id = new String(readBytes(documentsRegion), StandardCharsets.UTF_8);
+					Document document = OBJECT_MAPPER.readValue(readBytes(documentsRegion), Document.class);
+					float[] vector = new float[dimensions];
+					vectors.get(vector);
+					document.setEmbeddingVector(EmbeddingVector.of(vector));
+					documents.put(id, document);
+				}
+
+				ByteBuffer deletionsRegion = map(channel, vectorsPosition + vectorsLength + documentsLength,
+						deletionsLength);
+				for (int i = 0; i < deletionCount; i++) {
+					documents.remove(new String(readBytes(deletionsRegion), StandardCharsets.UTF_8));
+				}
+
+				recordCount += documentCount + deletionCount;
+				position = segmentEnd;
+			}
+		}
+		return new Contents(documents, recordCount);
+	}
+
+	private static void writeSegments(FileChannel channel, Collection<Document> documents,
+			Collection<String> deletedIds) throws IOException {
+		List<Document> remaining = new ArrayList<>(documents);
+		int from = 0;
+		do {
+			int to = Math.min(from + MAX_SEGMENT_DOCUMENTS, remaining.size());
+			// The deletions are written with the last batch of documents.
+			Collection<String> deletions = (to == remaining.size()) ? deletedIds : List.of();
+			writeSegment(channel, remaining.subList(from, to), deletions);
+			from = to;
+		}
+		while (from < remaining.size());
+	}
+
+	private static void writeSegment(FileChannel channel, List<Document> documents, Collection<String> deletedIds)
+			throws IOException {
+		int dimensions = documents.isEmpty() ? 0 : documents.get(0).getEmbeddingVector().dimensions();
+
+		ByteBuffer vectors = ByteBuffer.allocate(documents.size() * dimensions * Float.BYTES)
+			.order(ByteOrder.LITTLE_ENDIAN);
+		FloatBuffer vectorsView = vectors.asFloatBuffer();
+		List<byte[]> documentsRegion = new ArrayList<>(2 * documents.size());
+		for (Document document : documents) {
+			EmbeddingVector vector = document.getEmbeddingVector();
+			Assert.state(vector.dimensions() == dimensions, () -> "Expected an embedding of " + dimensions
+					+ " dimensions but got " + vector.dimensions() + " for document " + document.getId());
+			vectorsView.put(vector.array());
+			documentsRegion.add(document.getId().getBytes(StandardCharsets.UTF_8));
+			documentsRegion.add(OBJECT_MAPPER.writeValueAsBytes(document));
+		}
+		List<byte[]> deletionsRegion = new ArrayList<>(deletedIds.size());
+		for (String id : deletedIds) {
+			deletionsRegion.add(id.getBytes(StandardCharsets.UTF_8));
+		}
+
+		ByteBuffer documentsBuffer = toBuffer(documentsRegion);
+		ByteBuffer deletionsBuffer = toBuffer(deletionsRegion);
+		ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(SEGMENT_MAGIC)
+			.putInt(documents.size())
+			.putInt(deletedIds.size())
+			.putInt(dimensions)
+			.putLong(documentsBuffer.remaining())
+			.putLong(deletionsBuffer.remaining())
+			.flip();
+
+		writeFully(channel, header, vectors, documentsBuffer, deletionsBuffer);
+	}
+
+	private static ByteBuffer toBuffer(List<byte[]> entries) {
+		int length = 0;
+		for (byte[] entry : entries) {
+			length += Integer.BYTES + entry.length;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		for (byte[] entry : entries) {
+			buffer.putInt(entry.length).put(entry);
+		}
+		return buffer.flip();
+	}
+
+	private static byte[] readBytes(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	private static ByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+		return channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer... buffers) throws IOException {
+		long remaining = 0;
+		for (ByteBuffer buffer : buffers) {
+			remaining += buffer.remaining();
+		}
+		while (remaining > 0) {
+			remaining -= channel.write(buffers);
+		}
+	}
+
+	/**
+	 * Excludes the embedding from the document payload, it is stored in the vectors
+	 * block.
+	 */
+	@JsonIgnoreProperties({ "contentFormatter", "embedding" })
+	private abstract static class DocumentPayloadMixIn {
+
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.document.Document;
+
+/**
+ * Non-blocking variant of the {@link VectorStore} operations. Nothing happens until the
+ * returned publishers are subscribed to. Obtained with {@link VectorStore#reactive()},
+ * stores whose client is asynchronous implement it natively, the others run their
+ * blocking operations on a {@link reactor.core.scheduler.Schedulers#boundedElastic()}
+ * worker.
+ */
+public interface ReactiveVectorStore {
+
+	/**
+	 * Adds list of {@link Document}s to the vector store.
+	 * @param documents the list of documents to store.
+	 * @return completes once the documents are stored.
+	 */
+	Mono<Void> add(List<Document> documents);
+
+	/**
+	 * Deletes documents from the vector store.
+	 * @param idList list of document ids for which documents will be removed.
+	 * @return whether the deletion succeeded.
+	 */
+	Mono<Boolean> delete(List<String> idList);
+
+	/**
+	 * Retrieves documents by query embedding similarity and metadata filters.
+	 * @param request Search request for set search parameters, such as the query text,
+	 * topK, similarity threshold and metadata filter expressions.
+	 * @return the documents matching the request, most similar first.
+	 */
+	Flux<Document> similaritySearch(SearchRequest request);
+
+	/**
+	 * Retrieves documents by query embedding similarity using the default
+	 * {@link SearchRequest}'s search criteria.
+	 * @param query Text to use for embedding similarity comparison.
+	 * @return the documents similar to the query text, most similar first.
+	 */
+	default Flux<Document> similaritySearch(String query) {
+		return this.similaritySearch(SearchRequest.query(query));
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.document.Document;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ReactiveVectorStore} running the operations of a blocking {@link VectorStore}
+ * on a scheduler suited for blocking work, by default
+ * {@link Schedulers#boundedElastic()}.
+ */
+public class ReactiveVectorStoreAdapter implements ReactiveVectorStore {
+
+	private final VectorStore vectorStore;
+
+	private final Scheduler scheduler;
+
+	public ReactiveVectorStoreAdapter(VectorStore vectorStore) {
+		this(vectorStore, Schedulers.boundedElastic());
+	}
+
+	public ReactiveVectorStoreAdapter(VectorStore vectorStore, Scheduler scheduler) {
+		Assert.notNull(vectorStore, "VectorStore must not be null");
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		this.vectorStore = vectorStore;
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public Mono<Void> add(List<Document> documents) {
+		return Mono.<Void>fromRunnable(() -> this.vectorStore.add(documents)).subscribeOn(this.scheduler);
+	}
+
+	@Override
+	public Mono<Boolean> delete(List<String> idList) {
+		return Mono.fromCallable(() -> this.vectorStore.delete(idList).orElse(false)).subscribeOn(this.scheduler);
+	}
+
+	@Override
+	public Flux<Document> similaritySearch(SearchRequest request) {
+		return Mono.fromCallable(() -> this.vectorStore.similaritySearch(request))
+			.flatMapIterable(documents -> documents)
+			.subscribeOn(this.scheduler);
+	}
+
+}
@@ -22,7 +22,16 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.filter.converter.PredicateFilterExpressionConverter;
+import org.springframework.ai.vectorstore.index.FlatVectorIndex;
+import org.springframework.ai.vectorstore.index.HnswVectorIndex;
+import org.springframework.ai.vectorstore.index.MetadataInvertedIndex;
+import org.springframework.ai.vectorstore.index.VectorIndex;
 import org.springframework.core.io.Resource;
 
 import java.io.File;
@@ -32,19 +41,31 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.Comparator;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * SimpleVectorStore is a simple implementation of the VectorStore interface.
  *
+ * Similarity searches are served by a {@link VectorIndex}. The default
+ * {@link FlatVectorIndex} performs an exact scan, an approximate {@link HnswVectorIndex}
+ * can be configured with {@link #builder(EmbeddingClient)} for large stores. Metadata
+ * filter expressions are evaluated in-memory, filtered searches can be sped up by
+ * indexing the metadata keys used in equality filters with
+ * {@link Builder#withIndexedMetadataKeys(String...)}.
+ *
  * It also provides methods to save the current state of the vectors to a file, and to
- * load vectors from a file.
+ * load vectors from a file, either as JSON or in a compact binary format with
+ * {@link #saveBinary(File)} and {@link #loadBinary(File)}.
  *
  * For a deeper understanding of the mathematical concepts and computations involved in
  * calculating similarity scores among vectors, refer to this
@@ -63,45 +84,119 @@ public class SimpleVectorStore implements VectorStore {
 
 	protected EmbeddingClient embeddingClient;
 
+	protected BatchingStrategy batchingStrategy;
+
+	protected VectorIndex index;
+
+	protected MetadataInvertedIndex metadataIndex;
+
+	protected PredicateFilterExpressionConverter filterExpressionConverter = new PredicateFilterExpressionConverter();
+
+	/**
+	 * Ids of the documents added or deleted since the binary file was last saved or
+	 * loaded.
+	 */
+	private final Set<String> unsavedIds = ConcurrentHashMap.newKeySet();
+
+	private final Set<String> unsavedDeletions = ConcurrentHashMap.newKeySet();
+
+	private Path binaryFile;
+
+	private long binaryFileRecords;
+
 	public SimpleVectorStore(EmbeddingClient embeddingClient) {
+		this(embeddingClient, new TokenCountBatchingStrategy());
+	}
+
+	public SimpleVectorStore(EmbeddingClient embeddingClient, BatchingStrategy batchingStrategy) {
+		this(embeddingClient, batchingStrategy, new FlatVectorIndex());
+	}
+
+	public SimpleVectorStore(EmbeddingClient embeddingClient, BatchingStrategy batchingStrategy, VectorIndex index) {
+		this(embeddingClient, batchingStrategy, index, Set.of());
+	}
+
+	/**
+	 * @param embeddingClient the client used to embed the documents and the queries.
+	 * @param batchingStrategy the strategy used to batch the documents to embed.
+	 * @param index the index used to serve similarity searches.
+	 * @param indexedMetadataKeys the metadata keys to keep an inverted index for. Filtered
+	 * searches with equality conditions on these keys only score the matching documents.
+	 */
+	public SimpleVectorStore(EmbeddingClient embeddingClient, BatchingStrategy batchingStrategy, VectorIndex index,
+			Collection<String> indexedMetadataKeys) {
 		Objects.requireNonNull(embeddingClient, "EmbeddingClient must not be null");
+		Objects.requireNonNull(batchingStrategy, "BatchingStrategy must not be null");
+		Objects.requireNonNull(index, "VectorIndex must not be null");
+		Objects.requireNonNull(indexedMetadataKeys, "Indexed metadata keys must not be null");
 		this.embeddingClient = embeddingClient;
+		this.batchingStrategy = batchingStrategy;
+		this.index = index;
+		this.metadataIndex = new MetadataInvertedIndex(indexedMetadataKeys);
+	}
+
+	public static Builder builder(EmbeddingClient embeddingClient) {
+		return new Builder().withEmbeddingClient(embeddingClient);
 	}
 
 	@Override
 	public void add(List<Document> documents) {
-		for (Document document : documents) {
-			logger.info("Calling EmbeddingClient for document id = {}", document.getId());
-			List<Double> embedding = this.embeddingClient.embed(document);
-			document.setEmbedding(embedding);
-			this.store.put(document.getId(), document);
+		logger.info("Calling EmbeddingClient for {} documents", documents.size());
+		List<EmbeddingVector> embeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY,
+				this.batchingStrategy);
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
+			document.setEmbeddingVector(embeddings.get(i));
+			Document previous = this.store.put(document.getId(), document);
+			if (previous != null) {
+				this.metadataIndex.remove(previous.getId(), previous.getMetadata());
+			}
+			this.metadataIndex.add(document.getId(), document.getMetadata());
+			this.index.add(document.getId(), embeddings.get(i).array());
+			this.unsavedDeletions.remove(document.getId());
+			this.unsavedIds.add(document.getId());
 		}
 	}
 
 	@Override
 	public Optional<Boolean> delete(List<String> idList) {
 		for (String id : idList) {
-			this.store.remove(id);
+			Document removed = this.store.remove(id);
+			if (removed != null) {
+				this.metadataIndex.remove(id, removed.getMetadata());
+			}
+			this.index.remove(id);
+			this.unsavedIds.remove(id);
+			this.unsavedDeletions.add(id);
 		}
 		return Optional.of(true);
 	}
 
 	@Override
 	public List<Document> similaritySearch(SearchRequest request) {
-		if (request.getFilterExpression() != null) {
-			throw new UnsupportedOperationException(
-					"The [" + this.getClass() + "] doesn't support metadata filtering!");
+		Predicate<String> filter = id -> true;
+		if (request.hasFilterExpression()) {
+			Predicate<Map<String, Object>> metadataFilter = this.filterExpressionConverter
+				.convertExpression(request.getFilterExpression());
+			Set<String> candidates = this.metadataIndex.candidates(request.getFilterExpression());
+			if (candidates != null && candidates.isEmpty()) {
+				return List.of();
+			}
+			filter = id -> {
+				if (candidates != null && !candidates.contains(id)) {
+					return false;
+				}
+				Document document = this.store.get(id);
+				return document != null && metadataFilter.test(document.getMetadata());
+			};
 		}
 
-		List<Double> userQueryEmbedding = getUserQueryEmbedding(request.getQuery());
-		return this.store.values()
+		EmbeddingVector userQueryEmbedding = getUserQueryEmbedding(request.getQuery());
+		return this.index
+			.search(userQueryEmbedding.array(), request.getTopK(), request.getSimilarityThreshold(), filter)
 			.stream()
-			.map(entry -> new Similarity(entry.getId(),
-					EmbeddingMath.cosineSimilarity(userQueryEmbedding, entry.getEmbedding())))
-			.filter(s -> s.score >= request.getSimilarityThreshold())
-			.sorted(Comparator.<Similarity>comparingDouble(s -> s.score).reversed())
-			.limit(request.getTopK())
-			.map(s -> this.store.get(s.key))
+			.map(scoredId -> this.store.get(scoredId.id()))
+			.filter(Objects::nonNull)
 			.toList();
 	}
 
@@ -150,6 +245,7 @@ public class SimpleVectorStore implements VectorStore {
 		try {
 			Map<String, Document> deserializedMap = objectMapper.readValue(file, typeRef);
 			this.store = deserializedMap;
+			rebuildIndex();
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
@@ -167,12 +263,83 @@ public class SimpleVectorStore implements VectorStore {
 		try {
 			Map<String, Document> deserializedMap = objectMapper.readValue(resource.getInputStream(), typeRef);
 			this.store = deserializedMap;
+			rebuildIndex();
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
 		}
 	}
 
+	/**
+	 * Saves the vector store content into a file in a compact binary format. When the
+	 * file is the one last saved or loaded by this store, only the documents added or
+	 * deleted since are appended to it, and the file is rewritten once most of its
+	 * records are stale. Otherwise the file is written from scratch.
+	 * @param file the file to save the vector store content
+	 */
+	public synchronized void saveBinary(File file) {
+		Path path = file.toPath().toAbsolutePath();
+		try {
+			if (path.equals(this.binaryFile) && Files.exists(path)) {
+				Set<String> changedIds = Set.copyOf(this.unsavedIds);
+				Set<String> deletedIds = Set.copyOf(this.unsavedDeletions);
+				List<Document> changed = changedIds.stream().map(this.store::get).filter(Objects::nonNull).toList();
+				long records = this.binaryFileRecords + changed.size() + deletedIds.size();
+				if (records > 2L * this.store.size()) {
+					logger.info("Compacting vector store file: {}", file);
+					writeBinary(path);
+				}
+				else {
+					logger.info("Appending {} changed and {} deleted documents to vector store file: {}",
+							changed.size(), deletedIds.size(), file);
+					BinaryVectorStoreFile.append(path, changed, deletedIds);
+					this.binaryFileRecords = records;
+				}
+				this.unsavedIds.removeAll(changedIds);
+				this.unsavedDeletions.removeAll(deletedIds);
+			}
+			else {
+				logger.info("Writing vector store file: {}", file);
+				writeBinary(path);
+			}
+		}
+		catch (IOException ex) {
+			logger.error("IOException occurred while saving vector store file.", ex);
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Loads the vector store content from a file written by {@link #saveBinary(File)}.
+	 * The file is memory-mapped, the vectors are copied from the mapped buffers without
+	 * any parsing.
+	 * @param file the file to load the vector store content
+	 */
+	public synchronized void loadBinary(File file) {
+		Path path = file.toPath().toAbsolutePath();
+		try {
+			BinaryVectorStoreFile.Contents contents = BinaryVectorStoreFile.read(path);
+			this.store = new ConcurrentHashMap<>(contents.documents());
+			rebuildIndex();
+			this.binaryFile = path;
+			this.binaryFileRecords = contents.recordCount();
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void writeBinary(Path path) throws IOException {
+		Set<String> changedIds = Set.copyOf(this.unsavedIds);
+		Set<String> deletedIds = Set.copyOf(this.unsavedDeletions);
+		List<Document> documents = List.copyOf(this.store.values());
+		BinaryVectorStoreFile.write(path, documents);
+		this.unsavedIds.removeAll(changedIds);
+		this.unsavedDeletions.removeAll(deletedIds);
+		this.binaryFile = path;
+		this.binaryFileRecords = documents.size();
+	}
+
 	private String getVectorDbAsJson() {
 		ObjectMapper objectMapper = new ObjectMapper();
 		ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
@@ -186,8 +353,22 @@ public class SimpleVectorStore implements VectorStore {
 		return json;
 	}
 
-	private List<Double> getUserQueryEmbedding(String query) {
-		return this.embeddingClient.embed(query);
+	private void rebuildIndex() {
+		this.unsavedIds.clear();
+		this.unsavedDeletions.clear();
+		this.binaryFile = null;
+		this.index.clear();
+		this.metadataIndex.clear();
+		for (Document document : this.store.values()) {
+			this.metadataIndex.add(document.getId(), document.getMetadata());
+			if (!document.getEmbeddingVector().isEmpty()) {
+				this.index.add(document.getId(), document.getEmbeddingVector().array());
+			}
+		}
+	}
+
+	private EmbeddingVector getUserQueryEmbedding(String query) {
+		return this.embeddingClient.embedAsFloats(query);
 	}
 
 	public static class Similarity {
@@ -247,4 +428,48 @@ public class SimpleVectorStore implements VectorStore {
 
 	}
 
+	public static class Builder {
+
+		private EmbeddingClient embeddingClient;
+
+		private BatchingStrategy batchingStrategy = new TokenCountBatchingStrategy();
+
+		private VectorIndex index = new FlatVectorIndex();
+
+		private Set<String> indexedMetadataKeys = Set.of();
+
+		public Builder withEmbeddingClient(EmbeddingClient embeddingClient) {
+			this.embeddingClient = embeddingClient;
+			return this;
+		}
+
+		public Builder withBatchingStrategy(BatchingStrategy batchingStrategy) {
+			this.batchingStrategy = batchingStrategy;
+			return this;
+		}
+
+		/**
+		 * @param index the index used to serve similarity searches, defaults to an exact
+		 * {@link FlatVectorIndex}.
+		 */
+		public Builder withIndex(VectorIndex index) {
+			this.index = index;
+			return this;
+		}
+
+		/**
+		 * @param keys the metadata keys to keep an inverted index for.
+		 */
+		public Builder withIndexedMetadataKeys(String... keys) {
+			this.indexedMetadataKeys = Set.of(keys);
+			return this;
+		}
+
+		public SimpleVectorStore build() {
+			return new SimpleVectorStore(this.embeddingClient, this.batchingStrategy, this.index,
+					this.indexedMetadataKeys);
+		}
+
+	}
+
 }
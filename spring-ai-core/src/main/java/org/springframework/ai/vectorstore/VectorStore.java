@@ -70,4 +70,15 @@ public interface VectorStore extends DocumentWriter {
 		return this.similaritySearch(SearchRequest.query(query));
 	}
 
+	/**
+	 * Returns a non-blocking view of this vector store. Stores with an asynchronous
+	 * client override it with a native implementation, by default the blocking
+	 * operations are run on a {@link reactor.core.scheduler.Schedulers#boundedElastic()}
+	 * worker.
+	 * @return the reactive view of this vector store.
+	 */
+	default ReactiveVectorStore reactive() {
+		return new ReactiveVectorStoreAdapter(this);
+	}
+
 }
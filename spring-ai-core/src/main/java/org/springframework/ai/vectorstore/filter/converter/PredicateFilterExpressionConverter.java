@@ -0,0 +1,198 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.filter.converter;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.Filter.Expression;
+import org.springframework.ai.vectorstore.filter.Filter.Operand;
+import org.springframework.util.Assert;
+
+/**
+ * Compiles a portable {@link Filter.Expression} into a {@link Predicate} evaluated
+ * in-memory against document metadata. The compiled predicates are reusable and thread
+ * safe, and are cached per expression.
+ * <p>
+ * Numeric values are compared by value regardless of their type, e.g. {@code 2020}
+ * equals {@code 2020L} and {@code 2020.0}. Strings are ordered lexicographically. When
+ * the metadata key is missing or holds a value of a different type, the comparison and
+ * IN expressions evaluate to {@code false} while NE and NIN evaluate to {@code true}.
+ */
+public class PredicateFilterExpressionConverter {
+
+	public static final int DEFAULT_CACHE_SIZE = 256;
+
+	private final Map<Expression, Predicate<Map<String, Object>>> cache = new ConcurrentHashMap<>();
+
+	private final int cacheSize;
+
+	public PredicateFilterExpressionConverter() {
+		this(DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * @param cacheSize the maximum number of compiled expressions kept in the cache.
+	 */
+	public PredicateFilterExpressionConverter(int cacheSize) {
+		Assert.isTrue(cacheSize >= 0, "Cache size must not be negative");
+		this.cacheSize = cacheSize;
+	}
+
+	public Predicate<Map<String, Object>> convertExpression(Expression expression) {
+		Assert.notNull(expression, "Expression must not be null");
+		Predicate<Map<String, Object>> predicate = this.cache.get(expression);
+		if (predicate == null) {
+			predicate = convertOperand(expression);
+			if (this.cache.size() >= this.cacheSize) {
+				// Filter expressions are usually drawn from a small set, an occasional reset
+				// is cheaper than tracking the recency of every entry.
+				this.cache.clear();
+			}
+			if (this.cacheSize > 0) {
+				this.cache.put(expression, predicate);
+			}
+		}
+		return predicate;
+	}
+
+	protected Predicate<Map<String, Object>> convertOperand(Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return convertOperand(group.content());
+		}
+		if (!(operand instanceof Expression expression)) {
+			throw new IllegalArgumentException("Expected an expression or a group but got: " + operand);
+		}
+		switch (expression.type()) {
+			case AND:
+				return convertOperand(expression.left()).and(convertOperand(expression.right()));
+			case OR:
+				return convertOperand(expression.left()).or(convertOperand(expression.right()));
+			case NOT:
+				return convertOperand(expression.left()).negate();
+			default:
+				return convertComparison(expression);
+		}
+	}
+
+	private Predicate<Map<String, Object>> convertComparison(Expression expression) {
+		if (!(expression.left() instanceof Filter.Key key)) {
+			throw new RuntimeException("Non AND/OR expression must have Key left argument!");
+		}
+		if (!(expression.right() instanceof Filter.Value value)) {
+			throw new RuntimeException("Non AND/OR expression must have Value right argument!");
+		}
+		String name = keyName(key);
+
+		if (expression.type() == Filter.ExpressionType.IN || expression.type() == Filter.ExpressionType.NIN) {
+			Set<Object> values = normalizeAll(value.value());
+			Predicate<Map<String, Object>> in = metadata -> values.contains(normalize(metadata.get(name)));
+			return (expression.type() == Filter.ExpressionType.IN) ? in : in.negate();
+		}
+
+		Object expected = normalize(value.value());
+		switch (expression.type()) {
+			case EQ:
+				return metadata -> Objects.equals(expected, normalize(metadata.get(name)));
+			case NE:
+				return metadata -> !Objects.equals(expected, normalize(metadata.get(name)));
+			case GT:
+				return metadata -> compare(metadata.get(name), expected, c -> c > 0);
+			case GTE:
+				return metadata -> compare(metadata.get(name), expected, c -> c >= 0);
+			case LT:
+				return metadata -> compare(metadata.get(name), expected, c -> c < 0);
+			case LTE:
+				return metadata -> compare(metadata.get(name), expected, c -> c <= 0);
+			default:
+				throw new RuntimeException("Not supported expression type: " + expression.type());
+		}
+	}
+
+	/**
+	 * Returns the metadata key of the given filter key, without the outer quotes used to
+	 * escape keys with special characters.
+	 * @param key the filter key.
+	 * @return the metadata key.
+	 */
+	public static String keyName(Filter.Key key) {
+		String name = key.key().trim();
+		if (name.length() > 1 && ((name.startsWith("\"") && name.endsWith("\""))
+				|| (name.startsWith("'") && name.endsWith("'")))) {
+			return name.substring(1, name.length() - 1);
+		}
+		return name;
+	}
+
+	/**
+	 * Maps numeric values of any type to a canonical {@link BigDecimal} so that equal
+	 * numbers have equal normalized values. Other values are returned as is.
+	 * @param value the value to normalize, can be null.
+	 * @return the normalized value.
+	 */
+	public static Object normalize(Object value) {
+		if (value instanceof Number number) {
+			if (number instanceof Integer || number instanceof Long || number instanceof Short
+					|| number instanceof Byte) {
+				return BigDecimal.valueOf(number.longValue()).stripTrailingZeros();
+			}
+			if (number instanceof Double || number instanceof Float) {
+				double d = number.doubleValue();
+				if (Double.isNaN(d) || Double.isInfinite(d)) {
+					return d;
+				}
+			}
+			return new BigDecimal(number.toString()).stripTrailingZeros();
+		}
+		return value;
+	}
+
+	private static Set<Object> normalizeAll(Object values) {
+		Assert.isTrue(values instanceof List, "IN and NIN expressions require a list of values");
+		Set<Object> normalized = new HashSet<>();
+		for (Object value : (List<?>) values) {
+			normalized.add(normalize(value));
+		}
+		return normalized;
+	}
+
+	/**
+	 * Applies the test to the comparison of the actual and the expected values. Values
+	 * that are not comparable with each other fail every test.
+	 */
+	private static boolean compare(Object actual, Object expected, IntPredicate test) {
+		Object normalized = normalize(actual);
+		if (normalized instanceof BigDecimal x && expected instanceof BigDecimal y) {
+			return test.test(x.compareTo(y));
+		}
+		if (normalized instanceof String x && expected instanceof String y) {
+			return test.test(x.compareTo(y));
+		}
+		if (normalized instanceof Boolean x && expected instanceof Boolean y) {
+			return test.test(x.compareTo(y));
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.util.Assert;
+
+/**
+ * Exact, brute-force {@link VectorIndex}. The vectors are kept as given, with the
+ * inverse of their norms, so a search is a linear scan of dot products scaled to cosine
+ * similarities feeding a bounded top-K heap, without boxing and without sorting the whole
+ * store.
+ * <p>
+ * Searches run concurrently, updates are exclusive.
+ */
+public class FlatVectorIndex implements VectorIndex {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, Integer> rowsById = new HashMap<>();
+
+	private String[] ids;
+
+	private float[][] vectors;
+
+	private float[] inverseNorms;
+
+	private int dimensions = -1;
+
+	private int size;
+
+	public FlatVectorIndex() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * @param initialCapacity the number of vectors to allocate room for upfront.
+	 */
+	public FlatVectorIndex(int initialCapacity) {
+		Assert.isTrue(initialCapacity > 0, "Initial capacity must be greater than 0");
+		this.ids = new String[initialCapacity];
+		this.vectors = new float[initialCapacity][];
+		this.inverseNorms = new float[initialCapacity];
+	}
+
+	@Override
+	public void add(String id, float[] vector) {
+		Assert.notNull(id, "id must not be null");
+		Assert.notNull(vector, "vector must not be null");
+		this.lock.writeLock().lock();
+		try {
+			if (this.dimensions < 0) {
+				this.dimensions = vector.length;
+			}
+			Assert.isTrue(vector.length == this.dimensions, () -> "Expected a vector of " + this.dimensions
+					+ " dimensions but got " + vector.length + " for document " + id);
+
+			Integer row = this.rowsById.get(id);
+			if (row == null) {
+				ensureCapacity(this.size + 1);
+				row = this.size++;
+				this.rowsById.put(id, row);
+				this.ids[row] = id;
+			}
+			this.vectors[row] = vector;
+			this.inverseNorms[row] = VectorMath.inverseNorm(vector);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(String id) {
+		this.lock.writeLock().lock();
+		try {
+			Integer row = this.rowsById.remove(id);
+			if (row == null) {
+				return;
+			}
+			// Move the last row into the freed slot to keep the rows dense.
+			int last = --this.size;
+			if (row != last) {
+				this.vectors[row] = this.vectors[last];
+				this.inverseNorms[row] = this.inverseNorms[last];
+				this.ids[row] = this.ids[last];
+				this.rowsById.put(this.ids[row], row);
+			}
+			this.ids[last] = null;
+			this.vectors[last] = null;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public List<ScoredId> search(float[] query, int topK, double similarityThreshold, Predicate<String> filter) {
+		Assert.notNull(query, "query must not be null");
+		Assert.notNull(filter, "filter must not be null");
+		this.lock.readLock().lock();
+		try {
+			if (this.size == 0 || topK <= 0) {
+				return List.of();
+			}
+			Assert.isTrue(query.length == this.dimensions, "Vectors lengths must be equal");
+
+			float[] normalizedQuery = VectorMath.normalize(query);
+			int k = Math.min(topK, this.size);
+			ScoreHeap topResults = ScoreHeap.min(k);
+			for (int row = 0; row < this.size; row++) {
+				// Filter before scoring, the dot product is the expensive part.
+				if (!filter.test(this.ids[row])) {
+					continue;
+				}
+				float score = VectorMath.dot(normalizedQuery, this.vectors[row]) * this.inverseNorms[row];
+				if (score < similarityThreshold) {
+					continue;
+				}
+				if (topResults.size() < k) {
+					topResults.push(row, score);
+				}
+				else if (score > topResults.topScore()) {
+					topResults.replaceTop(row, score);
+				}
+			}
+
+			// Polling the min-heap yields the results in ascending score order.
+			ScoredId[] results = new ScoredId[topResults.size()];
+			for (int i = results.length - 1; i >= 0; i--) {
+				results[i] = new ScoredId(this.ids[topResults.topNode()], topResults.topScore());
+				topResults.pop();
+			}
+			return Arrays.asList(results);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.size;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.rowsById.clear();
+			Arrays.fill(this.ids, null);
+			Arrays.fill(this.vectors, null);
+			this.dimensions = -1;
+			this.size = 0;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= this.ids.length) {
+			return;
+		}
+		int newCapacity = Math.max(capacity, this.ids.length + (this.ids.length >> 1));
+		this.ids = Arrays.copyOf(this.ids, newCapacity);
+		this.vectors = Arrays.copyOf(this.vectors, newCapacity);
+		this.inverseNorms = Arrays.copyOf(this.inverseNorms, newCapacity);
+	}
+
+}
@@ -0,0 +1,436 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import org.springframework.util.Assert;
+
+/**
+ * Approximate {@link VectorIndex} based on a Hierarchical Navigable Small World graph.
+ * Searches visit a small, roughly logarithmic, part of the indexed vectors, trading some
+ * recall for latency. Recall is controlled with {@code efSearch}, higher values return
+ * more accurate results at the cost of slower searches.
+ * <p>
+ * Removed and replaced vectors are only marked as deleted: they are excluded from the
+ * results but remain in the graph to keep it connected. Re-create the index after a large
+ * share of the vectors has been removed.
+ * <p>
+ * Searches run concurrently, updates are exclusive.
+ *
+ * @see <a href="https://arxiv.org/abs/1603.09320">Efficient and robust approximate
+ * nearest neighbor search using Hierarchical Navigable Small World graphs</a>
+ */
+public class HnswVectorIndex implements VectorIndex {
+
+	public static final int DEFAULT_M = 16;
+
+	public static final int DEFAULT_EF_CONSTRUCTION = 200;
+
+	public static final int DEFAULT_EF_SEARCH = 64;
+
+	/**
+	 * The default seed of the random level assignment, so that the same insertions build
+	 * the same graph.
+	 */
+	public static final long DEFAULT_SEED = 42;
+
+	private static final Comparator<Candidate> BY_DESCENDING_SCORE = Comparator.comparingDouble(Candidate::score)
+		.reversed();
+
+	private final int m;
+
+	private final int maxM0;
+
+	private final int efConstruction;
+
+	private final int efSearch;
+
+	private final double levelMultiplier;
+
+	private final SplittableRandom random;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, Integer> nodesById = new HashMap<>();
+
+	private final List<Node> nodes = new ArrayList<>();
+
+	private int entryPoint = -1;
+
+	private int maxLevel = -1;
+
+	private int dimensions = -1;
+
+	public HnswVectorIndex() {
+		this(DEFAULT_M, DEFAULT_EF_CONSTRUCTION, DEFAULT_EF_SEARCH);
+	}
+
+	/**
+	 * @param m the number of links created for every vector on insertion. The base layer
+	 * keeps up to {@code 2 * m} links per vector.
+	 * @param efConstruction the size of the candidate list used on insertion.
+	 * @param efSearch the size of the candidate list used on search. The effective value
+	 * is never lower than the requested top K.
+	 */
+	public HnswVectorIndex(int m, int efConstruction, int efSearch) {
+		this(m, efConstruction, efSearch, DEFAULT_SEED);
+	}
+
+	/**
+	 * @param m the number of links created for every vector on insertion. The base layer
+	 * keeps up to {@code 2 * m} links per vector.
+	 * @param efConstruction the size of the candidate list used on insertion.
+	 * @param efSearch the size of the candidate list used on search. The effective value
+	 * is never lower than the requested top K.
+	 * @param seed the seed of the random level assignment of the inserted vectors.
+	 */
+	public HnswVectorIndex(int m, int efConstruction, int efSearch, long seed) {
+		Assert.isTrue(m > 1, "m must be greater than 1");
+		Assert.isTrue(efConstruction > 0, "efConstruction must be greater than 0");
+		Assert.isTrue(efSearch > 0, "efSearch must be greater than 0");
+		this.m = m;
+		this.maxM0 = 2 * m;
+		this.efConstruction = efConstruction;
+		this.efSearch = efSearch;
+		this.levelMultiplier = 1 / Math.log(m);
+		this.random = new SplittableRandom(seed);
+	}
+
+	@Override
+	public void add(String id, float[] vector) {
+		Assert.notNull(id, "id must not be null");
+		Assert.notNull(vector, "vector must not be null");
+		this.lock.writeLock().lock();
+		try {
+			if (this.dimensions < 0) {
+				this.dimensions = vector.length;
+			}
+			Assert.isTrue(vector.length == this.dimensions, () -> "Expected a vector of " + this.dimensions
+					+ " dimensions but got " + vector.length + " for document " + id);
+
+			Integer previous = this.nodesById.get(id);
+			if (previous != null) {
+				this.nodes.get(previous).deleted = true;
+			}
+			insert(id, vector);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(String id) {
+		this.lock.writeLock().lock();
+		try {
+			Integer node = this.nodesById.remove(id);
+			if (node != null) {
+				this.nodes.get(node).deleted = true;
+			}
+			if (this.nodesById.isEmpty()) {
+				reset();
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public List<ScoredId> search(float[] query, int topK, double similarityThreshold, Predicate<String> filter) {
+		Assert.notNull(query, "query must not be null");
+		Assert.notNull(filter, "filter must not be null");
+		this.lock.readLock().lock();
+		try {
+			if (this.entryPoint < 0 || topK <= 0) {
+				return List.of();
+			}
+			Assert.isTrue(query.length == this.dimensions, "Vectors lengths must be equal");
+
+			float[] normalizedQuery = VectorMath.normalize(query);
+			int closest = this.entryPoint;
+			for (int level = this.maxLevel; level > 0; level--) {
+				closest = greedyClosest(normalizedQuery, closest, level);
+			}
+			List<Candidate> entryPoints = List.of(new Candidate(closest, similarity(normalizedQuery, closest)));
+			// Deleted and filtered out nodes are traversed but never collected, the search
+			// keeps expanding until it has found ef eligible nodes.
+			IntPredicate eligible = node -> !this.nodes.get(node).deleted && filter.test(this.nodes.get(node).id);
+			List<Candidate> found = searchLayer(normalizedQuery, entryPoints, Math.max(this.efSearch, topK), 0,
+					eligible);
+
+			List<ScoredId> results = new ArrayList<>(Math.min(topK, found.size()));
+			for (Candidate candidate : found) {
+				if (results.size() == topK || candidate.score() < similarityThreshold) {
+					break;
+				}
+				results.add(new ScoredId(this.nodes.get(candidate.node()).id, candidate.score()));
+			}
+			return results;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.nodesById.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			reset();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void reset() {
+		this.nodesById.clear();
+		this.nodes.clear();
+		this.entryPoint = -1;
+		this.maxLevel = -1;
+		this.dimensions = -1;
+	}
+
+	private void insert(String id, float[] vector) {
+		int level = (int) (-Math.log(1 - this.random.nextDouble()) * this.levelMultiplier);
+		int nodeId = this.nodes.size();
+		Node node = new Node(id, vector, VectorMath.inverseNorm(vector), level);
+		this.nodes.add(node);
+		this.nodesById.put(id, nodeId);
+
+		if (this.entryPoint < 0) {
+			this.entryPoint = nodeId;
+			this.maxLevel = level;
+			return;
+		}
+
+		// Only normalized for the duration of the insertion, the node keeps the vector as is
+		float[] normalized = VectorMath.normalize(vector);
+		int closest = this.entryPoint;
+		for (int l = this.maxLevel; l > level; l--) {
+			closest = greedyClosest(normalized, closest, l);
+		}
+		List<Candidate> entryPoints = List.of(new Candidate(closest, similarity(normalized, closest)));
+		for (int l = Math.min(level, this.maxLevel); l >= 0; l--) {
+			List<Candidate> found = searchLayer(normalized, entryPoints, this.efConstruction, l, any -> true);
+			node.neighbors[l] = selectNeighbors(found, this.m);
+			int maxConnections = (l == 0) ? this.maxM0 : this.m;
+			for (int neighbor : node.neighbors[l]) {
+				link(neighbor, nodeId, l, maxConnections);
+			}
+			entryPoints = found;
+		}
+
+		if (level > this.maxLevel) {
+			this.maxLevel = level;
+			this.entryPoint = nodeId;
+		}
+	}
+
+	/**
+	 * Adds a link from {@code from} to {@code to}, re-selecting the links of
+	 * {@code from} when it exceeds the maximum number of connections.
+	 */
+	private void link(int from, int to, int level, int maxConnections) {
+		Node node = this.nodes.get(from);
+		int[] current = node.neighbors[level];
+		if (current.length < maxConnections) {
+			int[] extended = new int[current.length + 1];
+			System.arraycopy(current, 0, extended, 0, current.length);
+			extended[current.length] = to;
+			node.neighbors[level] = extended;
+			return;
+		}
+		List<Candidate> candidates = new ArrayList<>(current.length + 1);
+		for (int neighbor : current) {
+			candidates.add(new Candidate(neighbor, similarity(from, neighbor)));
+		}
+		candidates.add(new Candidate(to, similarity(from, to)));
+		candidates.sort(BY_DESCENDING_SCORE);
+		node.neighbors[level] = selectNeighbors(candidates, maxConnections);
+	}
+
+	/**
+	 * Neighbor selection heuristic: prefers candidates that are closer to the base vector
+	 * than to any already selected neighbor, which keeps links spread over distinct
+	 * directions. Pruned candidates fill the remaining slots.
+	 * @param candidates candidates sorted by descending similarity to the base vector.
+	 */
+	private int[] selectNeighbors(List<Candidate> candidates, int max) {
+		List<Candidate> selected = new ArrayList<>(max);
+		List<Candidate> pruned = new ArrayList<>();
+		for (Candidate candidate : candidates) {
+			if (selected.size() == max) {
+				break;
+			}
+			boolean diverse = true;
+			for (Candidate neighbor : selected) {
+				if (similarity(candidate.node(), neighbor.node()) > candidate.score()) {
+					diverse = false;
+					break;
+				}
+			}
+			if (diverse) {
+				selected.add(candidate);
+			}
+			else {
+				pruned.add(candidate);
+			}
+		}
+		for (int i = 0; i < pruned.size() && selected.size() < max; i++) {
+			selected.add(pruned.get(i));
+		}
+		return selected.stream().mapToInt(Candidate::node).toArray();
+	}
+
+	private int greedyClosest(float[] query, int start, int level) {
+		int closest = start;
+		float best = similarity(query, start);
+		boolean improved = true;
+		while (improved) {
+			improved = false;
+			for (int neighbor : this.nodes.get(closest).neighbors[level]) {
+				float score = similarity(query, neighbor);
+				if (score > best) {
+					best = score;
+					closest = neighbor;
+					improved = true;
+				}
+			}
+		}
+		return closest;
+	}
+
+	/**
+	 * Best-first search of a single layer. Every reachable node is traversed but only the
+	 * eligible ones are collected.
+	 * @return up to {@code ef} eligible candidates sorted by descending similarity.
+	 */
+	private List<Candidate> searchLayer(float[] query, List<Candidate> entryPoints, int ef, int level,
+			IntPredicate eligible) {
+		BitSet visited = new BitSet(this.nodes.size());
+		ScoreHeap candidates = ScoreHeap.max(ef);
+		ScoreHeap results = ScoreHeap.min(ef + 1);
+		for (Candidate entryPoint : entryPoints) {
+			visited.set(entryPoint.node());
+			candidates.push(entryPoint.node(), entryPoint.score());
+			if (eligible.test(entryPoint.node())) {
+				results.push(entryPoint.node(), entryPoint.score());
+				if (results.size() > ef) {
+					results.pop();
+				}
+			}
+		}
+
+		while (!candidates.isEmpty()) {
+			int current = candidates.topNode();
+			float currentScore = candidates.topScore();
+			candidates.pop();
+			if (results.size() >= ef && currentScore < results.topScore()) {
+				break;
+			}
+			for (int neighbor : this.nodes.get(current).neighbors[level]) {
+				if (visited.get(neighbor)) {
+					continue;
+				}
+				visited.set(neighbor);
+				float score = similarity(query, neighbor);
+				if (results.size() < ef || score > results.topScore()) {
+					candidates.push(neighbor, score);
+					if (eligible.test(neighbor)) {
+						results.push(neighbor, score);
+						if (results.size() > ef) {
+							results.pop();
+						}
+					}
+				}
+			}
+		}
+
+		Candidate[] sorted = new Candidate[results.size()];
+		for (int i = sorted.length - 1; i >= 0; i--) {
+			sorted[i] = new Candidate(results.topNode(), results.topScore());
+			results.pop();
+		}
+		return Arrays.asList(sorted);
+	}
+
+	/**
+	 * @param normalizedVector a vector of unit length.
+	 */
+	private float similarity(float[] normalizedVector, int node) {
+		Node other = this.nodes.get(node);
+		return VectorMath.dot(normalizedVector, other.vector) * other.inverseNorm;
+	}
+
+	private float similarity(int node, int otherNode) {
+		Node first = this.nodes.get(node);
+		Node second = this.nodes.get(otherNode);
+		return VectorMath.dot(first.vector, second.vector) * first.inverseNorm * second.inverseNorm;
+	}
+
+	private record Candidate(int node, float score) {
+	}
+
+	private static final class Node {
+
+		private final String id;
+
+		private final float[] vector;
+
+		private final float inverseNorm;
+
+		private final int[][] neighbors;
+
+		private boolean deleted;
+
+		Node(String id, float[] vector, float inverseNorm, int level) {
+			this.id = id;
+			this.vector = vector;
+			this.inverseNorm = inverseNorm;
+			this.neighbors = new int[level + 1][];
+			for (int l = 0; l <= level; l++) {
+				this.neighbors[l] = new int[0];
+			}
+		}
+
+	}
+
+}
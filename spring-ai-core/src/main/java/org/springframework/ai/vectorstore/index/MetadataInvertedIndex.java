@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.index;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.Filter.Operand;
+import org.springframework.ai.vectorstore.filter.converter.PredicateFilterExpressionConverter;
+import org.springframework.util.Assert;
+
+/**
+ * Inverted index from the values of selected metadata keys to the ids of the documents
+ * holding them. Used to narrow down the documents that can match a filter expression
+ * before any vector is scored.
+ * <p>
+ * Only the EQ and IN expressions on indexed keys, and their AND and OR combinations, are
+ * resolved through the index. The candidates are a superset of the matching documents,
+ * the filter expression still has to be evaluated on each of them.
+ */
+public class MetadataInvertedIndex {
+
+	private final Set<String> keys;
+
+	private final Map<String, Map<Object, Set<String>>> postings = new ConcurrentHashMap<>();
+
+	/**
+	 * @param keys the metadata keys to index.
+	 */
+	public MetadataInvertedIndex(Collection<String> keys) {
+		Assert.notNull(keys, "keys must not be null");
+		this.keys = Set.copyOf(keys);
+	}
+
+	public Set<String> getKeys() {
+		return this.keys;
+	}
+
+	public void add(String id, Map<String, Object> metadata) {
+		for (String key : this.keys) {
+			Object value = metadata.get(key);
+			if (value != null) {
+				this.postings.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+					.compute(PredicateFilterExpressionConverter.normalize(value), (v, ids) -> {
+						Set<String> result = (ids != null) ? ids : ConcurrentHashMap.newKeySet();
+						result.add(id);
+						return result;
+					});
+			}
+		}
+	}
+
+	public void remove(String id, Map<String, Object> metadata) {
+		for (String key : this.keys) {
+			Object value = metadata.get(key);
+			Map<Object, Set<String>> postingsByValue = this.postings.get(key);
+			if (value != null && postingsByValue != null) {
+				postingsByValue.computeIfPresent(PredicateFilterExpressionConverter.normalize(value), (v, ids) -> {
+					ids.remove(id);
+					return ids.isEmpty() ? null : ids;
+				});
+			}
+		}
+	}
+
+	public void clear() {
+		this.postings.clear();
+	}
+
+	/**
+	 * Resolves the ids of the documents that can match the given filter expression.
+	 * @param expression the filter expression.
+	 * @return a superset of the matching document ids, or {@code null} when the
+	 * expression cannot be narrowed down with the indexed keys.
+	 */
+	public Set<String> candidates(Filter.Expression expression) {
+		return candidates((Operand) expression);
+	}
+
+	private Set<String> candidates(Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return candidates(group.content());
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			return null;
+		}
+		switch (expression.type()) {
+			case AND: {
+				Set<String> left = candidates(expression.left());
+				Set<String> right = candidates(expression.right());
+				if (left == null || right == null) {
+					return (left != null) ? left : right;
+				}
+				return intersection(left, right);
+			}
+			case OR: {
+				Set<String> left = candidates(expression.left());
+				Set<String> right = (left != null) ? candidates(expression.right()) : null;
+				if (left == null || right == null) {
+					return null;
+				}
+				Set<String> union = new HashSet<>(left);
+				union.addAll(right);
+				return union;
+			}
+			case EQ:
+			case IN:
+				return lookup(expression);
+			default:
+				return null;
+		}
+	}
+
+	private Set<String> lookup(Filter.Expression expression) {
+		if (!(expression.left() instanceof Filter.Key key) || !(expression.right() instanceof Filter.Value value)
+				|| value.value() == null) {
+			return null;
+		}
+		String name = PredicateFilterExpressionConverter.keyName(key);
+		if (!this.keys.contains(name)) {
+			return null;
+		}
+		List<?> values = (value.value() instanceof List<?> list) ? list : List.of(value.value());
+		Map<Object, Set<String>> postingsByValue = this.postings.getOrDefault(name, Map.of());
+		if (values.size() == 1) {
+			Set<String> ids = postingsByValue.get(PredicateFilterExpressionConverter.normalize(values.get(0)));
+			return (ids != null) ? Collections.unmodifiableSet(ids) : Set.of();
+		}
+		Set<String> union = new HashSet<>();
+		for (Object item : values) {
+			Set<String> ids = postingsByValue.get(PredicateFilterExpressionConverter.normalize(item));
+			if (ids != null) {
+				union.addAll(ids);
+			}
+		}
+		return union;
+	}
+
+	private static Set<String> intersection(Set<String> left, Set<String> right) {
+		Set<String> smaller = (left.size() <= right.size()) ? left : right;
+		Set<String> larger = (smaller == left) ? right : left;
+		Set<String> result = new HashSet<>();
+		for (String id : smaller) {
+			if (larger.contains(id)) {
+				result.add(id);
+			}
+		}
+		return result;
+	}
+
+}
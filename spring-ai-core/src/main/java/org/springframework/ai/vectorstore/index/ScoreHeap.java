@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.index;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of {@code (int, float)} pairs ordered by the float score. Backed by
+ * primitive arrays so that pushing and polling does not allocate.
+ */
+final class ScoreHeap {
+
+	private final boolean maxHeap;
+
+	private int[] nodes;
+
+	private float[] scores;
+
+	private int size;
+
+	private ScoreHeap(int initialCapacity, boolean maxHeap) {
+		this.nodes = new int[Math.max(initialCapacity, 1)];
+		this.scores = new float[this.nodes.length];
+		this.maxHeap = maxHeap;
+	}
+
+	/**
+	 * @return a heap whose top is the lowest score.
+	 */
+	static ScoreHeap min(int initialCapacity) {
+		return new ScoreHeap(initialCapacity, false);
+	}
+
+	/**
+	 * @return a heap whose top is the highest score.
+	 */
+	static ScoreHeap max(int initialCapacity) {
+		return new ScoreHeap(initialCapacity, true);
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	int topNode() {
+		return this.nodes[0];
+	}
+
+	float topScore() {
+		return this.scores[0];
+	}
+
+	void push(int node, float score) {
+		if (this.size == this.nodes.length) {
+			this.nodes = Arrays.copyOf(this.nodes, this.size << 1);
+			this.scores = Arrays.copyOf(this.scores, this.size << 1);
+		}
+		this.nodes[this.size] = node;
+		this.scores[this.size] = score;
+		siftUp(this.size++);
+	}
+
+	/**
+	 * Removes the top element, read it with {@link #topNode()} and {@link #topScore()}
+	 * beforehand.
+	 */
+	void pop() {
+		int last = --this.size;
+		this.nodes[0] = this.nodes[last];
+		this.scores[0] = this.scores[last];
+		siftDown(0);
+	}
+
+	/**
+	 * Replaces the top element, equivalent to a {@link #pop()} followed by a
+	 * {@link #push(int, float)}.
+	 */
+	void replaceTop(int node, float score) {
+		this.nodes[0] = node;
+		this.scores[0] = score;
+		siftDown(0);
+	}
+
+	private boolean before(float a, float b) {
+		return this.maxHeap ? a > b : a < b;
+	}
+
+	private void siftUp(int i) {
+		int node = this.nodes[i];
+		float score = this.scores[i];
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!before(score, this.scores[parent])) {
+				break;
+			}
+			this.nodes[i] = this.nodes[parent];
+			this.scores[i] = this.scores[parent];
+			i = parent;
+		}
+		this.nodes[i] = node;
+		this.scores[i] = score;
+	}
+
+	private void siftDown(int i) {
+		int node = this.nodes[i];
+		float score = this.scores[i];
+		int half = this.size >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			int right = child + 1;
+			if (right < this.size && before(this.scores[right], this.scores[child])) {
+				child = right;
+			}
+			if (!before(this.scores[child], score)) {
+				break;
+			}
+			this.nodes[i] = this.nodes[child];
+			this.scores[i] = this.scores[child];
+			i = child;
+		}
+		this.nodes[i] = node;
+		this.scores[i] = score;
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.index;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * In-memory similarity index over embedding vectors, keyed by document id. Scores are
+ * cosine similarities, higher is more similar. Implementations keep the vectors passed to
+ * {@link #add(String, float[])} without copying them, along with their norms, so that
+ * the index does not double the memory of the embeddings. The given arrays must not be
+ * modified afterwards.
+ */
+public interface VectorIndex {
+
+	/**
+	 * Adds or replaces the vector of the given id.
+	 * @param id the document id.
+	 * @param vector the embedding vector.
+	 */
+	void add(String id, float[] vector);
+
+	/**
+	 * Removes the vector of the given id, if present.
+	 * @param id the document id.
+	 */
+	void remove(String id);
+
+	/**
+	 * Returns the {@code topK} most similar ids to the query vector, ordered from the most
+	 * to the least similar.
+	 * @param query the query vector.
+	 * @param topK the maximum number of results.
+	 * @param similarityThreshold minimum cosine similarity of the returned results.
+	 * @return the matching ids and their scores.
+	 */
+	default List<ScoredId> search(float[] query, int topK, double similarityThreshold) {
+		return search(query, topK, similarityThreshold, id -> true);
+	}
+
+	/**
+	 * Returns the {@code topK} most similar ids to the query vector among the ids
+	 * accepted by the filter, ordered from the most to the least similar.
+	 * @param query the query vector.
+	 * @param topK the maximum number of results.
+	 * @param similarityThreshold minimum cosine similarity of the returned results.
+	 * @param filter the ids eligible for the results.
+	 * @return the matching ids and their scores.
+	 */
+	List<ScoredId> search(float[] query, int topK, double similarityThreshold, Predicate<String> filter);
+
+	/**
+	 * @return the number of indexed vectors.
+	 */
+	int size();
+
+	/**
+	 * Removes all vectors from the index.
+	 */
+	void clear();
+
+	/**
+	 * Search result.
+	 *
+	 * @param id the document id.
+	 * @param score the cosine similarity between the document and the query vectors.
+	 */
+	record ScoredId(String id, double score) {
+	}
+
+}
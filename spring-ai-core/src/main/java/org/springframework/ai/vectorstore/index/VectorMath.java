@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.index;
+
+/**
+ * Primitive {@code float[]} kernels shared by the {@link VectorIndex} implementations.
+ */
+final class VectorMath {
+
+	private VectorMath() {
+	}
+
+	/**
+	 * Dot product of {@code length} components starting at the given offsets. The loop
+	 * is unrolled over four independent accumulators so the JIT can keep several
+	 * multiply-add chains in flight.
+	 */
+	static float dot(float[] x, int xOffset, float[] y, int yOffset, int length) {
+		float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int i = 0;
+		int bound = length & ~3;
+		for (; i < bound; i += 4) {
+			s0 += x[xOffset + i] * y[yOffset + i];
+			s1 += x[xOffset + i + 1] * y[yOffset + i + 1];
+			s2 += x[xOffset + i + 2] * y[yOffset + i + 2];
+			s3 += x[xOffset + i + 3] * y[yOffset + i + 3];
+		}
+		for (; i < length; i++) {
+			s0 += x[xOffset + i] * y[yOffset + i];
+		}
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	static float dot(float[] x, float[] y) {
+		return dot(x, 0, y, 0, x.length);
+	}
+
+	/**
+	 * @return the inverse of the norm of the vector, 0 for zero vectors whose similarity
+	 * to any vector is 0.
+	 */
+	static float inverseNorm(float[] vector) {
+		float norm = (float) Math.sqrt(dot(vector, vector));
+		return (norm == 0) ? 0 : 1 / norm;
+	}
+
+	/**
+	 * Copies the vector scaled to unit length into {@code target} at the given offset.
+	 * Zero vectors are copied as is, their similarity to any vector is 0.
+	 */
+	static void normalize(float[] vector, float[] target, int targetOffset) {
+		float scale = inverseNorm(vector);
+		for (int i = 0; i < vector.length; i++) {
+			target[targetOffset + i] = vector[i] * scale;
+		}
+	}
+
+	static float[] normalize(float[] vector) {
+		float[] normalized = new float[vector.length];
+		normalize(vector, normalized, 0);
+		return normalized;
+	}
+
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.writer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentWriter;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DocumentWriter} writing the documents to a delegate writer, typically a
+ * {@link org.springframework.ai.vectorstore.VectorStore}, on a background thread. The
+ * documents are enqueued in a bounded queue and coalesced into batches of up to
+ * {@code maxBatchSize} documents, written at most {@code flushInterval} after the first
+ * document of the batch was enqueued, so that a vector store embeds and stores them in
+ * one call.
+ * <p>
+ * When the queue is full, the {@link OverflowPolicy} decides whether the caller waits,
+ * the documents are dropped or the caller writes them itself. A batch that fails to be
+ * written is logged and counted, it is not retried. {@link #close()} stops accepting
+ * documents and writes the queued ones; documents written after that, including by
+ * callers waiting for room in the queue, are rejected with an
+ * {@link IllegalStateException}.
+ */
+public class WriteBehindDocumentWriter implements DocumentWriter, AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteBehindDocumentWriter.class);
+
+	public static final int DEFAULT_CAPACITY = 10_000;
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(200);
+
+	public static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+	private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/**
+	 * What to do with the documents that do not fit in the queue.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * The caller waits for room in the queue.
+		 */
+		BLOCK,
+
+		/**
+		 * The documents are dropped and counted.
+		 */
+		DROP,
+
+		/**
+		 * The caller writes the documents itself.
+		 */
+		CALLER_RUNS
+
+	}
+
+	private final DocumentWriter delegate;
+
+	private final BlockingQueue<QueuedDocument> queue;
+
+	private final int maxBatchSize;
+
+	private final long flushIntervalNanos;
+
+	private final OverflowPolicy overflowPolicy;
+
+	private final Duration shutdownTimeout;
+
+	private final Thread worker;
+
+	private final AtomicLong writtenCount = new AtomicLong();
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private final AtomicLong failedCount = new AtomicLong();
+
+	/**
+	 * Guards the closed flag: documents are enqueued under the read lock and the flag is
+	 * set under the write lock, so that no document is enqueued after the final drain of
+	 * the background thread.
+	 */
+	private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+	private volatile boolean closed;
+
+	/**
+	 * Create a writer with the default queue capacity, batch size and flush interval.
+	 * @param delegate the writer the batches are written to.
+	 */
+	public WriteBehindDocumentWriter(DocumentWriter delegate) {
+		this(builder(delegate));
+	}
+
+	private WriteBehindDocumentWriter(Builder builder) {
+		this.delegate = builder.delegate;
+		this.queue = new ArrayBlockingQueue<>(builder.capacity);
+		this.maxBatchSize = builder.maxBatchSize;
+		this.flushIntervalNanos = builder.flushInterval.toNanos();
+		this.overflowPolicy = builder.overflowPolicy;
+		this.shutdownTimeout = builder.shutdownTimeout;
+		this.worker = new Thread(this::run, "write-behind-document-writer");
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	public static Builder builder(DocumentWriter delegate) {
+		return new Builder(delegate);
+	}
+
+	@Override
+	public void accept(List<Document> documents) {
+		Assert.notNull(documents, "Documents must not be null");
+		List<Document> overflow = null;
+		long now = System.nanoTime();
+		for (Document document : documents) {
+			if (enqueue(new QueuedDocument(document, now))) {
+				continue;
+			}
+			switch (this.overflowPolicy) {
+				case BLOCK -> throw new IllegalStateException("Unexpected overflow of a blocking queue");
+				case DROP -> this.droppedCount.incrementAndGet();
+				case CALLER_RUNS -> {
+					if (overflow == null) {
+						overflow = new ArrayList<>();
+					}
+					overflow.add(document);
+				}
+			}
+		}
+		if (overflow != null) {
+			this.delegate.accept(overflow);
+		}
+	}
+
+	/**
+	 * Enqueue the document, waiting for room in the queue with the
+	 * {@link OverflowPolicy#BLOCK} policy.
+	 * @return whether the document was enqueued.
+	 * @throws IllegalStateException if the writer is closed, before or while waiting.
+	 */
+	private boolean enqueue(QueuedDocument queued) {
+		while (true) {
+			this.closeLock.readLock().lock();
+			try {
+				Assert.state(!this.closed, "The write-behind writer is closed");
+				if (this.overflowPolicy != OverflowPolicy.BLOCK) {
+					return this.queue.offer(queued);
+				}
+				// Waits in slices, releasing the lock for close() and checking the flag
+				if (this.queue.offer(queued, IDLE_POLL_NANOS, TimeUnit.NANOSECONDS)) {
+					return true;
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for room in the queue", ex);
+			}
+			finally {
+				this.closeLock.readLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * Stop accepting documents and write the queued ones, waiting up to the shutdown
+	 * timeout for the background thread to complete.
+	 */
+	@Override
+	public void close() {
+		this.closeLock.writeLock().lock();
+		try {
+			this.closed = true;
+		}
+		finally {
+			this.closeLock.writeLock().unlock();
+		}
+		try {
+			this.worker.join(this.shutdownTimeout.toMillis());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		if (this.worker.isAlive()) {
+			logger.warn("Write-behind thread did not complete within {}, {} documents are not written",
+					this.shutdownTimeout, this.queue.size());
+			this.worker.interrupt();
+		}
+	}
+
+	/**
+	 * @return the number of documents waiting to be written.
+	 */
+	public int getQueueDepth() {
+		return this.queue.size();
+	}
+
+	/**
+	 * @return how long the oldest queued document has been waiting to be written, zero
+	 * when the queue is empty.
+	 */
+	public Duration getLag() {
+		QueuedDocument oldest = this.queue.peek();
+		return (oldest != null) ? Duration.ofNanos(Math.max(0, System.nanoTime() - oldest.enqueuedNanos()))
+				: Duration.ZERO;
+	}
+
+	/**
+	 * @return the number of documents written by the background thread.
+	 */
+	public long getWrittenCount() {
+		return this.writtenCount.get();
+	}
+
+	/**
+	 * @return the number of documents dropped because the queue was full.
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.get();
+	}
+
+	/**
+	 * @return the number of documents the delegate failed to write.
+	 */
+	public long getFailedCount() {
+		return this.failedCount.get();
+	}
+
+	private void run() {
+		List<QueuedDocument> batch = new ArrayList<>(this.maxBatchSize);
+		while (!this.closed || !this.queue.isEmpty()) {
+			try {
+				QueuedDocument first = this.queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				// Wait for a full batch, up to the flush interval after the first document
+				long deadline = first.enqueuedNanos() + this.flushIntervalNanos;
+				while (batch.size() < this.maxBatchSize) {
+					this.queue.drainTo(batch, this.maxBatchSize - batch.size());
+					long remainingNanos = deadline - System.nanoTime();
+					if (batch.size() == this.maxBatchSize || remainingNanos <= 0 || this.closed) {
+						break;
+					}
+					// Polled in slices, for close() to flush the batch without waiting
+					QueuedDocument next = this.queue.poll(Math.min(remainingNanos, IDLE_POLL_NANOS),
+							TimeUnit.NANOSECONDS);
+					if (next != null) {
+						batch.add(next);
+					}
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				if (batch.isEmpty()) {
+					return;
+				}
+			}
+			writeBatch(batch);
+			batch.clear();
+		}
+	}
+
+	private void writeBatch(List<QueuedDocument> batch) {
+		List<Document> documents = new ArrayList<>(batch.size());
+		for (QueuedDocument queued : batch) {
+			documents.add(queued.document());
+		}
+		try {
+			this.delegate.accept(documents);
+			this.writtenCount.addAndGet(documents.size());
+		}
+		catch (RuntimeException ex) {
+			this.failedCount.addAndGet(documents.size());
+			logger.error("Failed to write {} documents", documents.size(), ex);
+		}
+	}
+
+	private record QueuedDocument(Document document, long enqueuedNanos) {
+	}
+
+	public static final class Builder {
+
+		private final DocumentWriter delegate;
+
+		private int capacity = DEFAULT_CAPACITY;
+
+		private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+		private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+		private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+		private Duration shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+		private Builder(DocumentWriter delegate) {
+			Assert.notNull(delegate, "Delegate must not be null");
+			this.delegate = delegate;
+		}
+
+		/**
+		 * @param capacity the maximum number of documents waiting to be written.
+		 */
+		public Builder withCapacity(int capacity) {
+			Assert.isTrue(capacity > 0, "Capacity must be positive");
+			this.capacity = capacity;
+			return this;
+		}
+
+		/**
+		 * @param maxBatchSize the maximum number of documents written at once.
+		 */
+		public Builder withMaxBatchSize(int maxBatchSize) {
+			Assert.isTrue(maxBatchSize > 0, "Max batch size must be positive");
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		 * @param flushInterval the maximum time a document waits for the batch to fill
+		 * up.
+		 */
+		public Builder withFlushInterval(Duration flushInterval) {
+			Assert.isTrue(flushInterval != null && !flushInterval.isNegative(), "Flush interval must not be negative");
+			this.flushInterval = flushInterval;
+			return this;
+		}
+
+		public Builder withOverflowPolicy(OverflowPolicy overflowPolicy) {
+			Assert.notNull(overflowPolicy, "Overflow policy must not be null");
+			this.overflowPolicy = overflowPolicy;
+			return this;
+		}
+
+		/**
+		 * @param shutdownTimeout the maximum time {@link #close()} waits for the queued
+		 * documents to be written.
+		 */
+		public Builder withShutdownTimeout(Duration shutdownTimeout) {
+			Assert.isTrue(shutdownTimeout != null && shutdownTimeout.toMillis() > 0,
+					"Shutdown timeout must be positive");
+			this.shutdownTimeout = shutdownTimeout;
+			return this;
+		}
+
+		public WriteBehindDocumentWriter build() {
+			return new WriteBehindDocumentWriter(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.memory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.model.Content;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryChatMemoryTests {
+
+	@Test
+	public void oldestMessagesAreDroppedBeyondTheMaxMessages() {
+		InMemoryChatMemory chatMemory = InMemoryChatMemory.builder().withMaxMessages(20).build();
+
+		for (int i = 0; i < 50; i++) {
+			chatMemory.add("1", new UserMessage("message " + i));
+		}
+
+		assertThat(contents(chatMemory.get("1", 3))).containsExactly("message 47", "message 48", "message 49");
+		assertThat(chatMemory.get("1", 100)).hasSize(20);
+		assertThat(contents(chatMemory.get("1", 100)).get(0)).isEqualTo("message 30");
+	}
+
+	@Test
+	public void oldestMessagesAreDroppedBeyondTheMaxTokens() {
+		InMemoryChatMemory chatMemory = InMemoryChatMemory.builder()
+			.withMaxTokens(new LengthTokenCountEstimator(), 10)
+			.build();
+
+		chatMemory.add("1", List.of(new UserMessage("aaaa"), new UserMessage("bbbb"), new UserMessage("cccc")));
+		assertThat(contents(chatMemory.get("1", 10))).containsExactly("bbbb", "cccc");
+
+		// the last message is kept even when it exceeds the limit on its own
+		chatMemory.add("1", new UserMessage("dddddddddddd"));
+		assertThat(contents(chatMemory.get("1", 10))).containsExactly("dddddddddddd");
+	}
+
+	@Test
+	public void idleConversationsAreEvicted() {
+		MutableClock clock = new MutableClock();
+		InMemoryChatMemory chatMemory = InMemoryChatMemory.builder()
+			.withTimeToIdle(Duration.ofMinutes(10))
+			.withClock(clock)
+			.build();
+
+		chatMemory.add("1", new UserMessage("first"));
+		chatMemory.add("2", new UserMessage("second"));
+		clock.advance(Duration.ofMinutes(6));
+		assertThat(chatMemory.get("1", 10)).hasSize(1);
+		clock.advance(Duration.ofMinutes(6));
+
+		assertThat(chatMemory.get("2", 10)).isEmpty();
+		assertThat(chatMemory.get("1", 10)).hasSize(1);
+
+		clock.advance(Duration.ofMinutes(11));
+		chatMemory.evictExpired();
+		assertThat(chatMemory.getConversationCount()).isZero();
+	}
+
+	@Test
+	public void leastRecentlyUsedConversationsAreEvicted() {
+		MutableClock clock = new MutableClock();
+		InMemoryChatMemory chatMemory = InMemoryChatMemory.builder().withMaxConversations(3).withClock(clock).build();
+
+		for (String conversationId : List.of("1", "2", "3")) {
+			chatMemory.add(conversationId, new UserMessage(conversationId));
+			clock.advance(Duration.ofSeconds(1));
+		}
+		chatMemory.get("1", 1);
+		clock.advance(Duration.ofSeconds(1));
+		chatMemory.add("4", new UserMessage("4"));
+
+		assertThat(chatMemory.getConversationCount()).isEqualTo(3);
+		assertThat(chatMemory.get("2", 1)).isEmpty();
+		assertThat(chatMemory.get("1", 1)).hasSize(1);
+	}
+
+	@Test
+	public void defaultChatMemoryIsUnbounded() {
+		InMemoryChatMemory chatMemory = new InMemoryChatMemory();
+		for (int i = 0; i < 2_000; i++) {
+			chatMemory.add("1", new UserMessage("message " + i));
+		}
+
+		List<Message> messages = chatMemory.get("1", Integer.MAX_VALUE);
+		assertThat(messages).hasSize(2_000);
+		assertThat(messages.get(0).getContent()).isEqualTo("message 0");
+	}
+
+	@Test
+	public void concurrentAppendsAreNotLost() {
+		InMemoryChatMemory chatMemory = new InMemoryChatMemory();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<CompletableFuture<Void>> futures = new ArrayList<>();
+			for (int i = 0; i < 800; i++) {
+				String content = "message " + i;
+				futures.add(CompletableFuture.runAsync(() -> chatMemory.add("1", new UserMessage(content)), executor));
+			}
+			futures.forEach(CompletableFuture::join);
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertThat(chatMemory.get("1", 1000)).hasSize(800).doesNotContainNull();
+	}
+
+	private static List<String> contents(List<Message> messages) {
+		return messages.stream().map(Message::getContent).toList();
+	}
+
+	private static class LengthTokenCountEstimator implements TokenCountEstimator {
+
+		@Override
+		public int estimate(String text) {
+			return text.length();
+		}
+
+		@Override
+		public int estimate(Content content) {
+			return estimate(content.getContent());
+		}
+
+		@Override
+		public int estimate(Iterable<Content> contents) {
+			int tokens = 0;
+			for (Content content : contents) {
+				tokens += estimate(content);
+			}
+			return tokens;
+		}
+
+	}
+
+	private static class MutableClock extends Clock {
+
+		private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.memory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.transformer.ChatServiceContext;
+import org.springframework.ai.chat.prompt.transformer.TransformerContentType;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.model.Content;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LastMaxTokenSizeContentTransformerTests {
+
+	private final AtomicInteger batches = new AtomicInteger();
+
+	private final TokenCountEstimator tokenCountEstimator = new TokenCountEstimator() {
+
+		@Override
+		public int estimate(String text) {
+			return text.length();
+		}
+
+		@Override
+		public int estimate(Content content) {
+			return estimate(content.getContent());
+		}
+
+		@Override
+		public int estimate(Iterable<Content> contents) {
+			int tokens = 0;
+			for (Content content : contents) {
+				tokens += estimate(content);
+			}
+			return tokens;
+		}
+
+		@Override
+		public int[] estimateEachContent(List<? extends Content> contents) {
+			batches.incrementAndGet();
+			return TokenCountEstimator.super.estimateEachContent(contents);
+		}
+
+	};
+
+	@Test
+	public void newestContentsFittingTheMaxTokenSizeAreKept() {
+		var transformer = new LastMaxTokenSizeContentTransformer(this.tokenCountEstimator, 10);
+
+		ChatServiceContext context = transformer
+			.transform(context(new Document("aaaa"), new Document("bbbb"), new Document("cc"), new Document("dddd")));
+
+		assertThat(contents(context)).containsExactly("bbbb", "cc", "dddd");
+		assertThat(this.batches.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void contentsWithinTheMaxTokenSizeAreUnchanged() {
+		var transformer = new LastMaxTokenSizeContentTransformer(this.tokenCountEstimator, 10);
+		ChatServiceContext context = context(new Document("aaaa"), new Document("bbbb"));
+
+		assertThat(transformer.transform(context)).isSameAs(context);
+	}
+
+	@Test
+	public void contentsWithoutTheFilterTagsAreKept() {
+		var transformer = new LastMaxTokenSizeContentTransformer(this.tokenCountEstimator, 5,
+				Set.of(TransformerContentType.MEMORY));
+
+		ChatServiceContext context = transformer.transform(context(memory("aaaa"), new Document("document"),
+				memory("bbbb"), memory("c")));
+
+		assertThat(contents(context)).containsExactly("document", "bbbb", "c");
+	}
+
+	private static Document memory(String content) {
+		return new Document(content, Map.of(TransformerContentType.MEMORY, true));
+	}
+
+	private static ChatServiceContext context(Content... contents) {
+		return ChatServiceContext.builder()
+			.withPrompt(new Prompt(new UserMessage("question")))
+			.withContents(List.of(contents))
+			.build();
+	}
+
+	private static List<String> contents(ChatServiceContext context) {
+		return context.getContents().stream().map(Content::getContent).toList();
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.messages;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageAggregatorTests {
+
+	private final MessageAggregator aggregator = new MessageAggregator();
+
+	@Test
+	public void contentAndMetadataAreAggregated() {
+		Queue<ChatResponse> aggregated = new ConcurrentLinkedQueue<>();
+
+		List<ChatResponse> chunks = this.aggregator
+			.aggregate(Flux.just(chunk("Hello", Map.of("id", "1")), chunk(" world", Map.of("finishReason", "STOP"))),
+					aggregated::add)
+			.collectList()
+			.block();
+
+		assertThat(chunks).hasSize(2);
+		assertThat(aggregated).hasSize(1);
+		AssistantMessage message = aggregated.peek().getResult().getOutput();
+		assertThat(message.getContent()).isEqualTo("Hello world");
+		assertThat(message.getMetadata()).containsEntry("id", "1").containsEntry("finishReason", "STOP");
+	}
+
+	@Test
+	public void concurrentSubscribersHaveTheirOwnAggregation() {
+		Queue<String> aggregated = new ConcurrentLinkedQueue<>();
+		Flux<ChatResponse> chunks = Flux.range(0, 20)
+			.map(i -> chunk("a", Map.of()))
+			.delayElements(Duration.ofMillis(1), Schedulers.parallel());
+		Flux<ChatResponse> aggregatedChunks = this.aggregator.aggregate(chunks,
+				chatResponse -> aggregated.add(chatResponse.getResult().getOutput().getContent()));
+
+		Flux.merge(IntStream.range(0, 8).mapToObj(i -> aggregatedChunks).toList()).blockLast();
+
+		assertThat(aggregated).hasSize(8).allMatch("a".repeat(20)::equals);
+	}
+
+	@Test
+	public void aggregatedResponseIsEmittedLast() {
+		List<ChatResponse> chunks = this.aggregator
+			.aggregateAndEmit(Flux.just(chunk("Hello", Map.of()), chunk(" world", Map.of())))
+			.collectList()
+			.block();
+
+		assertThat(chunks).extracting(chatResponse -> chatResponse.getResult().getOutput().getContent())
+			.containsExactly("Hello", " world", "Hello world");
+	}
+
+	private static ChatResponse chunk(String content, Map<String, Object> metadata) {
+		return new ChatResponse(List.of(new Generation(content, metadata)));
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.StreamingChatClient;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.transformer.ChatServiceContext;
+import org.springframework.ai.chat.prompt.transformer.PromptTransformer;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.model.Content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PromptTransformingChatServiceTests {
+
+	private final ChatClient chatClient = prompt -> new ChatResponse(List.of(new Generation("answer")));
+
+	private final StreamingChatClient streamingChatClient = prompt -> Flux
+		.just(new ChatResponse(List.of(new Generation("answer"))));
+
+	@Test
+	public void retrieversRunConcurrentlyAndAreMergedInDeclaredOrder() {
+		CountDownLatch started = new CountDownLatch(2);
+		PromptTransformingChatService chatService = PromptTransformingChatService.builder(this.chatClient)
+			.withRetrievers(List.of(awaitingRetriever(started, "first", 100), awaitingRetriever(started, "second", 0)))
+			.build();
+
+		ChatServiceResponse response = chatService.call(context());
+
+		assertThat(contents(response.getPromptContext())).containsExactly("initial", "first", "second");
+	}
+
+	@Test
+	public void retrieversNotCompletingInTimeAreSkipped() {
+		PromptTransformingChatService chatService = PromptTransformingChatService.builder(this.chatClient)
+			.withRetrievers(List.of(awaitingRetriever(new CountDownLatch(1), "slow", 2_000),
+					awaitingRetriever(new CountDownLatch(0), "fast", 0)))
+			.withRetrieverTimeout(Duration.ofMillis(200))
+			.build();
+
+		ChatServiceResponse response = chatService.call(context());
+
+		assertThat(contents(response.getPromptContext())).containsExactly("initial", "fast");
+	}
+
+	@Test
+	public void promptRevisionsOfRetrieversAreComposed() {
+		PromptTransformingChatService chatService = PromptTransformingChatService.builder(this.chatClient)
+			.withRetrievers(List.of(revisingRetriever("first"), revisingRetriever("second")))
+			.withSequentialRetrieval(true)
+			.build();
+
+		ChatServiceResponse response = chatService.call(context());
+		assertThat(response.getPromptContext().getPrompt().getContents()).isEqualTo("question first second");
+		assertThat(response.getPromptContext().getPromptChanges()).hasSize(2);
+	}
+
+	@Test
+	public void concurrentPromptRevisionsAreRejected() {
+		PromptTransformingChatService chatService = PromptTransformingChatService.builder(this.chatClient)
+			.withRetrievers(List.of(revisingRetriever("first"), revisingRetriever("second")))
+			.build();
+
+		assertThatThrownBy(() -> chatService.call(context())).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void streamingRetrievalRunsOnSubscription() {
+		AtomicInteger retrievals = new AtomicInteger();
+		PromptTransformer retriever = context -> {
+			retrievals.incrementAndGet();
+			context.addData(new Document("retrieved"));
+			return context;
+		};
+		StreamingPromptTransformingChatService chatService = StreamingPromptTransformingChatService
+			.builder(this.streamingChatClient)
+			.withRetrievers(List.of(retriever, awaitingRetriever(new CountDownLatch(0), "awaited", 0)))
+			.build();
+
+		StreamingChatServiceResponse response = chatService.stream(context());
+		assertThat(retrievals.get()).isZero();
+
+		ChatServiceContext transformedContext = response.getTransformedPromptContext().block();
+		assertThat(contents(transformedContext)).containsExactly("initial", "retrieved", "awaited");
+		assertThat(contents(response.getPromptContext())).containsExactly("initial");
+
+		List<ChatResponse> chatResponses = response.getChatResponse().collectList().block();
+		assertThat(retrievals.get()).isEqualTo(1);
+		assertThat(chatResponses).hasSize(1);
+		assertThat(chatResponses.get(0).getResult().getOutput().getContent()).isEqualTo("answer");
+	}
+
+	private static PromptTransformer awaitingRetriever(CountDownLatch started, String content, long delayMillis) {
+		return context -> {
+			started.countDown();
+			try {
+				// Completes only when the other retrievers have started
+				assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+				Thread.sleep(delayMillis);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			context.addData(new Document(content));
+			return context;
+		};
+	}
+
+	private static PromptTransformer revisingRetriever(String revision) {
+		return context -> {
+			String revised = context.getPrompt().getContents() + " " + revision;
+			context.updatePrompt(new Prompt(new UserMessage(revised)), revision, "Appends " + revision);
+			return context;
+		};
+	}
+
+	private static ChatServiceContext context() {
+		return ChatServiceContext.builder()
+			.withConversationId("test-session-id")
+			.withPrompt(new Prompt(new UserMessage("question")))
+			.withContents(List.of(new Document("initial")))
+			.build();
+	}
+
+	private static List<String> contents(ChatServiceContext context) {
+		return context.getContents().stream().map(Content::getContent).toList();
+	}
+
+}
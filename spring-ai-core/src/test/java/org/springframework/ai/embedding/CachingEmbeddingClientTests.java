@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingEmbeddingClientTests {
+
+	@TempDir
+	Path tempDir;
+
+	private final RecordingEmbeddingClient delegate = new RecordingEmbeddingClient();
+
+	@Test
+	public void onlyMissesAreForwardedToTheDelegate() {
+		CachingEmbeddingClient client = new CachingEmbeddingClient(this.delegate, "test-model");
+
+		assertThat(client.embed(List.of("a", "bb"))).containsExactly(List.of(1.0), List.of(2.0));
+		assertThat(client.embed(List.of("bb", "ccc", "a", "ccc"))).containsExactly(List.of(2.0), List.of(3.0),
+				List.of(1.0), List.of(3.0));
+
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bb"), List.of("ccc"));
+		CachingEmbeddingClient.Statistics statistics = client.getStatistics();
+		assertThat(statistics.hits()).isEqualTo(2);
+		assertThat(statistics.misses()).isEqualTo(3);
+		assertThat(statistics.size()).isEqualTo(3);
+	}
+
+	@Test
+	public void optionsArePartOfTheKey() {
+		CachingEmbeddingClient client = new CachingEmbeddingClient(this.delegate, "test-model");
+
+		client.call(new EmbeddingRequest(List.of("a"), EmbeddingOptions.EMPTY));
+		client.call(new EmbeddingRequest(List.of("a"), new DimensionsOptions(256)));
+		client.call(new EmbeddingRequest(List.of("a"), new DimensionsOptions(256)));
+		client.call(new EmbeddingRequest(List.of("a"), new DimensionsOptions(512)));
+
+		assertThat(this.delegate.requests).hasSize(3);
+	}
+
+	@Test
+	public void leastRecentlyUsedEmbeddingsAreEvicted() {
+		CachingEmbeddingClient client = new CachingEmbeddingClient(this.delegate, "test-model", 2);
+
+		client.embed("a");
+		client.embed("bb");
+		client.embed("a");
+		client.embed("ccc");
+		client.embed("a");
+		client.embed("bb");
+
+		assertThat(this.delegate.requests).containsExactly(List.of("a"), List.of("bb"), List.of("ccc"), List.of("bb"));
+	}
+
+	@Test
+	public void embeddingsArePersistedOnDisk() {
+		new CachingEmbeddingClient(this.delegate, "test-model", 10, this.tempDir).embed(List.of("a", "bb"));
+
+		CachingEmbeddingClient client = new CachingEmbeddingClient(this.delegate, "test-model", 10, this.tempDir);
+		assertThat(client.embed(new Document("bb"))).containsExactly(2.0);
+		assertThat(client.embedAsFloats("a").array()).containsExactly(1.0f);
+
+		assertThat(this.delegate.requests).containsExactly(List.of("a", "bb"));
+		assertThat(client.getStatistics().diskHits()).isEqualTo(2);
+
+		// the model name is part of the key
+		new CachingEmbeddingClient(this.delegate, "other-model", 10, this.tempDir).embed("a");
+		assertThat(this.delegate.requests).hasSize(2);
+	}
+
+	@Test
+	public void documentsAreEmbeddedWithTheirEmbeddableMetadata() {
+		CachingEmbeddingClient client = new CachingEmbeddingClient(this.delegate, "test-model");
+		Document document = new Document("bb", Map.of("country", "BG"));
+		String formattedContent = document.getFormattedContent(MetadataMode.EMBED);
+
+		assertThat(client.embed(document)).containsExactly((double) formattedContent.length());
+		client.embed(List.of(document), EmbeddingOptions.EMPTY, new TokenCountBatchingStrategy());
+
+		assertThat(formattedContent).contains("BG");
+		assertThat(this.delegate.requests).containsExactly(List.of(formattedContent));
+	}
+
+	private static class RecordingEmbeddingClient extends AbstractEmbeddingClient {
+
+		private final List<List<String>> requests = new ArrayList<>();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			this.requests.add(request.getInstructions());
+			List<Embedding> embeddings = new ArrayList<>();
+			for (int i = 0; i < request.getInstructions().size(); i++) {
+				embeddings.add(new Embedding(new float[] { request.getInstructions().get(i).length() }, i));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public List<Double> embed(Document document) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	static class DimensionsOptions implements EmbeddingOptions {
+
+		private final int dimensions;
+
+		DimensionsOptions(int dimensions) {
+			this.dimensions = dimensions;
+		}
+
+		public int getDimensions() {
+			return this.dimensions;
+		}
+
+	}
+
+}
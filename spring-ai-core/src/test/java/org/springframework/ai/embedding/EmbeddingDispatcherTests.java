@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmbeddingDispatcherTests {
+
+	private final List<String> inputs = IntStream.range(0, 50).mapToObj(Integer::toString).toList();
+
+	@Test
+	public void resultsAreInTheOrderOfTheInputs() {
+		EmbeddingDispatcher dispatcher = new EmbeddingDispatcher(8);
+
+		List<Integer> results = dispatcher.dispatch(this.inputs, input -> {
+			sleep(50 - Integer.parseInt(input));
+			return Integer.parseInt(input);
+		});
+
+		assertThat(results).isEqualTo(IntStream.range(0, 50).boxed().toList());
+	}
+
+	@Test
+	public void requestsInFlightAreBoundedByTheConcurrency() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+
+		new EmbeddingDispatcher(4).dispatch(this.inputs, input -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			sleep(5);
+			inFlight.decrementAndGet();
+			return input;
+		});
+
+		assertThat(maxInFlight.get()).isBetween(2, 4);
+	}
+
+	@Test
+	public void failedRequestsAreRetried() {
+		Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+		EmbeddingDispatcher dispatcher = new EmbeddingDispatcher(4, 3, Duration.ofMillis(1));
+
+		List<String> results = dispatcher.dispatch(this.inputs, input -> {
+			if (attempts.computeIfAbsent(input, key -> new AtomicInteger()).incrementAndGet() < 3) {
+				throw new UncheckedIOException(new SocketTimeoutException("Read timed out"));
+			}
+			return input;
+		});
+
+		assertThat(results).isEqualTo(this.inputs);
+		assertThat(attempts.values()).allMatch(count -> count.get() == 3);
+	}
+
+	@Test
+	public void onlyRetryableFailuresAreRetried() {
+		Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+		EmbeddingDispatcher dispatcher = new EmbeddingDispatcher(4, 3, Duration.ofMillis(1));
+
+		assertThatThrownBy(() -> dispatcher.dispatch(List.of("0"), input -> {
+			attempts.computeIfAbsent(input, key -> new AtomicInteger()).incrementAndGet();
+			throw new IllegalArgumentException("Invalid input");
+		})).isInstanceOf(IllegalArgumentException.class);
+		assertThat(attempts.get("0")).hasValue(1);
+
+		List<String> results = dispatcher.dispatch(List.of("1"), input -> {
+			if (attempts.computeIfAbsent(input, key -> new AtomicInteger()).incrementAndGet() < 2) {
+				throw new IllegalStateException("[429] Too Many Requests");
+			}
+			return input;
+		}, failure -> failure.getMessage().startsWith("[429]"));
+		assertThat(results).containsExactly("1");
+		assertThat(attempts.get("1")).hasValue(2);
+	}
+
+	@Test
+	public void failureIsPropagatedOnceTheAttemptsAreExhausted() {
+		EmbeddingDispatcher dispatcher = new EmbeddingDispatcher(4, 2, Duration.ofMillis(1));
+
+		assertThatThrownBy(() -> dispatcher.dispatch(this.inputs, input -> {
+			if (input.equals("7")) {
+				throw new UncheckedIOException("Failed " + input, new IOException("Connection reset"));
+			}
+			return input;
+		})).isInstanceOf(UncheckedIOException.class).hasMessage("Failed 7");
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
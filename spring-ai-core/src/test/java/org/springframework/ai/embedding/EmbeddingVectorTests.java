@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmbeddingVectorTests {
+
+	@Test
+	public void listViewIsBackedByArray() {
+		float[] values = new float[] { 0.5f, 0.25f, 1.0f };
+		EmbeddingVector vector = EmbeddingVector.of(values);
+
+		assertThat(vector.dimensions()).isEqualTo(3);
+		assertThat(vector.array()).isSameAs(values);
+		assertThat(vector.asList()).containsExactly(0.5, 0.25, 1.0);
+		assertThat(vector.asList()).isSameAs(vector.asList());
+		assertThatThrownBy(() -> vector.asList().add(2.0)).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void fromListViewReusesVector() {
+		EmbeddingVector vector = EmbeddingVector.of(new float[] { 0.5f, 0.25f });
+
+		assertThat(EmbeddingVector.from(vector.asList())).isSameAs(vector);
+		assertThat(EmbeddingVector.from(List.of(0.5, 0.25))).isEqualTo(vector);
+		assertThat(EmbeddingVector.from(List.of())).isSameAs(EmbeddingVector.EMPTY);
+	}
+
+	@Test
+	public void embeddingExposesVectorAndListOutput() {
+		Embedding embedding = new Embedding(new float[] { 0.5f, 0.25f }, 0);
+
+		assertThat(embedding.getOutput()).containsExactly(0.5, 0.25);
+		assertThat(embedding.getVector().array()).containsExactly(0.5f, 0.25f);
+
+		Embedding boxed = new Embedding(List.of(0.5, 0.25), 1);
+		assertThat(boxed.getVector()).isEqualTo(embedding.getVector());
+	}
+
+	@Test
+	public void documentEmbeddingJsonRoundTrip() throws Exception {
+		Document document = new Document("1", "content", Map.of());
+		document.setEmbeddingVector(EmbeddingVector.of(new float[] { 0.5f, 0.25f }));
+
+		ObjectMapper objectMapper = new ObjectMapper();
+		String json = objectMapper.writeValueAsString(document);
+		assertThat(json).contains("\"embedding\":[0.5,0.25]").doesNotContain("embeddingVector");
+
+		Document copy = objectMapper.readValue(json, Document.class);
+		assertThat(copy.getEmbeddingVector()).isEqualTo(document.getEmbeddingVector());
+		assertThat(copy.getEmbedding()).containsExactly(0.5, 0.25);
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenCountBatchingStrategyTests {
+
+	@Test
+	public void batchesAreBoundedByBatchSize() {
+		BatchingStrategy strategy = new TokenCountBatchingStrategy(1000, 2);
+
+		List<List<Document>> batches = strategy.batch(documents("one", "two", "three", "four", "five"));
+
+		assertThat(batches).hasSize(3);
+		assertThat(batches.get(0)).extracting(Document::getContent).containsExactly("one", "two");
+		assertThat(batches.get(1)).extracting(Document::getContent).containsExactly("three", "four");
+		assertThat(batches.get(2)).extracting(Document::getContent).containsExactly("five");
+	}
+
+	@Test
+	public void batchesAreBoundedByTokenCount() {
+		BatchingStrategy strategy = new TokenCountBatchingStrategy(new JTokkitTokenCountEstimator(), 10, 2, 100, 0,
+				MetadataMode.NONE);
+
+		List<List<Document>> batches = strategy
+			.batch(documents("one", "two", "three four five six seven", "eight"));
+
+		assertThat(batches).hasSize(3);
+		assertThat(batches.get(0)).extracting(Document::getContent).containsExactly("one", "two");
+		// a document exceeding the batch token count is placed in its own batch
+		assertThat(batches.get(1)).extracting(Document::getContent).containsExactly("three four five six seven");
+		assertThat(batches.get(2)).extracting(Document::getContent).containsExactly("eight");
+	}
+
+	@Test
+	public void inputTokenCountDoesNotBoundTheBatch() {
+		BatchingStrategy strategy = new TokenCountBatchingStrategy(new JTokkitTokenCountEstimator(), 3, 100, 100, 0,
+				MetadataMode.NONE);
+
+		List<List<Document>> batches = strategy
+			.batch(documents("one", "two", "three", "four five six seven", "eight", "nine"));
+
+		assertThat(batches).hasSize(3);
+		assertThat(batches.get(0)).extracting(Document::getContent).containsExactly("one", "two", "three");
+		// a document exceeding the input token count is placed in its own batch
+		assertThat(batches.get(1)).extracting(Document::getContent).containsExactly("four five six seven");
+		assertThat(batches.get(2)).extracting(Document::getContent).containsExactly("eight", "nine");
+	}
+
+	@Test
+	public void embedMapsBatchResultsBackToDocuments() {
+		List<EmbeddingRequest> requests = new ArrayList<>();
+		EmbeddingClient embeddingClient = new AbstractEmbeddingClient() {
+
+			@Override
+			public EmbeddingResponse call(EmbeddingRequest request) {
+				requests.add(request);
+				List<Embedding> embeddings = new ArrayList<>();
+				// return the results in reverse order, the index identifies the input
+				for (int i = request.getInstructions().size() - 1; i >= 0; i--) {
+					float length = request.getInstructions().get(i).trim().length();
+					embeddings.add(new Embedding(new float[] { length }, i));
+				}
+				return new EmbeddingResponse(embeddings);
+			}
+
+			@Override
+			public List<Double> embed(Document document) {
+				throw new UnsupportedOperationException();
+			}
+
+		};
+
+		List<EmbeddingVector> vectors = embeddingClient.embed(documents("a", "bb", "ccc"), EmbeddingOptions.EMPTY,
+				new TokenCountBatchingStrategy(1000, 2));
+
+		assertThat(requests).hasSize(2);
+		assertThat(vectors).extracting(v -> v.get(0)).containsExactly(1f, 2f, 3f);
+	}
+
+	@Test
+	public void embedFormatsDocumentsLikeTheClient() {
+		List<String> texts = new ArrayList<>();
+		EmbeddingClient embeddingClient = new AbstractEmbeddingClient() {
+
+			@Override
+			public EmbeddingResponse call(EmbeddingRequest request) {
+				texts.addAll(request.getInstructions());
+				List<Embedding> embeddings = new ArrayList<>();
+				for (int i = 0; i < request.getInstructions().size(); i++) {
+					embeddings.add(new Embedding(new float[] { i }, i));
+				}
+				return new EmbeddingResponse(embeddings);
+			}
+
+			@Override
+			public List<Double> embed(Document document) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public String getEmbeddingContent(Document document) {
+				return document.getFormattedContent(MetadataMode.NONE);
+			}
+
+		};
+
+		embeddingClient.embed(List.of(new Document("content", Map.of("country", "BG"))), EmbeddingOptions.EMPTY,
+				new TokenCountBatchingStrategy());
+
+		assertThat(texts).containsExactly("content");
+	}
+
+	private static List<Document> documents(String... contents) {
+		List<Document> documents = new ArrayList<>();
+		for (String content : contents) {
+			documents.add(new Document(content, Map.of()));
+		}
+		return documents;
+	}
+
+}
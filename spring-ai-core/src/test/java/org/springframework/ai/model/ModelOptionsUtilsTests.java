@@ -15,6 +15,7 @@
  */
 package org.springframework.ai.model;
 
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -218,6 +219,49 @@ public class ModelOptionsUtilsTests {
 		assertThat(target.getSpecificField()).isNull();
 	}
 
+	record TestRequest(@JsonProperty("name") String name, @JsonProperty("age") long age,
+			@JsonProperty("stop") List<String> stop, @JsonProperty("metadata") Map<String, Object> metadata) {
+	}
+
+	@Test
+	public void mergeIntoRecord() {
+		TestSpecificOptions options = new TestSpecificOptions();
+		options.setName("John");
+		options.setAge(30);
+		TestRequest request = new TestRequest("Mike", 60, List.of("stop"), null);
+
+		TestRequest merged = ModelOptionsUtils.merge(options, request, TestRequest.class);
+
+		// the Integer age is converted to the long record component
+		assertThat(merged).isEqualTo(new TestRequest("John", 30, List.of("stop"), null));
+		assertThat(merged.stop()).isSameAs(request.stop());
+	}
+
+	@Test
+	public void mergeMapIntoRecord() {
+		TestRequest request = new TestRequest("Mike", 60, null, Map.of("key", "value"));
+
+		TestRequest merged = ModelOptionsUtils.merge(Map.of("stop", List.of("end"), "age", 20), request,
+				TestRequest.class);
+
+		assertThat(merged).isEqualTo(new TestRequest("Mike", 20, List.of("end"), Map.of("key", "value")));
+	}
+
+	@Test
+	public void mergeRecordIntoBeanWithAcceptedFieldNames() {
+		TestRequest request = new TestRequest("Mike", 60, null, null);
+		TestSpecificOptions options = new TestSpecificOptions();
+		options.setName("John");
+		options.setSpecificField("SpecificField");
+
+		TestSpecificOptions merged = ModelOptionsUtils.merge(request, options, TestSpecificOptions.class,
+				List.of("name", "specificField"));
+
+		assertThat(merged.getName()).isEqualTo("Mike");
+		assertThat(merged.getAge()).isNull();
+		assertThat(merged.getSpecificField()).isEqualTo("SpecificField");
+	}
+
 	@Test
 	public void getJsonPropertyValues() {
 		record TestRecord(@JsonProperty("field1") String fieldA, @JsonProperty("field2") String fieldB) {
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AbstractFunctionCallSupportTests {
+
+	@Test
+	public void functionsAreCalledConcurrentlyAndAnsweredInCallOrder() {
+		CountDownLatch started = new CountDownLatch(2);
+		TestFunctionCallSupport functionCallSupport = new TestFunctionCallSupport(
+				request -> request.size() == 1 ? "call:slow,fast" : String.join(" ", request.subList(2, 4)));
+		functionCallSupport.register("slow", input -> {
+			awaitOthers(started);
+			sleep(100);
+			return "slow-response";
+		});
+		functionCallSupport.register("fast", input -> {
+			awaitOthers(started);
+			return "fast-response";
+		});
+
+		String response = functionCallSupport.callWithFunctionSupport(List.of("question"));
+
+		assertThat(response).isEqualTo("slow-response fast-response");
+		assertThat(functionCallSupport.getFunctionCallStatistics().get("slow").getCallCount()).isEqualTo(1);
+		assertThat(functionCallSupport.getFunctionCallStatistics().get("slow").getMaxDuration())
+			.isGreaterThanOrEqualTo(Duration.ofMillis(100));
+	}
+
+	@Test
+	public void functionsNotCompletingInTimeFailTheCall() {
+		TestFunctionCallSupport functionCallSupport = new TestFunctionCallSupport(request -> "call:slow");
+		functionCallSupport.register("slow", input -> {
+			sleep(2_000);
+			return "slow-response";
+		});
+		functionCallSupport.setFunctionCallTimeout(Duration.ofMillis(100));
+
+		assertThatThrownBy(() -> functionCallSupport.callWithFunctionSupport(List.of("question")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("slow");
+	}
+
+	@Test
+	public void functionsNotCompletingInTimeAreInterrupted() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		TestFunctionCallSupport functionCallSupport = new TestFunctionCallSupport(request -> "call:blocked");
+		functionCallSupport.register("blocked", input -> {
+			try {
+				new CountDownLatch(1).await();
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+			}
+			return "blocked-response";
+		});
+		functionCallSupport.setFunctionCallTimeout(Duration.ofMillis(100));
+
+		assertThatThrownBy(() -> functionCallSupport.callWithFunctionSupport(List.of("question")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("blocked");
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void functionCallRoundsAreLimited() {
+		TestFunctionCallSupport functionCallSupport = new TestFunctionCallSupport(request -> "call:echo");
+		functionCallSupport.register("echo", input -> input);
+		functionCallSupport.setMaxFunctionCallRounds(3);
+
+		assertThatThrownBy(() -> functionCallSupport.callWithFunctionSupport(List.of("question")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("3 rounds");
+		assertThat(functionCallSupport.getFunctionCallStatistics().get("echo").getCallCount()).isEqualTo(3);
+
+		assertThatThrownBy(() -> functionCallSupport.callWithFunctionSupportStream(List.of("question")).blockLast())
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("3 rounds");
+	}
+
+	@Test
+	public void failingFunctionsAreCounted() {
+		TestFunctionCallSupport functionCallSupport = new TestFunctionCallSupport(request -> "call:failing");
+		functionCallSupport.register("failing", input -> {
+			throw new IllegalArgumentException("Invalid input");
+		});
+
+		assertThatThrownBy(() -> functionCallSupport.callWithFunctionSupport(List.of("question")))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThat(functionCallSupport.getFunctionCallStatistics().get("failing").getFailureCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void functionToolsAreCreatedOncePerSetOfFunctions() {
+		TestFunctionCallSupport functionCallSupport = new TestFunctionCallSupport(request -> "answer");
+		functionCallSupport.register("first", input -> input);
+		functionCallSupport.register("second", input -> input);
+		AtomicInteger creations = new AtomicInteger();
+		Function<List<FunctionCallback>, List<String>> toolsFactory = functionCallbacks -> {
+			creations.incrementAndGet();
+			return functionCallbacks.stream().map(FunctionCallback::getName).toList();
+		};
+
+		List<String> tools = functionCallSupport.resolveFunctionTools(Set.of("first", "second"), toolsFactory);
+
+		assertThat(tools).containsExactlyInAnyOrder("first", "second");
+		assertThat(functionCallSupport.resolveFunctionTools(Set.of("first", "second"), toolsFactory)).isSameAs(tools);
+		assertThat(functionCallSupport.resolveFunctionTools(Set.of("first"), toolsFactory)).containsExactly("first");
+		assertThat(creations.get()).isEqualTo(2);
+	}
+
+	private static void awaitOthers(CountDownLatch started) {
+		started.countDown();
+		try {
+			// Completes only when the other functions have started
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * The conversation is a list of strings, the model calls the functions by answering
+	 * {@code call:} followed by the comma separated function names.
+	 */
+	private static class TestFunctionCallSupport extends AbstractFunctionCallSupport<String, List<String>, String> {
+
+		private final Function<List<String>, String> model;
+
+		TestFunctionCallSupport(Function<List<String>, String> model) {
+			super(null);
+			this.model = model;
+		}
+
+		void register(String name, Function<String, String> function) {
+			this.functionCallbackRegister.put(name, new FunctionCallback() {
+
+				@Override
+				public String getName() {
+					return name;
+				}
+
+				@Override
+				public String getDescription() {
+					return name;
+				}
+
+				@Override
+				public String getInputTypeSchema() {
+					return "{}";
+				}
+
+				@Override
+				public String call(String functionInput) {
+					return function.apply(functionInput);
+				}
+
+			});
+		}
+
+		@Override
+		protected List<String> doCreateToolResponseRequest(List<String> previousRequest, String responseMessage,
+				List<String> conversationHistory) {
+			List<String> functionResponses = callFunctions(Arrays.stream(responseMessage.substring(5).split(","))
+				.map(name -> new FunctionInvocation(name, "{}"))
+				.toList());
+			List<String> request = new ArrayList<>(conversationHistory);
+			request.addAll(functionResponses);
+			return request;
+		}
+
+		@Override
+		protected List<String> doGetUserMessages(List<String> request) {
+			return request;
+		}
+
+		@Override
+		protected String doGetToolResponseMessage(String response) {
+			return response;
+		}
+
+		@Override
+		protected String doChatCompletion(List<String> request) {
+			return this.model.apply(request);
+		}
+
+		@Override
+		protected Flux<String> doChatCompletionStream(List<String> request) {
+			return Flux.defer(() -> Flux.just(this.model.apply(request)));
+		}
+
+		@Override
+		protected boolean isToolFunctionCall(String response) {
+			return response.startsWith("call:");
+		}
+
+	}
+
+}
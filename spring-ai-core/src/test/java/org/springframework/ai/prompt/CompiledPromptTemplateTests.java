@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.prompt.CompiledPromptTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class CompiledPromptTemplateTests {
+
+	@Test
+	public void cachedTemplatesAreShared() {
+		CompiledPromptTemplate template = CompiledPromptTemplate.of("Hello {name}");
+
+		assertThat(CompiledPromptTemplate.of("Hello {name}")).isSameAs(template);
+		assertThat(CompiledPromptTemplate.compile("Hello {name}")).isNotSameAs(template);
+		assertThat(template.getInputVariables()).containsExactly("name");
+	}
+
+	@Test
+	public void renderValidatesTheModel() {
+		CompiledPromptTemplate template = CompiledPromptTemplate.compile("{greeting} {name}");
+
+		assertThat(template.render(Map.of("greeting", "Hello", "name", "Bob"))).isEqualTo("Hello Bob");
+		assertThatExceptionOfType(IllegalStateException.class)
+			.isThrownBy(() -> template.render(Map.of("greeting", "Hello")))
+			.withMessage("All template variables were not replaced. Missing variable names are [name]");
+		assertThatExceptionOfType(IllegalStateException.class)
+			.isThrownBy(() -> template.render(Map.of("greeting", "Hello", "name", "Bob", "age", 42)))
+			.withMessage("All model variables were not replaced. Missing variable names are [age]");
+	}
+
+	@Test
+	public void invalidTemplatesAreRejected() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> CompiledPromptTemplate.compile("Hello {name"))
+			.withMessage("The template string is not valid.");
+	}
+
+	@Test
+	public void concurrentRendersDoNotShareValues() {
+		CompiledPromptTemplate template = CompiledPromptTemplate
+			.compile("The items of {name} are:{items:{item | {item}}}");
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+			for (int i = 0; i < 500; i++) {
+				String name = "user" + i;
+				List<String> items = List.of(" a" + i, " b" + i);
+				futures.add(CompletableFuture.supplyAsync(() -> template.render(Map.of("name", name, "items", items))
+					.equals("The items of " + name + " are:" + items.get(0) + items.get(1)), executor));
+			}
+			assertThat(futures).allMatch(CompletableFuture::join);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -15,7 +15,6 @@
  */
 package org.springframework.ai.prompt;
 
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.prompt.PromptTemplate;
@@ -93,7 +92,6 @@ public class PromptTemplateTest {
 		return model;
 	}
 
-	@Disabled("Need to improve PromptTemplate to better handle Resource toString and tracking with 'dynamicModel' for underlying StringTemplate")
 	@Test
 	public void testRenderResourceAsValue() throws Exception {
 		Map<String, Object> model = createTestMap();
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.tokenizer;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JTokkitTokenCountEstimatorTests {
+
+	private final JTokkitTokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
+
+	@Test
+	public void batchesAreCountedInTheOrderOfTheTexts() {
+		List<String> texts = IntStream.range(0, 200)
+			.mapToObj(i -> "The quick brown fox jumps over the lazy dog. ".repeat(i % 7 + 1) + i)
+			.toList();
+
+		int[] tokenCounts = this.tokenCountEstimator.estimateEach(texts);
+
+		assertThat(tokenCounts).hasSize(200);
+		for (int i = 0; i < texts.size(); i++) {
+			assertThat(tokenCounts[i]).isEqualTo(this.tokenCountEstimator.estimate(texts.get(i)));
+		}
+	}
+
+	@Test
+	public void cachedCountsMatchTheUncachedCounts() {
+		var cached = new JTokkitTokenCountEstimator(
+				Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE), 1);
+		String text = "Tokens of long messages are counted once and then looked up. ".repeat(10);
+		String otherText = "Evicts the least recently used token count from the cache. ".repeat(10);
+
+		assertThat(cached.estimate(text)).isEqualTo(this.tokenCountEstimator.estimate(text));
+		assertThat(cached.estimate(new String(text))).isEqualTo(this.tokenCountEstimator.estimate(text));
+		assertThat(cached.estimate(otherText)).isEqualTo(this.tokenCountEstimator.estimate(otherText));
+		assertThat(cached.estimateEachContent(List.of(new Document(text), new Document("short"))))
+			.containsExactly(this.tokenCountEstimator.estimate(text), this.tokenCountEstimator.estimate("short"));
+	}
+
+}
@@ -16,8 +16,11 @@
 package org.springframework.ai.transformer.splitter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -105,4 +108,49 @@ public class TextSplitterTests {
 
 	}
 
+	@Test
+	public void testParallelSplitPreservesOrder() {
+		TextSplitter splitter = new TextSplitter() {
+
+			@Override
+			protected List<String> splitText(String text) {
+				return List.of(text + "-1", text + "-2");
+			}
+		};
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			documents.add(new Document("doc" + i, Map.of("index", i)));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			splitter.setExecutor(executor);
+			List<Document> chunks = splitter.apply(documents);
+
+			assertThat(chunks).hasSize(200);
+			for (int i = 0; i < 100; i++) {
+				assertThat(chunks.get(2 * i).getContent()).isEqualTo("doc" + i + "-1");
+				assertThat(chunks.get(2 * i + 1).getContent()).isEqualTo("doc" + i + "-2");
+				assertThat(chunks.get(2 * i).getMetadata()).containsEntry("index", i);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testChunkMetadataIsCopiedOnWrite() {
+		Map<String, Object> metadata = new HashMap<>(Map.of("key1", "value1"));
+		List<Document> chunks = testTextSplitter.apply(List.of(new Document("In the end, writing arises.", metadata)));
+
+		chunks.get(0).getMetadata().put("key2", "value2");
+		chunks.get(1).getMetadata().remove("key1");
+		metadata.put("key3", "value3");
+
+		assertThat(chunks.get(0).getMetadata()).containsOnlyKeys("key1", "key2");
+		assertThat(chunks.get(1).getMetadata()).isEmpty();
+		assertThat(metadata).containsOnlyKeys("key1", "key3");
+	}
+
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.transformer.splitter;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenTextSplitterTests {
+
+	private final TokenTextSplitter splitter = new TokenTextSplitter(100, 50, 5, 10000, true);
+
+	private final String text = text(300);
+
+	@Test
+	public void chunksEndAtSentenceBoundaries() {
+		List<String> chunks = this.splitter.splitText(this.text);
+
+		assertThat(chunks).hasSizeGreaterThan(5);
+		assertThat(chunks).allMatch(chunk -> chunk.endsWith("."));
+		// the chunks are cut on token boundaries, no text is lost or repeated
+		assertThat(String.join(" ", chunks)).isEqualTo(this.text);
+	}
+
+	@Test
+	public void fragmentsAreSplitLikeTheWholeText() {
+		List<String> fragments = new ArrayList<>();
+		for (int i = 0; i < this.text.length(); i += 7) {
+			fragments.add(this.text.substring(i, Math.min(i + 7, this.text.length())));
+		}
+
+		List<String> chunks = this.splitter.splitText(Flux.fromIterable(fragments)).collectList().block();
+
+		assertThat(chunks).isEqualTo(this.splitter.splitText(this.text));
+	}
+
+	@Test
+	public void readerIsSplitLikeTheWholeText() {
+		List<String> chunks = this.splitter.splitText(new StringReader(this.text)).collectList().block();
+
+		assertThat(chunks).isEqualTo(this.splitter.splitText(this.text));
+	}
+
+	@Test
+	public void chunksAreEmittedBeforeTheTextIsComplete() {
+		List<String> chunks = this.splitter.splitText(Flux.just(this.text).concatWith(Flux.never()))
+			.take(2)
+			.collectList()
+			.block();
+
+		assertThat(chunks).containsExactlyElementsOf(this.splitter.splitText(this.text).subList(0, 2));
+	}
+
+	@Test
+	public void textWithoutWhitespaceIsChunkedBeforeItIsComplete() {
+		byte[] bytes = new byte[30_000];
+		new Random(0).nextBytes(bytes);
+		String base64 = Base64.getEncoder().encodeToString(bytes);
+		List<String> fragments = new ArrayList<>();
+		for (int i = 0; i < base64.length(); i += 100) {
+			fragments.add(base64.substring(i, Math.min(i + 100, base64.length())));
+		}
+
+		List<String> chunks = this.splitter.splitText(Flux.fromIterable(fragments).concatWith(Flux.never()))
+			.take(2)
+			.collectList()
+			.block(Duration.ofSeconds(10));
+
+		assertThat(chunks).hasSize(2);
+		assertThat(base64).startsWith(chunks.get(0) + chunks.get(1));
+	}
+
+	private static String text(int sentences) {
+		String[] topics = { "the weather", "vector databases", "token counting", "the history of writing" };
+		List<String> text = new ArrayList<>();
+		for (int i = 0; i < sentences; i++) {
+			text.add("Sentence number " + i + " is about " + topics[i % topics.length] + ".");
+		}
+		return String.join(" ", text);
+	}
+
+}
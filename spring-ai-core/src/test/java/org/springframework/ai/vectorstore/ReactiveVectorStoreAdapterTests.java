@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactiveVectorStoreAdapterTests {
+
+	@Test
+	public void operationsAreDeferredAndRunOffTheCallingThread() {
+		RecordingVectorStore vectorStore = new RecordingVectorStore();
+		ReactiveVectorStore reactiveVectorStore = vectorStore.reactive();
+
+		Mono<Void> add = reactiveVectorStore.add(List.of(new Document("1", "content", Map.of())));
+		assertThat(vectorStore.threads).isEmpty();
+
+		add.block();
+		List<Document> documents = reactiveVectorStore.similaritySearch("query").collectList().block();
+		Boolean deleted = reactiveVectorStore.delete(List.of("1")).block();
+
+		assertThat(documents).extracting(Document::getId).containsExactly("1");
+		assertThat(deleted).isTrue();
+		assertThat(vectorStore.threads).hasSize(3).doesNotContain(Thread.currentThread().getName());
+	}
+
+	private static class RecordingVectorStore implements VectorStore {
+
+		private final List<String> threads = new ArrayList<>();
+
+		private final List<Document> documents = new ArrayList<>();
+
+		@Override
+		public void add(List<Document> documents) {
+			this.threads.add(Thread.currentThread().getName());
+			this.documents.addAll(documents);
+		}
+
+		@Override
+		public Optional<Boolean> delete(List<String> idList) {
+			this.threads.add(Thread.currentThread().getName());
+			return Optional.of(this.documents.removeIf(document -> idList.contains(document.getId())));
+		}
+
+		@Override
+		public List<Document> similaritySearch(SearchRequest request) {
+			this.threads.add(Thread.currentThread().getName());
+			return List.copyOf(this.documents);
+		}
+
+	}
+
+}
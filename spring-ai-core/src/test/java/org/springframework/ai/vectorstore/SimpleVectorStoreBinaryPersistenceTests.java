@@ -0,0 +1,185 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.AbstractEmbeddingClient;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SimpleVectorStoreBinaryPersistenceTests {
+
+	@TempDir
+	File tempDir;
+
+	@Test
+	public void saveAndLoad() {
+		File file = new File(this.tempDir, "store.bin");
+		SimpleVectorStore vectorStore = new SimpleVectorStore(new CharacterEmbeddingClient());
+		vectorStore.add(List.of(new Document("1", "aaa", Map.of("country", "BG", "year", 2020)),
+				new Document("2", "bbb", Map.of("country", "NL"))));
+		vectorStore.saveBinary(file);
+
+		SimpleVectorStore loaded = new SimpleVectorStore(new CharacterEmbeddingClient());
+		loaded.loadBinary(file);
+
+		List<Document> results = loaded.similaritySearch(SearchRequest.query("a").withTopK(1));
+		assertThat(results).hasSize(1);
+		Document document = results.get(0);
+		assertThat(document.getId()).isEqualTo("1");
+		assertThat(document.getContent()).isEqualTo("aaa");
+		assertThat(document.getMetadata()).containsEntry("country", "BG").containsEntry("year", 2020);
+		assertThat(document.getEmbeddingVector().array()).containsExactly(1, 0, 0);
+		assertThat(loaded.similaritySearch(SearchRequest.query("a").withFilterExpression("country == 'NL'")))
+			.extracting(Document::getId)
+			.containsExactly("2");
+	}
+
+	@Test
+	public void changesAreAppendedToTheLoadedFile() {
+		File file = new File(this.tempDir, "store.bin");
+		SimpleVectorStore vectorStore = new SimpleVectorStore(new CharacterEmbeddingClient());
+		vectorStore.add(documents(10));
+		vectorStore.saveBinary(file);
+		long initialLength = file.length();
+
+		vectorStore.add(List.of(new Document("1", "ccc", Map.of())));
+		vectorStore.delete(List.of("2"));
+		vectorStore.saveBinary(file);
+		assertThat(file.length()).isGreaterThan(initialLength);
+
+		SimpleVectorStore loaded = new SimpleVectorStore(new CharacterEmbeddingClient());
+		loaded.loadBinary(file);
+		List<Document> results = loaded.similaritySearch(SearchRequest.query("c").withTopK(20));
+		assertThat(results).hasSize(9);
+		assertThat(results.get(0).getId()).isEqualTo("1");
+		assertThat(results).extracting(Document::getId).doesNotContain("2");
+	}
+
+	@Test
+	public void fileIsCompactedOnceMostRecordsAreStale() {
+		File file = new File(this.tempDir, "store.bin");
+		SimpleVectorStore vectorStore = new SimpleVectorStore(new CharacterEmbeddingClient());
+		vectorStore.add(documents(10));
+		vectorStore.saveBinary(file);
+		long initialLength = file.length();
+
+		vectorStore.delete(List.of("0", "1", "2", "3", "4", "5", "6"));
+		vectorStore.saveBinary(file);
+
+		assertThat(file.length()).isLessThan(initialLength);
+		SimpleVectorStore loaded = new SimpleVectorStore(new CharacterEmbeddingClient());
+		loaded.loadBinary(file);
+		assertThat(loaded.similaritySearch(SearchRequest.query("a").withTopK(20))).extracting(Document::getId)
+			.containsExactlyInAnyOrder("7", "8", "9");
+	}
+
+	@Test
+	public void incompleteTrailingSegmentIsIgnored() throws IOException {
+		File file = new File(this.tempDir, "store.bin");
+		SimpleVectorStore vectorStore = new SimpleVectorStore(new CharacterEmbeddingClient());
+		vectorStore.add(documents(3));
+		vectorStore.saveBinary(file);
+		vectorStore.add(List.of(new Document("3", "ccc", Map.of())));
+		vectorStore.saveBinary(file);
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(file.toPath()) - 1);
+		}
+
+		SimpleVectorStore loaded = new SimpleVectorStore(new CharacterEmbeddingClient());
+		loaded.loadBinary(file);
+		assertThat(loaded.similaritySearch(SearchRequest.query("a").withTopK(20))).extracting(Document::getId)
+			.containsExactlyInAnyOrder("0", "1", "2");
+	}
+
+	@Test
+	public void incompleteTrailingSegmentIsTruncatedBeforeAppending() throws IOException {
+		File file = new File(this.tempDir, "store.bin");
+		SimpleVectorStore vectorStore = new SimpleVectorStore(new CharacterEmbeddingClient());
+		vectorStore.add(documents(3));
+		vectorStore.saveBinary(file);
+		vectorStore.add(List.of(new Document("3", "ccc", Map.of())));
+		vectorStore.saveBinary(file);
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(file.toPath()) - 1);
+		}
+
+		SimpleVectorStore loaded = new SimpleVectorStore(new CharacterEmbeddingClient());
+		loaded.loadBinary(file);
+		loaded.add(List.of(new Document("4", "cccc", Map.of())));
+		loaded.saveBinary(file);
+
+		SimpleVectorStore reloaded = new SimpleVectorStore(new CharacterEmbeddingClient());
+		reloaded.loadBinary(file);
+		assertThat(reloaded.similaritySearch(SearchRequest.query("a").withTopK(20))).extracting(Document::getId)
+			.containsExactlyInAnyOrder("0", "1", "2", "4");
+	}
+
+	private static List<Document> documents(int count) {
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			documents.add(new Document(String.valueOf(i), "a".repeat(i + 1) + "b", Map.of("index", i)));
+		}
+		return documents;
+	}
+
+	/**
+	 * Embeds a text as the counts of the 'a', 'b' and 'c' characters it contains.
+	 */
+	private static class CharacterEmbeddingClient extends AbstractEmbeddingClient {
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			List<Embedding> embeddings = new ArrayList<>();
+			for (int i = 0; i < request.getInstructions().size(); i++) {
+				String text = request.getInstructions().get(i);
+				float[] vector = new float[3];
+				for (char c : text.toCharArray()) {
+					if (c >= 'a' && c <= 'c') {
+						vector[c - 'a']++;
+					}
+				}
+				embeddings.add(new Embedding(vector, i));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public List<Double> embed(Document document) {
+			return embed(document.getContent());
+		}
+
+	}
+
+}
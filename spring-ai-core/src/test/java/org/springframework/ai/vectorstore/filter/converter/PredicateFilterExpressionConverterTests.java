@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.filter.converter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.vectorstore.filter.Filter.Expression;
+import org.springframework.ai.vectorstore.filter.Filter.Group;
+import org.springframework.ai.vectorstore.filter.Filter.Key;
+import org.springframework.ai.vectorstore.filter.Filter.Value;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.AND;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.EQ;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.GTE;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.IN;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.LT;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.NE;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.NIN;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.NOT;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.OR;
+
+public class PredicateFilterExpressionConverterTests {
+
+	PredicateFilterExpressionConverter converter = new PredicateFilterExpressionConverter();
+
+	@Test
+	public void testEQ() {
+		// country == "BG"
+		Predicate<Map<String, Object>> predicate = converter
+			.convertExpression(new Expression(EQ, new Key("country"), new Value("BG")));
+
+		assertThat(predicate.test(Map.of("country", "BG"))).isTrue();
+		assertThat(predicate.test(Map.of("country", "NL"))).isFalse();
+		assertThat(predicate.test(Map.of())).isFalse();
+	}
+
+	@Test
+	public void testNumbersAreComparedByValue() {
+		// year >= 2020 AND price < 20.5
+		Predicate<Map<String, Object>> predicate = converter
+			.convertExpression(new Expression(AND, new Expression(GTE, new Key("year"), new Value(2020)),
+					new Expression(LT, new Key("price"), new Value(20.5))));
+
+		assertThat(predicate.test(Map.of("year", 2020L, "price", 20))).isTrue();
+		assertThat(predicate.test(Map.of("year", 2021.0, "price", 20.49f))).isTrue();
+		assertThat(predicate.test(Map.of("year", 2019, "price", 10))).isFalse();
+		assertThat(predicate.test(Map.of("year", "2021", "price", 10))).isFalse();
+
+		assertThat(converter.convertExpression(new Expression(EQ, new Key("year"), new Value(2020)))
+			.test(Map.of("year", 2020.0))).isTrue();
+	}
+
+	@Test
+	public void testInAndNin() {
+		// genre in ["comedy", "drama"] AND city nin ["Sofia", "Varna"]
+		Predicate<Map<String, Object>> predicate = converter.convertExpression(new Expression(AND,
+				new Expression(IN, new Key("genre"), new Value(List.of("comedy", "drama"))),
+				new Expression(NIN, new Key("city"), new Value(List.of("Sofia", "Varna")))));
+
+		assertThat(predicate.test(Map.of("genre", "drama", "city", "Plovdiv"))).isTrue();
+		assertThat(predicate.test(Map.of("genre", "drama"))).isTrue();
+		assertThat(predicate.test(Map.of("genre", "drama", "city", "Sofia"))).isFalse();
+		assertThat(predicate.test(Map.of("genre", "thriller", "city", "Plovdiv"))).isFalse();
+	}
+
+	@Test
+	public void testGroupOrAndNot() {
+		// NOT((country == "BG" OR year >= 2020) AND city != "Sofia")
+		Predicate<Map<String, Object>> predicate = converter.convertExpression(new Expression(NOT,
+				new Expression(AND,
+						new Group(new Expression(OR, new Expression(EQ, new Key("country"), new Value("BG")),
+								new Expression(GTE, new Key("year"), new Value(2020)))),
+						new Expression(NE, new Key("city"), new Value("Sofia")))));
+
+		assertThat(predicate.test(Map.of("country", "BG", "city", "Varna"))).isFalse();
+		assertThat(predicate.test(Map.of("country", "BG", "city", "Sofia"))).isTrue();
+		assertThat(predicate.test(Map.of("country", "NL", "year", 2019))).isTrue();
+		assertThat(predicate.test(Map.of("country", "NL", "year", 2021))).isFalse();
+	}
+
+	@Test
+	public void testTextExpression() {
+		Expression expression = new FilterExpressionTextParser()
+			.parse("isOpen == true && \"country code\" in ['BG', 'NL']");
+		Predicate<Map<String, Object>> predicate = converter.convertExpression(expression);
+
+		assertThat(predicate.test(Map.of("isOpen", true, "country code", "NL"))).isTrue();
+		assertThat(predicate.test(Map.of("isOpen", false, "country code", "NL"))).isFalse();
+	}
+
+	@Test
+	public void testCompiledPredicatesAreCached() {
+		Expression expression = new Expression(EQ, new Key("country"), new Value("BG"));
+		Expression equalExpression = new Expression(EQ, new Key("country"), new Value("BG"));
+
+		assertThat(converter.convertExpression(expression)).isSameAs(converter.convertExpression(equalExpression));
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.index;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.vectorstore.filter.Filter.Expression;
+import org.springframework.ai.vectorstore.filter.Filter.Key;
+import org.springframework.ai.vectorstore.filter.Filter.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.AND;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.EQ;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.GTE;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.IN;
+import static org.springframework.ai.vectorstore.filter.Filter.ExpressionType.OR;
+
+public class MetadataInvertedIndexTests {
+
+	@Test
+	public void candidatesOfIndexedKeys() {
+		MetadataInvertedIndex index = new MetadataInvertedIndex(List.of("country", "year"));
+		index.add("1", Map.of("country", "BG", "year", 2020));
+		index.add("2", Map.of("country", "NL", "year", 2020L));
+		index.add("3", Map.of("country", "BG", "year", 2021));
+
+		assertThat(index.candidates(new Expression(EQ, new Key("year"), new Value(2020.0)))).containsOnly("1", "2");
+		assertThat(index.candidates(new Expression(OR, new Expression(EQ, new Key("country"), new Value("NL")),
+				new Expression(IN, new Key("year"), new Value(List.of(2021)))))).containsOnly("2", "3");
+		// the range condition can not be resolved, the candidates are narrowed by country only
+		assertThat(index.candidates(new Expression(AND, new Expression(EQ, new Key("country"), new Value("BG")),
+				new Expression(GTE, new Key("year"), new Value(2021))))).containsOnly("1", "3");
+		// the city key is not indexed
+		assertThat(index.candidates(new Expression(OR, new Expression(EQ, new Key("country"), new Value("NL")),
+				new Expression(EQ, new Key("city"), new Value("Sofia"))))).isNull();
+
+		index.remove("1", Map.of("country", "BG", "year", 2020));
+		assertThat(index.candidates(new Expression(EQ, new Key("country"), new Value("BG")))).containsOnly("3");
+	}
+
+}
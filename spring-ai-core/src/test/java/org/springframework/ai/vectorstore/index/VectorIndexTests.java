@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore.index;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import org.springframework.ai.vectorstore.index.VectorIndex.ScoredId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class VectorIndexTests {
+
+	static Stream<Supplier<VectorIndex>> indexes() {
+		return Stream.of(() -> new FlatVectorIndex(2), HnswVectorIndex::new);
+	}
+
+	@ParameterizedTest
+	@MethodSource("indexes")
+	public void searchReturnsMostSimilarFirst(Supplier<VectorIndex> indexSupplier) {
+		VectorIndex index = indexSupplier.get();
+		index.add("x", new float[] { 1, 0, 0 });
+		index.add("y", new float[] { 0, 2, 0 });
+		index.add("xy", new float[] { 1, 1, 0 });
+
+		List<ScoredId> results = index.search(new float[] { 3, 0.5f, 0 }, 2, 0);
+
+		assertThat(results).extracting(ScoredId::id).containsExactly("x", "xy");
+		assertThat(results.get(0).score()).isCloseTo(3 / Math.sqrt(9.25), within(1e-6));
+	}
+
+	@ParameterizedTest
+	@MethodSource("indexes")
+	public void searchAppliesSimilarityThreshold(Supplier<VectorIndex> indexSupplier) {
+		VectorIndex index = indexSupplier.get();
+		index.add("x", new float[] { 1, 0 });
+		index.add("y", new float[] { 0, 1 });
+		index.add("-x", new float[] { -1, 0 });
+
+		assertThat(index.search(new float[] { 1, 0.1f }, 10, 0.5)).extracting(ScoredId::id).containsExactly("x");
+		assertThat(index.search(new float[] { 1, 0.1f }, 10, -1)).extracting(ScoredId::id)
+			.containsExactly("x", "y", "-x");
+	}
+
+	@ParameterizedTest
+	@MethodSource("indexes")
+	public void removeAndReplace(Supplier<VectorIndex> indexSupplier) {
+		VectorIndex index = indexSupplier.get();
+		index.add("a", new float[] { 1, 0 });
+		index.add("b", new float[] { 0, 1 });
+		index.add("c", new float[] { 1, 1 });
+
+		index.remove("a");
+		index.add("b", new float[] { 1, 0.1f });
+
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.search(new float[] { 1, 0 }, 10, -1)).extracting(ScoredId::id).containsExactly("b", "c");
+
+		index.clear();
+		assertThat(index.size()).isZero();
+		assertThat(index.search(new float[] { 1, 0 }, 10, -1)).isEmpty();
+	}
+
+	@Test
+	public void hnswRecallMatchesExactSearch() {
+		Random random = new Random(42);
+		int dimensions = 32;
+		float[][] centers = new float[20][dimensions];
+		for (float[] center : centers) {
+			for (int i = 0; i < dimensions; i++) {
+				center[i] = (float) random.nextGaussian();
+			}
+		}
+
+		FlatVectorIndex flat = new FlatVectorIndex();
+		HnswVectorIndex hnsw = new HnswVectorIndex(HnswVectorIndex.DEFAULT_M, HnswVectorIndex.DEFAULT_EF_CONSTRUCTION,
+				HnswVectorIndex.DEFAULT_EF_SEARCH, 7);
+		for (int i = 0; i < 2000; i++) {
+			float[] vector = new float[dimensions];
+			around(vector, centers[random.nextInt(centers.length)], random);
+			flat.add("doc-" + i, vector);
+			hnsw.add("doc-" + i, vector);
+		}
+
+		int hits = 0;
+		int total = 0;
+		for (int q = 0; q < 50; q++) {
+			float[] query = new float[dimensions];
+			around(query, centers[random.nextInt(centers.length)], random);
+			Set<String> expected = new HashSet<>();
+			flat.search(query, 10, -1).forEach(result -> expected.add(result.id()));
+			for (ScoredId result : hnsw.search(query, 10, -1)) {
+				if (expected.contains(result.id())) {
+					hits++;
+				}
+			}
+			total += expected.size();
+		}
+
+		assertThat((double) hits / total).isGreaterThan(0.9);
+	}
+
+	private static void around(float[] vector, float[] center, Random random) {
+		for (int i = 0; i < vector.length; i++) {
+			vector[i] = center[i] + 0.5f * (float) random.nextGaussian();
+		}
+	}
+
+}
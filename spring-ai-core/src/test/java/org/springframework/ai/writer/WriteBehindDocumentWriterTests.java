@@ -0,0 +1,229 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.writer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentWriter;
+import org.springframework.ai.writer.WriteBehindDocumentWriter.OverflowPolicy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class WriteBehindDocumentWriterTests {
+
+	private final List<List<Document>> batches = Collections.synchronizedList(new ArrayList<>());
+
+	private final DocumentWriter delegate = this.batches::add;
+
+	@Test
+	public void documentsAreCoalescedIntoBatches() {
+		WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(this.delegate)
+			.withMaxBatchSize(10)
+			.withFlushInterval(Duration.ofSeconds(5))
+			.build();
+
+		for (int i = 0; i < 25; i++) {
+			writer.write(List.of(new Document("message " + i)));
+		}
+		writer.close();
+
+		assertThat(this.batches).extracting(List::size).containsExactly(10, 10, 5);
+		assertThat(writer.getWrittenCount()).isEqualTo(25);
+		assertThat(writer.getQueueDepth()).isZero();
+	}
+
+	@Test
+	public void partialBatchesAreWrittenAfterTheFlushInterval() throws Exception {
+		CountDownLatch written = new CountDownLatch(1);
+		WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(documents -> {
+			this.batches.add(documents);
+			written.countDown();
+		}).withMaxBatchSize(10).withFlushInterval(Duration.ofMillis(50)).build();
+
+		writer.write(documents(3));
+
+		assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.batches).extracting(List::size).containsExactly(3);
+		writer.close();
+	}
+
+	@Test
+	public void overflowingDocumentsAreDroppedOrWrittenByTheCaller() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		DocumentWriter blockedDelegate = documents -> {
+			await(release);
+			this.batches.add(documents);
+		};
+
+		WriteBehindDocumentWriter dropping = WriteBehindDocumentWriter.builder(blockedDelegate)
+			.withCapacity(5)
+			.withMaxBatchSize(1)
+			.withFlushInterval(Duration.ZERO)
+			.withOverflowPolicy(OverflowPolicy.DROP)
+			.build();
+		dropping.write(documents(1));
+		// Wait for the background thread to block on the first document
+		while (dropping.getQueueDepth() > 0) {
+			Thread.sleep(10);
+		}
+		dropping.write(documents(8));
+		assertThat(dropping.getQueueDepth()).isEqualTo(5);
+		assertThat(dropping.getDroppedCount()).isEqualTo(3);
+		assertThat(dropping.getLag()).isPositive();
+
+		List<List<Document>> callerBatches = new ArrayList<>();
+		WriteBehindDocumentWriter callerRuns = WriteBehindDocumentWriter.builder(documents -> {
+			if (Thread.currentThread().getName().equals("write-behind-document-writer")) {
+				await(release);
+			}
+			else {
+				callerBatches.add(documents);
+			}
+		})
+			.withCapacity(5)
+			.withMaxBatchSize(1)
+			.withFlushInterval(Duration.ZERO)
+			.withOverflowPolicy(OverflowPolicy.CALLER_RUNS)
+			.build();
+		callerRuns.write(documents(1));
+		while (callerRuns.getQueueDepth() > 0) {
+			Thread.sleep(10);
+		}
+		callerRuns.write(documents(8));
+		assertThat(callerBatches).extracting(List::size).containsExactly(3);
+
+		release.countDown();
+		dropping.close();
+		callerRuns.close();
+		assertThat(dropping.getWrittenCount()).isEqualTo(6);
+	}
+
+	@Test
+	public void failedBatchesAreCounted() {
+		WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(documents -> {
+			throw new IllegalStateException("Store unavailable");
+		}).build();
+
+		writer.write(documents(4));
+		writer.close();
+
+		assertThat(writer.getFailedCount()).isEqualTo(4);
+		assertThat(writer.getWrittenCount()).isZero();
+	}
+
+	@Test
+	public void documentsAreRejectedAfterClose() {
+		WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(this.delegate).build();
+		writer.close();
+
+		assertThatIllegalStateException().isThrownBy(() -> writer.write(documents(1)));
+		assertThat(this.batches).isEmpty();
+	}
+
+	@Test
+	public void documentsAcceptedConcurrentlyWithCloseAreWritten() throws Exception {
+		WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(this.delegate)
+			.withCapacity(2)
+			.withMaxBatchSize(1)
+			.withFlushInterval(Duration.ZERO)
+			.build();
+
+		AtomicInteger accepted = new AtomicInteger();
+		List<Thread> producers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Thread producer = new Thread(() -> {
+				while (true) {
+					try {
+						writer.write(documents(1));
+						accepted.incrementAndGet();
+					}
+					catch (IllegalStateException ex) {
+						return;
+					}
+				}
+			});
+			producer.start();
+			producers.add(producer);
+		}
+		Thread.sleep(50);
+		writer.close();
+
+		for (Thread producer : producers) {
+			producer.join(5000);
+			assertThat(producer.isAlive()).isFalse();
+		}
+		assertThat(this.batches.stream().mapToInt(List::size).sum()).isEqualTo(accepted.get());
+		assertThat(writer.getWrittenCount()).isEqualTo(accepted.get());
+	}
+
+	@Test
+	public void callersWaitingForRoomAreReleasedByClose() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		WriteBehindDocumentWriter writer = WriteBehindDocumentWriter.builder(documents -> await(release))
+			.withCapacity(1)
+			.withMaxBatchSize(1)
+			.withFlushInterval(Duration.ZERO)
+			.withShutdownTimeout(Duration.ofMillis(100))
+			.build();
+
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread producer = new Thread(() -> {
+			try {
+				writer.write(documents(3));
+			}
+			catch (IllegalStateException ex) {
+				failure.set(ex);
+			}
+		});
+		producer.start();
+		// Wait for the producer to block on the full queue
+		while (writer.getQueueDepth() == 0) {
+			Thread.sleep(10);
+		}
+		writer.close();
+
+		producer.join(5000);
+		assertThat(producer.isAlive()).isFalse();
+		assertThat(failure.get()).isInstanceOf(IllegalStateException.class);
+		release.countDown();
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count).mapToObj(i -> new Document("message " + i)).toList();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -62,7 +62,8 @@ public class BedrockTitanEmbeddingAutoConfiguration {
 	public BedrockTitanEmbeddingClient titanEmbeddingClient(TitanEmbeddingBedrockApi titanEmbeddingApi,
 			BedrockTitanEmbeddingProperties properties) {
 
-		return new BedrockTitanEmbeddingClient(titanEmbeddingApi).withInputType(properties.getInputType());
+		return new BedrockTitanEmbeddingClient(titanEmbeddingApi, properties.toDispatcher())
+			.withInputType(properties.getInputType());
 	}
 
 }
@@ -15,8 +15,11 @@
  */
 package org.springframework.ai.autoconfigure.bedrock.titan;
 
+import java.time.Duration;
+
 import org.springframework.ai.bedrock.titan.BedrockTitanEmbeddingClient.InputType;
 import org.springframework.ai.bedrock.titan.api.TitanEmbeddingBedrockApi.TitanEmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingDispatcher;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -46,6 +49,23 @@ public class BedrockTitanEmbeddingProperties {
 	 */
 	private InputType inputType = InputType.IMAGE;
 
+	/**
+	 * Maximum number of embedding requests in flight when embedding several inputs.
+	 * Titan embeds one input per request, defaults to 1: one request at a time.
+	 */
+	private int concurrency = 1;
+
+	/**
+	 * Maximum number of attempts of each embedding request failing with a transient error,
+	 * such as rate limiting, a server error or an I/O failure, defaults to 1: no retries.
+	 */
+	private int maxAttempts = 1;
+
+	/**
+	 * Delay before the first retry of a failed embedding request, doubled on each retry.
+	 */
+	private Duration retryBackoff = EmbeddingDispatcher.DEFAULT_RETRY_BACKOFF;
+
 	public boolean isEnabled() {
 		return enabled;
 	}
@@ -74,4 +94,35 @@ public class BedrockTitanEmbeddingProperties {
 		return inputType;
 	}
 
+	public int getConcurrency() {
+		return this.concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	public int getMaxAttempts() {
+		return this.maxAttempts;
+	}
+
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+
+	public Duration getRetryBackoff() {
+		return this.retryBackoff;
+	}
+
+	public void setRetryBackoff(Duration retryBackoff) {
+		this.retryBackoff = retryBackoff;
+	}
+
+	/**
+	 * @return the dispatcher of the embedding requests configured by these properties.
+	 */
+	public EmbeddingDispatcher toDispatcher() {
+		return new EmbeddingDispatcher(this.concurrency, this.maxAttempts, this.retryBackoff);
+	}
+
 }
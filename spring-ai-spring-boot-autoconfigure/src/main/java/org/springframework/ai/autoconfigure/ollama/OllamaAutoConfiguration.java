@@ -66,7 +66,7 @@ public class OllamaAutoConfiguration {
 			matchIfMissing = true)
 	public OllamaEmbeddingClient ollamaEmbeddingClient(OllamaApi ollamaApi, OllamaEmbeddingProperties properties) {
 
-		return new OllamaEmbeddingClient(ollamaApi, properties.getOptions());
+		return new OllamaEmbeddingClient(ollamaApi, properties.getOptions(), properties.toDispatcher());
 	}
 
 	private static class PropertiesOllamaConnectionDetails implements OllamaConnectionDetails {
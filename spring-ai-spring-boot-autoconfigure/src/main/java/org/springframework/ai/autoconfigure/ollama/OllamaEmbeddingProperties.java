@@ -15,6 +15,9 @@
  */
 package org.springframework.ai.autoconfigure.ollama;
 
+import java.time.Duration;
+
+import org.springframework.ai.embedding.EmbeddingDispatcher;
 import org.springframework.ai.ollama.api.OllamaOptions;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
@@ -43,6 +46,23 @@ public class OllamaEmbeddingProperties {
 	@NestedConfigurationProperty
 	private OllamaOptions options = OllamaOptions.create().withModel(OllamaOptions.DEFAULT_MODEL);
 
+	/**
+	 * Maximum number of embedding requests in flight when embedding several texts.
+	 * Ollama embeds one text per request, defaults to 1: one request at a time.
+	 */
+	private int concurrency = 1;
+
+	/**
+	 * Maximum number of attempts of each embedding request failing with a transient error,
+	 * such as rate limiting, a server error or an I/O failure, defaults to 1: no retries.
+	 */
+	private int maxAttempts = 1;
+
+	/**
+	 * Delay before the first retry of a failed embedding request, doubled on each retry.
+	 */
+	private Duration retryBackoff = EmbeddingDispatcher.DEFAULT_RETRY_BACKOFF;
+
 	public String getModel() {
 		return this.options.getModel();
 	}
@@ -63,4 +83,35 @@ public class OllamaEmbeddingProperties {
 		return this.enabled;
 	}
 
+	public int getConcurrency() {
+		return this.concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	public int getMaxAttempts() {
+		return this.maxAttempts;
+	}
+
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+
+	public Duration getRetryBackoff() {
+		return this.retryBackoff;
+	}
+
+	public void setRetryBackoff(Duration retryBackoff) {
+		this.retryBackoff = retryBackoff;
+	}
+
+	/**
+	 * @return the dispatcher of the embedding requests configured by these properties.
+	 */
+	public EmbeddingDispatcher toDispatcher() {
+		return new EmbeddingDispatcher(this.concurrency, this.maxAttempts, this.retryBackoff);
+	}
+
 }
@@ -51,6 +51,10 @@ public class TransformersEmbeddingClientAutoConfiguration {
 		embeddingClient.setModelResource(properties.getOnnx().getModelUri());
 
 		embeddingClient.setGpuDeviceId(properties.getOnnx().getGpuDeviceId());
+		embeddingClient.setMaxBatchSize(properties.getOnnx().getMaxBatchSize());
+		embeddingClient.setSessionPoolSize(properties.getOnnx().getSessionPoolSize());
+		embeddingClient.setIntraOpNumThreads(properties.getOnnx().getIntraOpNumThreads());
+		embeddingClient.setInterOpNumThreads(properties.getOnnx().getInterOpNumThreads());
 
 		return embeddingClient;
 	}
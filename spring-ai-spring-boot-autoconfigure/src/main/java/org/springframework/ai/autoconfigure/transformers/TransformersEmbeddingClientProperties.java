@@ -160,6 +160,29 @@ public class TransformersEmbeddingClientProperties {
 		 */
 		private int gpuDeviceId = -1;
 
+		/**
+		 * Maximum number of texts run through the model at once. Defaults to 32.
+		 */
+		private int maxBatchSize = TransformersEmbeddingClient.DEFAULT_MAX_BATCH_SIZE;
+
+		/**
+		 * Number of ONNX runtime sessions, each holding a copy of the model. Defaults to
+		 * 1.
+		 */
+		private int sessionPoolSize = 1;
+
+		/**
+		 * Number of threads parallelizing the execution within nodes. Defaults to 0: the
+		 * ONNX runtime default.
+		 */
+		private int intraOpNumThreads = 0;
+
+		/**
+		 * Number of threads parallelizing the execution of the graph across nodes.
+		 * Defaults to 0: the ONNX runtime default.
+		 */
+		private int interOpNumThreads = 0;
+
 		public String getModelUri() {
 			return this.modelUri;
 		}
@@ -184,6 +207,38 @@ public class TransformersEmbeddingClientProperties {
 			this.modelOutputName = modelOutputName;
 		}
 
+		public int getMaxBatchSize() {
+			return this.maxBatchSize;
+		}
+
+		public void setMaxBatchSize(int maxBatchSize) {
+			this.maxBatchSize = maxBatchSize;
+		}
+
+		public int getSessionPoolSize() {
+			return this.sessionPoolSize;
+		}
+
+		public void setSessionPoolSize(int sessionPoolSize) {
+			this.sessionPoolSize = sessionPoolSize;
+		}
+
+		public int getIntraOpNumThreads() {
+			return this.intraOpNumThreads;
+		}
+
+		public void setIntraOpNumThreads(int intraOpNumThreads) {
+			this.intraOpNumThreads = intraOpNumThreads;
+		}
+
+		public int getInterOpNumThreads() {
+			return this.interOpNumThreads;
+		}
+
+		public void setInterOpNumThreads(int interOpNumThreads) {
+			this.interOpNumThreads = interOpNumThreads;
+		}
+
 	}
 
 	@NestedConfigurationProperty
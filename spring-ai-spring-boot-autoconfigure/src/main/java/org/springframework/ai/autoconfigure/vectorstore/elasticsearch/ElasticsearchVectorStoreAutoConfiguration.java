@@ -57,6 +57,18 @@ class ElasticsearchVectorStoreAutoConfiguration {
 		if (StringUtils.hasText(properties.getSimilarity())) {
 			elasticsearchVectorStoreOptions.setSimilarity(properties.getSimilarity());
 		}
+		if (properties.getHnswM() != null) {
+			elasticsearchVectorStoreOptions.setHnswM(properties.getHnswM());
+		}
+		if (properties.getHnswEfConstruction() != null) {
+			elasticsearchVectorStoreOptions.setHnswEfConstruction(properties.getHnswEfConstruction());
+		}
+		if (properties.getNumCandidates() != null) {
+			elasticsearchVectorStoreOptions.setNumCandidates(properties.getNumCandidates());
+		}
+		if (properties.isExactSearch() != null) {
+			elasticsearchVectorStoreOptions.setExactSearch(properties.isExactSearch());
+		}
 
 		return new ElasticsearchVectorStore(elasticsearchVectorStoreOptions, restClient, embeddingClient);
 	}
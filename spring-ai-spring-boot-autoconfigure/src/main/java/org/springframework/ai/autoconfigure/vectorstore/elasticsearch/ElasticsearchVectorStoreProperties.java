@@ -45,6 +45,28 @@ public class ElasticsearchVectorStoreProperties {
 	 */
 	private String similarity;
 
+	/**
+	 * The number of neighbors each node is connected to in the HNSW graph.
+	 */
+	private Integer hnswM;
+
+	/**
+	 * The number of candidates to track while building the HNSW graph.
+	 */
+	private Integer hnswEfConstruction;
+
+	/**
+	 * The number of nearest neighbor candidates considered per shard by approximate kNN
+	 * searches.
+	 */
+	private Integer numCandidates;
+
+	/**
+	 * Whether to search with an exact script_score query instead of an approximate kNN
+	 * search.
+	 */
+	private Boolean exactSearch;
+
 	public String getIndexName() {
 		return this.indexName;
 	}
@@ -77,4 +99,36 @@ public class ElasticsearchVectorStoreProperties {
 		this.similarity = similarity;
 	}
 
+	public Integer getHnswM() {
+		return hnswM;
+	}
+
+	public void setHnswM(Integer hnswM) {
+		this.hnswM = hnswM;
+	}
+
+	public Integer getHnswEfConstruction() {
+		return hnswEfConstruction;
+	}
+
+	public void setHnswEfConstruction(Integer hnswEfConstruction) {
+		this.hnswEfConstruction = hnswEfConstruction;
+	}
+
+	public Integer getNumCandidates() {
+		return numCandidates;
+	}
+
+	public void setNumCandidates(Integer numCandidates) {
+		this.numCandidates = numCandidates;
+	}
+
+	public Boolean isExactSearch() {
+		return exactSearch;
+	}
+
+	public void setExactSearch(Boolean exactSearch) {
+		this.exactSearch = exactSearch;
+	}
+
 }
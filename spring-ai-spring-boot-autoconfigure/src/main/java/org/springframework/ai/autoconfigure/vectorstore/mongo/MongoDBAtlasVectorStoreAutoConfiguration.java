@@ -52,6 +52,12 @@ public class MongoDBAtlasVectorStoreAutoConfiguration {
 		if (StringUtils.hasText(properties.getIndexName())) {
 			builder.withVectorIndexName(properties.getIndexName());
 		}
+		if (properties.getNumCandidates() != null) {
+			builder.withNumCandidates(properties.getNumCandidates());
+		}
+		if (properties.getMaxDocumentBatchSize() != null) {
+			builder.withMaxDocumentBatchSize(properties.getMaxDocumentBatchSize());
+		}
 		MongoDBAtlasVectorStore.MongoDBVectorStoreConfig config = builder.build();
 
 		return new MongoDBAtlasVectorStore(mongoTemplate, embeddingClient, config);
@@ -42,6 +42,16 @@ public class MongoDBAtlasVectorStoreProperties {
 	 */
 	private String indexName;
 
+	/**
+	 * The number of nearest neighbors considered by the searches. Defaults to 200.
+	 */
+	private Integer numCandidates;
+
+	/**
+	 * The maximum number of documents embedded and written at once. Defaults to 1000.
+	 */
+	private Integer maxDocumentBatchSize;
+
 	public String getCollectionName() {
 		return this.collectionName;
 	}
@@ -66,4 +76,20 @@ public class MongoDBAtlasVectorStoreProperties {
 		this.indexName = indexName;
 	}
 
+	public Integer getNumCandidates() {
+		return this.numCandidates;
+	}
+
+	public void setNumCandidates(Integer numCandidates) {
+		this.numCandidates = numCandidates;
+	}
+
+	public Integer getMaxDocumentBatchSize() {
+		return this.maxDocumentBatchSize;
+	}
+
+	public void setMaxDocumentBatchSize(Integer maxDocumentBatchSize) {
+		this.maxDocumentBatchSize = maxDocumentBatchSize;
+	}
+
 }
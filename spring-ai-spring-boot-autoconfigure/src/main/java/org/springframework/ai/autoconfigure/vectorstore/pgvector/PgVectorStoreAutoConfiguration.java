@@ -19,6 +19,7 @@ import javax.sql.DataSource;
 
 import org.springframework.ai.embedding.EmbeddingClient;
 import org.springframework.ai.vectorstore.PgVectorStore;
+import org.springframework.ai.vectorstore.PgVectorStore.PgSearchParameters;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -40,8 +41,22 @@ public class PgVectorStoreAutoConfiguration {
 	public PgVectorStore vectorStore(JdbcTemplate jdbcTemplate, EmbeddingClient embeddingClient,
 			PgVectorStoreProperties properties) {
 
-		return new PgVectorStore(jdbcTemplate, embeddingClient, properties.getDimensions(),
-				properties.getDistanceType(), properties.isRemoveExistingVectorStoreTable(), properties.getIndexType());
+		return PgVectorStore.builder(jdbcTemplate, embeddingClient)
+			.withDimensions(properties.getDimensions())
+			.withDistanceType(properties.getDistanceType())
+			.withRemoveExistingVectorStoreTable(properties.isRemoveExistingVectorStoreTable())
+			.withIndexType(properties.getIndexType())
+			.withMaxDocumentBatchSize(properties.getMaxDocumentBatchSize())
+			.withBulkLoad(properties.isBulkLoad())
+			.withSchemaName(properties.getSchemaName())
+			.withTableName(properties.getTableName())
+			.withVectorType(properties.getVectorType())
+			.withMetadataIndex(properties.isMetadataIndex())
+			.withHnswIndexParameters(properties.getHnswM(), properties.getHnswEfConstruction())
+			.withIvfFlatIndexParameters(properties.getIvfFlatLists())
+			.withSearchParameters(
+					new PgSearchParameters(properties.getHnswEfSearch(), properties.getIvfFlatProbes()))
+			.build();
 	}
 
 }
@@ -18,6 +18,7 @@ package org.springframework.ai.autoconfigure.vectorstore.pgvector;
 import org.springframework.ai.vectorstore.PgVectorStore;
 import org.springframework.ai.vectorstore.PgVectorStore.PgDistanceType;
 import org.springframework.ai.vectorstore.PgVectorStore.PgIndexType;
+import org.springframework.ai.vectorstore.PgVectorStore.PgVectorType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -36,6 +37,37 @@ public class PgVectorStoreProperties {
 
 	private boolean removeExistingVectorStoreTable = false;
 
+	private int maxDocumentBatchSize = PgVectorStore.DEFAULT_MAX_DOCUMENT_BATCH_SIZE;
+
+	private boolean bulkLoad = false;
+
+	private String schemaName;
+
+	private String tableName = PgVectorStore.VECTOR_TABLE_NAME;
+
+	private PgVectorType vectorType = PgVectorType.VECTOR;
+
+	private boolean metadataIndex = false;
+
+	/**
+	 * HNSW index build parameters, 0 for the pgvector defaults.
+	 */
+	private int hnswM = 0;
+
+	private int hnswEfConstruction = 0;
+
+	/**
+	 * IVFFlat index build parameter, 0 for the pgvector default.
+	 */
+	private int ivfFlatLists = 0;
+
+	/**
+	 * Search parameters, 0 for the server settings.
+	 */
+	private int hnswEfSearch = 0;
+
+	private int ivfFlatProbes = 0;
+
 	public int getDimensions() {
 		return dimensions;
 	}
@@ -68,4 +100,92 @@ public class PgVectorStoreProperties {
 		this.removeExistingVectorStoreTable = removeExistingVectorStoreTable;
 	}
 
+	public int getMaxDocumentBatchSize() {
+		return maxDocumentBatchSize;
+	}
+
+	public void setMaxDocumentBatchSize(int maxDocumentBatchSize) {
+		this.maxDocumentBatchSize = maxDocumentBatchSize;
+	}
+
+	public boolean isBulkLoad() {
+		return bulkLoad;
+	}
+
+	public void setBulkLoad(boolean bulkLoad) {
+		this.bulkLoad = bulkLoad;
+	}
+
+	public String getSchemaName() {
+		return schemaName;
+	}
+
+	public void setSchemaName(String schemaName) {
+		this.schemaName = schemaName;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public void setTableName(String tableName) {
+		this.tableName = tableName;
+	}
+
+	public PgVectorType getVectorType() {
+		return vectorType;
+	}
+
+	public void setVectorType(PgVectorType vectorType) {
+		this.vectorType = vectorType;
+	}
+
+	public boolean isMetadataIndex() {
+		return metadataIndex;
+	}
+
+	public void setMetadataIndex(boolean metadataIndex) {
+		this.metadataIndex = metadataIndex;
+	}
+
+	public int getHnswM() {
+		return hnswM;
+	}
+
+	public void setHnswM(int hnswM) {
+		this.hnswM = hnswM;
+	}
+
+	public int getHnswEfConstruction() {
+		return hnswEfConstruction;
+	}
+
+	public void setHnswEfConstruction(int hnswEfConstruction) {
+		this.hnswEfConstruction = hnswEfConstruction;
+	}
+
+	public int getIvfFlatLists() {
+		return ivfFlatLists;
+	}
+
+	public void setIvfFlatLists(int ivfFlatLists) {
+		this.ivfFlatLists = ivfFlatLists;
+	}
+
+	public int getHnswEfSearch() {
+		return hnswEfSearch;
+	}
+
+	public void setHnswEfSearch(int hnswEfSearch) {
+		this.hnswEfSearch = hnswEfSearch;
+	}
+
+	public int getIvfFlatProbes() {
+		return ivfFlatProbes;
+	}
+
+	public void setIvfFlatProbes(int ivfFlatProbes) {
+		this.ivfFlatProbes = ivfFlatProbes;
+	}
+
 }
@@ -15,6 +15,8 @@
  */
 package org.springframework.ai.autoconfigure.ollama;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -37,7 +39,10 @@ public class OllamaEmbeddingAutoConfigurationTests {
 			"spring.ai.ollama.base-url=TEST_BASE_URL",
 				"spring.ai.ollama.embedding.options.model=MODEL_XYZ",
 				"spring.ai.ollama.embedding.options.temperature=0.13",
-				"spring.ai.ollama.embedding.options.topK=13"
+				"spring.ai.ollama.embedding.options.topK=13",
+				"spring.ai.ollama.embedding.concurrency=8",
+				"spring.ai.ollama.embedding.max-attempts=3",
+				"spring.ai.ollama.embedding.retry-backoff=2s"
 				// @formatter:on
 		)
 			.withConfiguration(AutoConfigurations.of(RestClientAutoConfiguration.class, OllamaAutoConfiguration.class))
@@ -50,6 +55,9 @@ public class OllamaEmbeddingAutoConfigurationTests {
 				assertThat(embeddingProperties.getOptions().toMap()).containsKeys("temperature");
 				assertThat(embeddingProperties.getOptions().toMap().get("temperature")).isEqualTo(0.13);
 				assertThat(embeddingProperties.getOptions().getTopK()).isEqualTo(13);
+				assertThat(embeddingProperties.getConcurrency()).isEqualTo(8);
+				assertThat(embeddingProperties.getMaxAttempts()).isEqualTo(3);
+				assertThat(embeddingProperties.getRetryBackoff()).isEqualTo(Duration.ofSeconds(2));
 			});
 	}
 
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.ai.vectorstore.PgVectorStore;
 import org.springframework.ai.vectorstore.PgVectorStore.PgDistanceType;
 import org.springframework.ai.vectorstore.PgVectorStore.PgIndexType;
+import org.springframework.ai.vectorstore.PgVectorStore.PgVectorType;
 
 /**
  * @author Christian Tzolov
@@ -35,6 +36,17 @@ public class PgVectorStorePropertiesTests {
 		assertThat(props.getDistanceType()).isEqualTo(PgDistanceType.COSINE_DISTANCE);
 		assertThat(props.getIndexType()).isEqualTo(PgIndexType.HNSW);
 		assertThat(props.isRemoveExistingVectorStoreTable()).isFalse();
+		assertThat(props.getMaxDocumentBatchSize()).isEqualTo(PgVectorStore.DEFAULT_MAX_DOCUMENT_BATCH_SIZE);
+		assertThat(props.isBulkLoad()).isFalse();
+		assertThat(props.getSchemaName()).isNull();
+		assertThat(props.getTableName()).isEqualTo(PgVectorStore.VECTOR_TABLE_NAME);
+		assertThat(props.getVectorType()).isEqualTo(PgVectorType.VECTOR);
+		assertThat(props.isMetadataIndex()).isFalse();
+		assertThat(props.getHnswM()).isZero();
+		assertThat(props.getHnswEfConstruction()).isZero();
+		assertThat(props.getIvfFlatLists()).isZero();
+		assertThat(props.getHnswEfSearch()).isZero();
+		assertThat(props.getIvfFlatProbes()).isZero();
 	}
 
 	@Test
@@ -45,11 +57,33 @@ public class PgVectorStorePropertiesTests {
 		props.setDistanceType(PgDistanceType.EUCLIDEAN_DISTANCE);
 		props.setIndexType(PgIndexType.IVFFLAT);
 		props.setRemoveExistingVectorStoreTable(true);
+		props.setMaxDocumentBatchSize(500);
+		props.setBulkLoad(true);
+		props.setSchemaName("tenant_a");
+		props.setTableName("documents");
+		props.setVectorType(PgVectorType.HALFVEC);
+		props.setMetadataIndex(true);
+		props.setHnswM(24);
+		props.setHnswEfConstruction(128);
+		props.setIvfFlatLists(1000);
+		props.setHnswEfSearch(100);
+		props.setIvfFlatProbes(10);
 
 		assertThat(props.getDimensions()).isEqualTo(1536);
 		assertThat(props.getDistanceType()).isEqualTo(PgDistanceType.EUCLIDEAN_DISTANCE);
 		assertThat(props.getIndexType()).isEqualTo(PgIndexType.IVFFLAT);
 		assertThat(props.isRemoveExistingVectorStoreTable()).isTrue();
+		assertThat(props.getMaxDocumentBatchSize()).isEqualTo(500);
+		assertThat(props.isBulkLoad()).isTrue();
+		assertThat(props.getSchemaName()).isEqualTo("tenant_a");
+		assertThat(props.getTableName()).isEqualTo("documents");
+		assertThat(props.getVectorType()).isEqualTo(PgVectorType.HALFVEC);
+		assertThat(props.isMetadataIndex()).isTrue();
+		assertThat(props.getHnswM()).isEqualTo(24);
+		assertThat(props.getHnswEfConstruction()).isEqualTo(128);
+		assertThat(props.getIvfFlatLists()).isEqualTo(1000);
+		assertThat(props.getHnswEfSearch()).isEqualTo(100);
+		assertThat(props.getIvfFlatProbes()).isEqualTo(10);
 	}
 
 }
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.alibaba.fastjson2.JSONObject;
 import com.alibaba.fastjson2.TypeReference;
@@ -45,7 +46,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
@@ -115,6 +119,8 @@ public class AzureVectorStore implements VectorStore, InitializingBean {
 	 */
 	private final List<MetadataField> filterMetadataFields;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public record MetadataField(String name, SearchFieldDataType fieldType) {
 
 		public static MetadataField text(String name) {
@@ -162,15 +168,31 @@ public class AzureVectorStore implements VectorStore, InitializingBean {
 	 */
 	public AzureVectorStore(SearchIndexClient searchIndexClient, EmbeddingClient embeddingClient,
 			List<MetadataField> filterMetadataFields) {
+		this(searchIndexClient, embeddingClient, filterMetadataFields, new TokenCountBatchingStrategy());
+	}
+
+	/**
+	 * Constructs a new AzureCognitiveSearchVectorStore.
+	 * @param searchIndexClient A pre-configured Azure {@link SearchIndexClient} that CRUD
+	 * for Azure search indexes and factory for {@link SearchClient}.
+	 * @param embeddingClient The client for embedding operations.
+	 * @param filterMetadataFields List of metadata fields (as field name and type) that
+	 * can be used in similarity search query filter expressions.
+	 * @param batchingStrategy The strategy used to batch documents for embedding.
+	 */
+	public AzureVectorStore(SearchIndexClient searchIndexClient, EmbeddingClient embeddingClient,
+			List<MetadataField> filterMetadataFields, BatchingStrategy batchingStrategy) {
 
 		Assert.notNull(embeddingClient, "The embedding client can not be null.");
 		Assert.notNull(searchIndexClient, "The search index client can not be null.");
 		Assert.notNull(filterMetadataFields, "The filterMetadataFields can not be null.");
+		Assert.notNull(batchingStrategy, "The batching strategy can not be null.");
 
 		this.searchIndexClient = searchIndexClient;
 		this.embeddingClient = embeddingClient;
 		this.filterMetadataFields = filterMetadataFields;
 		this.filterExpressionConverter = new AzureAiSearchFilterExpressionConverter(filterMetadataFields);
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	/**
@@ -210,11 +232,13 @@ public class AzureVectorStore implements VectorStore, InitializingBean {
 			return; // nothing to do;
 		}
 
-		final var searchDocuments = documents.stream().map(document -> {
-			final var embeddings = this.embeddingClient.embed(document);
+		final var embeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY, this.batchingStrategy);
+
+		final var searchDocuments = IntStream.range(0, documents.size()).mapToObj(i -> {
+			final var document = documents.get(i);
 			SearchDocument searchDocument = new SearchDocument();
 			searchDocument.put(ID_FIELD_NAME, document.getId());
-			searchDocument.put(EMBEDDING_FIELD_NAME, embeddings);
+			searchDocument.put(EMBEDDING_FIELD_NAME, embeddings.get(i).asList());
 			searchDocument.put(CONTENT_FIELD_NAME, document.getContent());
 			searchDocument.put(METADATA_FIELD_NAME, new JSONObject(document.getMetadata()).toJSONString());
 
@@ -25,7 +25,9 @@ import org.springframework.ai.vectorstore.filter.Filter.Key;
 import org.springframework.ai.vectorstore.filter.Filter.Value;
 import org.springframework.ai.vectorstore.filter.converter.AbstractFilterExpressionConverter;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -42,10 +44,32 @@ class CassandraFilterExpressionConverter extends AbstractFilterExpressionConvert
 
 	private final Map<String, ColumnMetadata> columnsByName;
 
+	/**
+	 * The values of the converted expression, when converting with bind markers.
+	 */
+	private final List<Object> boundValues;
+
 	public CassandraFilterExpressionConverter(Collection<ColumnMetadata> columns) {
 
-		this.columnsByName = columns.stream()
-			.collect(Collectors.toMap((c) -> c.getName().asInternal(), Function.identity()));
+		this(columns.stream().collect(Collectors.toMap((c) -> c.getName().asInternal(), Function.identity())), null);
+	}
+
+	private CassandraFilterExpressionConverter(Map<String, ColumnMetadata> columnsByName, List<Object> boundValues) {
+		this.columnsByName = columnsByName;
+		this.boundValues = boundValues;
+	}
+
+	/**
+	 * Converts the expression into a where clause with a bind marker in place of each
+	 * value, so that all the expressions of the same shape share the same clause and
+	 * prepared statement.
+	 * @param expression the expression to convert.
+	 * @return the where clause and the values to bind, in the order of the markers.
+	 */
+	BoundExpression convertExpressionWithBindMarkers(Filter.Expression expression) {
+		List<Object> values = new ArrayList<>();
+		String cql = new CassandraFilterExpressionConverter(this.columnsByName, values).convertExpression(expression);
+		return new BoundExpression(cql, values);
 	}
 
 	@Override
@@ -119,6 +143,11 @@ class CassandraFilterExpressionConverter extends AbstractFilterExpressionConvert
 		if (DataTypes.SMALLINT.equals(column.getType())) {
 			v = ((Number) v).shortValue();
 		}
+		if (null != this.boundValues) {
+			this.boundValues.add(v);
+			context.append('?');
+			return;
+		}
 		context.append(CodecRegistry.DEFAULT.codecFor(column.getType()).format(v));
 	}
 
@@ -136,4 +165,10 @@ class CassandraFilterExpressionConverter extends AbstractFilterExpressionConvert
 		return column;
 	}
 
+	/**
+	 * A where clause with bind markers and the values to bind.
+	 */
+	record BoundExpression(String cql, List<Object> values) {
+	}
+
 }
@@ -15,11 +15,14 @@
  */
 package org.springframework.ai.vectorstore;
 
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
 import com.datastax.oss.driver.api.core.cql.Row;
-import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.data.CqlVector;
 import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
@@ -31,14 +34,23 @@ import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.CassandraFilterExpressionConverter.BoundExpression;
 import org.springframework.ai.vectorstore.CassandraVectorStoreConfig.SchemaColumn;
-import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
 import org.springframework.beans.factory.InitializingBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -83,6 +95,11 @@ import java.util.concurrent.ConcurrentMap;
  * the {@link #add(List<Document>)} method multiplied by the list size. This setting can
  * also serve as a protecting throttle against your embedding model.
  *
+ * The documents of an {@link #add(List<Document>)} call sharing the same partition key
+ * are inserted together in unlogged batches of up to {@value #MAX_ADD_BATCH_SIZE}
+ * documents. Similarity searches are prepared once for each shape of filter expression,
+ * the query embedding and the filter values are bound to the prepared statement.
+ *
  * @author Mick Semb Wever
  * @see VectorStore
  * @see org.springframework.ai.vectorstore.CassandraVectorStoreConfig
@@ -107,7 +124,20 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 
 	public static final String DRIVER_PROFILE_SEARCH = "spring-ai-search";
 
-	private static final String QUERY_FORMAT = "select %s,%s,%s%s from %s.%s ? order by %s ann of ? limit ?";
+	/**
+	 * The maximum number of documents of a same partition inserted in one unlogged batch.
+	 */
+	public static final int MAX_ADD_BATCH_SIZE = 100;
+
+	private static final String QUERY_FORMAT = "select %s,%s,%s%s from %s.%s%s order by %s ann of ? limit ?";
+
+	private static final BoundExpression NO_FILTER = new BoundExpression("", List.of());
+
+	/**
+	 * The maximum number of similarity search statements kept prepared, the least
+	 * recently used ones are released first.
+	 */
+	private static final int MAX_SIMILARITY_STATEMENTS = 100;
 
 	private static final Logger logger = LoggerFactory.getLogger(CassandraVectorStore.class);
 
@@ -115,23 +145,44 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 
 	private final EmbeddingClient embeddingClient;
 
-	private final FilterExpressionConverter filterExpressionConverter;
+	private final CassandraFilterExpressionConverter filterExpressionConverter;
 
 	private final ConcurrentMap<Set<String>, PreparedStatement> addStmts = new ConcurrentHashMap<>();
 
 	private final PreparedStatement deleteStmt;
 
-	private final String similarityStmt;
+	/**
+	 * The similarity search statements by where clause. Bounded, as each length of the IN
+	 * lists of the filters gives another where clause.
+	 */
+	private final Map<String, PreparedStatement> similarityStmts = Collections
+		.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+				return size() > MAX_SIMILARITY_STATEMENTS;
+			}
+
+		});
 
 	private final Similarity similarity;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public CassandraVectorStore(CassandraVectorStoreConfig conf, EmbeddingClient embeddingClient) {
+		this(conf, embeddingClient, new TokenCountBatchingStrategy());
+	}
+
+	public CassandraVectorStore(CassandraVectorStoreConfig conf, EmbeddingClient embeddingClient,
+			BatchingStrategy batchingStrategy) {
 
 		Preconditions.checkArgument(null != conf, "Config must not be null");
 		Preconditions.checkArgument(null != embeddingClient, "Embedding client must not be null");
+		Preconditions.checkArgument(null != batchingStrategy, "BatchingStrategy must not be null");
 
 		this.conf = conf;
 		this.embeddingClient = embeddingClient;
+		this.batchingStrategy = batchingStrategy;
 		conf.ensureSchemaExists(embeddingClient.dimensions());
 		prepareAddStatement(Set.of());
 		this.deleteStmt = prepareDeleteStatement();
@@ -143,7 +194,6 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 			.get();
 
 		this.similarity = getIndexSimilarity(cassandraMetadata);
-		this.similarityStmt = similaritySearchStatement();
 
 		this.filterExpressionConverter = new CassandraFilterExpressionConverter(
 				cassandraMetadata.getColumns().values());
@@ -151,39 +201,14 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 
 	@Override
 	public void add(List<Document> documents) {
-		var futures = new CompletableFuture[documents.size()];
+		embedDocuments(documents);
+		List<Statement<?>> statements = addStatements(documents);
+
+		var futures = new CompletableFuture[statements.size()];
 
 		int i = 0;
-		for (Document d : documents) {
-			futures[i++] = CompletableFuture.runAsync(() -> {
-				List<Object> primaryKeyValues = this.conf.documentIdTranslator.apply(d.getId());
-
-				if (null == d.getEmbedding() || d.getEmbedding().isEmpty()) {
-					d.setEmbedding(this.embeddingClient.embed(d));
-				}
-
-				BoundStatementBuilder builder = prepareAddStatement(d.getMetadata().keySet()).boundStatementBuilder();
-				for (int k = 0; k < primaryKeyValues.size(); ++k) {
-					SchemaColumn keyColumn = this.conf.getPrimaryKeyColumn(k);
-					builder = builder.set(keyColumn.name(), primaryKeyValues.get(k), keyColumn.javaType());
-				}
-
-				builder = builder.setString(this.conf.schema.content(), d.getContent())
-					.setVector(this.conf.schema.embedding(),
-							CqlVector.newInstance(d.getEmbedding().stream().map(Double::floatValue).toList()),
-							Float.class);
-
-				for (var metadataColumn : this.conf.schema.metadataColumns()
-					.stream()
-					.filter((mc) -> d.getMetadata().containsKey(mc.name()))
-					.toList()) {
-
-					builder = builder.set(metadataColumn.name(), d.getMetadata().get(metadataColumn.name()),
-							metadataColumn.javaType());
-				}
-				BoundStatement s = builder.build().setExecutionProfileName(DRIVER_PROFILE_UPDATES);
-				this.conf.session.execute(s);
-			}, this.conf.executor);
+		for (Statement<?> s : statements) {
+			futures[i++] = CompletableFuture.runAsync(() -> this.conf.session.execute(s), this.conf.executor);
 		}
 		CompletableFuture.allOf(futures).join();
 	}
@@ -193,9 +218,7 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 		CompletableFuture[] futures = new CompletableFuture[idList.size()];
 		int i = 0;
 		for (String id : idList) {
-			List<Object> primaryKeyValues = this.conf.documentIdTranslator.apply(id);
-			BoundStatement s = this.deleteStmt.bind(primaryKeyValues.toArray());
-			futures[i++] = this.conf.session.executeAsync(s).toCompletableFuture();
+			futures[i++] = this.conf.session.executeAsync(bindDeleteStatement(id)).toCompletableFuture();
 		}
 		CompletableFuture.allOf(futures).join();
 		return Optional.of(Boolean.TRUE);
@@ -204,46 +227,66 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 	@Override
 	public List<Document> similaritySearch(SearchRequest request) {
 		Preconditions.checkArgument(request.getTopK() <= 1000);
-		var embedding = toFloatArray(this.embeddingClient.embed(request.getQuery()));
-		CqlVector<Float> cqlVector = CqlVector.newInstance(embedding);
-
-		String whereClause = "";
-		if (request.hasFilterExpression()) {
-			String expression = this.filterExpressionConverter.convertExpression(request.getFilterExpression());
-			if (!expression.isBlank()) {
-				whereClause = String.format("where %s", expression);
-			}
-		}
+		BoundStatement s = similaritySearchStatement(request, this.embeddingClient.embedAsFloats(request.getQuery()));
 
-		String query = String.format(this.similarityStmt, cqlVector, whereClause, cqlVector, request.getTopK());
 		List<Document> documents = new ArrayList<>();
-		logger.trace("Executing {}", query);
-		SimpleStatement s = SimpleStatement.newInstance(query).setExecutionProfileName(DRIVER_PROFILE_SEARCH);
-
 		for (Row row : this.conf.session.execute(s)) {
 			float score = row.getFloat(0);
 			if (score < request.getSimilarityThreshold()) {
 				break;
 			}
-			Map<String, Object> docFields = new HashMap<>();
-			docFields.put(SIMILARITY_FIELD_NAME, score);
-			for (var metadata : this.conf.schema.metadataColumns()) {
-				var value = row.get(metadata.name(), metadata.javaType());
-				if (null != value) {
-					docFields.put(metadata.name(), value);
-				}
+			documents.add(toDocument(row, score));
+		}
+		return documents;
+	}
+
+	/**
+	 * Returns a non-blocking view of this store, executing the statements with the
+	 * reactive API of the driver. Only the embedding of the documents and queries, done
+	 * by the blocking {@link EmbeddingClient}, runs on a
+	 * {@link Schedulers#boundedElastic()} worker. At most
+	 * {@link CassandraVectorStoreConfig.Builder#withFixedThreadPoolExecutorSize(int)}
+	 * statements are executed concurrently.
+	 * @return the reactive view of this vector store.
+	 */
+	@Override
+	public ReactiveVectorStore reactive() {
+		return new ReactiveVectorStore() {
+
+			@Override
+			public Mono<Void> add(List<Document> documents) {
+				// Binding can prepare a statement for a new set of metadata columns, which blocks
+				return Mono.fromCallable(() -> {
+					embedDocuments(documents);
+					return addStatements(documents);
+				})
+					.subscribeOn(Schedulers.boundedElastic())
+					.flatMapIterable(statements -> statements)
+					.flatMap(s -> Flux.from(conf.session.executeReactive(s)), conf.addConcurrency)
+					.then();
+			}
+
+			@Override
+			public Mono<Boolean> delete(List<String> idList) {
+				return Flux.fromIterable(idList)
+					.flatMap(id -> Flux.from(conf.session.executeReactive(bindDeleteStatement(id))))
+					.then(Mono.just(Boolean.TRUE));
 			}
-			Document doc = new Document(getDocumentId(row), row.getString(this.conf.schema.content()), docFields);
 
-			if (this.conf.returnEmbeddings) {
-				doc.setEmbedding(row.getVector(this.conf.schema.embedding(), Float.class)
-					.stream()
-					.map(Float::doubleValue)
-					.toList());
+			@Override
+			public Flux<Document> similaritySearch(SearchRequest request) {
+				Preconditions.checkArgument(request.getTopK() <= 1000);
+				// Binding can prepare a statement for a new filter expression shape, which blocks
+				return Mono
+					.fromCallable(() -> similaritySearchStatement(request,
+							embeddingClient.embedAsFloats(request.getQuery())))
+					.subscribeOn(Schedulers.boundedElastic())
+					.flatMapMany(s -> Flux.from(conf.session.executeReactive(s)))
+					.takeWhile(row -> row.getFloat(0) >= request.getSimilarityThreshold())
+					.map(row -> toDocument(row, row.getFloat(0)));
 			}
-			documents.add(doc);
-		}
-		return documents;
+
+		};
 	}
 
 	@Override
@@ -259,6 +302,116 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 		this.conf.checkSchemaValid(embeddingClient.dimensions());
 	}
 
+	/**
+	 * Computes the embeddings of the documents that don't have one yet.
+	 */
+	private void embedDocuments(List<Document> documents) {
+		List<Document> documentsToEmbed = documents.stream().filter(d -> d.getEmbeddingVector().isEmpty()).toList();
+		if (!documentsToEmbed.isEmpty()) {
+			List<EmbeddingVector> embeddings = this.embeddingClient.embed(documentsToEmbed, EmbeddingOptions.EMPTY,
+					this.batchingStrategy);
+			for (int k = 0; k < documentsToEmbed.size(); ++k) {
+				documentsToEmbed.get(k).setEmbeddingVector(embeddings.get(k));
+			}
+		}
+	}
+
+	/**
+	 * Binds the add statements of the documents and groups them by partition key, in
+	 * unlogged batches of up to {@link #MAX_ADD_BATCH_SIZE} statements. Batches
+	 * restricted to a single partition are applied as a single mutation by the replicas.
+	 */
+	private List<Statement<?>> addStatements(List<Document> documents) {
+		int partitionKeysCount = this.conf.schema.partitionKeys().size();
+		Map<List<Object>, List<BatchableStatement<?>>> statementsByPartition = new LinkedHashMap<>();
+		for (Document d : documents) {
+			List<Object> primaryKeyValues = this.conf.documentIdTranslator.apply(d.getId());
+			statementsByPartition
+				.computeIfAbsent(primaryKeyValues.subList(0, partitionKeysCount), (k) -> new ArrayList<>())
+				.add(bindAddStatement(d, primaryKeyValues));
+		}
+
+		List<Statement<?>> statements = new ArrayList<>();
+		for (List<BatchableStatement<?>> partitionStatements : statementsByPartition.values()) {
+			for (int from = 0; from < partitionStatements.size(); from += MAX_ADD_BATCH_SIZE) {
+				List<BatchableStatement<?>> batch = partitionStatements.subList(from,
+						Math.min(from + MAX_ADD_BATCH_SIZE, partitionStatements.size()));
+				statements.add(1 == batch.size() ? batch.get(0)
+						: BatchStatement.newInstance(DefaultBatchType.UNLOGGED, batch)
+							.setExecutionProfileName(DRIVER_PROFILE_UPDATES));
+			}
+		}
+		return statements;
+	}
+
+	private BoundStatement bindAddStatement(Document d, List<Object> primaryKeyValues) {
+		BoundStatementBuilder builder = prepareAddStatement(d.getMetadata().keySet()).boundStatementBuilder();
+		for (int k = 0; k < primaryKeyValues.size(); ++k) {
+			SchemaColumn keyColumn = this.conf.getPrimaryKeyColumn(k);
+			builder = builder.set(keyColumn.name(), primaryKeyValues.get(k), keyColumn.javaType());
+		}
+
+		builder = builder.setString(this.conf.schema.content(), d.getContent())
+			.setVector(this.conf.schema.embedding(), CqlVector.newInstance(toFloatArray(d.getEmbeddingVector())),
+					Float.class);
+
+		for (var metadataColumn : this.conf.schema.metadataColumns()) {
+			if (d.getMetadata().containsKey(metadataColumn.name())) {
+				builder = builder.set(metadataColumn.name(), d.getMetadata().get(metadataColumn.name()),
+						metadataColumn.javaType());
+			}
+		}
+		return builder.build().setExecutionProfileName(DRIVER_PROFILE_UPDATES);
+	}
+
+	private BoundStatement bindDeleteStatement(String id) {
+		List<Object> primaryKeyValues = this.conf.documentIdTranslator.apply(id);
+		return this.deleteStmt.bind(primaryKeyValues.toArray());
+	}
+
+	private BoundStatement similaritySearchStatement(SearchRequest request, EmbeddingVector embedding) {
+		CqlVector<Float> cqlVector = CqlVector.newInstance(toFloatArray(embedding));
+
+		BoundExpression filter = NO_FILTER;
+		if (request.hasFilterExpression()) {
+			filter = this.filterExpressionConverter.convertExpressionWithBindMarkers(request.getFilterExpression());
+		}
+		String whereClause = filter.cql().isBlank() ? "" : " where " + filter.cql();
+		PreparedStatement stmt = this.similarityStmts.get(whereClause);
+		if (null == stmt) {
+			// prepared outside of the lock of the statements
+			stmt = this.conf.session.prepare(similaritySearchStatement(whereClause));
+			this.similarityStmts.put(whereClause, stmt);
+		}
+
+		// the query embedding is bound twice, for the similarity score and the ann ordering
+		Object[] values = new Object[filter.values().size() + 3];
+		values[0] = cqlVector;
+		for (int i = 0; i < filter.values().size(); ++i) {
+			values[i + 1] = filter.values().get(i);
+		}
+		values[values.length - 2] = cqlVector;
+		values[values.length - 1] = request.getTopK();
+		return stmt.bind(values).setExecutionProfileName(DRIVER_PROFILE_SEARCH);
+	}
+
+	private Document toDocument(Row row, float score) {
+		Map<String, Object> docFields = new HashMap<>();
+		docFields.put(SIMILARITY_FIELD_NAME, score);
+		for (var metadata : this.conf.schema.metadataColumns()) {
+			var value = row.get(metadata.name(), metadata.javaType());
+			if (null != value) {
+				docFields.put(metadata.name(), value);
+			}
+		}
+		Document doc = new Document(getDocumentId(row), row.getString(this.conf.schema.content()), docFields);
+
+		if (this.conf.returnEmbeddings) {
+			doc.setEmbeddingVector(toEmbeddingVector(row.getVector(this.conf.schema.embedding(), Float.class)));
+		}
+		return doc;
+	}
+
 	private Similarity getIndexSimilarity(TableMetadata metadata) {
 
 		return Similarity.valueOf(metadata.getIndex(this.conf.schema.index())
@@ -313,7 +466,7 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 		});
 	}
 
-	private String similaritySearchStatement() {
+	private String similaritySearchStatement(String whereClause) {
 		StringBuilder ids = new StringBuilder();
 		for (var m : this.conf.schema.partitionKeys()) {
 			ids.append(m.name()).append(',');
@@ -339,10 +492,9 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 
 		// java-driver-query-builder doesn't support orderByAnnOf yet
 		String query = String.format(QUERY_FORMAT, similarityFunction, ids.toString(), this.conf.schema.content(),
-				extraSelectFields.toString(), this.conf.schema.keyspace(), this.conf.schema.table(),
+				extraSelectFields.toString(), this.conf.schema.keyspace(), this.conf.schema.table(), whereClause,
 				this.conf.schema.embedding());
 
-		query = query.replace("?", "%s");
 		logger.debug("preparing {}", query);
 		return query;
 	}
@@ -358,13 +510,21 @@ public class CassandraVectorStore implements VectorStore, InitializingBean, Auto
 		return this.conf.primaryKeyTranslator.apply(primaryKeyValues);
 	}
 
-	private static Float[] toFloatArray(List<Double> embeddingDouble) {
-		Float[] embeddingFloat = new Float[embeddingDouble.size()];
-		int i = 0;
-		for (Double d : embeddingDouble) {
-			embeddingFloat[i++] = d.floatValue();
+	private static Float[] toFloatArray(EmbeddingVector embedding) {
+		float[] values = embedding.array();
+		Float[] embeddingFloat = new Float[values.length];
+		for (int i = 0; i < values.length; i++) {
+			embeddingFloat[i] = values[i];
 		}
 		return embeddingFloat;
 	}
 
+	private static EmbeddingVector toEmbeddingVector(CqlVector<Float> cqlVector) {
+		float[] values = new float[cqlVector.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = cqlVector.get(i);
+		}
+		return EmbeddingVector.of(values);
+	}
+
 }
@@ -138,6 +138,8 @@ public class CassandraVectorStoreConfig implements AutoCloseable {
 
 	final Executor executor;
 
+	final int addConcurrency;
+
 	private final boolean closeSessionOnClose;
 
 	private CassandraVectorStoreConfig(Builder builder) {
@@ -152,6 +154,7 @@ public class CassandraVectorStoreConfig implements AutoCloseable {
 		this.documentIdTranslator = builder.documentIdTranslator;
 		this.primaryKeyTranslator = builder.primaryKeyTranslator;
 		this.executor = Executors.newFixedThreadPool(builder.fixedThreadPoolExecutorSize);
+		this.addConcurrency = builder.fixedThreadPoolExecutorSize;
 	}
 
 	public static Builder builder() {
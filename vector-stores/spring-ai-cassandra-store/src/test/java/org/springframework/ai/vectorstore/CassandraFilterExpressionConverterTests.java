@@ -199,6 +199,29 @@ class CassandraFilterExpressionConverterTests {
 		assertThat(vectorExpr).isEqualTo("\"'country 1 2 3'\" = 'BG'");
 	}
 
+	@Test
+	void testBindMarkers() {
+		CassandraFilterExpressionConverter filter = new CassandraFilterExpressionConverter(COLUMNS);
+
+		// genre == "drama" AND year >= 2020 AND country IN ["BG", "NL"]
+		CassandraFilterExpressionConverter.BoundExpression expression = filter
+			.convertExpressionWithBindMarkers(new Expression(AND,
+					new Expression(AND, new Expression(EQ, new Key("genre"), new Value("drama")),
+							new Expression(GTE, new Key("year"), new Value(2020))),
+					new Expression(IN, new Key("country"), new Value(List.of("BG", "NL")))));
+
+		assertThat(expression.cql()).isEqualTo("\"genre\" = ? and \"year\" >= ? and \"country\" IN (?,?)");
+		assertThat(expression.values()).containsExactly("drama", (short) 2020, "BG", "NL");
+
+		// the same shape with other values gives the same clause
+		assertThat(filter
+			.convertExpressionWithBindMarkers(new Expression(AND,
+					new Expression(AND, new Expression(EQ, new Key("genre"), new Value("comedy")),
+							new Expression(GTE, new Key("year"), new Value(1999))),
+					new Expression(IN, new Key("country"), new Value(List.of("US", "FR")))))
+			.cql()).isEqualTo(expression.cql());
+	}
+
 	private static final CqlIdentifier T = CqlIdentifier.fromInternal("test");
 
 	private static final Collection<ColumnMetadata> COLUMNS = Set.of(
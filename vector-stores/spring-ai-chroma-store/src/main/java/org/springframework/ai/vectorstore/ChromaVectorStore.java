@@ -26,7 +26,11 @@ import org.springframework.ai.chroma.ChromaApi.AddEmbeddingsRequest;
 import org.springframework.ai.chroma.ChromaApi.DeleteEmbeddingsRequest;
 import org.springframework.ai.chroma.ChromaApi.Embedding;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
 import org.springframework.ai.vectorstore.filter.converter.ChromaFilterExpressionConverter;
 import org.springframework.beans.factory.InitializingBean;
@@ -61,15 +65,24 @@ public class ChromaVectorStore implements VectorStore, InitializingBean {
 
 	private String collectionId;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public ChromaVectorStore(EmbeddingClient embeddingClient, ChromaApi chromaApi) {
 		this(embeddingClient, chromaApi, DEFAULT_COLLECTION_NAME);
 	}
 
 	public ChromaVectorStore(EmbeddingClient embeddingClient, ChromaApi chromaApi, String collectionName) {
+		this(embeddingClient, chromaApi, collectionName, new TokenCountBatchingStrategy());
+	}
+
+	public ChromaVectorStore(EmbeddingClient embeddingClient, ChromaApi chromaApi, String collectionName,
+			BatchingStrategy batchingStrategy) {
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 		this.embeddingClient = embeddingClient;
 		this.chromaApi = chromaApi;
 		this.collectionName = collectionName;
 		this.filterExpressionConverter = new ChromaFilterExpressionConverter();
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	public void setFilterExpressionConverter(FilterExpressionConverter filterExpressionConverter) {
@@ -89,12 +102,16 @@ public class ChromaVectorStore implements VectorStore, InitializingBean {
 		List<String> contents = new ArrayList<>();
 		List<float[]> embeddings = new ArrayList<>();
 
-		for (Document document : documents) {
+		List<EmbeddingVector> documentEmbeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY,
+				this.batchingStrategy);
+
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
 			ids.add(document.getId());
 			metadatas.add(document.getMetadata());
 			contents.add(document.getContent());
-			document.setEmbedding(this.embeddingClient.embed(document));
-			embeddings.add(JsonUtils.toFloatArray(document.getEmbedding()));
+			document.setEmbeddingVector(documentEmbeddings.get(i));
+			embeddings.add(document.getEmbeddingVector().array());
 		}
 
 		this.chromaApi.upsertEmbeddings(this.collectionId,
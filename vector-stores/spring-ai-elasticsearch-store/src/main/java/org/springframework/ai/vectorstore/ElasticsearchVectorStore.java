@@ -16,6 +16,7 @@
 package org.springframework.ai.vectorstore;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.mapping.DenseVectorIndexOptions;
 import co.elastic.clients.elasticsearch._types.mapping.DenseVectorProperty;
 import co.elastic.clients.elasticsearch._types.mapping.Property;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
@@ -34,19 +35,39 @@ import org.elasticsearch.client.RestClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.filter.Filter;
 import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
+ * Elasticsearch {@link VectorStore}, storing the embeddings in a {@code dense_vector}
+ * field. The field is indexed in an HNSW graph, unless dense vector indexing is disabled,
+ * and searched with the approximate kNN search of Elasticsearch, the filter expression
+ * being applied while searching the graph. Exact searches score every document matching
+ * the filter expression with a {@code script_score} query, see
+ * {@link ElasticsearchVectorStoreOptions#setExactSearch(boolean)}.
+ * <p>
+ * Similarity thresholds and the {@code distance} metadata of the results are on the
+ * scale of the default {@link #COSINE_SIMILARITY_FUNCTION}. The scores of kNN searches
+ * depend on the similarity of the {@code dense_vector} field and are converted to that
+ * scale: the {@code cosine} and {@code dot_product} scores already are
+ * {@code (1 + cosine) / 2}, while the {@code l2_norm} and {@code max_inner_product}
+ * scores are converted assuming unit-length embeddings, as returned by most embedding
+ * models.
+ *
  * @author Jemin Huh
  * @author Wei Jiang
  * @since 1.0.0
@@ -56,6 +77,11 @@ public class ElasticsearchVectorStore implements VectorStore, InitializingBean {
 	// divided by 2 to get score in the range [0, 1]
 	public static final String COSINE_SIMILARITY_FUNCTION = "(cosineSimilarity(params.query_vector, 'embedding') + 1.0) / 2";
 
+	/**
+	 * The maximum number of candidates of a kNN search supported by Elasticsearch.
+	 */
+	private static final int MAX_NUM_CANDIDATES = 10_000;
+
 	private static final Logger logger = LoggerFactory.getLogger(ElasticsearchVectorStore.class);
 
 	private final EmbeddingClient embeddingClient;
@@ -68,14 +94,25 @@ public class ElasticsearchVectorStore implements VectorStore, InitializingBean {
 
 	private String similarityFunction;
 
+	private boolean exactSearch;
+
+	private final BatchingStrategy batchingStrategy;
+
 	public ElasticsearchVectorStore(RestClient restClient, EmbeddingClient embeddingClient) {
 		this(new ElasticsearchVectorStoreOptions(), restClient, embeddingClient);
 	}
 
 	public ElasticsearchVectorStore(ElasticsearchVectorStoreOptions options, RestClient restClient,
 			EmbeddingClient embeddingClient) {
+		this(options, restClient, embeddingClient, new TokenCountBatchingStrategy());
+	}
+
+	public ElasticsearchVectorStore(ElasticsearchVectorStoreOptions options, RestClient restClient,
+			EmbeddingClient embeddingClient, BatchingStrategy batchingStrategy) {
 		Objects.requireNonNull(embeddingClient, "RestClient must not be null");
 		Objects.requireNonNull(embeddingClient, "EmbeddingClient must not be null");
+		Objects.requireNonNull(batchingStrategy, "BatchingStrategy must not be null");
+		this.batchingStrategy = batchingStrategy;
 		this.elasticsearchClient = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper(
 				new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false))));
 		this.embeddingClient = embeddingClient;
@@ -84,22 +121,37 @@ public class ElasticsearchVectorStore implements VectorStore, InitializingBean {
 		// the potential functions for vector fields at
 		// https://www.elastic.co/guide/en/elasticsearch/reference/current/query-dsl-script-score-query.html#vector-functions
 		this.similarityFunction = COSINE_SIMILARITY_FUNCTION;
+		this.exactSearch = options.isExactSearch() || !options.isDenseVectorIndexing();
 	}
 
+	/**
+	 * Search with an exact {@code script_score} query scoring the documents with the given
+	 * script.
+	 * @param similarityFunction the script computing the score of a document, between 0
+	 * and 1, from the {@code params.query_vector} parameter.
+	 * @return this vector store.
+	 */
 	public ElasticsearchVectorStore withSimilarityFunction(String similarityFunction) {
 		this.similarityFunction = similarityFunction;
+		this.exactSearch = true;
 		return this;
 	}
 
 	@Override
 	public void add(List<Document> documents) {
+		List<Document> documentsToEmbed = documents.stream().filter(d -> d.getEmbeddingVector().isEmpty()).toList();
+		if (!documentsToEmbed.isEmpty()) {
+			logger.debug("Calling EmbeddingClient for {} documents", documentsToEmbed.size());
+			List<EmbeddingVector> embeddings = this.embeddingClient.embed(documentsToEmbed, EmbeddingOptions.EMPTY,
+					this.batchingStrategy);
+			for (int i = 0; i < documentsToEmbed.size(); i++) {
+				documentsToEmbed.get(i).setEmbeddingVector(embeddings.get(i));
+			}
+		}
+
 		BulkRequest.Builder builkRequestBuilder = new BulkRequest.Builder();
 
 		for (Document document : documents) {
-			if (Objects.isNull(document.getEmbedding()) || document.getEmbedding().isEmpty()) {
-				logger.debug("Calling EmbeddingClient for document id = " + document.getId());
-				document.setEmbedding(this.embeddingClient.embed(document));
-			}
 			builkRequestBuilder.operations(op -> op
 				.index(idx -> idx.index(this.options.getIndexName()).id(document.getId()).document(document)));
 		}
@@ -143,12 +195,71 @@ public class ElasticsearchVectorStore implements VectorStore, InitializingBean {
 
 	public List<Document> similaritySearch(List<Double> embedding, int topK, double similarityThreshold,
 			Filter.Expression filterExpression) {
-		return similaritySearch(
-				new co.elastic.clients.elasticsearch.core.SearchRequest.Builder().index(options.getIndexName())
-					.query(getElasticsearchSimilarityQuery(embedding, filterExpression))
-					.size(topK)
-					.minScore(similarityThreshold)
-					.build());
+		var searchRequestBuilder = new co.elastic.clients.elasticsearch.core.SearchRequest.Builder()
+			.index(options.getIndexName())
+			.size(topK);
+		if (this.exactSearch) {
+			searchRequestBuilder.minScore(similarityThreshold)
+				.query(getElasticsearchSimilarityQuery(embedding, filterExpression));
+		}
+		else {
+			if (similarityThreshold > 0) {
+				searchRequestBuilder.minScore(toKnnScore(similarityThreshold));
+			}
+			searchRequestBuilder.knn(knnQueryBuilder -> {
+				knnQueryBuilder.field("embedding")
+					.queryVector(toFloatList(embedding))
+					.k(topK)
+					.numCandidates(Math.min(Math.max(topK, this.options.getNumCandidates()), MAX_NUM_CANDIDATES));
+				if (!Objects.isNull(filterExpression)) {
+					knnQueryBuilder.filter(getElasticsearchFilterQuery(filterExpression));
+				}
+				return knnQueryBuilder;
+			});
+		}
+		return similaritySearch(searchRequestBuilder.build());
+	}
+
+	/**
+	 * Convert a similarity, on the scale of the {@link #COSINE_SIMILARITY_FUNCTION}, to
+	 * the score of a kNN search for the similarity of the {@code dense_vector} field.
+	 * @see <a href="https://www.elastic.co/guide/en/elasticsearch/reference/current/dense-vector.html">dense_vector
+	 * field type</a>
+	 */
+	private double toKnnScore(double similarity) {
+		double cosine = 2 * similarity - 1;
+		return switch (this.options.getSimilarity()) {
+			// the squared l2 norm of unit-length vectors is 2 - 2 * cosine
+			case "l2_norm" -> 1 / (1 + 2 - 2 * cosine);
+			case "max_inner_product" -> (cosine < 0) ? 1 / (1 - cosine) : cosine + 1;
+			default -> similarity;
+		};
+	}
+
+	/**
+	 * Convert the score of a kNN search to a similarity on the scale of the
+	 * {@link #COSINE_SIMILARITY_FUNCTION}, the inverse of {@link #toKnnScore(double)}.
+	 */
+	private double toSimilarity(double knnScore) {
+		double cosine = switch (this.options.getSimilarity()) {
+			case "l2_norm" -> (3 - 1 / knnScore) / 2;
+			case "max_inner_product" -> (knnScore < 1) ? 1 - 1 / knnScore : knnScore - 1;
+			default -> 2 * knnScore - 1;
+		};
+		return (cosine + 1) / 2;
+	}
+
+	private Query getElasticsearchFilterQuery(Filter.Expression filterExpression) {
+		return Query.of(queryBuilder -> queryBuilder.queryString(queryStringQuerybuilder -> queryStringQuerybuilder
+			.query(getElasticsearchQueryString(filterExpression))));
+	}
+
+	private static List<Float> toFloatList(List<Double> embedding) {
+		List<Float> floats = new ArrayList<>(embedding.size());
+		for (Double value : embedding) {
+			floats.add(value.floatValue());
+		}
+		return floats;
 	}
 
 	private Query getElasticsearchSimilarityQuery(List<Double> embedding, Filter.Expression filterExpression) {
@@ -182,7 +293,8 @@ public class ElasticsearchVectorStore implements VectorStore, InitializingBean {
 
 	private Document toDocument(Hit<Document> hit) {
 		Document document = hit.source();
-		document.getMetadata().put("distance", 1 - hit.score().floatValue());
+		double similarity = this.exactSearch ? hit.score() : toSimilarity(hit.score());
+		document.getMetadata().put("distance", 1 - (float) similarity);
 		return document;
 	}
 
@@ -204,10 +316,7 @@ public class ElasticsearchVectorStore implements VectorStore, InitializingBean {
 					.mappings(typeMappingBuilder -> {
 						typeMappingBuilder.properties("embedding",
 								new Property.Builder()
-									.denseVector(new DenseVectorProperty.Builder().dims(options.getDimensions())
-										.similarity(options.getSimilarity())
-										.index(options.isDenseVectorIndexing())
-										.build())
+									.denseVector(denseVectorProperty())
 									.build());
 
 						return typeMappingBuilder;
@@ -218,6 +327,19 @@ public class ElasticsearchVectorStore implements VectorStore, InitializingBean {
 		}
 	}
 
+	private DenseVectorProperty denseVectorProperty() {
+		DenseVectorProperty.Builder builder = new DenseVectorProperty.Builder().dims(options.getDimensions())
+			.similarity(options.getSimilarity())
+			.index(options.isDenseVectorIndexing());
+		if (options.isDenseVectorIndexing()) {
+			builder.indexOptions(new DenseVectorIndexOptions.Builder().type("hnsw")
+				.m(options.getHnswM())
+				.efConstruction(options.getHnswEfConstruction())
+				.build());
+		}
+		return builder.build();
+	}
+
 	@Override
 	public void afterPropertiesSet() {
 		if (!indexExists()) {
@@ -44,6 +44,29 @@ public class ElasticsearchVectorStoreOptions {
 	 */
 	private String similarity = "cosine";
 
+	/**
+	 * The number of neighbors each node is connected to in the HNSW graph.
+	 */
+	private int hnswM = 16;
+
+	/**
+	 * The number of candidates to track while building the HNSW graph.
+	 */
+	private int hnswEfConstruction = 100;
+
+	/**
+	 * The number of nearest neighbor candidates considered per shard by approximate kNN
+	 * searches, at least the number of requested results.
+	 */
+	private int numCandidates = 100;
+
+	/**
+	 * Whether to search with an exact, brute-force {@code script_score} query instead of
+	 * an approximate kNN search. Searches are always exact when dense vector indexing is
+	 * disabled.
+	 */
+	private boolean exactSearch = false;
+
 	public String getIndexName() {
 		return indexName;
 	}
@@ -76,4 +99,36 @@ public class ElasticsearchVectorStoreOptions {
 		this.similarity = similarity;
 	}
 
+	public int getHnswM() {
+		return hnswM;
+	}
+
+	public void setHnswM(int hnswM) {
+		this.hnswM = hnswM;
+	}
+
+	public int getHnswEfConstruction() {
+		return hnswEfConstruction;
+	}
+
+	public void setHnswEfConstruction(int hnswEfConstruction) {
+		this.hnswEfConstruction = hnswEfConstruction;
+	}
+
+	public int getNumCandidates() {
+		return numCandidates;
+	}
+
+	public void setNumCandidates(int numCandidates) {
+		this.numCandidates = numCandidates;
+	}
+
+	public boolean isExactSearch() {
+		return exactSearch;
+	}
+
+	public void setExactSearch(boolean exactSearch) {
+		this.exactSearch = exactSearch;
+	}
+
 }
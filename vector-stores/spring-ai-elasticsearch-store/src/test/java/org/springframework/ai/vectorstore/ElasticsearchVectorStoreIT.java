@@ -24,18 +24,24 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.apache.http.HttpHost;
 import org.awaitility.Awaitility;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
 import org.elasticsearch.client.RestClient;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.testcontainers.elasticsearch.ElasticsearchContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.ai.document.Document;
@@ -50,6 +56,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.core.io.DefaultResourceLoader;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 
@@ -355,6 +362,154 @@ class ElasticsearchVectorStoreIT {
 		});
 	}
 
+	@ParameterizedTest(name = "{0} exactSearch={1} : {displayName} ")
+	@CsvSource({ "cosine, true", "cosine, false", "dot_product, false", "l2_norm, false", "max_inner_product, false" })
+	public void searchModesTest(String similarity, boolean exactSearch) {
+
+		getContextRunner().run(context -> {
+			EmbeddingClient embeddingClient = context.getBean(EmbeddingClient.class);
+			ElasticsearchVectorStore vectorStore = createVectorStore(embeddingClient,
+					"search-modes-" + similarity.replace('_', '-') + "-" + exactSearch, options -> {
+						options.setSimilarity(similarity);
+						options.setExactSearch(exactSearch);
+					});
+			ElasticsearchVectorStore referenceVectorStore = createVectorStore(embeddingClient,
+					"search-modes-reference", options -> options.setExactSearch(true));
+
+			vectorStore.add(documents);
+			referenceVectorStore.add(documents);
+
+			SearchRequest query = SearchRequest.query("Great Depression")
+				.withTopK(50)
+				.withSimilarityThreshold(SearchRequest.SIMILARITY_THRESHOLD_ACCEPT_ALL);
+
+			Awaitility.await().until(() -> vectorStore.similaritySearch(query), hasSize(3));
+			Awaitility.await().until(() -> referenceVectorStore.similaritySearch(query), hasSize(3));
+
+			List<Document> fullResult = vectorStore.similaritySearch(query);
+			List<Document> referenceResult = referenceVectorStore.similaritySearch(query);
+
+			// the scores of every similarity are on the scale of the exact cosine search
+			assertThat(fullResult).extracting(Document::getId)
+				.containsExactlyElementsOf(referenceResult.stream().map(Document::getId).toList());
+			for (int i = 0; i < fullResult.size(); i++) {
+				assertThat((Float) fullResult.get(i).getMetadata().get("distance"))
+					.isCloseTo((Float) referenceResult.get(i).getMetadata().get("distance"), within(0.001f));
+			}
+
+			float threshold = ((Float) fullResult.get(0).getMetadata().get("distance")
+					+ (Float) fullResult.get(1).getMetadata().get("distance")) / 2;
+
+			List<Document> results = vectorStore.similaritySearch(
+					SearchRequest.query("Great Depression").withTopK(50).withSimilarityThreshold(1 - threshold));
+
+			assertThat(results).hasSize(1);
+			assertThat(results.get(0).getId()).isEqualTo(documents.get(2).getId());
+
+			vectorStore.delete(documents.stream().map(Document::getId).toList());
+			referenceVectorStore.delete(documents.stream().map(Document::getId).toList());
+		});
+	}
+
+	@ParameterizedTest(name = "exactSearch={0} : {displayName} ")
+	@ValueSource(booleans = { true, false })
+	public void filterIsAppliedBeforeSelectingTheNearestDocuments(boolean exactSearch) {
+
+		getContextRunner().run(context -> {
+			ElasticsearchVectorStore vectorStore = createVectorStore(context.getBean(EmbeddingClient.class),
+					"prefilter-" + exactSearch, options -> options.setExactSearch(exactSearch));
+
+			var depressionDocument = new Document("1", getText("classpath:/test/data/great.depression.txt"),
+					Map.of("country", "US"));
+			var springDocument = new Document("2", getText("classpath:/test/data/spring.ai.txt"),
+					Map.of("country", "NL"));
+			var shelterDocument = new Document("3", getText("classpath:/test/data/time.shelter.txt"),
+					Map.of("country", "BG"));
+
+			vectorStore.add(List.of(depressionDocument, springDocument, shelterDocument));
+
+			Awaitility.await()
+				.until(() -> vectorStore.similaritySearch(SearchRequest.query("Great Depression").withTopK(5)),
+						hasSize(3));
+
+			// the nearest document does not match the filter, filtering the top result
+			// afterwards would return nothing
+			List<Document> results = vectorStore.similaritySearch(SearchRequest.query("Great Depression")
+				.withTopK(1)
+				.withSimilarityThresholdAll()
+				.withFilterExpression("country == 'NL'"));
+
+			assertThat(results).hasSize(1);
+			assertThat(results.get(0).getId()).isEqualTo(springDocument.getId());
+
+			results = vectorStore.similaritySearch(SearchRequest.query("Great Depression")
+				.withTopK(1)
+				.withSimilarityThresholdAll()
+				.withFilterExpression("country in ['BG', 'NL']"));
+
+			assertThat(results).hasSize(1);
+			assertThat(results.get(0).getId()).isIn(springDocument.getId(), shelterDocument.getId());
+
+			vectorStore.delete(List.of("1", "2", "3"));
+		});
+	}
+
+	@Test
+	public void denseVectorMappingTest() {
+
+		getContextRunner().run(context -> {
+			EmbeddingClient embeddingClient = context.getBean(EmbeddingClient.class);
+			createVectorStore(embeddingClient, "mapping-hnsw", options -> {
+				options.setSimilarity("dot_product");
+				options.setHnswM(32);
+				options.setHnswEfConstruction(200);
+			});
+			createVectorStore(embeddingClient, "mapping-not-indexed", options -> options.setDenseVectorIndexing(false));
+
+			JsonNode embedding = getEmbeddingMapping("mapping-hnsw");
+
+			assertThat(embedding.path("type").asText()).isEqualTo("dense_vector");
+			assertThat(embedding.path("dims").asInt()).isEqualTo(1536);
+			assertThat(embedding.path("index").asBoolean()).isTrue();
+			assertThat(embedding.path("similarity").asText()).isEqualTo("dot_product");
+			assertThat(embedding.path("index_options").path("type").asText()).isEqualTo("hnsw");
+			assertThat(embedding.path("index_options").path("m").asInt()).isEqualTo(32);
+			assertThat(embedding.path("index_options").path("ef_construction").asInt()).isEqualTo(200);
+
+			embedding = getEmbeddingMapping("mapping-not-indexed");
+
+			assertThat(embedding.path("type").asText()).isEqualTo("dense_vector");
+			assertThat(embedding.path("index").asBoolean()).isFalse();
+			assertThat(embedding.has("index_options")).isFalse();
+		});
+	}
+
+	private static ElasticsearchVectorStore createVectorStore(EmbeddingClient embeddingClient, String indexName,
+			Consumer<ElasticsearchVectorStoreOptions> customizer) {
+		ElasticsearchVectorStoreOptions options = new ElasticsearchVectorStoreOptions();
+		options.setIndexName(indexName);
+		customizer.accept(options);
+		ElasticsearchVectorStore vectorStore = new ElasticsearchVectorStore(options, createRestClient(),
+				embeddingClient);
+		vectorStore.afterPropertiesSet();
+		return vectorStore;
+	}
+
+	private JsonNode getEmbeddingMapping(String indexName) throws IOException {
+		try (RestClient restClient = createRestClient()) {
+			Response response = restClient.performRequest(new Request("GET", "/" + indexName + "/_mapping"));
+			return this.objectMapper.readTree(response.getEntity().getContent())
+				.path(indexName)
+				.path("mappings")
+				.path("properties")
+				.path("embedding");
+		}
+	}
+
+	private static RestClient createRestClient() {
+		return RestClient.builder(HttpHost.create(elasticsearchContainer.getHttpHostAddress())).build();
+	}
+
 	@SpringBootConfiguration
 	@EnableAutoConfiguration(exclude = { DataSourceAutoConfiguration.class })
 	public static class TestApplication {
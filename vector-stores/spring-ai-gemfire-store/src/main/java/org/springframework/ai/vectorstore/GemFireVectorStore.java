@@ -18,6 +18,7 @@ package org.springframework.ai.vectorstore;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,7 +32,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
@@ -40,6 +45,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.NonNull;
 
 /**
@@ -68,6 +76,8 @@ public class GemFireVectorStore implements VectorStore {
 
 	private final String documentField;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public static final class GemFireVectorStoreConfig {
 
 		private final WebClient client;
@@ -193,13 +203,20 @@ public class GemFireVectorStore implements VectorStore {
 	}
 
 	public GemFireVectorStore(GemFireVectorStoreConfig config, EmbeddingClient embedding) {
+		this(config, embedding, new TokenCountBatchingStrategy());
+	}
+
+	public GemFireVectorStore(GemFireVectorStoreConfig config, EmbeddingClient embedding,
+			BatchingStrategy batchingStrategy) {
 		Assert.notNull(config, "GemFireVectorStoreConfig must not be null");
 		Assert.notNull(embedding, "EmbeddingClient must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 		this.client = config.client;
 		this.embeddingClient = embedding;
 		this.topKPerBucket = config.topKPerBucket;
 		this.topK = config.topK;
 		this.documentField = config.documentField;
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	private static final class CreateRequest {
@@ -415,14 +432,75 @@ public class GemFireVectorStore implements VectorStore {
 
 	@Override
 	public void add(List<Document> documents) {
-		UploadRequest upload = new UploadRequest(documents.stream().map(document -> {
-			// Compute and assign an embedding to the document.
-			document.setEmbedding(this.embeddingClient.embed(document));
-			List<Float> floatVector = document.getEmbedding().stream().map(Double::floatValue).toList();
-			return new UploadRequest.Embedding(document.getId(), floatVector, documentField, document.getContent(),
-					document.getMetadata());
-		}).toList());
+		upload(toUploadRequest(documents)).block();
+	}
+
+	@Override
+	public Optional<Boolean> delete(List<String> idList) {
+		return Optional.of(deleteEmbeddings(idList).block());
+	}
+
+	@Override
+	public List<Document> similaritySearch(SearchRequest request) {
+		if (request.hasFilterExpression()) {
+			throw new UnsupportedOperationException("Gemfire does not support metadata filter expressions yet.");
+		}
+		return query(request, this.embeddingClient.embedAsFloats(request.getQuery())).collectList().block();
+	}
+
+	/**
+	 * Returns a non-blocking view of this store, built on the {@link WebClient} used to
+	 * reach GemFire. Only the embedding of the documents and queries, done by the
+	 * blocking {@link EmbeddingClient}, runs on a {@link Schedulers#boundedElastic()}
+	 * worker.
+	 * @return the reactive view of this vector store.
+	 */
+	@Override
+	public ReactiveVectorStore reactive() {
+		return new ReactiveVectorStore() {
+
+			@Override
+			public Mono<Void> add(List<Document> documents) {
+				return Mono.fromCallable(() -> toUploadRequest(documents))
+					.subscribeOn(Schedulers.boundedElastic())
+					.flatMap(uploadRequest -> upload(uploadRequest));
+			}
+
+			@Override
+			public Mono<Boolean> delete(List<String> idList) {
+				return deleteEmbeddings(idList);
+			}
+
+			@Override
+			public Flux<Document> similaritySearch(SearchRequest request) {
+				if (request.hasFilterExpression()) {
+					return Flux.error(new UnsupportedOperationException(
+							"Gemfire does not support metadata filter expressions yet."));
+				}
+				return Mono.fromCallable(() -> embeddingClient.embedAsFloats(request.getQuery()))
+					.subscribeOn(Schedulers.boundedElastic())
+					.flatMapMany(vector -> query(request, vector));
+			}
+
+		};
+	}
 
+	private UploadRequest toUploadRequest(List<Document> documents) {
+		List<EmbeddingVector> embeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY,
+				this.batchingStrategy);
+		List<UploadRequest.Embedding> uploadEmbeddings = new ArrayList<>(documents.size());
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
+			// Assign the computed embedding to the document.
+			document.setEmbeddingVector(embeddings.get(i));
+			List<Float> floatVector = toFloatList(embeddings.get(i));
+			uploadEmbeddings.add(new UploadRequest.Embedding(document.getId(), floatVector, documentField,
+					document.getContent(), document.getMetadata()));
+		}
+		return new UploadRequest(uploadEmbeddings);
+	}
+
+	private Mono<Void> upload(UploadRequest upload) {
 		ObjectMapper objectMapper = new ObjectMapper();
 		String embeddingsJson = null;
 		try {
@@ -430,48 +508,36 @@ public class GemFireVectorStore implements VectorStore {
 			embeddingsJson = embeddingString.substring("{\"embeddings\":".length());
 		}
 		catch (JsonProcessingException e) {
-			throw new RuntimeException(String.format("Embedding JSON parsing error: %s", e.getMessage()));
+			return Mono.error(new RuntimeException(String.format("Embedding JSON parsing error: %s", e.getMessage())));
 		}
 
-		client.post()
+		return client.post()
 			.uri("/" + indexName + EMBEDDINGS)
 			.contentType(MediaType.APPLICATION_JSON)
 			.bodyValue(embeddingsJson)
 			.retrieve()
 			.bodyToMono(Void.class)
-			.onErrorMap(WebClientException.class, this::handleHttpClientException)
-			.block();
+			.onErrorMap(WebClientException.class, this::handleHttpClientException);
 	}
 
-	@Override
-	public Optional<Boolean> delete(List<String> idList) {
-		try {
-			client.method(HttpMethod.DELETE)
-				.uri("/" + indexName + EMBEDDINGS)
-				.body(BodyInserters.fromValue(idList))
-				.retrieve()
-				.bodyToMono(Void.class)
-				.block();
-		}
-		catch (Exception e) {
-			logger.warn("Error removing embedding: " + e);
-			return Optional.of(false);
-		}
-		return Optional.of(true);
+	private Mono<Boolean> deleteEmbeddings(List<String> idList) {
+		return client.method(HttpMethod.DELETE)
+			.uri("/" + indexName + EMBEDDINGS)
+			.body(BodyInserters.fromValue(idList))
+			.retrieve()
+			.bodyToMono(Void.class)
+			.thenReturn(true)
+			.onErrorResume(e -> {
+				logger.warn("Error removing embedding: " + e);
+				return Mono.just(false);
+			});
 	}
 
-	@Override
-	public List<Document> similaritySearch(SearchRequest request) {
-		if (request.hasFilterExpression()) {
-			throw new UnsupportedOperationException("Gemfire does not support metadata filter expressions yet.");
-		}
-		List<Double> vector = this.embeddingClient.embed(request.getQuery());
-		List<Float> floatVector = vector.stream().map(Double::floatValue).toList();
-
+	private Flux<Document> query(SearchRequest request, EmbeddingVector vector) {
 		return client.post()
 			.uri("/" + indexName + QUERY)
 			.contentType(MediaType.APPLICATION_JSON)
-			.bodyValue(new QueryRequest(floatVector, request.getTopK(), topKPerBucket, true))
+			.bodyValue(new QueryRequest(toFloatList(vector), request.getTopK(), topKPerBucket, true))
 			.retrieve()
 			.bodyToFlux(QueryResponse.class)
 			.filter(r -> r.score >= request.getSimilarityThreshold())
@@ -481,9 +547,7 @@ public class GemFireVectorStore implements VectorStore {
 				String content = (String) metadata.remove(documentField);
 				return new Document(r.key, content, metadata);
 			})
-			.collectList()
-			.onErrorMap(WebClientException.class, this::handleHttpClientException)
-			.block();
+			.onErrorMap(WebClientException.class, this::handleHttpClientException);
 	}
 
 	public void createIndex(String indexName) throws JsonProcessingException {
@@ -527,4 +591,12 @@ public class GemFireVectorStore implements VectorStore {
 		}
 	}
 
+	private static List<Float> toFloatList(EmbeddingVector embedding) {
+		List<Float> floats = new ArrayList<>(embedding.dimensions());
+		for (float value : embedding.array()) {
+			floats.add(value);
+		}
+		return floats;
+	}
+
 }
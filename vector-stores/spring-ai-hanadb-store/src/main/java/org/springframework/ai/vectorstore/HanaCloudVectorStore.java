@@ -19,11 +19,17 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.util.Assert;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.StringJoiner;
 import java.util.stream.Collectors;
 
 /**
@@ -68,24 +74,34 @@ public class HanaCloudVectorStore implements VectorStore {
 
 	private final HanaCloudVectorStoreConfig config;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public HanaCloudVectorStore(HanaVectorRepository<? extends HanaVectorEntity> repository,
 			EmbeddingClient embeddingClient, HanaCloudVectorStoreConfig config) {
+		this(repository, embeddingClient, config, new TokenCountBatchingStrategy());
+	}
+
+	public HanaCloudVectorStore(HanaVectorRepository<? extends HanaVectorEntity> repository,
+			EmbeddingClient embeddingClient, HanaCloudVectorStoreConfig config, BatchingStrategy batchingStrategy) {
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 		this.repository = repository;
 		this.embeddingClient = embeddingClient;
 		this.config = config;
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	@Override
 	public void add(List<Document> documents) {
-		int count = 1;
-		for (Document document : documents) {
-			logger.info("[{}/{}] Calling EmbeddingClient for document id = {}", count++, documents.size(),
-					document.getId());
+		logger.info("Calling EmbeddingClient for {} documents", documents.size());
+		List<EmbeddingVector> embeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY,
+				this.batchingStrategy);
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
 			String content = document.getContent().replaceAll("\\s+", " ");
-			String embedding = getEmbedding(document);
+			String embedding = toVectorString(embeddings.get(i));
 			repository.save(config.getTableName(), document.getId(), embedding, content);
 		}
-		logger.info("Embeddings saved in HanaCloudVectorStore for {} documents", count - 1);
+		logger.info("Embeddings saved in HanaCloudVectorStore for {} documents", documents.size());
 	}
 
 	@Override
@@ -130,16 +146,15 @@ public class HanaCloudVectorStore implements VectorStore {
 	}
 
 	private String getEmbedding(SearchRequest searchRequest) {
-		return "[" + this.embeddingClient.embed(searchRequest.getQuery())
-			.stream()
-			.map(String::valueOf)
-			.collect(Collectors.joining(", ")) + "]";
+		return toVectorString(this.embeddingClient.embedAsFloats(searchRequest.getQuery()));
 	}
 
-	private String getEmbedding(Document document) {
-		return "["
-				+ this.embeddingClient.embed(document).stream().map(String::valueOf).collect(Collectors.joining(", "))
-				+ "]";
+	private static String toVectorString(EmbeddingVector embedding) {
+		StringJoiner joiner = new StringJoiner(", ", "[", "]");
+		for (float value : embedding.array()) {
+			joiner.add(String.valueOf(value));
+		}
+		return joiner.toString();
 	}
 
 }
@@ -52,7 +52,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
 import org.springframework.ai.vectorstore.filter.converter.MilvusFilterExpressionConverter;
 import org.springframework.beans.factory.InitializingBean;
@@ -96,6 +100,8 @@ public class MilvusVectorStore implements VectorStore, InitializingBean {
 
 	private final MilvusVectorStoreConfig config;
 
+	private final BatchingStrategy batchingStrategy;
+
 	/**
 	 * Configuration for the Milvus vector store.
 	 */
@@ -248,13 +254,20 @@ public class MilvusVectorStore implements VectorStore, InitializingBean {
 
 	public MilvusVectorStore(MilvusServiceClient milvusClient, EmbeddingClient embeddingClient,
 			MilvusVectorStoreConfig config) {
+		this(milvusClient, embeddingClient, config, new TokenCountBatchingStrategy());
+	}
+
+	public MilvusVectorStore(MilvusServiceClient milvusClient, EmbeddingClient embeddingClient,
+			MilvusVectorStoreConfig config, BatchingStrategy batchingStrategy) {
 
 		Assert.notNull(milvusClient, "MilvusServiceClient must not be null");
 		Assert.notNull(milvusClient, "EmbeddingClient must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 
 		this.milvusClient = milvusClient;
 		this.embeddingClient = embeddingClient;
 		this.config = config;
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	@Override
@@ -267,8 +280,12 @@ public class MilvusVectorStore implements VectorStore, InitializingBean {
 		List<JSONObject> metadataArray = new ArrayList<>();
 		List<List<Float>> embeddingArray = new ArrayList<>();
 
-		for (Document document : documents) {
-			List<Double> embedding = this.embeddingClient.embed(document);
+		List<EmbeddingVector> embeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY,
+				this.batchingStrategy);
+
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
+			EmbeddingVector embedding = embeddings.get(i);
 
 			docIdArray.add(document.getId());
 			// Use a (future) DocumentTextLayoutFormatter instance to extract
@@ -328,7 +345,7 @@ public class MilvusVectorStore implements VectorStore, InitializingBean {
 
 		Assert.notNull(request.getQuery(), "Query string must not be null");
 
-		List<Double> embedding = this.embeddingClient.embed(request.getQuery());
+		EmbeddingVector embedding = this.embeddingClient.embedAsFloats(request.getQuery());
 
 		var searchParamBuilder = SearchParam.newBuilder()
 			.withCollectionName(this.config.collectionName)
@@ -371,8 +388,13 @@ public class MilvusVectorStore implements VectorStore, InitializingBean {
 				: (1 - distance);
 	}
 
-	private List<Float> toFloatList(List<Double> embeddingDouble) {
-		return embeddingDouble.stream().map(Number::floatValue).toList();
+	private List<Float> toFloatList(EmbeddingVector embedding) {
+		float[] values = embedding.array();
+		List<Float> embeddingFloat = new ArrayList<>(values.length);
+		for (float value : values) {
+			embeddingFloat.add(value);
+		}
+		return embeddingFloat;
 	}
 
 	// ---------------------------------------------------------------------------------
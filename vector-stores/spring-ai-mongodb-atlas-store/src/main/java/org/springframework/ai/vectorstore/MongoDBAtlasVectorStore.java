@@ -22,10 +22,21 @@ import java.util.Map;
 import java.util.Optional;
 
 import com.mongodb.BasicDBObject;
+import com.mongodb.bulk.BulkWriteError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -40,6 +51,8 @@ import static org.springframework.data.mongodb.core.query.Criteria.where;
  */
 public class MongoDBAtlasVectorStore implements VectorStore, InitializingBean {
 
+	private static final Logger logger = LoggerFactory.getLogger(MongoDBAtlasVectorStore.class);
+
 	public static final String ID_FIELD_NAME = "_id";
 
 	public static final String METADATA_FIELD_NAME = "metadata";
@@ -56,6 +69,13 @@ public class MongoDBAtlasVectorStore implements VectorStore, InitializingBean {
 
 	private static final int DEFAULT_NUM_CANDIDATES = 200;
 
+	/**
+	 * The maximum number of candidates of a vector search supported by Atlas.
+	 */
+	private static final int MAX_NUM_CANDIDATES = 10_000;
+
+	public static final int DEFAULT_MAX_DOCUMENT_BATCH_SIZE = 1_000;
+
 	private final MongoTemplate mongoTemplate;
 
 	private final EmbeddingClient embeddingClient;
@@ -64,16 +84,24 @@ public class MongoDBAtlasVectorStore implements VectorStore, InitializingBean {
 
 	private final MongoDBAtlasFilterExpressionConverter filterExpressionConverter = new MongoDBAtlasFilterExpressionConverter();
 
+	private final BatchingStrategy batchingStrategy;
+
 	public MongoDBAtlasVectorStore(MongoTemplate mongoTemplate, EmbeddingClient embeddingClient) {
 		this(mongoTemplate, embeddingClient, MongoDBVectorStoreConfig.defaultConfig());
 	}
 
 	public MongoDBAtlasVectorStore(MongoTemplate mongoTemplate, EmbeddingClient embeddingClient,
 			MongoDBVectorStoreConfig config) {
+		this(mongoTemplate, embeddingClient, config, new TokenCountBatchingStrategy());
+	}
+
+	public MongoDBAtlasVectorStore(MongoTemplate mongoTemplate, EmbeddingClient embeddingClient,
+			MongoDBVectorStoreConfig config, BatchingStrategy batchingStrategy) {
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 		this.mongoTemplate = mongoTemplate;
 		this.embeddingClient = embeddingClient;
 		this.config = config;
-
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	@Override
@@ -126,12 +154,87 @@ public class MongoDBAtlasVectorStore implements VectorStore, InitializingBean {
 		return document;
 	}
 
+	/**
+	 * Maps a Spring AI Document to the BSON document stored in the collection.
+	 * @param document the spring ai document to map
+	 * @return the bson document
+	 */
+	private org.bson.Document toBsonDocument(Document document) {
+		return new org.bson.Document().append(ID_FIELD_NAME, document.getId())
+			.append(CONTENT_FIELD_NAME, document.getContent())
+			.append(METADATA_FIELD_NAME, document.getMetadata())
+			.append(this.config.pathName, document.getEmbedding());
+	}
+
+	/**
+	 * Adds the documents, see {@link #addDocuments(List)}.
+	 * @throws IllegalStateException if some of the documents failed to be written, once
+	 * all the documents were written.
+	 */
 	@Override
 	public void add(List<Document> documents) {
-		for (Document document : documents) {
-			List<Double> embedding = this.embeddingClient.embed(document);
-			document.setEmbedding(embedding);
-			this.mongoTemplate.save(document, this.config.collectionName);
+		List<DocumentWriteFailure> failures = addDocuments(documents);
+		if (!failures.isEmpty()) {
+			throw new IllegalStateException(String.format("Failed to write %d of %d documents, first failure: %s",
+					failures.size(), documents.size(), failures.get(0)));
+		}
+	}
+
+	/**
+	 * Embeds and writes the documents in batches of up to
+	 * {@link MongoDBVectorStoreConfig.Builder#withMaxDocumentBatchSize(int)} documents,
+	 * each batch with one unordered bulk write replacing the documents with the same id.
+	 * A document that fails to be written doesn't prevent the others from being written.
+	 * A batch that fails as a whole, because its documents could not be embedded or the
+	 * bulk write could not be executed, is reported as failures of all its documents, with
+	 * the {@link DocumentWriteFailure#BATCH_FAILURE_CODE} code, and the next batches are
+	 * still written.
+	 * @param documents the documents to add.
+	 * @return the documents that failed to be written, empty when all were written.
+	 */
+	public List<DocumentWriteFailure> addDocuments(List<Document> documents) {
+		List<DocumentWriteFailure> failures = new ArrayList<>();
+		for (int from = 0; from < documents.size(); from += this.config.maxDocumentBatchSize) {
+			List<Document> batch = documents.subList(from,
+					Math.min(from + this.config.maxDocumentBatchSize, documents.size()));
+			List<EmbeddingVector> embeddings;
+			try {
+				embeddings = this.embeddingClient.embed(batch, EmbeddingOptions.EMPTY, this.batchingStrategy);
+			}
+			catch (RuntimeException ex) {
+				addBatchFailures(failures, batch, "Failed to embed the documents", ex);
+				continue;
+			}
+			BulkOperations bulkOperations = this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+					this.config.collectionName);
+			for (int i = 0; i < batch.size(); i++) {
+				Document document = batch.get(i);
+				document.setEmbeddingVector(embeddings.get(i));
+				bulkOperations.replaceOne(new Query(where(ID_FIELD_NAME).is(document.getId())),
+						toBsonDocument(document), FindAndReplaceOptions.options().upsert());
+			}
+			try {
+				bulkOperations.execute();
+			}
+			catch (BulkOperationException ex) {
+				for (BulkWriteError error : ex.getErrors()) {
+					failures.add(new DocumentWriteFailure(batch.get(error.getIndex()).getId(), error.getCode(),
+							error.getMessage()));
+				}
+			}
+			catch (DataAccessException ex) {
+				addBatchFailures(failures, batch, "Failed to write the documents", ex);
+			}
+		}
+		return failures;
+	}
+
+	private static void addBatchFailures(List<DocumentWriteFailure> failures, List<Document> batch, String reason,
+			RuntimeException ex) {
+		logger.warn("{}, {} documents are skipped", reason, batch.size(), ex);
+		String message = reason + ": " + ex.getMessage();
+		for (Document document : batch) {
+			failures.add(new DocumentWriteFailure(document.getId(), DocumentWriteFailure.BATCH_FAILURE_CODE, message));
 		}
 	}
 
@@ -152,12 +255,26 @@ public class MongoDBAtlasVectorStore implements VectorStore, InitializingBean {
 
 	@Override
 	public List<Document> similaritySearch(SearchRequest request) {
+		return similaritySearch(request, this.config.numCandidates);
+	}
+
+	/**
+	 * Search with the given number of candidates, rather than the one of the store.
+	 * @param request the search request.
+	 * @param numCandidates the number of nearest neighbors considered by the search, at
+	 * least the top K of the request and at most 10000. More candidates are slower but
+	 * more accurate.
+	 * @return the documents most similar to the query.
+	 */
+	public List<Document> similaritySearch(SearchRequest request, int numCandidates) {
+		Assert.isTrue(numCandidates >= request.getTopK() && numCandidates <= MAX_NUM_CANDIDATES,
+				"Number of candidates must be between the top K and " + MAX_NUM_CANDIDATES);
 
 		String nativeFilterExpressions = (request.getFilterExpression() != null)
 				? this.filterExpressionConverter.convertExpression(request.getFilterExpression()) : "";
 
 		List<Double> queryEmbedding = this.embeddingClient.embed(request.getQuery());
-		var vectorSearch = new VectorSearchAggregation(queryEmbedding, this.config.pathName, this.config.numCandidates,
+		var vectorSearch = new VectorSearchAggregation(queryEmbedding, this.config.pathName, numCandidates,
 				this.config.vectorIndexName, request.getTopK(), nativeFilterExpressions);
 
 		Aggregation aggregation = Aggregation.newAggregation(vectorSearch,
@@ -174,6 +291,23 @@ public class MongoDBAtlasVectorStore implements VectorStore, InitializingBean {
 			.toList();
 	}
 
+	/**
+	 * A document that failed to be written.
+	 *
+	 * @param documentId the id of the document.
+	 * @param code the MongoDB error code, or {@link #BATCH_FAILURE_CODE} when the batch of
+	 * the document failed as a whole.
+	 * @param message the error message.
+	 */
+	public record DocumentWriteFailure(String documentId, int code, String message) {
+
+		/**
+		 * The code of the documents of a batch that could not be embedded or written.
+		 */
+		public static final int BATCH_FAILURE_CODE = -1;
+
+	}
+
 	public static class MongoDBVectorStoreConfig {
 
 		private final String collectionName;
@@ -186,12 +320,15 @@ public class MongoDBAtlasVectorStore implements VectorStore, InitializingBean {
 
 		private final int numCandidates;
 
+		private final int maxDocumentBatchSize;
+
 		private MongoDBVectorStoreConfig(Builder builder) {
 			this.collectionName = builder.collectionName;
 			this.vectorIndexName = builder.vectorIndexName;
 			this.pathName = builder.pathName;
 			this.numCandidates = builder.numCandidates;
 			this.metadataFieldsToFilter = builder.metadataFieldsToFilter;
+			this.maxDocumentBatchSize = builder.maxDocumentBatchSize;
 		}
 
 		public static Builder builder() {
@@ -214,6 +351,8 @@ public class MongoDBAtlasVectorStore implements VectorStore, InitializingBean {
 
 			private List<String> metadataFieldsToFilter = Collections.emptyList();
 
+			private int maxDocumentBatchSize = DEFAULT_MAX_DOCUMENT_BATCH_SIZE;
+
 			private Builder() {
 			}
 
@@ -262,6 +401,30 @@ public class MongoDBAtlasVectorStore implements VectorStore, InitializingBean {
 				return this;
 			}
 
+			/**
+			 * Configures the number of nearest neighbors considered by the searches. This
+			 * must be at least the top K of the searches and at most 10000.
+			 * @param numCandidates
+			 * @return this builder
+			 */
+			public Builder withNumCandidates(int numCandidates) {
+				Assert.isTrue(numCandidates > 0 && numCandidates <= MAX_NUM_CANDIDATES,
+						"Number of candidates must be between 1 and " + MAX_NUM_CANDIDATES);
+				this.numCandidates = numCandidates;
+				return this;
+			}
+
+			/**
+			 * Configures the maximum number of documents embedded and written at once.
+			 * @param maxDocumentBatchSize
+			 * @return this builder
+			 */
+			public Builder withMaxDocumentBatchSize(int maxDocumentBatchSize) {
+				Assert.isTrue(maxDocumentBatchSize > 0, "Max document batch size must be positive");
+				this.maxDocumentBatchSize = maxDocumentBatchSize;
+				return this;
+			}
+
 			public MongoDBVectorStoreConfig build() {
 				return new MongoDBVectorStoreConfig(this);
 			}
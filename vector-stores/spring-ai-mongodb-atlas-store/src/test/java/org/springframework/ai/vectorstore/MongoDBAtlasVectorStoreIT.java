@@ -21,14 +21,21 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingVector;
 import org.springframework.ai.openai.OpenAiEmbeddingClient;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
@@ -39,6 +46,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author Chris Smith
@@ -133,6 +141,102 @@ class MongoDBAtlasVectorStoreIT {
 		});
 	}
 
+	@Test
+	void batchedBulkAddAndNumCandidates() {
+		contextRunner.run(context -> {
+			MongoDBAtlasVectorStore vectorStore = new MongoDBAtlasVectorStore(context.getBean(MongoTemplate.class),
+					context.getBean(EmbeddingClient.class),
+					MongoDBAtlasVectorStore.MongoDBVectorStoreConfig.builder().withMaxDocumentBatchSize(2).build());
+
+			List<Document> documents = List.of(new Document("Spring AI rocks!!"), new Document("Hello World"),
+					new Document("Great Depression"));
+
+			assertThat(vectorStore.addDocuments(documents)).isEmpty();
+			assertThat(context.getBean(MongoTemplate.class).getCollection("vector_store").countDocuments())
+				.isEqualTo(3);
+			Thread.sleep(5000); // Await a second for the documents to be indexed
+
+			List<Document> results = vectorStore.similaritySearch(SearchRequest.query("Great").withTopK(1), 10);
+
+			assertThat(results).hasSize(1);
+			assertThat(results.get(0).getId()).isEqualTo(documents.get(2).getId());
+		});
+	}
+
+	@Test
+	void duplicateKeyFailuresAreReported() {
+		contextRunner.run(context -> {
+			MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+			mongoTemplate.indexOps("vector_store").ensureIndex(new Index().on("metadata.key", Direction.ASC).unique());
+			try {
+				MongoDBAtlasVectorStore vectorStore = new MongoDBAtlasVectorStore(mongoTemplate,
+						context.getBean(EmbeddingClient.class),
+						MongoDBAtlasVectorStore.MongoDBVectorStoreConfig.builder().build());
+
+				Document first = new Document("Spring AI rocks!!", Map.of("key", "duplicate"));
+				Document second = new Document("Hello World", Map.of("key", "duplicate"));
+				Document third = new Document("Great Depression", Map.of("key", "unique"));
+
+				List<MongoDBAtlasVectorStore.DocumentWriteFailure> failures = vectorStore
+					.addDocuments(List.of(first, second, third));
+
+				assertThat(failures).hasSize(1);
+				assertThat(failures.get(0).documentId()).isIn(first.getId(), second.getId());
+				assertThat(failures.get(0).code()).isEqualTo(11000);
+				assertThat(mongoTemplate.getCollection("vector_store").countDocuments()).isEqualTo(2);
+				assertThatThrownBy(() -> vectorStore.add(List.of(new Document("Again", Map.of("key", "unique")))))
+					.isInstanceOf(IllegalStateException.class);
+			}
+			finally {
+				mongoTemplate.indexOps("vector_store").dropIndex("metadata.key_1");
+			}
+		});
+	}
+
+	@Test
+	void batchFailuresAreReportedAndTheNextBatchesWritten() {
+		contextRunner.run(context -> {
+			EmbeddingClient embeddingClient = context.getBean(EmbeddingClient.class);
+			EmbeddingClient failingEmbeddingClient = new EmbeddingClient() {
+
+				@Override
+				public EmbeddingResponse call(EmbeddingRequest request) {
+					return embeddingClient.call(request);
+				}
+
+				@Override
+				public List<Double> embed(Document document) {
+					return embeddingClient.embed(document);
+				}
+
+				@Override
+				public List<EmbeddingVector> embed(List<Document> documents, EmbeddingOptions options,
+						BatchingStrategy batchingStrategy) {
+					if (documents.stream().anyMatch(document -> "Unembeddable".equals(document.getContent()))) {
+						throw new IllegalStateException("Embedding failed");
+					}
+					return embeddingClient.embed(documents, options, batchingStrategy);
+				}
+
+			};
+			MongoDBAtlasVectorStore vectorStore = new MongoDBAtlasVectorStore(context.getBean(MongoTemplate.class),
+					failingEmbeddingClient,
+					MongoDBAtlasVectorStore.MongoDBVectorStoreConfig.builder().withMaxDocumentBatchSize(2).build());
+
+			List<Document> documents = List.of(new Document("Unembeddable"), new Document("Hello World"),
+					new Document("Spring AI rocks!!"), new Document("Great Depression"));
+
+			List<MongoDBAtlasVectorStore.DocumentWriteFailure> failures = vectorStore.addDocuments(documents);
+
+			assertThat(failures).extracting(MongoDBAtlasVectorStore.DocumentWriteFailure::documentId)
+				.containsExactly(documents.get(0).getId(), documents.get(1).getId());
+			assertThat(failures).allMatch(failure -> failure
+				.code() == MongoDBAtlasVectorStore.DocumentWriteFailure.BATCH_FAILURE_CODE);
+			assertThat(context.getBean(MongoTemplate.class).getCollection("vector_store").countDocuments())
+				.isEqualTo(2);
+		});
+	}
+
 	@Test
 	void searchWithFilters() {
 		contextRunner.run(context -> {
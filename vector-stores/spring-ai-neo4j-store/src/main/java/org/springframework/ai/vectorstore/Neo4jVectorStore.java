@@ -20,11 +20,16 @@ import org.neo4j.driver.Driver;
 import org.neo4j.driver.SessionConfig;
 import org.neo4j.driver.Values;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.filter.Neo4jVectorFilterExpressionConverter;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -273,21 +278,34 @@ public class Neo4jVectorStore implements VectorStore, InitializingBean {
 
 	private final Neo4jVectorStoreConfig config;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public Neo4jVectorStore(Driver driver, EmbeddingClient embeddingClient, Neo4jVectorStoreConfig config) {
+		this(driver, embeddingClient, config, new TokenCountBatchingStrategy());
+	}
+
+	public Neo4jVectorStore(Driver driver, EmbeddingClient embeddingClient, Neo4jVectorStoreConfig config,
+			BatchingStrategy batchingStrategy) {
 
 		Assert.notNull(driver, "Neo4j driver must not be null");
 		Assert.notNull(embeddingClient, "Embedding client must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 
 		this.driver = driver;
 		this.embeddingClient = embeddingClient;
 
 		this.config = config;
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	@Override
 	public void add(List<Document> documents) {
 
-		var rows = documents.stream().map(this::documentToRecord).toList();
+		var embeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY, this.batchingStrategy);
+		var rows = new ArrayList<Map<String, Object>>(documents.size());
+		for (int i = 0; i < documents.size(); i++) {
+			rows.add(documentToRecord(documents.get(i), embeddings.get(i)));
+		}
 
 		try (var session = this.driver.session()) {
 			var statement = """
@@ -328,7 +346,7 @@ public class Neo4jVectorStore implements VectorStore, InitializingBean {
 		Assert.isTrue(request.getSimilarityThreshold() >= 0 && request.getSimilarityThreshold() <= 1,
 				"The similarity score is bounded between 0 and 1; least to most similar respectively.");
 
-		var embedding = Values.value(toFloatArray(this.embeddingClient.embed(request.getQuery())));
+		var embedding = Values.value(this.embeddingClient.embedAsFloats(request.getQuery()).array());
 		try (var session = this.driver.session(this.config.sessionConfig)) {
 			StringBuilder condition = new StringBuilder("score >= $threshold");
 			if (request.hasFilterExpression()) {
@@ -371,9 +389,8 @@ public class Neo4jVectorStore implements VectorStore, InitializingBean {
 		}
 	}
 
-	private Map<String, Object> documentToRecord(Document document) {
-		var embedding = this.embeddingClient.embed(document);
-		document.setEmbedding(embedding);
+	private Map<String, Object> documentToRecord(Document document, EmbeddingVector embedding) {
+		document.setEmbeddingVector(embedding);
 
 		var row = new HashMap<String, Object>();
 
@@ -385,19 +402,10 @@ public class Neo4jVectorStore implements VectorStore, InitializingBean {
 		document.getMetadata().forEach((k, v) -> properties.put("metadata." + k, Values.value(v)));
 		row.put("properties", properties);
 
-		row.put(this.config.embeddingProperty, Values.value(toFloatArray(embedding)));
+		row.put(this.config.embeddingProperty, Values.value(embedding.array()));
 		return row;
 	}
 
-	private static float[] toFloatArray(List<Double> embeddingDouble) {
-		float[] embeddingFloat = new float[embeddingDouble.size()];
-		int i = 0;
-		for (Double d : embeddingDouble) {
-			embeddingFloat[i++] = d.floatValue();
-		}
-		return embeddingFloat;
-	}
-
 	private Document recordToDocument(org.neo4j.driver.Record neoRecord) {
 		var node = neoRecord.get("node").asNode();
 		var score = neoRecord.get("score").asFloat();
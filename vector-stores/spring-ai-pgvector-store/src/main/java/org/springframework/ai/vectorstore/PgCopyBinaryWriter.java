@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Writes rows in the binary format of the PostgreSQL {@code COPY ... FROM STDIN (FORMAT
+ * BINARY)} command: a header, then each row as its field count followed by the length
+ * and binary value of each field, then a trailer written on {@link #close()}.
+ *
+ * @see <a href="https://www.postgresql.org/docs/current/sql-copy.html">COPY binary
+ * format</a>
+ */
+final class PgCopyBinaryWriter implements Closeable {
+
+	private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+
+	private final DataOutputStream out;
+
+	PgCopyBinaryWriter(OutputStream out) throws IOException {
+		this.out = new DataOutputStream(out);
+		this.out.write(SIGNATURE);
+		// Flags and header extension length
+		this.out.writeInt(0);
+		this.out.writeInt(0);
+	}
+
+	void startRow(int fieldCount) throws IOException {
+		this.out.writeShort(fieldCount);
+	}
+
+	void writeUuid(UUID value) throws IOException {
+		this.out.writeInt(16);
+		this.out.writeLong(value.getMostSignificantBits());
+		this.out.writeLong(value.getLeastSignificantBits());
+	}
+
+	void writeText(String value) throws IOException {
+		if (value == null) {
+			writeNull();
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		this.out.writeInt(bytes.length);
+		this.out.write(bytes);
+	}
+
+	/**
+	 * Write a pgvector {@code vector}: the dimensions, an unused short and the values as
+	 * 4-byte floats.
+	 */
+	void writeVector(float[] value) throws IOException {
+		this.out.writeInt(4 + 4 * value.length);
+		this.out.writeShort(value.length);
+		this.out.writeShort(0);
+		for (float v : value) {
+			this.out.writeFloat(v);
+		}
+	}
+
+	void writeNull() throws IOException {
+		this.out.writeInt(-1);
+	}
+
+	/**
+	 * Write the trailer and close the underlying stream, which completes the copy.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			this.out.writeShort(-1);
+		}
+		finally {
+			this.out.close();
+		}
+	}
+
+}
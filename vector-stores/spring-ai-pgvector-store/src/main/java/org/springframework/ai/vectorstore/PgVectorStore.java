@@ -15,38 +15,62 @@
  */
 package org.springframework.ai.vectorstore;
 
+import java.io.IOException;
+import java.sql.Array;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.IntStream;
+import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pgvector.PGvector;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.postgresql.util.PGobject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
 import org.springframework.ai.vectorstore.filter.converter.PgVectorFilterExpressionConverter;
 import org.springframework.beans.factory.InitializingBean;
-import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.core.SqlTypeValue;
-import org.springframework.jdbc.core.StatementCreatorUtils;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 /**
  * Uses the "vector_store" table to store the Spring AI vector data. The table and the
  * vector index will be auto-created if not available.
+ * <p>
+ * The documents are added in batches of up to {@code maxDocumentBatchSize} documents,
+ * each embedded and then written in its own transaction, unless a transaction is already
+ * in progress. With bulk load enabled, each batch is streamed into a temporary staging
+ * table with {@code COPY ... FROM STDIN (FORMAT BINARY)} and merged into the vector store
+ * table with a single {@code INSERT ... ON CONFLICT} statement.
+ * <p>
+ * The table is created in the configured schema, or when no schema is configured in the
+ * first schema of the {@code search_path}, with the metadata stored as
+ * {@code jsonb} so that an optional GIN index serves the metadata filters, and the
+ * embeddings stored as {@code vector} or, to halve the size of the table and index, as
+ * {@code halfvec}. The approximate nearest neighbor searches can be tuned with the index
+ * build parameters and, per search, with {@link PgSearchParameters}.
  *
  * @author Christian Tzolov
  */
@@ -62,6 +86,12 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 
 	public static final String VECTOR_INDEX_NAME = "spring_ai_vector_index";
 
+	public static final int DEFAULT_MAX_DOCUMENT_BATCH_SIZE = 10_000;
+
+	private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]{0,62}");
+
+	private static final int COPY_BUFFER_SIZE = 65_536;
+
 	public final FilterExpressionConverter filterExpressionConverter = new PgVectorFilterExpressionConverter();
 
 	private final JdbcTemplate jdbcTemplate;
@@ -78,6 +108,30 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 
 	private PgIndexType createIndexMethod;
 
+	private final BatchingStrategy batchingStrategy;
+
+	private final int maxDocumentBatchSize;
+
+	private final boolean bulkLoad;
+
+	private final String schemaName;
+
+	private final String tableName;
+
+	private final String qualifiedTableName;
+
+	private final PgVectorType vectorType;
+
+	private final boolean metadataIndex;
+
+	private final int hnswM;
+
+	private final int hnswEfConstruction;
+
+	private final int ivfFlatLists;
+
+	private final PgSearchParameters searchParameters;
+
 	/**
 	 * By default, pgvector performs exact nearest neighbor search, which provides perfect
 	 * recall. You can add an index to use approximate nearest neighbor search, which
@@ -144,6 +198,59 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 
 	}
 
+	/**
+	 * The type of the embedding column.
+	 */
+	public enum PgVectorType {
+
+		/**
+		 * Single precision floats, 4 bytes per dimension.
+		 */
+		VECTOR,
+		/**
+		 * Half precision floats, 2 bytes per dimension. Halves the size of the table and
+		 * index for a small loss of precision. Requires pgvector 0.7.0 or later.
+		 */
+		HALFVEC;
+
+		String sqlName() {
+			return name().toLowerCase();
+		}
+
+	}
+
+	/**
+	 * Session-level parameters of the approximate nearest neighbor search, set with
+	 * {@code SET LOCAL} for the duration of the search. Zero keeps the server setting.
+	 *
+	 * @param hnswEfSearch the size of the dynamic candidate list of the HNSW search
+	 * ({@code hnsw.ef_search}), higher for better recall and slower search.
+	 * @param ivfFlatProbes the number of lists probed by the IVFFlat search
+	 * ({@code ivfflat.probes}), higher for better recall and slower search.
+	 */
+	public record PgSearchParameters(int hnswEfSearch, int ivfFlatProbes) {
+
+		public static final PgSearchParameters DEFAULT = new PgSearchParameters(0, 0);
+
+		public PgSearchParameters {
+			Assert.isTrue(hnswEfSearch >= 0, "HnswEfSearch must not be negative");
+			Assert.isTrue(ivfFlatProbes >= 0, "IvfFlatProbes must not be negative");
+		}
+
+		public static PgSearchParameters hnsw(int efSearch) {
+			return new PgSearchParameters(efSearch, 0);
+		}
+
+		public static PgSearchParameters ivfFlat(int probes) {
+			return new PgSearchParameters(0, probes);
+		}
+
+		boolean isDefault() {
+			return this.hnswEfSearch == 0 && this.ivfFlatProbes == 0;
+		}
+
+	}
+
 	private static class DocumentRowMapper implements RowMapper<Document> {
 
 		private static final String COLUMN_EMBEDDING = "embedding";
@@ -174,14 +281,13 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 			metadata.put(COLUMN_DISTANCE, distance);
 
 			Document document = new Document(id, content, metadata);
-			document.setEmbedding(toDoubleList(embedding));
+			document.setEmbeddingVector(toEmbeddingVector(embedding));
 
 			return document;
 		}
 
-		private List<Double> toDoubleList(PGobject embedding) throws SQLException {
-			float[] floatArray = new PGvector(embedding.getValue()).toArray();
-			return IntStream.range(0, floatArray.length).mapToDouble(i -> floatArray[i]).boxed().toList();
+		private EmbeddingVector toEmbeddingVector(PGobject embedding) throws SQLException {
+			return EmbeddingVector.of(new PGvector(embedding.getValue()).toArray());
 		}
 
 		private Map<String, Object> toMap(PGobject pgObject) {
@@ -209,51 +315,181 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 
 	public PgVectorStore(JdbcTemplate jdbcTemplate, EmbeddingClient embeddingClient, int dimensions,
 			PgDistanceType distanceType, boolean removeExistingVectorStoreTable, PgIndexType createIndexMethod) {
+		this(jdbcTemplate, embeddingClient, dimensions, distanceType, removeExistingVectorStoreTable,
+				createIndexMethod, new TokenCountBatchingStrategy());
+	}
+
+	public PgVectorStore(JdbcTemplate jdbcTemplate, EmbeddingClient embeddingClient, int dimensions,
+			PgDistanceType distanceType, boolean removeExistingVectorStoreTable, PgIndexType createIndexMethod,
+			BatchingStrategy batchingStrategy) {
+		this(builder(jdbcTemplate, embeddingClient).withDimensions(dimensions)
+			.withDistanceType(distanceType)
+			.withRemoveExistingVectorStoreTable(removeExistingVectorStoreTable)
+			.withIndexType(createIndexMethod)
+			.withBatchingStrategy(batchingStrategy));
+	}
+
+	private PgVectorStore(Builder builder) {
+		this.jdbcTemplate = builder.jdbcTemplate;
+		this.embeddingClient = builder.embeddingClient;
+		this.dimensions = builder.dimensions;
+		this.distanceType = builder.distanceType;
+		this.removeExistingVectorStoreTable = builder.removeExistingVectorStoreTable;
+		this.createIndexMethod = builder.indexType;
+		this.batchingStrategy = builder.batchingStrategy;
+		this.maxDocumentBatchSize = builder.maxDocumentBatchSize;
+		this.bulkLoad = builder.bulkLoad;
+		this.schemaName = builder.schemaName;
+		this.tableName = builder.tableName;
+		this.qualifiedTableName = (builder.schemaName != null) ? builder.schemaName + "." + builder.tableName
+				: builder.tableName;
+		this.vectorType = builder.vectorType;
+		this.metadataIndex = builder.metadataIndex;
+		this.hnswM = builder.hnswM;
+		this.hnswEfConstruction = builder.hnswEfConstruction;
+		this.ivfFlatLists = builder.ivfFlatLists;
+		this.searchParameters = builder.searchParameters;
+	}
 
-		this.jdbcTemplate = jdbcTemplate;
-		this.embeddingClient = embeddingClient;
-		this.dimensions = dimensions;
-		this.distanceType = distanceType;
-		this.removeExistingVectorStoreTable = removeExistingVectorStoreTable;
-		this.createIndexMethod = createIndexMethod;
+	public static Builder builder(JdbcTemplate jdbcTemplate, EmbeddingClient embeddingClient) {
+		return new Builder(jdbcTemplate, embeddingClient);
 	}
 
 	public PgDistanceType getDistanceType() {
 		return distanceType;
 	}
 
+	/**
+	 * @return the name of the vector store table, schema qualified when a schema is
+	 * configured.
+	 */
+	public String getQualifiedTableName() {
+		return this.qualifiedTableName;
+	}
+
 	@Override
 	public void add(List<Document> documents) {
 
-		int size = documents.size();
+		for (int from = 0; from < documents.size(); from += this.maxDocumentBatchSize) {
+			List<Document> batch = documents.subList(from,
+					Math.min(documents.size(), from + this.maxDocumentBatchSize));
 
-		this.jdbcTemplate.batchUpdate(
-				"INSERT INTO " + VECTOR_TABLE_NAME + " (id, content, metadata, embedding) VALUES (?, ?, ?::jsonb, ?) "
-						+ "ON CONFLICT (id) DO " + "UPDATE SET content = ? , metadata = ?::jsonb , embedding = ? ",
-				new BatchPreparedStatementSetter() {
-					@Override
-					public void setValues(PreparedStatement ps, int i) throws SQLException {
-
-						var document = documents.get(i);
-						var content = document.getContent();
-						var json = toJson(document.getMetadata());
-						var pGvector = new PGvector(toFloatArray(embeddingClient.embed(document)));
-
-						StatementCreatorUtils.setParameterValue(ps, 1, SqlTypeValue.TYPE_UNKNOWN,
-								UUID.fromString(document.getId()));
-						StatementCreatorUtils.setParameterValue(ps, 2, SqlTypeValue.TYPE_UNKNOWN, content);
-						StatementCreatorUtils.setParameterValue(ps, 3, SqlTypeValue.TYPE_UNKNOWN, json);
-						StatementCreatorUtils.setParameterValue(ps, 4, SqlTypeValue.TYPE_UNKNOWN, pGvector);
-						StatementCreatorUtils.setParameterValue(ps, 5, SqlTypeValue.TYPE_UNKNOWN, content);
-						StatementCreatorUtils.setParameterValue(ps, 6, SqlTypeValue.TYPE_UNKNOWN, json);
-						StatementCreatorUtils.setParameterValue(ps, 7, SqlTypeValue.TYPE_UNKNOWN, pGvector);
-					}
+			List<EmbeddingVector> embeddings = this.embeddingClient.embed(batch, EmbeddingOptions.EMPTY,
+					this.batchingStrategy);
+			for (int i = 0; i < batch.size(); i++) {
+				batch.get(i).setEmbeddingVector(embeddings.get(i));
+			}
 
-					@Override
-					public int getBatchSize() {
-						return size;
-					}
+			if (this.bulkLoad) {
+				executeInTransaction(connection -> {
+					copyAndMerge(connection, batch);
+					return null;
 				});
+			}
+			else {
+				executeInTransaction(connection -> {
+					upsert(connection, batch);
+					return null;
+				});
+			}
+		}
+	}
+
+	private void upsert(Connection connection, List<Document> documents) throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement("INSERT INTO " + this.qualifiedTableName
+				+ " (id, content, metadata, embedding) VALUES (?, ?, ?::jsonb, ?) " + upsertConflictClause())) {
+			for (Document document : documents) {
+				ps.setObject(1, UUID.fromString(document.getId()));
+				ps.setString(2, document.getContent());
+				ps.setString(3, toJson(document.getMetadata()));
+				ps.setObject(4, toPgVector(document.getEmbeddingVector().array()));
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+	}
+
+	private void copyAndMerge(Connection connection, List<Document> documents) throws SQLException {
+
+		// A single INSERT can not update the same row twice, the last document with an id
+		// wins as with the upsert
+		Map<String, Document> documentsById = new LinkedHashMap<>();
+		for (Document document : documents) {
+			documentsById.put(document.getId(), document);
+		}
+
+		// Temporary tables live in their own schema, the staging table is not qualified
+		String stagingTableName = this.tableName + "_staging";
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TEMP TABLE " + stagingTableName
+					+ " (id uuid, content text, metadata text, embedding vector)");
+		}
+
+		String copySql = "COPY " + stagingTableName
+				+ " (id, content, metadata, embedding) FROM STDIN (FORMAT BINARY)";
+		try (PgCopyBinaryWriter writer = new PgCopyBinaryWriter(
+				new PGCopyOutputStream(connection.unwrap(PGConnection.class), copySql, COPY_BUFFER_SIZE))) {
+			for (Document document : documentsById.values()) {
+				writer.startRow(4);
+				writer.writeUuid(UUID.fromString(document.getId()));
+				writer.writeText(document.getContent());
+				writer.writeText(toJson(document.getMetadata()));
+				writer.writeVector(document.getEmbeddingVector().array());
+			}
+		}
+		catch (IOException ex) {
+			throw new SQLException("Failed to copy the documents into " + stagingTableName, ex);
+		}
+
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("INSERT INTO " + this.qualifiedTableName
+					+ " (id, content, metadata, embedding) SELECT id, content, metadata::jsonb, embedding::"
+					+ this.vectorType.sqlName() + " FROM " + stagingTableName + " " + upsertConflictClause());
+			statement.execute("DROP TABLE " + stagingTableName);
+		}
+	}
+
+	private static String upsertConflictClause() {
+		return "ON CONFLICT (id) DO UPDATE SET content = EXCLUDED.content, metadata = EXCLUDED.metadata, "
+				+ "embedding = EXCLUDED.embedding";
+	}
+
+	/**
+	 * Execute the work in a transaction, committed when it completes. The work joins the
+	 * transaction in progress, if any.
+	 */
+	private <T> T executeInTransaction(ConnectionWork<T> work) {
+		return this.jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+			boolean autoCommit = connection.getAutoCommit();
+			if (autoCommit) {
+				connection.setAutoCommit(false);
+			}
+			try {
+				T result = work.execute(connection);
+				if (autoCommit) {
+					connection.commit();
+				}
+				return result;
+			}
+			catch (SQLException | RuntimeException ex) {
+				if (autoCommit) {
+					connection.rollback();
+				}
+				throw ex;
+			}
+			finally {
+				if (autoCommit) {
+					connection.setAutoCommit(true);
+				}
+			}
+		});
+	}
+
+	@FunctionalInterface
+	private interface ConnectionWork<T> {
+
+		T execute(Connection connection) throws SQLException;
+
 	}
 
 	private String toJson(Map<String, Object> map) {
@@ -265,21 +501,19 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 		}
 	}
 
-	private float[] toFloatArray(List<Double> embeddingDouble) {
-		float[] embeddingFloat = new float[embeddingDouble.size()];
-		int i = 0;
-		for (Double d : embeddingDouble) {
-			embeddingFloat[i++] = d.floatValue();
-		}
-		return embeddingFloat;
-	}
-
 	@Override
 	public Optional<Boolean> delete(List<String> idList) {
 		int updateCount = 0;
-		for (String id : idList) {
-			int count = jdbcTemplate.update("DELETE FROM " + VECTOR_TABLE_NAME + " WHERE id = ?", UUID.fromString(id));
-			updateCount = updateCount + count;
+		for (int from = 0; from < idList.size(); from += this.maxDocumentBatchSize) {
+			UUID[] ids = idList.subList(from, Math.min(idList.size(), from + this.maxDocumentBatchSize))
+				.stream()
+				.map(UUID::fromString)
+				.toArray(UUID[]::new);
+			String sql = "DELETE FROM " + this.qualifiedTableName + " WHERE id = ANY(?)";
+			updateCount += this.jdbcTemplate.update(sql, ps -> {
+				Array idArray = ps.getConnection().createArrayOf("uuid", ids);
+				ps.setArray(1, idArray);
+			});
 		}
 
 		return Optional.of(updateCount == idList.size());
@@ -287,6 +521,20 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 
 	@Override
 	public List<Document> similaritySearch(SearchRequest request) {
+		return similaritySearch(request, this.searchParameters);
+	}
+
+	/**
+	 * Search with the given approximate nearest neighbor search parameters, rather than
+	 * the ones of the store.
+	 * @param request the search request.
+	 * @param searchParameters the search parameters, set in a transaction for this search
+	 * only. Within a transaction in progress, they apply up to its end.
+	 * @return the documents most similar to the query.
+	 */
+	public List<Document> similaritySearch(SearchRequest request, PgSearchParameters searchParameters) {
+
+		Assert.notNull(searchParameters, "SearchParameters must not be null");
 
 		String nativeFilterExpression = (request.getFilterExpression() != null)
 				? this.filterExpressionConverter.convertExpression(request.getFilterExpression()) : "";
@@ -294,21 +542,53 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 		String jsonPathFilter = "";
 
 		if (StringUtils.hasText(nativeFilterExpression)) {
+			// The cast is a no-op on jsonb columns, which lets the GIN index serve the filter,
+			// and keeps tables created with a json metadata column working
 			jsonPathFilter = " AND metadata::jsonb @@ '" + nativeFilterExpression + "'::jsonpath ";
 		}
 
 		double distance = 1 - request.getSimilarityThreshold();
 
-		PGvector queryEmbedding = getQueryEmbedding(request.getQuery());
+		PGobject queryEmbedding = getQueryEmbedding(request.getQuery());
 
-		return this.jdbcTemplate.query(
-				String.format(this.getDistanceType().similaritySearchSqlTemplate, VECTOR_TABLE_NAME, jsonPathFilter),
-				new DocumentRowMapper(this.objectMapper), queryEmbedding, queryEmbedding, distance, request.getTopK());
+		String sql = String.format(this.getDistanceType().similaritySearchSqlTemplate, this.qualifiedTableName,
+				jsonPathFilter);
+		DocumentRowMapper rowMapper = new DocumentRowMapper(this.objectMapper);
+
+		if (searchParameters.isDefault()) {
+			return this.jdbcTemplate.query(sql, rowMapper, queryEmbedding, queryEmbedding, distance,
+					request.getTopK());
+		}
+
+		return executeInTransaction(connection -> {
+			// SET does not take bind parameters, the values are validated integers
+			try (Statement statement = connection.createStatement()) {
+				if (searchParameters.hnswEfSearch() > 0) {
+					statement.execute("SET LOCAL hnsw.ef_search = " + searchParameters.hnswEfSearch());
+				}
+				if (searchParameters.ivfFlatProbes() > 0) {
+					statement.execute("SET LOCAL ivfflat.probes = " + searchParameters.ivfFlatProbes());
+				}
+			}
+			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+				ps.setObject(1, queryEmbedding);
+				ps.setObject(2, queryEmbedding);
+				ps.setDouble(3, distance);
+				ps.setInt(4, request.getTopK());
+				List<Document> documents = new ArrayList<>();
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						documents.add(rowMapper.mapRow(rs, documents.size()));
+					}
+				}
+				return documents;
+			}
+		});
 	}
 
 	public List<Double> embeddingDistance(String query) {
 		return this.jdbcTemplate.query(
-				"SELECT embedding " + this.comparisonOperator() + " ? AS distance FROM " + VECTOR_TABLE_NAME,
+				"SELECT embedding " + this.comparisonOperator() + " ? AS distance FROM " + this.qualifiedTableName,
 				new RowMapper<Double>() {
 					@Override
 					@Nullable
@@ -319,9 +599,28 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 				}, getQueryEmbedding(query));
 	}
 
-	private PGvector getQueryEmbedding(String query) {
-		List<Double> embedding = this.embeddingClient.embed(query);
-		return new PGvector(toFloatArray(embedding));
+	private PGobject getQueryEmbedding(String query) {
+		return toPgVector(this.embeddingClient.embedAsFloats(query).array());
+	}
+
+	/**
+	 * Convert the embedding to a parameter of the type of the embedding column, so that
+	 * the distance operators and indexes of that type are used.
+	 */
+	private PGobject toPgVector(float[] embedding) {
+		PGvector vector = new PGvector(embedding);
+		if (this.vectorType == PgVectorType.VECTOR) {
+			return vector;
+		}
+		try {
+			PGobject halfvec = new PGobject();
+			halfvec.setType(this.vectorType.sqlName());
+			halfvec.setValue(vector.getValue());
+			return halfvec;
+		}
+		catch (SQLException ex) {
+			throw new IllegalStateException(ex);
+		}
 	}
 
 	private String comparisonOperator() {
@@ -338,25 +637,64 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 		this.jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS hstore");
 		this.jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
 
+		if (this.schemaName != null) {
+			this.jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + this.schemaName);
+		}
+
 		// Remove existing VectorStoreTable
 		if (this.removeExistingVectorStoreTable) {
-			this.jdbcTemplate.execute("DROP TABLE IF EXISTS " + VECTOR_TABLE_NAME);
+			this.jdbcTemplate.execute("DROP TABLE IF EXISTS " + this.qualifiedTableName);
 		}
 
 		this.jdbcTemplate.execute(String.format("""
 				CREATE TABLE IF NOT EXISTS %s (
 					id uuid DEFAULT uuid_generate_v4() PRIMARY KEY,
 					content text,
-					metadata json,
-					embedding vector(%d)
+					metadata jsonb,
+					embedding %s(%d)
 				)
-				""", VECTOR_TABLE_NAME, this.embeddingDimensions()));
+				""", this.qualifiedTableName, this.vectorType.sqlName(), this.embeddingDimensions()));
 
 		if (this.createIndexMethod != PgIndexType.NONE) {
 			this.jdbcTemplate.execute(String.format("""
-					CREATE INDEX IF NOT EXISTS %s ON %s USING %s (embedding %s)
-					""", VECTOR_INDEX_NAME, VECTOR_TABLE_NAME, this.createIndexMethod, this.getDistanceType().index));
+					CREATE INDEX IF NOT EXISTS %s ON %s USING %s (embedding %s)%s
+					""", vectorIndexName(), this.qualifiedTableName, this.createIndexMethod, vectorIndexOperatorClass(),
+					vectorIndexParameters()));
+		}
+
+		if (this.metadataIndex) {
+			// jsonb_path_ops serves the jsonpath match (@@) of the metadata filters
+			this.jdbcTemplate.execute(String.format("""
+					CREATE INDEX IF NOT EXISTS %s_metadata_index ON %s USING gin (metadata jsonb_path_ops)
+					""", this.tableName, this.qualifiedTableName));
+		}
+	}
+
+	private String vectorIndexName() {
+		// Index names are unique per schema, the default keeps the name of existing indexes
+		return VECTOR_TABLE_NAME.equals(this.tableName) ? VECTOR_INDEX_NAME : this.tableName + "_embedding_index";
+	}
+
+	private String vectorIndexOperatorClass() {
+		String operatorClass = this.getDistanceType().index;
+		return (this.vectorType == PgVectorType.VECTOR) ? operatorClass
+				: operatorClass.replace("vector_", this.vectorType.sqlName() + "_");
+	}
+
+	private String vectorIndexParameters() {
+		List<String> parameters = new ArrayList<>();
+		if (this.createIndexMethod == PgIndexType.HNSW) {
+			if (this.hnswM > 0) {
+				parameters.add("m = " + this.hnswM);
+			}
+			if (this.hnswEfConstruction > 0) {
+				parameters.add("ef_construction = " + this.hnswEfConstruction);
+			}
+		}
+		else if (this.createIndexMethod == PgIndexType.IVFFLAT && this.ivfFlatLists > 0) {
+			parameters.add("lists = " + this.ivfFlatLists);
 		}
+		return parameters.isEmpty() ? "" : " WITH (" + String.join(", ", parameters) + ")";
 	}
 
 	int embeddingDimensions() {
@@ -378,4 +716,179 @@ public class PgVectorStore implements VectorStore, InitializingBean {
 		return OPENAI_EMBEDDING_DIMENSION_SIZE;
 	}
 
+	public static class Builder {
+
+		private final JdbcTemplate jdbcTemplate;
+
+		private final EmbeddingClient embeddingClient;
+
+		private int dimensions = INVALID_EMBEDDING_DIMENSION;
+
+		private PgDistanceType distanceType = PgDistanceType.COSINE_DISTANCE;
+
+		private boolean removeExistingVectorStoreTable = false;
+
+		private PgIndexType indexType = PgIndexType.NONE;
+
+		private BatchingStrategy batchingStrategy = new TokenCountBatchingStrategy();
+
+		private int maxDocumentBatchSize = DEFAULT_MAX_DOCUMENT_BATCH_SIZE;
+
+		private boolean bulkLoad = false;
+
+		private String schemaName;
+
+		private String tableName = VECTOR_TABLE_NAME;
+
+		private PgVectorType vectorType = PgVectorType.VECTOR;
+
+		private boolean metadataIndex = false;
+
+		private int hnswM;
+
+		private int hnswEfConstruction;
+
+		private int ivfFlatLists;
+
+		private PgSearchParameters searchParameters = PgSearchParameters.DEFAULT;
+
+		private Builder(JdbcTemplate jdbcTemplate, EmbeddingClient embeddingClient) {
+			Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
+			Assert.notNull(embeddingClient, "EmbeddingClient must not be null");
+			this.jdbcTemplate = jdbcTemplate;
+			this.embeddingClient = embeddingClient;
+		}
+
+		public Builder withDimensions(int dimensions) {
+			this.dimensions = dimensions;
+			return this;
+		}
+
+		public Builder withDistanceType(PgDistanceType distanceType) {
+			Assert.notNull(distanceType, "DistanceType must not be null");
+			this.distanceType = distanceType;
+			return this;
+		}
+
+		public Builder withRemoveExistingVectorStoreTable(boolean removeExistingVectorStoreTable) {
+			this.removeExistingVectorStoreTable = removeExistingVectorStoreTable;
+			return this;
+		}
+
+		public Builder withIndexType(PgIndexType indexType) {
+			Assert.notNull(indexType, "IndexType must not be null");
+			this.indexType = indexType;
+			return this;
+		}
+
+		/**
+		 * @param batchingStrategy splits the documents of a batch into embedding
+		 * requests, by default a {@link TokenCountBatchingStrategy} bounding the tokens of
+		 * each document by the input limit of the embedding model and the tokens of each
+		 * request by the request limit.
+		 */
+		public Builder withBatchingStrategy(BatchingStrategy batchingStrategy) {
+			Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
+			this.batchingStrategy = batchingStrategy;
+			return this;
+		}
+
+		/**
+		 * @param maxDocumentBatchSize the maximum number of documents embedded and written
+		 * in one transaction, and of ids deleted in one statement.
+		 */
+		public Builder withMaxDocumentBatchSize(int maxDocumentBatchSize) {
+			Assert.isTrue(maxDocumentBatchSize > 0, "MaxDocumentBatchSize must be positive");
+			this.maxDocumentBatchSize = maxDocumentBatchSize;
+			return this;
+		}
+
+		/**
+		 * @param bulkLoad whether the documents are loaded with {@code COPY} into a staging
+		 * table and then merged, rather than upserted row by row. Requires the JDBC
+		 * connections to unwrap to a PostgreSQL {@link PGConnection}.
+		 */
+		public Builder withBulkLoad(boolean bulkLoad) {
+			this.bulkLoad = bulkLoad;
+			return this;
+		}
+
+		/**
+		 * @param schemaName the schema of the vector store table, created if it does not
+		 * exist, or {@code null} to leave the table name unqualified and resolve it
+		 * through the {@code search_path}.
+		 */
+		public Builder withSchemaName(String schemaName) {
+			Assert.isTrue(schemaName == null || IDENTIFIER_PATTERN.matcher(schemaName).matches(),
+					"SchemaName must be a valid unquoted identifier");
+			this.schemaName = schemaName;
+			return this;
+		}
+
+		/**
+		 * @param tableName the name of the vector store table, for instance one per
+		 * tenant.
+		 */
+		public Builder withTableName(String tableName) {
+			Assert.isTrue(tableName != null && IDENTIFIER_PATTERN.matcher(tableName).matches(),
+					"TableName must be a valid unquoted identifier");
+			this.tableName = tableName;
+			return this;
+		}
+
+		public Builder withVectorType(PgVectorType vectorType) {
+			Assert.notNull(vectorType, "VectorType must not be null");
+			this.vectorType = vectorType;
+			return this;
+		}
+
+		/**
+		 * @param metadataIndex whether to create a GIN index on the metadata, serving the
+		 * filter expressions of the searches.
+		 */
+		public Builder withMetadataIndex(boolean metadataIndex) {
+			this.metadataIndex = metadataIndex;
+			return this;
+		}
+
+		/**
+		 * Set the build parameters of the HNSW index, zero for the pgvector default.
+		 * @param m the maximum number of connections per layer.
+		 * @param efConstruction the size of the dynamic candidate list for constructing
+		 * the graph.
+		 */
+		public Builder withHnswIndexParameters(int m, int efConstruction) {
+			Assert.isTrue(m >= 0, "M must not be negative");
+			Assert.isTrue(efConstruction >= 0, "EfConstruction must not be negative");
+			this.hnswM = m;
+			this.hnswEfConstruction = efConstruction;
+			return this;
+		}
+
+		/**
+		 * Set the build parameter of the IVFFlat index, zero for the pgvector default.
+		 * @param lists the number of inverted lists.
+		 */
+		public Builder withIvfFlatIndexParameters(int lists) {
+			Assert.isTrue(lists >= 0, "Lists must not be negative");
+			this.ivfFlatLists = lists;
+			return this;
+		}
+
+		/**
+		 * @param searchParameters the default parameters of the approximate nearest
+		 * neighbor searches.
+		 */
+		public Builder withSearchParameters(PgSearchParameters searchParameters) {
+			Assert.notNull(searchParameters, "SearchParameters must not be null");
+			this.searchParameters = searchParameters;
+			return this;
+		}
+
+		public PgVectorStore build() {
+			return new PgVectorStore(this);
+		}
+
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.vectorstore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PgCopyBinaryWriterTests {
+
+	@Test
+	public void rowsAreWrittenInTheCopyBinaryFormat() throws IOException {
+		UUID id = UUID.randomUUID();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (PgCopyBinaryWriter writer = new PgCopyBinaryWriter(bytes)) {
+			writer.startRow(4);
+			writer.writeUuid(id);
+			writer.writeText("héllo");
+			writer.writeNull();
+			writer.writeVector(new float[] { 1.5f, -2f });
+		}
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		byte[] signature = new byte[11];
+		in.readFully(signature);
+		assertThat(signature).containsExactly('P', 'G', 'C', 'O', 'P', 'Y', '\n', 0xFF, '\r', '\n', 0);
+		assertThat(in.readInt()).isZero();
+		assertThat(in.readInt()).isZero();
+
+		assertThat(in.readShort()).isEqualTo((short) 4);
+
+		assertThat(in.readInt()).isEqualTo(16);
+		assertThat(new UUID(in.readLong(), in.readLong())).isEqualTo(id);
+
+		byte[] text = new byte[in.readInt()];
+		in.readFully(text);
+		assertThat(new String(text, StandardCharsets.UTF_8)).isEqualTo("héllo");
+
+		assertThat(in.readInt()).isEqualTo(-1);
+
+		assertThat(in.readInt()).isEqualTo(12);
+		assertThat(in.readShort()).isEqualTo((short) 2);
+		assertThat(in.readShort()).isZero();
+		assertThat(in.readFloat()).isEqualTo(1.5f);
+		assertThat(in.readFloat()).isEqualTo(-2f);
+
+		assertThat(in.readShort()).isEqualTo((short) -1);
+		assertThat(in.available()).isZero();
+	}
+
+}
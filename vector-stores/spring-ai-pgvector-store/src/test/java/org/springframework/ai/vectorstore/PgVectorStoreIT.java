@@ -39,6 +39,8 @@ import org.springframework.ai.embedding.EmbeddingClient;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.openai.OpenAiEmbeddingClient;
 import org.springframework.ai.vectorstore.PgVectorStore.PgIndexType;
+import org.springframework.ai.vectorstore.PgVectorStore.PgSearchParameters;
+import org.springframework.ai.vectorstore.PgVectorStore.PgVectorType;
 import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser.FilterExpressionParseException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringBootConfiguration;
@@ -64,7 +66,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class PgVectorStoreIT {
 
 	@Container
-	static GenericContainer<?> postgresContainer = new GenericContainer<>("ankane/pgvector:v0.5.1")
+	static GenericContainer<?> postgresContainer = new GenericContainer<>("pgvector/pgvector:0.7.0-pg16")
 		.withEnv("POSTGRES_USER", "postgres")
 		.withEnv("POSTGRES_PASSWORD", "postgres")
 		.withExposedPorts(5432);
@@ -278,6 +280,78 @@ public class PgVectorStoreIT {
 			});
 	}
 
+	@ParameterizedTest(name = "{0} : {displayName} ")
+	@ValueSource(strings = { "COSINE_DISTANCE", "EUCLIDEAN_DISTANCE", "NEGATIVE_INNER_PRODUCT" })
+	public void bulkLoadAndBatchDelete(String distanceType) {
+
+		contextRunner
+			.withPropertyValues("test.spring.ai.vectorstore.pgvector.distanceType=" + distanceType,
+					"test.spring.ai.vectorstore.pgvector.bulkLoad=true")
+			.run(context -> {
+
+				VectorStore vectorStore = context.getBean(VectorStore.class);
+
+				Document sameIdDocument = new Document(documents.get(0).getId(), "Spring AI rocks!!",
+						Map.of("meta1", "meta1"));
+
+				// Spans two batches, the last document with an id in a batch wins
+				vectorStore.add(List.of(documents.get(0), sameIdDocument, documents.get(1), documents.get(2)));
+
+				List<Document> results = vectorStore
+					.similaritySearch(SearchRequest.query("Spring").withTopK(5).withSimilarityThresholdAll());
+
+				assertThat(results).hasSize(3);
+				assertThat(results).extracting(Document::getContent).contains("Spring AI rocks!!");
+				assertThat(results.get(0).getMetadata()).containsKey("distance");
+
+				assertThat(vectorStore.delete(documents.stream().map(Document::getId).toList())).contains(true);
+
+				results = vectorStore
+					.similaritySearch(SearchRequest.query("Spring").withTopK(5).withSimilarityThresholdAll());
+				assertThat(results).isEmpty();
+
+				dropTable(context);
+			});
+	}
+
+	@ParameterizedTest(name = "{0} : {displayName} ")
+	@ValueSource(strings = { "COSINE_DISTANCE", "EUCLIDEAN_DISTANCE", "NEGATIVE_INNER_PRODUCT" })
+	public void tenantTableWithHalfVectorsAndSearchParameters(String distanceType) {
+
+		contextRunner.run(context -> {
+
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			EmbeddingClient embeddingClient = context.getBean(EmbeddingClient.class);
+			PgVectorStore vectorStore = PgVectorStore.builder(jdbcTemplate, embeddingClient)
+				.withDistanceType(PgVectorStore.PgDistanceType.valueOf(distanceType))
+				.withSchemaName("tenant_a")
+				.withTableName("documents")
+				.withRemoveExistingVectorStoreTable(true)
+				.withVectorType(PgVectorType.HALFVEC)
+				.withIndexType(PgIndexType.HNSW)
+				.withHnswIndexParameters(8, 32)
+				.withMetadataIndex(true)
+				.build();
+			vectorStore.afterPropertiesSet();
+
+			assertThat(jdbcTemplate.queryForObject(
+					"SELECT count(*) FROM pg_indexes WHERE schemaname = 'tenant_a' AND tablename = 'documents'",
+					Integer.class))
+				.isEqualTo(3);
+
+			vectorStore.add(documents);
+
+			List<Document> results = vectorStore.similaritySearch(
+					SearchRequest.query("What is Great Depression").withTopK(1).withFilterExpression("meta2 == 'meta2'"),
+					PgSearchParameters.hnsw(100));
+
+			assertThat(results).hasSize(1);
+			assertThat(results.get(0).getId()).isEqualTo(documents.get(2).getId());
+
+			jdbcTemplate.execute("DROP SCHEMA tenant_a CASCADE");
+		});
+	}
+
 	private static boolean isSortedByDistance(List<Document> docs) {
 
 		List<Float> distances = docs.stream().map(doc -> (Float) doc.getMetadata().get("distance")).toList();
@@ -305,10 +379,18 @@ public class PgVectorStoreIT {
 		@Value("${test.spring.ai.vectorstore.pgvector.distanceType}")
 		PgVectorStore.PgDistanceType distanceType;
 
+		@Value("${test.spring.ai.vectorstore.pgvector.bulkLoad:false}")
+		boolean bulkLoad;
+
 		@Bean
 		public VectorStore vectorStore(JdbcTemplate jdbcTemplate, EmbeddingClient embeddingClient) {
-			return new PgVectorStore(jdbcTemplate, embeddingClient, PgVectorStore.INVALID_EMBEDDING_DIMENSION,
-					distanceType, true, PgIndexType.HNSW);
+			return PgVectorStore.builder(jdbcTemplate, embeddingClient)
+				.withDistanceType(distanceType)
+				.withRemoveExistingVectorStoreTable(true)
+				.withIndexType(PgIndexType.HNSW)
+				.withMaxDocumentBatchSize(3)
+				.withBulkLoad(bulkLoad)
+				.build();
 		}
 
 		@Bean
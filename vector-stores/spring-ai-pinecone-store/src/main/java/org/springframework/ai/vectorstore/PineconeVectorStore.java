@@ -16,6 +16,7 @@
 package org.springframework.ai.vectorstore;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -35,7 +36,11 @@ import io.pinecone.proto.UpsertRequest;
 import io.pinecone.proto.Vector;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
 import org.springframework.ai.vectorstore.filter.converter.PineconeFilterExpressionConverter;
 import org.springframework.util.Assert;
@@ -65,6 +70,8 @@ public class PineconeVectorStore implements VectorStore {
 
 	private final ObjectMapper objectMapper;
 
+	private final BatchingStrategy batchingStrategy;
+
 	/**
 	 * Configuration class for the PineconeVectorStore.
 	 */
@@ -214,13 +221,26 @@ public class PineconeVectorStore implements VectorStore {
 	 * @param embeddingClient The client for embedding operations.
 	 */
 	public PineconeVectorStore(PineconeVectorStoreConfig config, EmbeddingClient embeddingClient) {
+		this(config, embeddingClient, new TokenCountBatchingStrategy());
+	}
+
+	/**
+	 * Constructs a new PineconeVectorStore.
+	 * @param config The configuration for the store.
+	 * @param embeddingClient The client for embedding operations.
+	 * @param batchingStrategy The strategy used to batch documents for embedding.
+	 */
+	public PineconeVectorStore(PineconeVectorStoreConfig config, EmbeddingClient embeddingClient,
+			BatchingStrategy batchingStrategy) {
 		Assert.notNull(config, "PineconeVectorStoreConfig must not be null");
 		Assert.notNull(embeddingClient, "EmbeddingClient must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 
 		this.embeddingClient = embeddingClient;
 		this.pineconeNamespace = config.namespace;
 		this.pineconeConnection = new PineconeClient(config.clientConfig).connect(config.connectionConfig);
 		this.objectMapper = new ObjectMapper();
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	/**
@@ -230,16 +250,21 @@ public class PineconeVectorStore implements VectorStore {
 	 */
 	public void add(List<Document> documents, String namespace) {
 
-		List<Vector> upsertVectors = documents.stream().map(document -> {
-			// Compute and assign an embedding to the document.
-			document.setEmbedding(this.embeddingClient.embed(document));
+		// Compute the embeddings in batches.
+		List<EmbeddingVector> embeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY,
+				this.batchingStrategy);
 
-			return Vector.newBuilder()
+		List<Vector> upsertVectors = new ArrayList<>(documents.size());
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
+			document.setEmbeddingVector(embeddings.get(i));
+
+			upsertVectors.add(Vector.newBuilder()
 				.setId(document.getId())
 				.addAllValues(toFloatList(document.getEmbedding()))
 				.setMetadata(metadataToStruct(document))
-				.build();
-		}).toList();
+				.build());
+		}
 
 		UpsertRequest upsertRequest = UpsertRequest.newBuilder()
 			.addAllVectors(upsertVectors)
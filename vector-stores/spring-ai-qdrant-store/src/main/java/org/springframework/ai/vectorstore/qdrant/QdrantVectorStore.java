@@ -20,19 +20,30 @@ import static io.qdrant.client.ValueFactory.value;
 import static io.qdrant.client.VectorsFactory.vectors;
 import static io.qdrant.client.WithPayloadSelectorFactory.enable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.ReactiveVectorStore;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.util.Assert;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.qdrant.client.QdrantClient;
 import io.qdrant.client.grpc.Collections.Distance;
 import io.qdrant.client.grpc.Collections.VectorParams;
@@ -43,6 +54,9 @@ import io.qdrant.client.grpc.Points.PointStruct;
 import io.qdrant.client.grpc.Points.ScoredPoint;
 import io.qdrant.client.grpc.Points.SearchPoints;
 import io.qdrant.client.grpc.Points.UpdateStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Qdrant vectorStore implementation. This store supports creating, updating, deleting,
@@ -69,6 +83,8 @@ public class QdrantVectorStore implements VectorStore, InitializingBean {
 
 	private final QdrantFilterExpressionConverter filterExpressionConverter = new QdrantFilterExpressionConverter();
 
+	private final BatchingStrategy batchingStrategy;
+
 	/**
 	 * Configuration class for the QdrantVectorStore.
 	 *
@@ -149,13 +165,27 @@ public class QdrantVectorStore implements VectorStore, InitializingBean {
 	 * @param embeddingClient The client for embedding operations.
 	 */
 	public QdrantVectorStore(QdrantClient qdrantClient, String collectionName, EmbeddingClient embeddingClient) {
+		this(qdrantClient, collectionName, embeddingClient, new TokenCountBatchingStrategy());
+	}
+
+	/**
+	 * Constructs a new QdrantVectorStore.
+	 * @param qdrantClient A {@link QdrantClient} instance for interfacing with Qdrant.
+	 * @param collectionName The name of the collection to use in Qdrant.
+	 * @param embeddingClient The client for embedding operations.
+	 * @param batchingStrategy The strategy used to batch documents for embedding.
+	 */
+	public QdrantVectorStore(QdrantClient qdrantClient, String collectionName, EmbeddingClient embeddingClient,
+			BatchingStrategy batchingStrategy) {
 		Assert.notNull(qdrantClient, "QdrantClient must not be null");
 		Assert.notNull(collectionName, "collectionName must not be null");
 		Assert.notNull(embeddingClient, "EmbeddingClient must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 
 		this.embeddingClient = embeddingClient;
 		this.collectionName = collectionName;
 		this.qdrantClient = qdrantClient;
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	/**
@@ -165,18 +195,7 @@ public class QdrantVectorStore implements VectorStore, InitializingBean {
 	@Override
 	public void add(List<Document> documents) {
 		try {
-			List<PointStruct> points = documents.stream().map(document -> {
-				// Compute and assign an embedding to the document.
-				document.setEmbedding(this.embeddingClient.embed(document));
-
-				return PointStruct.newBuilder()
-					.setId(id(UUID.fromString(document.getId())))
-					.setVectors(vectors(toFloatList(document.getEmbedding())))
-					.putAllPayload(toPayload(document))
-					.build();
-			}).toList();
-
-			this.qdrantClient.upsertAsync(this.collectionName, points).get();
+			this.qdrantClient.upsertAsync(this.collectionName, toPoints(documents)).get();
 		}
 		catch (InterruptedException | ExecutionException | IllegalArgumentException e) {
 			throw new RuntimeException(e);
@@ -191,8 +210,7 @@ public class QdrantVectorStore implements VectorStore, InitializingBean {
 	@Override
 	public Optional<Boolean> delete(List<String> documentIds) {
 		try {
-			List<PointId> ids = documentIds.stream().map(id -> id(UUID.fromString(id))).toList();
-			var result = this.qdrantClient.deleteAsync(this.collectionName, ids)
+			var result = this.qdrantClient.deleteAsync(this.collectionName, toPointIds(documentIds))
 				.get()
 				.getStatus() == UpdateStatus.Completed;
 			return Optional.of(result);
@@ -211,22 +229,9 @@ public class QdrantVectorStore implements VectorStore, InitializingBean {
 	@Override
 	public List<Document> similaritySearch(SearchRequest request) {
 		try {
-			Filter filter = (request.getFilterExpression() != null)
-					? this.filterExpressionConverter.convertExpression(request.getFilterExpression())
-					: Filter.getDefaultInstance();
-
-			List<Double> queryEmbedding = this.embeddingClient.embed(request.getQuery());
-
-			var searchPoints = SearchPoints.newBuilder()
-				.setCollectionName(this.collectionName)
-				.setLimit(request.getTopK())
-				.setWithPayload(enable(true))
-				.addAllVector(toFloatList(queryEmbedding))
-				.setFilter(filter)
-				.setScoreThreshold((float) request.getSimilarityThreshold())
-				.build();
+			EmbeddingVector queryEmbedding = this.embeddingClient.embedAsFloats(request.getQuery());
 
-			var queryResponse = this.qdrantClient.searchAsync(searchPoints).get();
+			var queryResponse = this.qdrantClient.searchAsync(toSearchPoints(request, queryEmbedding)).get();
 
 			return queryResponse.stream().map(scoredPoint -> {
 				return toDocument(scoredPoint);
@@ -238,6 +243,109 @@ public class QdrantVectorStore implements VectorStore, InitializingBean {
 		}
 	}
 
+	/**
+	 * Returns a non-blocking view of this store, built on the asynchronous Qdrant client.
+	 * Only the embedding of the documents and queries, done by the blocking
+	 * {@link EmbeddingClient}, runs on a {@link Schedulers#boundedElastic()} worker.
+	 * @return the reactive view of this vector store.
+	 */
+	@Override
+	public ReactiveVectorStore reactive() {
+		return new ReactiveVectorStore() {
+
+			@Override
+			public Mono<Void> add(List<Document> documents) {
+				return Mono.fromCallable(() -> toPoints(documents))
+					.subscribeOn(Schedulers.boundedElastic())
+					.flatMap(points -> toMono(() -> qdrantClient.upsertAsync(collectionName, points)))
+					.then();
+			}
+
+			@Override
+			public Mono<Boolean> delete(List<String> idList) {
+				return toMono(() -> qdrantClient.deleteAsync(collectionName, toPointIds(idList)))
+					.map(result -> result.getStatus() == UpdateStatus.Completed);
+			}
+
+			@Override
+			public Flux<Document> similaritySearch(SearchRequest request) {
+				return Mono.fromCallable(() -> embeddingClient.embedAsFloats(request.getQuery()))
+					.subscribeOn(Schedulers.boundedElastic())
+					.flatMap(queryEmbedding -> toMono(
+							() -> qdrantClient.searchAsync(toSearchPoints(request, queryEmbedding))))
+					.flatMapIterable(scoredPoints -> scoredPoints)
+					.map(scoredPoint -> toDocument(scoredPoint));
+			}
+
+		};
+	}
+
+	/**
+	 * Computes the embeddings of the documents in batches and converts them to points.
+	 * @param documents The documents to convert.
+	 * @return The points to upsert.
+	 */
+	private List<PointStruct> toPoints(List<Document> documents) {
+		List<EmbeddingVector> embeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY,
+				this.batchingStrategy);
+
+		List<PointStruct> points = new ArrayList<>(documents.size());
+		for (int i = 0; i < documents.size(); i++) {
+			Document document = documents.get(i);
+			document.setEmbeddingVector(embeddings.get(i));
+
+			points.add(PointStruct.newBuilder()
+				.setId(id(UUID.fromString(document.getId())))
+				.setVectors(vectors(document.getEmbeddingVector().array()))
+				.putAllPayload(toPayload(document))
+				.build());
+		}
+		return points;
+	}
+
+	private static List<PointId> toPointIds(List<String> documentIds) {
+		return documentIds.stream().map(id -> id(UUID.fromString(id))).toList();
+	}
+
+	private SearchPoints toSearchPoints(SearchRequest request, EmbeddingVector queryEmbedding) {
+		Filter filter = (request.getFilterExpression() != null)
+				? this.filterExpressionConverter.convertExpression(request.getFilterExpression())
+				: Filter.getDefaultInstance();
+
+		return SearchPoints.newBuilder()
+			.setCollectionName(this.collectionName)
+			.setLimit(request.getTopK())
+			.setWithPayload(enable(true))
+			.addAllVector(toFloatList(queryEmbedding))
+			.setFilter(filter)
+			.setScoreThreshold((float) request.getSimilarityThreshold())
+			.build();
+	}
+
+	/**
+	 * Adapts a future of the Qdrant client to a {@link Mono}. The call is only made on
+	 * subscription and the future is cancelled with the subscription.
+	 */
+	private static <T> Mono<T> toMono(Supplier<ListenableFuture<T>> call) {
+		return Mono.create(sink -> {
+			ListenableFuture<T> future = call.get();
+			Futures.addCallback(future, new FutureCallback<T>() {
+
+				@Override
+				public void onSuccess(T result) {
+					sink.success(result);
+				}
+
+				@Override
+				public void onFailure(Throwable throwable) {
+					sink.error(throwable);
+				}
+
+			}, MoreExecutors.directExecutor());
+			sink.onCancel(() -> future.cancel(true));
+		});
+	}
+
 	/**
 	 * Extracts metadata from a Protobuf Struct.
 	 * @param metadataStruct The Protobuf Struct containing metadata.
@@ -276,12 +384,16 @@ public class QdrantVectorStore implements VectorStore, InitializingBean {
 	}
 
 	/**
-	 * Converts a list of doubles to a list of floats.
-	 * @param doubleList The list of doubles.
+	 * Converts an embedding vector to a list of floats.
+	 * @param embedding The embedding vector.
 	 * @return The converted list of floats.
 	 */
-	private List<Float> toFloatList(List<Double> doubleList) {
-		return doubleList.stream().map(d -> d.floatValue()).toList();
+	private static List<Float> toFloatList(EmbeddingVector embedding) {
+		List<Float> floats = new ArrayList<>(embedding.dimensions());
+		for (float value : embedding.array()) {
+			floats.add(value);
+		}
+		return floats;
 	}
 
 	@Override
@@ -29,7 +29,11 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.util.Assert;
@@ -286,15 +290,24 @@ public class RedisVectorStore implements VectorStore, InitializingBean {
 
 	private FilterExpressionConverter filterExpressionConverter;
 
+	private final BatchingStrategy batchingStrategy;
+
 	public RedisVectorStore(RedisVectorStoreConfig config, EmbeddingClient embeddingClient) {
+		this(config, embeddingClient, new TokenCountBatchingStrategy());
+	}
+
+	public RedisVectorStore(RedisVectorStoreConfig config, EmbeddingClient embeddingClient,
+			BatchingStrategy batchingStrategy) {
 
 		Assert.notNull(config, "Config must not be null");
 		Assert.notNull(embeddingClient, "Embedding client must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
 
 		this.jedis = new JedisPooled(config.uri);
 		this.embeddingClient = embeddingClient;
 		this.config = config;
 		this.filterExpressionConverter = new RedisFilterExpressionConverter(this.config.metadataFields);
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	public JedisPooled getJedis() {
@@ -303,13 +316,16 @@ public class RedisVectorStore implements VectorStore, InitializingBean {
 
 	@Override
 	public void add(List<Document> documents) {
+		List<EmbeddingVector> embeddings = this.embeddingClient.embed(documents, EmbeddingOptions.EMPTY,
+				this.batchingStrategy);
 		try (Pipeline pipeline = this.jedis.pipelined()) {
-			for (Document document : documents) {
-				var embedding = this.embeddingClient.embed(document);
-				document.setEmbedding(embedding);
+			for (int i = 0; i < documents.size(); i++) {
+				Document document = documents.get(i);
+				var embedding = embeddings.get(i);
+				document.setEmbeddingVector(embedding);
 
 				var fields = new HashMap<String, Object>();
-				fields.put(this.config.embeddingFieldName, embedding);
+				fields.put(this.config.embeddingFieldName, embedding.array());
 				fields.put(this.config.contentFieldName, document.getContent());
 				fields.putAll(document.getMetadata());
 				pipeline.jsonSetWithEscape(key(document.getId()), JSON_SET_PATH, fields);
@@ -365,7 +381,7 @@ public class RedisVectorStore implements VectorStore, InitializingBean {
 		returnFields.add(this.config.embeddingFieldName);
 		returnFields.add(this.config.contentFieldName);
 		returnFields.add(DISTANCE_FIELD_NAME);
-		var embedding = toFloatArray(this.embeddingClient.embed(request.getQuery()));
+		var embedding = this.embeddingClient.embedAsFloats(request.getQuery()).array();
 		Query query = new Query(queryString).addParam(EMBEDDING_PARAM_NAME, RediSearchUtil.toByteArray(embedding))
 			.returnFields(returnFields.toArray(new String[0]))
 			.setSortBy(DISTANCE_FIELD_NAME, true)
@@ -466,13 +482,4 @@ public class RedisVectorStore implements VectorStore, InitializingBean {
 		return JSON_PATH_PREFIX + field;
 	}
 
-	private static float[] toFloatArray(List<Double> embeddingDouble) {
-		float[] embeddingFloat = new float[embeddingDouble.size()];
-		int i = 0;
-		for (Double d : embeddingDouble) {
-			embeddingFloat[i++] = d.floatValue();
-		}
-		return embeddingFloat;
-	}
-
 }
\ No newline at end of file
@@ -43,7 +43,11 @@ import io.weaviate.client.v1.graphql.query.fields.Field;
 import io.weaviate.client.v1.graphql.query.fields.Fields;
 
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingVector;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.WeaviateVectorStore.WeaviateVectorStoreConfig.ConsistentLevel;
 import org.springframework.ai.vectorstore.WeaviateVectorStore.WeaviateVectorStoreConfig.MetadataField;
 import org.springframework.beans.factory.InitializingBean;
@@ -110,6 +114,12 @@ public class WeaviateVectorStore implements VectorStore, InitializingBean {
 	 */
 	private final WeaviateFilterExpressionConverter filterExpressionConverter;
 
+	/**
+	 * Groups the documents, missing an embedding, into batches embedded with a single
+	 * embedding client call.
+	 */
+	private final BatchingStrategy batchingStrategy;
+
 	/**
 	 * Used to serialize/deserialize the document metadata when stored/retrieved from the
 	 * weaviate vector store.
@@ -281,8 +291,23 @@ public class WeaviateVectorStore implements VectorStore, InitializingBean {
 	 */
 	public WeaviateVectorStore(WeaviateVectorStoreConfig vectorStoreConfig, EmbeddingClient embeddingClient,
 			WeaviateClient weaviateClient) {
+		this(vectorStoreConfig, embeddingClient, weaviateClient, new TokenCountBatchingStrategy());
+	}
+
+	/**
+	 * Constructs a new WeaviateVectorStore.
+	 * @param vectorStoreConfig The configuration for the store.
+	 * @param embeddingClient The client for embedding operations.
+	 * @param weaviateClient The client for the Weaviate operations.
+	 * @param batchingStrategy The strategy used to batch documents for embedding.
+	 */
+	public WeaviateVectorStore(WeaviateVectorStoreConfig vectorStoreConfig, EmbeddingClient embeddingClient,
+			WeaviateClient weaviateClient, BatchingStrategy batchingStrategy) {
 		Assert.notNull(vectorStoreConfig, "WeaviateVectorStoreConfig must not be null");
 		Assert.notNull(embeddingClient, "EmbeddingClient must not be null");
+		Assert.notNull(batchingStrategy, "BatchingStrategy must not be null");
+
+		this.batchingStrategy = batchingStrategy;
 
 		this.embeddingClient = embeddingClient;
 		this.consistencyLevel = vectorStoreConfig.consistencyLevel;
@@ -321,6 +346,15 @@ public class WeaviateVectorStore implements VectorStore, InitializingBean {
 			return;
 		}
 
+		List<Document> documentsToEmbed = documents.stream().filter(d -> d.getEmbeddingVector().isEmpty()).toList();
+		if (!documentsToEmbed.isEmpty()) {
+			List<EmbeddingVector> embeddings = this.embeddingClient.embed(documentsToEmbed, EmbeddingOptions.EMPTY,
+					this.batchingStrategy);
+			for (int i = 0; i < documentsToEmbed.size(); i++) {
+				documentsToEmbed.get(i).setEmbeddingVector(embeddings.get(i));
+			}
+		}
+
 		List<WeaviateObject> weaviateObjects = documents.stream().map(this::toWeaviateObject).toList();
 
 		Result<ObjectGetResponse[]> response = this.weaviateClient.batch()
@@ -359,11 +393,6 @@ public class WeaviateVectorStore implements VectorStore, InitializingBean {
 
 	private WeaviateObject toWeaviateObject(Document document) {
 
-		if (CollectionUtils.isEmpty(document.getEmbedding())) {
-			List<Double> embedding = this.embeddingClient.embed(document);
-			document.setEmbedding(embedding);
-		}
-
 		// https://weaviate.io/developers/weaviate/config-refs/datatypes
 		Map<String, Object> fields = new HashMap<>();
 		fields.put(CONTENT_FIELD_NAME, document.getContent());